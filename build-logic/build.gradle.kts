@@ -6,4 +6,5 @@ dependencies {
     implementation("com.gradleup.shadow:shadow-gradle-plugin:8.3.6")
     implementation("io.freefair.gradle:lombok-plugin:8.13")
     implementation("dev.architectury.loom:dev.architectury.loom.gradle.plugin:1.10-SNAPSHOT")
+    implementation("me.champeau.jmh:jmh-gradle-plugin:0.7.3")
 }
@@ -0,0 +1,28 @@
+plugins {
+    `java-library`
+    id("me.champeau.jmh")
+}
+
+dependencies {
+    testImplementation(platform("org.junit:junit-bom:5.11.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+// Server and proxy APIs are only provided at runtime by the platform, tests and benchmarks need them on their classpath
+configurations.named("testImplementation") { extendsFrom(configurations.getByName("compileOnly")) }
+configurations.named("jmhImplementation") { extendsFrom(configurations.getByName("compileOnly")) }
+
+jmh {
+    jmhVersion.set("1.37")
+    includeTests.set(true)
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
+
+tasks {
+    test {
+        useJUnitPlatform()
+    }
+}
@@ -10,6 +10,7 @@ import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.platform.TabList;
 import me.neznamy.tab.shared.platform.decorators.TrackedTabList;
 import me.neznamy.tab.shared.util.ReflectionUtils;
+import me.neznamy.tab.shared.util.cache.HeaderFooterPacketCache;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientboundPlayerInfoRemovePacket;
@@ -38,6 +39,9 @@ public class PaperPacketTabList extends TrackedTabList<BukkitTabPlayer> {
 
     private static final Field entries = ReflectionUtils.getOnlyField(ClientboundPlayerInfoUpdatePacket.class, List.class);
 
+    private static final HeaderFooterPacketCache<ClientboundTabListPacket> headerFooterPackets =
+            new HeaderFooterPacketCache<>((header, footer) -> new ClientboundTabListPacket(header.convert(), footer.convert()));
+
     @SneakyThrows
     public static void onPacketSend(@NonNull Object packet, TrackedTabList<BukkitTabPlayer> tabList) {
         if (packet instanceof ClientboundPlayerInfoUpdatePacket info) {
@@ -127,7 +131,7 @@ public class PaperPacketTabList extends TrackedTabList<BukkitTabPlayer> {
 
     @Override
     public void setPlayerListHeaderFooter(@NonNull TabComponent header, @NonNull TabComponent footer) {
-        sendPacket(new ClientboundTabListPacket(header.convert(), footer.convert()));
+        sendPacket(headerFooterPackets.get(header, footer));
     }
 
     @Override
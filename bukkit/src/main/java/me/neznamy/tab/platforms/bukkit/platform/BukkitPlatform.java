@@ -94,6 +94,10 @@ public class BukkitPlatform implements BackendPlatform {
 
     private final boolean modernOnlinePlayers;
 
+    /** Executor evaluating sync placeholders in batches */
+    @NotNull
+    private final SyncPlaceholderExecutor syncPlaceholderExecutor = new SyncPlaceholderExecutor(this);
+
     /**
      * Constructs new instance with given plugin.
      *
@@ -235,19 +239,15 @@ public class BukkitPlatform implements BackendPlatform {
 
     /**
      * Registers a sync placeholder with given identifier and automatically decided refresh.
+     * Values are evaluated in batches using {@link SyncPlaceholderExecutor}.
      *
      * @param   identifier
      *          Placeholder identifier
      */
     public void registerSyncPlaceholder(@NotNull String identifier) {
-        String syncedPlaceholder = "%" + identifier.substring(6);
         PlayerPlaceholderImpl[] ppl = new PlayerPlaceholderImpl[1];
         ppl[0] = TAB.getInstance().getPlaceholderManager().registerPlayerPlaceholder(identifier, p -> {
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                long time = System.nanoTime();
-                ppl[0].updateValue(p, placeholderAPI ? PlaceholderAPI.setPlaceholders((Player) p.getPlayer(), syncedPlaceholder) : identifier);
-                TAB.getInstance().getCPUManager().addPlaceholderTime(identifier, System.nanoTime() - time);
-            });
+            syncPlaceholderExecutor.request((TabPlayer) p, ppl[0]);
             return null;
         });
     }
@@ -402,6 +402,28 @@ public class BukkitPlatform implements BackendPlatform {
         Bukkit.getScheduler().runTask(plugin, task);
     }
 
+    /**
+     * Returns {@code true} if the server ticks regions in separate threads and tasks
+     * must be scheduled for each entity separately, {@code false} if there is a single main thread.
+     *
+     * @return  {@code true} if server is regionized, {@code false} if not
+     */
+    public boolean isRegionized() {
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if given entity can be safely accessed from current thread,
+     * assuming current thread is the main thread.
+     *
+     * @param   entity
+     *          Entity to check
+     * @return  {@code true} if entity is owned by current thread, {@code false} if not
+     */
+    public boolean isOwnedByCurrentThread(@NotNull Entity entity) {
+        return true;
+    }
+
     /**
      * Converts component to string using bukkit RGB format if supported by the server.
      * If not, closest legacy color is used instead.
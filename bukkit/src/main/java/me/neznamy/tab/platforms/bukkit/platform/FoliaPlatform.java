@@ -1,14 +1,13 @@
 package me.neznamy.tab.platforms.bukkit.platform;
 
 import lombok.SneakyThrows;
-import me.clip.placeholderapi.PlaceholderAPI;
 import me.neznamy.tab.platforms.bukkit.features.PerWorldPlayerList;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.chat.component.SimpleTextComponent;
 import me.neznamy.tab.shared.cpu.TimedCaughtTask;
-import me.neznamy.tab.shared.placeholders.types.PlayerPlaceholderImpl;
 import me.neznamy.tab.shared.platform.TabPlayer;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
@@ -16,6 +15,7 @@ import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.reflect.Method;
 import java.util.function.Consumer;
 
 /**
@@ -23,14 +23,20 @@ import java.util.function.Consumer;
  */
 public class FoliaPlatform extends BukkitPlatform {
 
+    /** Method checking if an entity is owned by region of current thread, using reflection due to Java 8 compatibility */
+    @NotNull
+    private final Method isOwnedByCurrentRegion;
+
     /**
      * Constructs new instance with given plugin.
      *
      * @param   plugin
      *          Plugin
      */
+    @SneakyThrows
     public FoliaPlatform(@NotNull JavaPlugin plugin) {
         super(plugin);
+        isOwnedByCurrentRegion = Bukkit.class.getMethod("isOwnedByCurrentRegion", Entity.class);
     }
 
     @Override
@@ -57,18 +63,14 @@ public class FoliaPlatform extends BukkitPlatform {
     }
 
     @Override
-    public void registerSyncPlaceholder(@NotNull String identifier) {
-        String syncedPlaceholder = "%" + identifier.substring(6);
-        PlayerPlaceholderImpl[] ppl = new PlayerPlaceholderImpl[1];
-        ppl[0] = TAB.getInstance().getPlaceholderManager().registerPlayerPlaceholder(identifier, p -> {
-            runSync((Entity) p.getPlayer(), () -> {
-                long time = System.nanoTime();
-                String output = isPlaceholderAPI() ? PlaceholderAPI.setPlaceholders((Player) p.getPlayer(), syncedPlaceholder) : identifier;
-                TAB.getInstance().getCPUManager().addPlaceholderTime(identifier, System.nanoTime()-time);
-                TAB.getInstance().getCPUManager().runTask(() -> ppl[0].updateValue(p, output)); // To ensure player is loaded
-            });
-            return null;
-        });
+    public boolean isRegionized() {
+        return true;
+    }
+
+    @Override
+    @SneakyThrows
+    public boolean isOwnedByCurrentThread(@NotNull Entity entity) {
+        return (boolean) isOwnedByCurrentRegion.invoke(null, entity);
     }
 
     /**
@@ -0,0 +1,132 @@
+package me.neznamy.tab.platforms.bukkit.platform;
+
+import lombok.RequiredArgsConstructor;
+import me.clip.placeholderapi.PlaceholderAPI;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.placeholders.types.PlayerPlaceholderImpl;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executor for sync placeholders. Instead of scheduling a main thread task for every player
+ * on every refresh of a sync placeholder, requests are collected and all of them are evaluated
+ * in a single task in the next tick, limited by configured time budget. Requests which did not fit
+ * into the budget are evaluated in the next tick. Values are then passed back to TAB's thread
+ * and applied as a single bulk update per player.
+ * <p>
+ * On Folia, where each player can only be accessed from the region owning them, a task is
+ * scheduled for each player, but the task evaluates requests of all players owned by the same
+ * region, leaving nothing to do for tasks of the other players in the region.
+ */
+@RequiredArgsConstructor
+public class SyncPlaceholderExecutor {
+
+    /** Platform for scheduling tasks */
+    @NotNull
+    private final BukkitPlatform platform;
+
+    /** Sync placeholders waiting to be evaluated, per player */
+    @NotNull
+    private final Map<TabPlayer, Set<PlayerPlaceholderImpl>> pending = new ConcurrentHashMap<>();
+
+    /** Flag tracking whether main thread task is scheduled or not, if not running on Folia */
+    @NotNull
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /** Players who have a task scheduled, if running on Folia */
+    @NotNull
+    private final Set<TabPlayer> scheduledPlayers = ConcurrentHashMap.newKeySet();
+
+    /** Index of player in pending players to start the next evaluation with */
+    private volatile int nextPlayer;
+
+    /**
+     * Requests evaluation of sync placeholder for player in the next tick.
+     *
+     * @param   player
+     *          Player to evaluate placeholder for
+     * @param   placeholder
+     *          Placeholder to evaluate
+     */
+    public void request(@NotNull TabPlayer player, @NotNull PlayerPlaceholderImpl placeholder) {
+        pending.computeIfAbsent(player, p -> ConcurrentHashMap.newKeySet()).add(placeholder);
+        schedule(player);
+    }
+
+    private void schedule(@NotNull TabPlayer player) {
+        if (platform.isRegionized()) {
+            if (!scheduledPlayers.add(player)) return;
+            platform.runSync((Entity) player.getPlayer(), () -> {
+                scheduledPlayers.remove(player);
+                evaluate();
+            });
+        } else {
+            if (!scheduled.compareAndSet(false, true)) return;
+            platform.runSync((Entity) player.getPlayer(), () -> {
+                scheduled.set(false);
+                evaluate();
+            });
+        }
+    }
+
+    /**
+     * Evaluates pending placeholders of all players owned by current thread until
+     * time budget runs out and sends the results to TAB's thread. At least one placeholder
+     * is evaluated every time. Evaluation starts with the player where the previous
+     * evaluation ran out of time, so players are not starved by players before them.
+     */
+    private void evaluate() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(
+                TAB.getInstance().getConfiguration().getConfig().getPlaceholders().getSyncPlaceholderBudget());
+        Map<TabPlayer, Map<PlayerPlaceholderImpl, String>> results = new HashMap<>();
+        List<TabPlayer> players = new ArrayList<>(pending.keySet());
+        int start = players.isEmpty() ? 0 : Math.floorMod(nextPlayer, players.size());
+        boolean evaluated = false;
+        boolean outOfTime = false;
+        for (int i = 0; i < players.size(); i++) {
+            int index = (start + i) % players.size();
+            TabPlayer player = players.get(index);
+            Set<PlayerPlaceholderImpl> placeholders = pending.get(player);
+            if (placeholders == null) continue;
+            if (!player.isOnline()) {
+                pending.remove(player);
+                continue;
+            }
+            if (placeholders.isEmpty() || !platform.isOwnedByCurrentThread((Entity) player.getPlayer())) continue;
+            if (outOfTime) {
+                schedule(player);
+                continue;
+            }
+            for (PlayerPlaceholderImpl placeholder : placeholders) {
+                if (evaluated && System.nanoTime() > deadline) {
+                    // Out of time, continue with this player next tick
+                    outOfTime = true;
+                    nextPlayer = index;
+                    schedule(player);
+                    break;
+                }
+                if (!placeholders.remove(placeholder)) continue;
+                long time = System.nanoTime();
+                String identifier = placeholder.getIdentifier();
+                String value = platform.isPlaceholderAPI() ?
+                        PlaceholderAPI.setPlaceholders((Player) player.getPlayer(), "%" + identifier.substring(6)) : identifier;
+                TAB.getInstance().getCPUManager().addPlaceholderTime(identifier, System.nanoTime() - time);
+                results.computeIfAbsent(player, p -> new HashMap<>()).put(placeholder, value);
+                evaluated = true;
+            }
+        }
+        if (results.isEmpty()) return;
+        TAB.getInstance().getCPUManager().runTask(() -> {
+            for (Map.Entry<TabPlayer, Map<PlayerPlaceholderImpl, String>> entry : results.entrySet()) {
+                if (entry.getKey().isOnline()) PlayerPlaceholderImpl.bulkUpdateValues(entry.getKey(), entry.getValue());
+            }
+        });
+    }
+}
@@ -9,11 +9,11 @@ import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.platform.decorators.SafeScoreboard;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 import me.neznamy.tab.shared.util.function.BiFunctionWithException;
-import me.neznamy.tab.shared.util.function.FunctionWithException;
 import me.neznamy.tab.shared.util.function.QuintFunction;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.util.HashSet;
@@ -49,8 +49,8 @@ public class PacketScoreboard extends SafeScoreboard<BukkitTabPlayer> {
     private static Class<?> DisplayObjectiveClass;
     private static Constructor<?> newDisplayObjective;
     private static Field DisplayObjective_OBJECTIVE_NAME;
+    private static Field DisplayObjective_POSITION;
     private static Object[] displaySlots;
-    private static FunctionWithException<Object, Integer> packetToSlot;
 
     // Score packet
     private static QuintFunction<String, String, Integer, Object, Object, Object> setScore;
@@ -83,6 +83,7 @@ public class PacketScoreboard extends SafeScoreboard<BukkitTabPlayer> {
         loadScorePacketData();
         teamPacketData = new TeamPacketData();
         packetSender = new PacketSender();
+        Accessors.init();
     }
 
     private static void loadDisplayPacketData() throws ReflectiveOperationException {
@@ -95,14 +96,12 @@ public class PacketScoreboard extends SafeScoreboard<BukkitTabPlayer> {
         if (BukkitReflection.is1_20_2Plus()) {
             Class<?> DisplaySlot = BukkitReflection.getClass("world.scores.DisplaySlot");
             displaySlots = (Object[]) DisplaySlot.getDeclaredMethod("values").invoke(null);
-            Field DisplayObjective_POSITION = ReflectionUtils.getOnlyField(DisplayObjectiveClass, DisplaySlot);
+            DisplayObjective_POSITION = ReflectionUtils.getOnlyField(DisplayObjectiveClass, DisplaySlot);
             newDisplayObjective = DisplayObjectiveClass.getConstructor(DisplaySlot, ScoreboardObjective);
-            packetToSlot = packet -> ((Enum<?>)DisplayObjective_POSITION.get(packet)).ordinal();
         } else {
             displaySlots = new Object[]{0, 1, 2};
-            Field DisplayObjective_POSITION = ReflectionUtils.getOnlyField(DisplayObjectiveClass, int.class);
+            DisplayObjective_POSITION = ReflectionUtils.getOnlyField(DisplayObjectiveClass, int.class);
             newDisplayObjective = DisplayObjectiveClass.getConstructor(int.class, ScoreboardObjective);
-            packetToSlot = DisplayObjective_POSITION::getInt;
         }
     }
 
@@ -140,12 +139,15 @@ public class PacketScoreboard extends SafeScoreboard<BukkitTabPlayer> {
     public static void onPacketSend(@NonNull Object packet, @NonNull SafeScoreboard<BukkitTabPlayer> scoreboard) {
         if (scoreboard.isAntiOverrideScoreboard()) {
             if (DisplayObjectiveClass.isInstance(packet)) {
-                TAB.getInstance().getFeatureManager().onDisplayObjective(scoreboard.getPlayer(), packetToSlot.apply(packet),
-                        (String) DisplayObjective_OBJECTIVE_NAME.get(packet));
+                int slot = BukkitReflection.is1_20_2Plus() ?
+                        ((Enum<?>) (Object) Accessors.DISPLAY_SLOT.invokeExact(packet)).ordinal() :
+                        (int) Accessors.DISPLAY_SLOT.invokeExact(packet);
+                TAB.getInstance().getFeatureManager().onDisplayObjective(scoreboard.getPlayer(), slot,
+                        (String) (Object) Accessors.DISPLAY_OBJECTIVE_NAME.invokeExact(packet));
             }
             if (ObjectivePacketClass.isInstance(packet))  {
                 TAB.getInstance().getFeatureManager().onObjective(scoreboard.getPlayer(),
-                        Objective_METHOD.getInt(packet), (String) Objective_OBJECTIVE_NAME.get(packet));
+                        (int) Accessors.OBJECTIVE_ACTION.invokeExact(packet), (String) (Object) Accessors.OBJECTIVE_NAME.invokeExact(packet));
             }
         }
         if (scoreboard.isAntiOverrideTeams()) teamPacketData.onPacketSend(scoreboard.getPlayer(), packet);
@@ -273,4 +275,23 @@ public class PacketScoreboard extends SafeScoreboard<BukkitTabPlayer> {
     private Object convertFixedFormat(@NotNull Object nmsComponent) {
         return newFixedFormat.newInstance(nmsComponent);
     }
+
+    /**
+     * Accessors of packet fields used on every sent scoreboard packet, resolved once
+     * into constant method handles to avoid reflection cost on each packet.
+     */
+    private static class Accessors {
+
+        private static final MethodHandle OBJECTIVE_NAME = ReflectionUtils.getter(Objective_OBJECTIVE_NAME);
+        private static final MethodHandle OBJECTIVE_ACTION = ReflectionUtils.getter(Objective_METHOD);
+        private static final MethodHandle DISPLAY_OBJECTIVE_NAME = ReflectionUtils.getter(DisplayObjective_OBJECTIVE_NAME);
+        private static final MethodHandle DISPLAY_SLOT = ReflectionUtils.getter(DisplayObjective_POSITION);
+
+        /**
+         * Initializes the class, resolving all handles. Must be called after fields were loaded.
+         */
+        private static void init() {
+            // Initializes static fields
+        }
+    }
 }
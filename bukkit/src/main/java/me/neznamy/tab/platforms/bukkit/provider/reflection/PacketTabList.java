@@ -11,9 +11,11 @@ import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.platform.TabList;
 import me.neznamy.tab.shared.platform.decorators.TrackedTabList;
 import me.neznamy.tab.shared.util.ReflectionUtils;
+import me.neznamy.tab.shared.util.cache.HeaderFooterPacketCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -34,6 +36,7 @@ public class PacketTabList extends TrackedTabList<BukkitTabPlayer> {
     private static Field PLAYERS;
 
     private static Constructor<?> newHeaderFooter;
+    private static HeaderFooterPacketCache<Object> headerFooterPackets;
 
     private static Constructor<?> newPlayerInfoData;
     private static Field PlayerInfoData_Profile;
@@ -116,6 +119,7 @@ public class PacketTabList extends TrackedTabList<BukkitTabPlayer> {
                 "network.protocol.game.ClientboundTabListPacket",
                 "network.protocol.game.PacketPlayOutPlayerListHeaderFooter"
         ).getConstructor(IChatBaseComponent, IChatBaseComponent);
+        headerFooterPackets = new HeaderFooterPacketCache<>(PacketTabList::newHeaderFooter);
         packetSender = new PacketSender();
 
         PlayerInfoData_Listed = ReflectionUtils.getFields(playerInfoDataClass, boolean.class).get(0);
@@ -155,22 +159,23 @@ public class PacketTabList extends TrackedTabList<BukkitTabPlayer> {
             newPlayerInfoData = playerInfoDataClass.getConstructor(UUID.class, GameProfile.class, boolean.class, int.class,
                     EnumGamemodeClass, IChatBaseComponent, RemoteChatSession$Data);
         }
+        Accessors.init();
     }
 
     @SneakyThrows
     public static void onPacketSend(@NonNull Object packet, @NonNull TrackedTabList<BukkitTabPlayer> tabList) {
         if (!(PlayerInfoClass.isInstance(packet))) return;
-        EnumSet<?> actions = (EnumSet<?>) ACTION.get(packet);
+        EnumSet<?> actions = (EnumSet<?>) (Object) Accessors.ACTION.invokeExact(packet);
         List<Object> updatedList = new ArrayList<>();
         boolean rewritePacket = false;
-        for (Object nmsData : (List<?>) PLAYERS.get(packet)) {
+        for (Object nmsData : (List<?>) (Object) Accessors.PLAYERS.invokeExact(packet)) {
             boolean rewriteEntry = false;
-            UUID id = (UUID) PlayerInfoData_UUID.get(nmsData);
-            GameProfile profile = (GameProfile) PlayerInfoData_Profile.get(nmsData);
-            Object displayName = PlayerInfoData_DisplayName.get(nmsData);
-            int latency = PlayerInfoData_Latency.getInt(nmsData);
-            int listOrder = v1_21_2Plus ? PlayerInfoData_ListOrder.getInt(nmsData) : 0;
-            boolean showHat = v1_21_4Plus && PlayerInfoData_ShowHat.getBoolean(nmsData);
+            UUID id = (UUID) (Object) Accessors.ENTRY_ID.invokeExact(nmsData);
+            GameProfile profile = (GameProfile) (Object) Accessors.PROFILE.invokeExact(nmsData);
+            Object displayName = (Object) Accessors.DISPLAY_NAME.invokeExact(nmsData);
+            int latency = (int) Accessors.LATENCY.invokeExact(nmsData);
+            int listOrder = v1_21_2Plus ? (int) Accessors.LIST_ORDER.invokeExact(nmsData) : 0;
+            boolean showHat = v1_21_4Plus && (boolean) Accessors.SHOW_HAT.invokeExact(nmsData);
             if (actions.contains(actionUpdateDisplayName)) {
                 TabComponent expectedName = tabList.getExpectedDisplayNames().get(id);
                 if (expectedName != null && expectedName.convert() != displayName) {
@@ -192,15 +197,15 @@ public class PacketTabList extends TrackedTabList<BukkitTabPlayer> {
             updatedList.add(rewriteEntry ? newPlayerInfoData(
                     id,
                     profile,
-                    PlayerInfoData_Listed.getBoolean(nmsData),
+                    (boolean) Accessors.LISTED.invokeExact(nmsData),
                     latency,
-                    PlayerInfoData_GameMode.get(nmsData),
+                    (Object) Accessors.GAME_MODE.invokeExact(nmsData),
                     displayName,
                     showHat,
                     listOrder,
-                    PlayerInfoData_RemoteChatSession.get(nmsData)) : nmsData);
+                    (Object) Accessors.CHAT_SESSION.invokeExact(nmsData)) : nmsData);
         }
-        if (rewritePacket) PLAYERS.set(packet, updatedList);
+        if (rewritePacket) Accessors.SET_PLAYERS.invokeExact(packet, (Object) updatedList);
     }
 
     @Override
@@ -259,7 +264,13 @@ public class PacketTabList extends TrackedTabList<BukkitTabPlayer> {
     @Override
     @SneakyThrows
     public void setPlayerListHeaderFooter(@NonNull TabComponent header, @NonNull TabComponent footer) {
-        packetSender.sendPacket(player, newHeaderFooter.newInstance(header.convert(), footer.convert()));
+        packetSender.sendPacket(player, headerFooterPackets.get(header, footer));
+    }
+
+    @SneakyThrows
+    @NotNull
+    private static Object newHeaderFooter(@NonNull TabComponent header, @NonNull TabComponent footer) {
+        return newHeaderFooter.newInstance(header.convert(), footer.convert());
     }
 
     @SneakyThrows
@@ -267,7 +278,7 @@ public class PacketTabList extends TrackedTabList<BukkitTabPlayer> {
     private Object createPacket(@NonNull EnumSet<?> actions, @NonNull UUID id, @NonNull String name, @Nullable Skin skin,
                                boolean listed, int latency, int gameMode, @Nullable TabComponent displayName, int listOrder, boolean showHat) {
         Object packet = newPlayerInfo.newInstance(actions, Collections.emptyList());
-        PLAYERS.set(packet, Collections.singletonList(newPlayerInfoData(
+        Accessors.SET_PLAYERS.invokeExact(packet, (Object) Collections.singletonList(newPlayerInfoData(
                 id,
                 actions.contains(actionAddPlayer) ? createProfile(id, name, skin) : null,
                 listed,
@@ -346,4 +357,31 @@ public class PacketTabList extends TrackedTabList<BukkitTabPlayer> {
             return new TabList.Skin(property.getValue(), property.getSignature());
         }
     }
+
+    /**
+     * Accessors of packet fields used on every sent player info packet, resolved once
+     * into constant method handles to avoid reflection cost on each packet.
+     */
+    private static class Accessors {
+
+        private static final MethodHandle ACTION = ReflectionUtils.getter(PacketTabList.ACTION);
+        private static final MethodHandle PLAYERS = ReflectionUtils.getter(PacketTabList.PLAYERS);
+        private static final MethodHandle SET_PLAYERS = ReflectionUtils.setter(PacketTabList.PLAYERS);
+        private static final MethodHandle ENTRY_ID = ReflectionUtils.getter(PlayerInfoData_UUID);
+        private static final MethodHandle PROFILE = ReflectionUtils.getter(PlayerInfoData_Profile);
+        private static final MethodHandle DISPLAY_NAME = ReflectionUtils.getter(PlayerInfoData_DisplayName);
+        private static final MethodHandle LATENCY = ReflectionUtils.getter(PlayerInfoData_Latency);
+        private static final MethodHandle LISTED = ReflectionUtils.getter(PlayerInfoData_Listed);
+        private static final MethodHandle GAME_MODE = ReflectionUtils.getter(PlayerInfoData_GameMode);
+        private static final MethodHandle CHAT_SESSION = ReflectionUtils.getter(PlayerInfoData_RemoteChatSession);
+        private static final MethodHandle LIST_ORDER = v1_21_2Plus ? ReflectionUtils.getter(PlayerInfoData_ListOrder) : null;
+        private static final MethodHandle SHOW_HAT = v1_21_4Plus ? ReflectionUtils.getter(PlayerInfoData_ShowHat) : null;
+
+        /**
+         * Initializes the class, resolving all handles. Must be called after fields were loaded.
+         */
+        private static void init() {
+            // Initializes static fields
+        }
+    }
 }
@@ -10,6 +10,7 @@ import me.neznamy.tab.shared.platform.decorators.SafeScoreboard.Team;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 import me.neznamy.tab.shared.util.function.FunctionWithException;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -55,6 +56,12 @@ public class TeamPacketData {
     private final Field TeamPacket_ACTION = ReflectionUtils.getInstanceFields(TeamPacketClass, int.class).get(0);
     private final Field TeamPacket_PLAYERS = ReflectionUtils.getOnlyField(TeamPacketClass, Collection.class);
 
+    // Accessors used on every sent team packet
+    private final MethodHandle getTeamName = ReflectionUtils.getter(TeamPacket_NAME);
+    private final MethodHandle getAction = ReflectionUtils.getter(TeamPacket_ACTION);
+    private final MethodHandle getPlayers = ReflectionUtils.getter(TeamPacket_PLAYERS);
+    private final MethodHandle setPlayers = ReflectionUtils.setter(TeamPacket_PLAYERS);
+
     // Objects
     private final Object emptyScoreboard = ScoreboardClass.getConstructor().newInstance();
     private final Enum<?>[] chatFormats = (Enum<?>[]) EnumChatFormatClass.getMethod("values").invoke(null);
@@ -109,11 +116,11 @@ public class TeamPacketData {
     @SneakyThrows
     public void onPacketSend(@NonNull TabPlayer player, @NonNull Object packet) {
         if (!TeamPacketClass.isInstance(packet)) return;
-        int action = TeamPacket_ACTION.getInt(packet);
+        int action = (int) getAction.invokeExact(packet);
         if (action == TeamAction.UPDATE) return;
-        Collection<String> players = (Collection<String>) TeamPacket_PLAYERS.get(packet);
+        Collection<String> players = (Collection<String>) (Object) getPlayers.invokeExact(packet);
         if (players == null) players = Collections.emptyList();
-        TeamPacket_PLAYERS.set(packet, ((SafeScoreboard<?>)player.getScoreboard()).onTeamPacket(
-                action, (String) TeamPacket_NAME.get(packet), players));
+        setPlayers.invokeExact(packet, (Object) ((SafeScoreboard<?>)player.getScoreboard()).onTeamPacket(
+                action, (String) (Object) getTeamName.invokeExact(packet), players));
     }
 }
@@ -11,6 +11,7 @@ import net.minecraft.server.v1_12_R1.*;
 import org.bukkit.craftbukkit.v1_12_R1.entity.CraftPlayer;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.Collections;
@@ -34,25 +35,35 @@ public class NMSPacketScoreboard extends SafeScoreboard<BukkitTabPlayer> {
     private static final Field DisplayObjective_OBJECTIVE_NAME = ReflectionUtils.getOnlyField(PacketPlayOutScoreboardDisplayObjective.class, String.class);
     private static final Field DisplayObjective_POSITION = ReflectionUtils.getOnlyField(PacketPlayOutScoreboardDisplayObjective.class, int.class);
 
+    // Accessors used on every sent packet
+    private static final MethodHandle getDisplaySlot = ReflectionUtils.getter(DisplayObjective_POSITION);
+    private static final MethodHandle getDisplayObjectiveName = ReflectionUtils.getter(DisplayObjective_OBJECTIVE_NAME);
+    private static final MethodHandle getObjectiveAction = ReflectionUtils.getter(Objective_METHOD);
+    private static final MethodHandle getObjectiveName = ReflectionUtils.getter(Objective_OBJECTIVE_NAME);
+    private static final MethodHandle getTeamAction = ReflectionUtils.getter(TeamPacket_ACTION);
+    private static final MethodHandle getTeamPlayers = ReflectionUtils.getter(TeamPacket_PLAYERS);
+    private static final MethodHandle setTeamPlayers = ReflectionUtils.setter(TeamPacket_PLAYERS);
+    private static final MethodHandle getTeamName = ReflectionUtils.getter(TeamPacket_NAME);
+
     @SneakyThrows
     @SuppressWarnings("unchecked")
     public static void onPacketSend(@NonNull Object packet, @NonNull SafeScoreboard<BukkitTabPlayer> scoreboard) {
         if (scoreboard.isAntiOverrideScoreboard()) {
             if (packet instanceof PacketPlayOutScoreboardDisplayObjective) {
-                TAB.getInstance().getFeatureManager().onDisplayObjective(scoreboard.getPlayer(), DisplayObjective_POSITION.getInt(packet),
-                        (String) DisplayObjective_OBJECTIVE_NAME.get(packet));
+                TAB.getInstance().getFeatureManager().onDisplayObjective(scoreboard.getPlayer(), (int) getDisplaySlot.invokeExact(packet),
+                        (String) (Object) getDisplayObjectiveName.invokeExact(packet));
             }
             if (packet instanceof PacketPlayOutScoreboardObjective) {
                 TAB.getInstance().getFeatureManager().onObjective(scoreboard.getPlayer(),
-                        Objective_METHOD.getInt(packet), (String) Objective_OBJECTIVE_NAME.get(packet));
+                        (int) getObjectiveAction.invokeExact(packet), (String) (Object) getObjectiveName.invokeExact(packet));
             }
         }
         if (scoreboard.isAntiOverrideTeams() && packet instanceof PacketPlayOutScoreboardTeam) {
-            int action = TeamPacket_ACTION.getInt(packet);
+            int action = (int) getTeamAction.invokeExact(packet);
             if (action == TeamAction.UPDATE) return;
-            Collection<String> players = (Collection<String>) TeamPacket_PLAYERS.get(packet);
+            Collection<String> players = (Collection<String>) (Object) getTeamPlayers.invokeExact(packet);
             if (players == null) players = Collections.emptyList();
-            TeamPacket_PLAYERS.set(packet, scoreboard.onTeamPacket(action, (String) TeamPacket_NAME.get(packet), players));
+            setTeamPlayers.invokeExact(packet, (Object) scoreboard.onTeamPacket(action, (String) (Object) getTeamName.invokeExact(packet), players));
         }
     }
 
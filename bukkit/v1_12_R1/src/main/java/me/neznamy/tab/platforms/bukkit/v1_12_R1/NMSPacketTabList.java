@@ -16,6 +16,7 @@ import org.bukkit.craftbukkit.v1_12_R1.entity.CraftPlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.util.Collection;
@@ -42,23 +43,31 @@ public class NMSPacketTabList extends TrackedTabList<BukkitTabPlayer> {
     private static final Field HEADER = ReflectionUtils.getFields(PacketPlayOutPlayerListHeaderFooter.class, IChatBaseComponent.class).get(0);
     private static final Field FOOTER = ReflectionUtils.getFields(PacketPlayOutPlayerListHeaderFooter.class, IChatBaseComponent.class).get(1);
 
+    // Accessors used on every sent packet
+    private static final MethodHandle getAction = ReflectionUtils.getter(ACTION);
+    private static final MethodHandle getPlayers = ReflectionUtils.getter(PLAYERS);
+    private static final MethodHandle getProfile = ReflectionUtils.getter(PlayerInfoData_Profile);
+    private static final MethodHandle getLatency = ReflectionUtils.getter(PlayerInfoData_Latency);
+    private static final MethodHandle setLatency = ReflectionUtils.setter(PlayerInfoData_Latency);
+    private static final MethodHandle setDisplayName = ReflectionUtils.setter(PlayerInfoData_DisplayName);
+
     @SneakyThrows
     @SuppressWarnings("unchecked")
     public static void onPacketSend(@NonNull Object packet, @NonNull TrackedTabList<BukkitTabPlayer> tabList) {
         if (!(packet instanceof PacketPlayOutPlayerInfo)) return;
-        EnumPlayerInfoAction action = (EnumPlayerInfoAction) ACTION.get(packet);
-        for (Object nmsData : (List<Object>) PLAYERS.get(packet)) {
-            GameProfile profile = (GameProfile) PlayerInfoData_Profile.get(nmsData);
+        EnumPlayerInfoAction action = (EnumPlayerInfoAction) (Object) getAction.invokeExact(packet);
+        for (Object nmsData : (List<Object>) (Object) getPlayers.invokeExact(packet)) {
+            GameProfile profile = (GameProfile) (Object) getProfile.invokeExact(nmsData);
             UUID id = profile.getId();
             if (action == EnumPlayerInfoAction.UPDATE_DISPLAY_NAME || action == EnumPlayerInfoAction.ADD_PLAYER) {
                 TabComponent expectedName = tabList.getExpectedDisplayNames().get(id);
-                if (expectedName != null) PlayerInfoData_DisplayName.set(nmsData, expectedName.convert());
+                if (expectedName != null) setDisplayName.invokeExact(nmsData, (Object) expectedName.convert());
             }
             if (action == EnumPlayerInfoAction.UPDATE_LATENCY || action == EnumPlayerInfoAction.ADD_PLAYER) {
-                int oldLatency = PlayerInfoData_Latency.getInt(nmsData);
+                int oldLatency = (int) getLatency.invokeExact(nmsData);
                 int newLatency = TAB.getInstance().getFeatureManager().onLatencyChange(tabList.getPlayer(), id, oldLatency);
                 if (oldLatency != newLatency) {
-                    PlayerInfoData_Latency.set(nmsData, newLatency);
+                    setLatency.invokeExact(nmsData, newLatency);
                 }
             }
             if (action == EnumPlayerInfoAction.ADD_PLAYER) {
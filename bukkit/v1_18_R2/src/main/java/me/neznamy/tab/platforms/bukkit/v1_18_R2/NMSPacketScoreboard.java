@@ -22,6 +22,7 @@ import net.minecraft.world.scores.criteria.IScoreboardCriteria;
 import org.bukkit.craftbukkit.v1_18_R2.entity.CraftPlayer;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.Collections;
@@ -37,6 +38,10 @@ public class NMSPacketScoreboard extends SafeScoreboard<BukkitTabPlayer> {
 
     private static final Field TeamPacket_PLAYERS = ReflectionUtils.getOnlyField(PacketPlayOutScoreboardTeam.class, Collection.class);
 
+    // Accessors used on every sent packet
+    private static final MethodHandle getTeamPlayers = ReflectionUtils.getter(TeamPacket_PLAYERS);
+    private static final MethodHandle setTeamPlayers = ReflectionUtils.setter(TeamPacket_PLAYERS);
+
     @SneakyThrows
     @SuppressWarnings("unchecked")
     public static void onPacketSend(@NonNull Object packet, @NonNull SafeScoreboard<BukkitTabPlayer> scoreboard) {
@@ -59,9 +64,9 @@ public class NMSPacketScoreboard extends SafeScoreboard<BukkitTabPlayer> {
         if (scoreboard.isAntiOverrideTeams() && packet instanceof PacketPlayOutScoreboardTeam) {
             int action = getMethod((PacketPlayOutScoreboardTeam) packet);
             if (action == TeamAction.UPDATE) return;
-            Collection<String> players = (Collection<String>) TeamPacket_PLAYERS.get(packet);
+            Collection<String> players = (Collection<String>) (Object) getTeamPlayers.invokeExact(packet);
             if (players == null) players = Collections.emptyList();
-            TeamPacket_PLAYERS.set(packet, scoreboard.onTeamPacket(action, ((PacketPlayOutScoreboardTeam)packet).d(), players));
+            setTeamPlayers.invokeExact(packet, (Object) scoreboard.onTeamPacket(action, ((PacketPlayOutScoreboardTeam)packet).d(), players));
         }
     }
 
@@ -21,6 +21,7 @@ import org.bukkit.craftbukkit.v1_18_R2.entity.CraftPlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.Collections;
@@ -37,6 +38,10 @@ public class NMSPacketTabList extends TrackedTabList<BukkitTabPlayer> {
     private static final Field PlayerInfoData_Latency = ReflectionUtils.getFields(PlayerInfoData.class, int.class).get(0);
     private static final Field PlayerInfoData_DisplayName = ReflectionUtils.getOnlyField(PlayerInfoData.class, IChatBaseComponent.class);
 
+    // Accessors used on every sent packet
+    private static final MethodHandle setLatency = ReflectionUtils.setter(PlayerInfoData_Latency);
+    private static final MethodHandle setDisplayName = ReflectionUtils.setter(PlayerInfoData_DisplayName);
+
     @SneakyThrows
     public static void onPacketSend(@NonNull Object packet, @NonNull TrackedTabList<BukkitTabPlayer> tabList) {
         if (!(packet instanceof PacketPlayOutPlayerInfo)) return;
@@ -46,13 +51,13 @@ public class NMSPacketTabList extends TrackedTabList<BukkitTabPlayer> {
             UUID id = profile.getId();
             if (action == EnumPlayerInfoAction.d || action == EnumPlayerInfoAction.a) {
                 TabComponent expectedName = tabList.getExpectedDisplayNames().get(id);
-                if (expectedName != null) PlayerInfoData_DisplayName.set(nmsData, expectedName.convert());
+                if (expectedName != null) setDisplayName.invokeExact((Object) nmsData, (Object) expectedName.convert());
             }
             if (action == EnumPlayerInfoAction.c || action == EnumPlayerInfoAction.a) {
                 int oldLatency = nmsData.b();
                 int newLatency = TAB.getInstance().getFeatureManager().onLatencyChange(tabList.getPlayer(), id, oldLatency);
                 if (oldLatency != newLatency) {
-                    PlayerInfoData_Latency.set(nmsData, newLatency);
+                    setLatency.invokeExact((Object) nmsData, newLatency);
                 }
             }
             if (action == EnumPlayerInfoAction.a) {
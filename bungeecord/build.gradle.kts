@@ -1,7 +1,18 @@
+plugins {
+    id("tab.test-conventions")
+}
+
 dependencies {
     implementation(projects.shared)
     implementation("org.bstats:bstats-bungeecord:3.1.0")
     compileOnly("net.md-5:bungeecord-proxy:1.21-R0.1-SNAPSHOT")
     compileOnly("com.github.limework.redisbungee:RedisBungee-Bungee:0.11.0")
     compileOnly("com.github.LeonMangler:PremiumVanishAPI:2.8.8")
+    // Optional libraries referenced by components, tests and benchmarks need them to load component classes
+    testRuntimeOnly("net.kyori:adventure-api:4.18.0")
+    testRuntimeOnly("com.viaversion:viaversion-api:5.2.1")
+    testRuntimeOnly("com.viaversion:viaversion-common:5.2.1")
+    jmhRuntimeOnly("net.kyori:adventure-api:4.18.0")
+    jmhRuntimeOnly("com.viaversion:viaversion-api:5.2.1")
+    jmhRuntimeOnly("com.viaversion:viaversion-common:5.2.1")
 }
\ No newline at end of file
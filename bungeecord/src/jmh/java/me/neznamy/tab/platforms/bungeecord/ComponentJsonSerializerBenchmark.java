@@ -0,0 +1,52 @@
+package me.neznamy.tab.platforms.bungeecord;
+
+import me.neznamy.chat.component.TabComponent;
+import me.neznamy.chat.util.ComponentJsonSerializer;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.chat.ComponentSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of serializing a component into json. Compares {@link ComponentJsonSerializer}
+ * with bungee's gson serializer, both with the bungee component already converted (which is
+ * what happened on every packet write, since converted components are cached) and with
+ * the conversion included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ComponentJsonSerializerBenchmark {
+
+    /** Text of the component, a short prefix and a longer gradient text */
+    @Param({
+            "§c§lOwner §7| ",
+            "#FF0000§lG#FF2000§lr#FF4000§la#FF6000§ld#FF8000§li#FFA000§le#FFC000§ln#FFE000§lt §r§7<font:minecraft:uniform>Player</font>"
+    })
+    public String text;
+
+    private TabComponent component;
+    private BaseComponent bungeeComponent;
+
+    @Setup
+    public void setup() {
+        component = TabComponent.fromColoredText(text);
+        bungeeComponent = BungeePlatform.createComponent(component, true);
+    }
+
+    @Benchmark
+    public String direct() {
+        return ComponentJsonSerializer.serialize(component, true);
+    }
+
+    @Benchmark
+    public String gson() {
+        return ComponentSerializer.toString(bungeeComponent);
+    }
+
+    @Benchmark
+    public String gsonWithConversion() {
+        return ComponentSerializer.toString(BungeePlatform.createComponent(component, true));
+    }
+}
@@ -0,0 +1,94 @@
+package me.neznamy.tab.platforms.bungeecord;
+
+import io.netty.buffer.ByteBuf;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.protocol.DefinedPacket;
+import net.md_5.bungee.protocol.ProtocolConstants;
+import net.md_5.bungee.protocol.packet.PlayerListItem.Item;
+import net.md_5.bungee.protocol.packet.PlayerListItemUpdate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of sending the same tablist display name update to all players. Compares encoding
+ * the packet for every player, which is what player channels did before, with encoding it once
+ * using {@link EncodedPacketCache} and giving every player a retained duplicate. Every invocation
+ * changes the display name, so the first player always misses the cache like in a real update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EncodedPacketCacheBenchmark {
+
+    private static final EnumSet<PlayerListItemUpdate.Action> updateDisplayName = EnumSet.of(PlayerListItemUpdate.Action.UPDATE_DISPLAY_NAME);
+
+    /** Amount of players receiving the packet */
+    @Param({"1", "20", "200"})
+    public int players;
+
+    private final UUID entry = UUID.randomUUID();
+    private final int version = latestVersion();
+    private EncodedPacketCache cache;
+    private int update;
+
+    @Setup
+    public void setup() {
+        if (EncodedPacketCache.encode(createPacket(), version) == null) {
+            throw new IllegalStateException("Packet cannot be encoded for protocol version " + version);
+        }
+        cache = new EncodedPacketCache();
+    }
+
+    @Benchmark
+    public void encodePerPlayer(Blackhole blackhole) {
+        update++;
+        for (int i = 0; i < players; i++) {
+            ByteBuf buf = EncodedPacketCache.encode(createPacket(), version);
+            blackhole.consume(buf);
+            buf.release();
+        }
+    }
+
+    @Benchmark
+    public void encodeOnce(Blackhole blackhole) {
+        update++;
+        for (int i = 0; i < players; i++) {
+            ByteBuf buf = cache.getEncoded(createPacket(), version);
+            blackhole.consume(buf);
+            buf.release();
+        }
+    }
+
+    /**
+     * Creates packet the same way as tablist does for every player.
+     *
+     * @return  Display name update packet
+     */
+    private DefinedPacket createPacket() {
+        TextComponent prefix = new TextComponent("[Admin] ");
+        prefix.setColor(ChatColor.of("#FF5555"));
+        prefix.setBold(true);
+        TextComponent name = new TextComponent("Player" + update);
+        name.setColor(ChatColor.GRAY);
+        TextComponent displayName = new TextComponent(new BaseComponent[]{prefix, name});
+        Item item = new Item();
+        item.setUuid(entry);
+        item.setDisplayName(displayName);
+        PlayerListItemUpdate packet = new PlayerListItemUpdate();
+        packet.setActions(updateDisplayName);
+        packet.setItems(new Item[]{item});
+        return packet;
+    }
+
+    private static int latestVersion() {
+        List<Integer> versions = ProtocolConstants.SUPPORTED_VERSION_IDS;
+        return versions.get(versions.size() - 1);
+    }
+}
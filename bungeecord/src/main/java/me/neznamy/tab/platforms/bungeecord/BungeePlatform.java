@@ -179,7 +179,7 @@ public class BungeePlatform extends ProxyPlatform {
      * @return  Converted component
      */
     @NotNull
-    private BaseComponent createComponent(@NotNull TabComponent component, boolean modern) {
+    static BaseComponent createComponent(@NotNull TabComponent component, boolean modern) {
         // Component type
         BaseComponent bComponent;
         if (component instanceof TextComponent) {
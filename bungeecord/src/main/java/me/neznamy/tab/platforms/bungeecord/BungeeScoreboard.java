@@ -31,6 +31,9 @@ public class BungeeScoreboard extends SafeScoreboard<BungeeTabPlayer> {
     /** Version with a minor team recode */
     private final int TEAM_REWORK_VERSION = 13;
 
+    /** Cache of encoded team update packets, which are usually sent to all players */
+    private static final EncodedPacketCache teamUpdatePackets = new EncodedPacketCache();
+
     /**
      * Constructs new instance with given parameter
      *
@@ -114,7 +117,7 @@ public class BungeeScoreboard extends SafeScoreboard<BungeeTabPlayer> {
     }
 
     private void sendTeamPacket(@NonNull Team team, byte action) {
-        player.sendPacket(new net.md_5.bungee.protocol.packet.Team(
+        net.md_5.bungee.protocol.packet.Team packet = new net.md_5.bungee.protocol.packet.Team(
                 team.getName(),
                 action,
                 either(SimpleTextComponent.text(team.getName()), Limitations.TEAM_PREFIX_SUFFIX_PRE_1_13),
@@ -125,7 +128,13 @@ public class BungeeScoreboard extends SafeScoreboard<BungeeTabPlayer> {
                 player.getVersion().getMinorVersion() >= TEAM_REWORK_VERSION ? team.getColor().getLegacyColor().ordinal() : 0,
                 (byte) team.getOptions(),
                 team.getPlayers().toArray(new String[0])
-        ));
+        );
+        if (action == TeamAction.UPDATE) {
+            // Not modified by anti-override, safe to send pre-encoded
+            teamUpdatePackets.send(player, packet);
+        } else {
+            player.sendPacket(packet);
+        }
     }
 
     @Override
@@ -151,6 +160,11 @@ public class BungeeScoreboard extends SafeScoreboard<BungeeTabPlayer> {
     @NotNull
     private Either<String, BaseComponent> either(@NonNull TabComponent text, int legacyLimit) {
         if (player.getVersion().getMinorVersion() >= TEAM_REWORK_VERSION) {
+            if (player.getVersion().getNetworkId() < ProtocolVersion.V1_20_3.getNetworkId()) {
+                // Components are sent as json, write it directly instead of letting bungee serialize it with gson
+                String json = text.toJson(player.getVersion().getMinorVersion() >= 16);
+                if (json.length() <= Short.MAX_VALUE) return Either.left(json);
+            }
             return Either.right(player.getPlatform().transformComponent(text, player.getVersion()));
         } else {
             return Either.left(cutTo(text.toLegacyText(), legacyLimit));
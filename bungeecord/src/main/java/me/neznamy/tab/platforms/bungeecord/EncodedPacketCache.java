@@ -0,0 +1,156 @@
+package me.neznamy.tab.platforms.bungeecord;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.util.ReflectionUtils;
+import net.md_5.bungee.UserConnection;
+import net.md_5.bungee.netty.ChannelWrapper;
+import net.md_5.bungee.protocol.DefinedPacket;
+import net.md_5.bungee.protocol.PacketWrapper;
+import net.md_5.bungee.protocol.Protocol;
+import net.md_5.bungee.protocol.ProtocolConstants;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Cache of packets sent to many players in a row. Features usually send the same packet
+ * to all players one after another (such as a team update or a tablist display name change),
+ * which would make every player's channel encode it again, including serializing all
+ * components in it. This cache remembers the last packet sent to each protocol version
+ * together with its encoded form and sends a retained duplicate of the encoded buffer
+ * to every player receiving an equal packet, so each packet is encoded only once per
+ * protocol version.
+ * <p>
+ * Encoded buffers are not processed by TAB's own duplex handler, so only use this
+ * for packets which do not need to be checked by it.
+ */
+public class EncodedPacketCache {
+
+    /** Allocator of encoded buffers, which allows recognizing them in the pipeline */
+    @NotNull
+    public static final ByteBufAllocator ALLOCATOR = new UnpooledByteBufAllocator(false);
+
+    /** Method for getting packet ID of a packet class for protocol version, {@code null} if not available */
+    @Nullable
+    private static final Method getId = loadGetId();
+
+    /** Last packet sent to each protocol version */
+    @NotNull
+    private final DefinedPacket[] packets;
+
+    /** Encoded form of last packet for each protocol version */
+    @NotNull
+    private final ByteBuf[] buffers;
+
+    /**
+     * Constructs new instance.
+     */
+    public EncodedPacketCache() {
+        int size = Collections.max(ProtocolConstants.SUPPORTED_VERSION_IDS) + 1;
+        packets = new DefinedPacket[size];
+        buffers = new ByteBuf[size];
+    }
+
+    @Nullable
+    private static Method loadGetId() {
+        try {
+            return ReflectionUtils.setAccessible(Protocol.DirectionData.class.getDeclaredMethod("getId", Class.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            TAB.getInstance().getErrorManager().printError("Failed to load packet ID lookup, packets will be encoded for every player", e);
+            return null;
+        }
+    }
+
+    /**
+     * Sends packet to the player. If an equal packet was sent to a player with the same protocol
+     * version last time, its already encoded form is sent instead. Protocol phase is checked
+     * on the channel's event loop right before writing, so a player switching to configuration
+     * phase never receives a game phase packet. If the player is not in game phase, the packet
+     * is queued the same way as packets sent normally.
+     *
+     * @param   player
+     *          Player to send packet to
+     * @param   packet
+     *          Packet to send
+     */
+    public void send(@NotNull BungeeTabPlayer player, @NotNull DefinedPacket packet) {
+        UserConnection connection = (UserConnection) player.getPlayer();
+        ByteBuf buf = getEncoded(packet, connection.getPendingConnection().getVersion());
+        if (buf == null) {
+            player.sendPacket(packet);
+            return;
+        }
+        ChannelWrapper ch = connection.getCh();
+        PacketWrapper wrapper = new PacketWrapper(packet, buf, Protocol.GAME);
+        try {
+            ch.getHandle().eventLoop().execute(() -> {
+                if (!ch.isClosed()) {
+                    if (ch.getEncodeProtocol() == Protocol.GAME) {
+                        connection.sendPacket(wrapper);
+                    } else {
+                        connection.sendPacketQueued(packet);
+                    }
+                }
+                // Releases the buffer if it was not written, such as when the channel was closed
+                wrapper.trySingleRelease();
+            });
+        } catch (RejectedExecutionException e) {
+            // Event loop was shut down
+            wrapper.trySingleRelease();
+        }
+    }
+
+    /**
+     * Returns retained duplicate of encoded packet for given protocol version. If an equal packet
+     * was encoded for the version last time, its buffer is reused, otherwise the packet is encoded
+     * and remembered. Returns {@code null} if the packet cannot be encoded for the version.
+     *
+     * @param   packet
+     *          Packet to encode
+     * @param   version
+     *          Protocol version to encode packet for
+     * @return  Retained duplicate of encoded packet or {@code null} if it cannot be encoded
+     */
+    @Nullable
+    synchronized ByteBuf getEncoded(@NotNull DefinedPacket packet, int version) {
+        if (getId == null || version < 0 || version >= packets.length) return null;
+        ByteBuf buf = buffers[version];
+        if (buf == null || !packet.equals(packets[version])) {
+            buf = encode(packet, version);
+            if (buf == null) return null;
+            if (buffers[version] != null) buffers[version].release();
+            buffers[version] = buf;
+            packets[version] = packet;
+        }
+        return buf.retainedDuplicate();
+    }
+
+    /**
+     * Encodes the packet for given protocol version the same way the packet encoder does.
+     * Returns {@code null} if the packet cannot be encoded for the version.
+     *
+     * @param   packet
+     *          Packet to encode
+     * @param   version
+     *          Protocol version to encode packet for
+     * @return  Encoded packet or {@code null} if it cannot be encoded
+     */
+    @Nullable
+    static ByteBuf encode(@NotNull DefinedPacket packet, int version) {
+        ByteBuf buf = ALLOCATOR.heapBuffer();
+        try {
+            DefinedPacket.writeVarInt((int) getId.invoke(Protocol.GAME.TO_CLIENT, packet.getClass(), version), buf);
+            packet.write(buf, Protocol.GAME, ProtocolConstants.Direction.TO_CLIENT, version);
+            return buf;
+        } catch (Exception e) {
+            buf.release();
+            return null;
+        }
+    }
+}
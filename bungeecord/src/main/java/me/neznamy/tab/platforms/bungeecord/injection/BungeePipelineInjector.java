@@ -22,19 +22,25 @@ public class BungeePipelineInjector extends NettyPipelineInjector {
     /** Whether ByteBuf deserialization should be enabled or not */
     private final boolean byteBufDeserialization;
 
+    /** Packets which need to be deserialized by enabled features, indexed by {@link DeserializableBungeeChannelDuplexHandler} constants */
+    private final boolean[] deserializedPackets = new boolean[3];
+
     /**
      * Constructs new instance of the feature
      */
     public BungeePipelineInjector() {
         super("inbound-boss");
         Config config = TAB.getInstance().getConfiguration().getConfig();
-        byteBufDeserialization = (config.getTeams() != null && config.getTeams().isAntiOverride()) || config.getScoreboard() != null;
+        deserializedPackets[DeserializableBungeeChannelDuplexHandler.TEAM] = config.getTeams() != null && config.getTeams().isAntiOverride();
+        deserializedPackets[DeserializableBungeeChannelDuplexHandler.SCOREBOARD_DISPLAY] = config.getScoreboard() != null;
+        deserializedPackets[DeserializableBungeeChannelDuplexHandler.SCOREBOARD_OBJECTIVE] = config.getScoreboard() != null;
+        byteBufDeserialization = deserializedPackets[DeserializableBungeeChannelDuplexHandler.TEAM] || config.getScoreboard() != null;
     }
 
     @Override
     @NotNull
     public Function<TabPlayer, ChannelDuplexHandler> getChannelFunction() {
-        return byteBufDeserialization ? DeserializableBungeeChannelDuplexHandler::new : BungeeChannelDuplexHandler::new;
+        return byteBufDeserialization ? player -> new DeserializableBungeeChannelDuplexHandler(player, deserializedPackets) : BungeeChannelDuplexHandler::new;
     }
 
     @Override
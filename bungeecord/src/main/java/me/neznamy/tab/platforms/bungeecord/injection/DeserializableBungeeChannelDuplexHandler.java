@@ -3,17 +3,17 @@ package me.neznamy.tab.platforms.bungeecord.injection;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
-import lombok.SneakyThrows;
 import me.neznamy.tab.platforms.bungeecord.BungeeTabPlayer;
+import me.neznamy.tab.platforms.bungeecord.EncodedPacketCache;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 import net.md_5.bungee.UserConnection;
-import net.md_5.bungee.api.connection.ProxiedPlayer;
 import net.md_5.bungee.netty.ChannelWrapper;
 import net.md_5.bungee.protocol.DefinedPacket;
 import net.md_5.bungee.protocol.Protocol;
+import net.md_5.bungee.protocol.ProtocolConstants;
 import net.md_5.bungee.protocol.packet.ScoreboardDisplay;
 import net.md_5.bungee.protocol.packet.ScoreboardObjective;
 import net.md_5.bungee.protocol.packet.Team;
@@ -21,6 +21,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.function.Supplier;
 
 /**
@@ -31,37 +32,91 @@ import java.util.function.Supplier;
 @SuppressWarnings("unchecked")
 public class DeserializableBungeeChannelDuplexHandler extends BungeeChannelDuplexHandler {
 
-    /** Inaccessible bungee internals */
-    @Nullable
-    private static Object directionData;
+    /** Index of team packet in {@link #extraPacketClasses} */
+    public static final int TEAM = 0;
 
-    @Nullable
-    private static Method getId;
+    /** Index of display objective packet in {@link #extraPacketClasses} */
+    public static final int SCOREBOARD_DISPLAY = 1;
 
-    static {
-        try {
-            directionData = ReflectionUtils.setAccessible(Protocol.class.getDeclaredField("TO_CLIENT")).get(Protocol.GAME);
-            getId = ReflectionUtils.setAccessible(Protocol.DirectionData.class.getDeclaredMethod("getId", Class.class, int.class));
-        } catch (ReflectiveOperationException exception) {
-            TAB.getInstance().getErrorManager().criticalError("Failed to initialize bungee internal fields", exception);
-        }
-    }
+    /** Index of objective packet in {@link #extraPacketClasses} */
+    public static final int SCOREBOARD_OBJECTIVE = 2;
 
     /** Packets used by the plugin that must be deserialized and BungeeCord does not do it automatically */
     @NotNull
-    private final Class<? extends DefinedPacket>[] extraPacketClasses = new Class[]{Team.class, ScoreboardDisplay.class, ScoreboardObjective.class};
+    private static final Class<? extends DefinedPacket>[] extraPacketClasses = new Class[]{Team.class, ScoreboardDisplay.class, ScoreboardObjective.class};
+
+    @NotNull
+    private static final Supplier<DefinedPacket>[] extraPacketSuppliers = new Supplier[]{Team::new, ScoreboardDisplay::new, ScoreboardObjective::new};
+
+    /**
+     * Tracked packets in game protocol, first index is protocol version, second index is packet ID.
+     * Value is index of the packet in {@link #extraPacketClasses} + 1, or 0 if packet is not tracked.
+     * Protocol versions not supported by the proxy have {@code null} array.
+     */
+    @NotNull
+    private static final byte[][] packetTypes = loadPacketTypes();
+
+    /** Tracked packets of this player's protocol version or {@code null} if not available */
+    @Nullable
+    private final byte[] playerPacketTypes;
+
+    /** Whether packet with index from {@link #extraPacketClasses} should be deserialized or not */
+    @NotNull
+    private final boolean[] deserialized;
+
+    /** Player's protocol version */
+    private final int protocolVersion;
 
+    /** Player's channel wrapper for checking current protocol */
     @NotNull
-    private final Supplier<DefinedPacket>[] extraPacketSuppliers = new Supplier[]{Team::new, ScoreboardDisplay::new, ScoreboardObjective::new};
+    private final ChannelWrapper channelWrapper;
 
     /**
      * Constructs new instance with given player
      *
      * @param   player
      *          player to inject
+     * @param   deserialized
+     *          Whether packet with index from {@link #extraPacketClasses} should be deserialized or not
      */
-    public DeserializableBungeeChannelDuplexHandler(@NotNull TabPlayer player) {
+    public DeserializableBungeeChannelDuplexHandler(@NotNull TabPlayer player, @NotNull boolean[] deserialized) {
         super(player);
+        this.deserialized = deserialized;
+        UserConnection connection = (UserConnection) ((BungeeTabPlayer) player).getPlayer();
+        protocolVersion = connection.getPendingConnection().getVersion();
+        channelWrapper = connection.getCh();
+        playerPacketTypes = protocolVersion >= 0 && protocolVersion < packetTypes.length ? packetTypes[protocolVersion] : null;
+    }
+
+    /**
+     * Computes IDs of all tracked packets for all protocol versions supported by the proxy.
+     *
+     * @return  Tracked packets indexed by protocol version and packet ID
+     */
+    @NotNull
+    private static byte[][] loadPacketTypes() {
+        try {
+            Method getId = ReflectionUtils.setAccessible(Protocol.DirectionData.class.getDeclaredMethod("getId", Class.class, int.class));
+            Protocol.DirectionData directionData = Protocol.GAME.TO_CLIENT;
+            byte[][] types = new byte[Collections.max(ProtocolConstants.SUPPORTED_VERSION_IDS) + 1][];
+            for (int version : ProtocolConstants.SUPPORTED_VERSION_IDS) {
+                int[] ids = new int[extraPacketClasses.length];
+                int maxId = -1;
+                for (int i = 0; i < extraPacketClasses.length; i++) {
+                    ids[i] = directionData.hasPacket(extraPacketClasses[i], version) ? (int) getId.invoke(directionData, extraPacketClasses[i], version) : -1;
+                    maxId = Math.max(maxId, ids[i]);
+                }
+                byte[] versionTypes = new byte[maxId + 1];
+                for (int i = 0; i < ids.length; i++) {
+                    if (ids[i] != -1) versionTypes[ids[i]] = (byte) (i + 1);
+                }
+                types[version] = versionTypes;
+            }
+            return types;
+        } catch (ReflectiveOperationException exception) {
+            TAB.getInstance().getErrorManager().criticalError("Failed to initialize bungee internal fields", exception);
+            return new byte[0][];
+        }
     }
 
     @Override
@@ -74,7 +129,8 @@ public class DeserializableBungeeChannelDuplexHandler extends BungeeChannelDuple
 
     /**
      * Deserializes byte buf in case it is one of the tracked packets coming from backend server and returns it.
-     * If the packet is not one of them, returns input
+     * If the packet is not one of them or was encoded by {@link EncodedPacketCache}, returns input. Packet type is determined by only peeking the packet ID
+     * without reading the buffer, so untracked packets are passed through untouched.
      *
      * @param   buf
      *          byte buf to deserialize
@@ -82,21 +138,20 @@ public class DeserializableBungeeChannelDuplexHandler extends BungeeChannelDuple
      */
     @NotNull
     private Object deserialize(@NotNull ByteBuf buf) {
+        byte[] types = playerPacketTypes;
+        if (types == null || channelWrapper.getEncodeProtocol() != Protocol.GAME) return buf;
+        if (buf.alloc() == EncodedPacketCache.ALLOCATOR) return buf; // Sent by TAB
+        int packetId = peekVarInt(buf);
+        if (packetId < 0 || packetId >= types.length) return buf;
+        int type = types[packetId] - 1;
+        if (type < 0 || !deserialized[type]) return buf;
         int marker = buf.readerIndex();
         try {
-            int packetId = buf.readByte();
-            for (int i=0; i<extraPacketClasses.length; i++) {
-                ChannelWrapper ch = ((UserConnection) ((BungeeTabPlayer) player).getPlayer()).getCh();
-                if (!ch.getEncodeProtocol().TO_CLIENT.hasPacket(extraPacketClasses[i], ((ProxiedPlayer)player.getPlayer()).getPendingConnection().getVersion())) {
-                    continue;
-                }
-                if (packetId == getPacketId(((BungeeTabPlayer)player).getPlayer().getPendingConnection().getVersion(), extraPacketClasses[i])) {
-                    DefinedPacket packet = extraPacketSuppliers[i].get();
-                    packet.read(buf, null, ((ProxiedPlayer)player.getPlayer()).getPendingConnection().getVersion());
-                    buf.release();
-                    return packet;
-                }
-            }
+            DefinedPacket.readVarInt(buf);
+            DefinedPacket packet = extraPacketSuppliers[type].get();
+            packet.read(buf, null, protocolVersion);
+            buf.release();
+            return packet;
         } catch (Exception e) {
             //rare OverflowPacketException or IndexOutOfBoundsException
         }
@@ -105,17 +160,21 @@ public class DeserializableBungeeChannelDuplexHandler extends BungeeChannelDuple
     }
 
     /**
-     * Returns packet ID of specified packet on the protocol version
+     * Returns VarInt packet ID at the reader index of the buffer without moving the reader index.
+     * Only IDs up to 3 bytes long are supported, which covers all packet IDs.
      *
-     * @param   protocolVersion
-     *          Protocol version to get packet id for
-     * @param   clazz
-     *          packet class
-     * @return  packet ID
+     * @param   buf
+     *          Buffer to read packet ID from
+     * @return  Packet ID or {@code -1} if buffer does not contain a valid packet ID
      */
-    @SneakyThrows
-    private int getPacketId(int protocolVersion, @NotNull Class<? extends DefinedPacket> clazz) {
-        if (getId == null) return -1;
-        return (int) getId.invoke(directionData, clazz, protocolVersion);
+    private static int peekVarInt(@NotNull ByteBuf buf) {
+        int index = buf.readerIndex();
+        int value = 0;
+        for (int i = 0; i < 3 && index + i < buf.writerIndex(); i++) {
+            byte b = buf.getByte(index + i);
+            value |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) return value;
+        }
+        return -1;
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import lombok.NonNull;
 import lombok.SneakyThrows;
 import me.neznamy.chat.component.TabComponent;
 import me.neznamy.tab.platforms.bungeecord.BungeeTabPlayer;
+import me.neznamy.tab.platforms.bungeecord.EncodedPacketCache;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.platform.decorators.TrackedTabList;
 import me.neznamy.tab.shared.util.ReflectionUtils;
@@ -29,6 +30,12 @@ import java.util.UUID;
  */
 public abstract class BungeeTabList extends TrackedTabList<BungeeTabPlayer> {
 
+    /** Cache of encoded header/footer packets, which are usually sent to all players */
+    private static final EncodedPacketCache headerFooterPackets = new EncodedPacketCache();
+
+    /** Cache of encoded display name update packets, which are usually sent to all players */
+    protected static final EncodedPacketCache displayNamePackets = new EncodedPacketCache();
+
     /** Pointer to UUIDs in player's TabList */
     private final Collection<UUID> uuids;
 
@@ -47,7 +54,7 @@ public abstract class BungeeTabList extends TrackedTabList<BungeeTabPlayer> {
 
     @Override
     public void setPlayerListHeaderFooter(@NonNull TabComponent header, @NonNull TabComponent footer) {
-        player.sendPacket(new PlayerListHeaderFooter(toComponent(header), toComponent(footer)));
+        headerFooterPackets.send(player, new PlayerListHeaderFooter(toComponent(header), toComponent(footer)));
     }
 
     /**
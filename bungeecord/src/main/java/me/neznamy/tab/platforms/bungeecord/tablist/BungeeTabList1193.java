@@ -7,6 +7,7 @@ import me.neznamy.tab.shared.ProtocolVersion;
 import net.md_5.bungee.protocol.packet.PlayerListItem.Item;
 import net.md_5.bungee.protocol.packet.PlayerListItemRemove;
 import net.md_5.bungee.protocol.packet.PlayerListItemUpdate;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.EnumSet;
@@ -77,7 +78,7 @@ public class BungeeTabList1193 extends BungeeTabList {
     public void updateDisplayName0(@NonNull UUID entry, @Nullable TabComponent displayName) {
         Item item = item(entry);
         if (displayName != null) item.setDisplayName(toComponent(displayName));
-        sendPacket(updateDisplayName, item);
+        displayNamePackets.send(player, createPacket(updateDisplayName, item));
     }
 
     @Override
@@ -132,9 +133,14 @@ public class BungeeTabList1193 extends BungeeTabList {
     }
 
     private void sendPacket(@NonNull EnumSet<PlayerListItemUpdate.Action> actions, @NonNull Item item) {
+        player.sendPacket(createPacket(actions, item));
+    }
+
+    @NotNull
+    private PlayerListItemUpdate createPacket(@NonNull EnumSet<PlayerListItemUpdate.Action> actions, @NonNull Item item) {
         PlayerListItemUpdate packet = new PlayerListItemUpdate();
         packet.setActions(actions);
         packet.setItems(new Item[]{item});
-        player.sendPacket(packet);
+        return packet;
     }
 }
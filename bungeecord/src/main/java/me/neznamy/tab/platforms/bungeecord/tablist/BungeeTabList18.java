@@ -5,6 +5,7 @@ import me.neznamy.chat.component.TabComponent;
 import me.neznamy.tab.platforms.bungeecord.BungeeTabPlayer;
 import net.md_5.bungee.protocol.packet.PlayerListItem;
 import net.md_5.bungee.protocol.packet.PlayerListItem.Item;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
@@ -35,7 +36,7 @@ public class BungeeTabList18 extends BungeeTabList {
     public void updateDisplayName0(@NonNull UUID entry, @Nullable TabComponent displayName) {
         Item item = item(entry);
         if (displayName != null) item.setDisplayName(toComponent(displayName));
-        sendPacket(PlayerListItem.Action.UPDATE_DISPLAY_NAME, item);
+        displayNamePackets.send(player, createPacket(PlayerListItem.Action.UPDATE_DISPLAY_NAME, item));
     }
 
     @Override
@@ -74,9 +75,14 @@ public class BungeeTabList18 extends BungeeTabList {
     }
 
     private void sendPacket(@NonNull PlayerListItem.Action action, @NonNull Item item) {
+        player.sendPacket(createPacket(action, item));
+    }
+
+    @NotNull
+    private PlayerListItem createPacket(@NonNull PlayerListItem.Action action, @NonNull Item item) {
         PlayerListItem packet = new PlayerListItem();
         packet.setAction(action);
         packet.setItems(new Item[]{item});
-        player.sendPacket(packet);
+        return packet;
     }
 }
@@ -0,0 +1,143 @@
+package me.neznamy.tab.platforms.bungeecord;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import me.neznamy.chat.ChatModifier;
+import me.neznamy.chat.TextColor;
+import me.neznamy.chat.component.KeybindComponent;
+import me.neznamy.chat.component.TabComponent;
+import me.neznamy.chat.component.TextComponent;
+import me.neznamy.chat.component.TranslatableComponent;
+import me.neznamy.chat.util.ComponentJsonSerializer;
+import net.md_5.bungee.chat.ComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares json written by {@link ComponentJsonSerializer} with json produced by converting
+ * the component into a bungee component and serializing it with bungee's gson serializer,
+ * which is how components were sent before. Json is compared as parsed trees, because
+ * key order and escaping of some characters differ.
+ */
+class ComponentJsonSerializerTest {
+
+    private static void assertSameJson(TabComponent component) {
+        for (boolean modern : new boolean[]{true, false}) {
+            String expected = ComponentSerializer.toString(BungeePlatform.createComponent(component, modern));
+            String actual = ComponentJsonSerializer.serialize(component, modern);
+            assertEquals(JsonParser.parseString(expected), JsonParser.parseString(actual),
+                    () -> "Expected " + expected + " but got " + actual + " (modern = " + modern + ")");
+        }
+    }
+
+    private static TextComponent text(String text, ChatModifier modifier) {
+        TextComponent component = new TextComponent(text, (TextColor) null);
+        component.setModifier(modifier);
+        return component;
+    }
+
+    @Test
+    void plainText() {
+        assertSameJson(new TextComponent("Hello", (TextColor) null));
+        assertSameJson(new TextComponent("", (TextColor) null));
+    }
+
+    @Test
+    void colors() {
+        assertSameJson(new TextComponent("Legacy", TextColor.RED));
+        assertSameJson(new TextComponent("Hex", new TextColor("3A7BD5")));
+        assertSameJson(new TextComponent("Lowercase hex", new TextColor("ff00aa")));
+        assertSameJson(new TextComponent("Hex matching legacy", new TextColor("FF5555")));
+    }
+
+    @Test
+    void decorations() {
+        ChatModifier set = new ChatModifier();
+        set.setBold(true);
+        set.setItalic(true);
+        set.setUnderlined(true);
+        set.setStrikethrough(true);
+        set.setObfuscated(true);
+        assertSameJson(text("All", set));
+
+        ChatModifier unset = new ChatModifier();
+        unset.setBold(false);
+        unset.setItalic(false);
+        unset.setUnderlined(false);
+        unset.setStrikethrough(false);
+        unset.setObfuscated(false);
+        assertSameJson(text("None", unset));
+    }
+
+    @Test
+    void font() {
+        ChatModifier modifier = new ChatModifier();
+        modifier.setFont("minecraft:uniform");
+        assertSameJson(text("Font", modifier));
+    }
+
+    @Test
+    void shadowColor() {
+        ChatModifier opaque = new ChatModifier();
+        opaque.setShadowColor(0xFF112233);
+        assertSameJson(text("Opaque", opaque));
+
+        ChatModifier transparent = new ChatModifier();
+        transparent.setShadowColor(0x40FF0000);
+        assertSameJson(text("Transparent", transparent));
+    }
+
+    @Test
+    void translateAndKeybind() {
+        TranslatableComponent translate = new TranslatableComponent("block.minecraft.stone");
+        translate.getModifier().setColor(TextColor.GOLD);
+        assertSameJson(translate);
+
+        KeybindComponent keybind = new KeybindComponent("key.jump");
+        keybind.getModifier().setItalic(true);
+        assertSameJson(keybind);
+    }
+
+    @Test
+    void extra() {
+        TextComponent child = new TextComponent("child", new TextColor("123456"));
+        child.addExtra(new KeybindComponent("key.sneak"));
+        TextComponent root = new TextComponent("root", Arrays.asList(child, new TranslatableComponent("gui.done")));
+        root.getModifier().setBold(true);
+        assertSameJson(root);
+    }
+
+    @Test
+    void coloredText() {
+        assertSameJson(TabComponent.fromColoredText("§a§lAdmin §r#FF00FFPlayer §7<font:minecraft:alt>[1]</font>"));
+    }
+
+    @Test
+    void stringEscaping() {
+        String[] texts = {
+                "quote \" backslash \\ slash /",
+                "line\nbreak\r\ttab",
+                "control \u0000 \u0001 \u001f \u007f",
+                "separators \u2028 \u2029",
+                "html < > & = '",
+                "unicode § ★ 😀"
+        };
+        for (String text : texts) {
+            TextComponent component = new TextComponent(text, (TextColor) null);
+            assertSameJson(component);
+            JsonElement parsed = JsonParser.parseString(ComponentJsonSerializer.serialize(component, true));
+            assertEquals(text, parsed.getAsJsonObject().get("text").getAsString());
+        }
+    }
+
+    @Test
+    void cachesResult() {
+        TextComponent component = new TextComponent("Cached", TextColor.AQUA);
+        assertSame(component.toJson(true), component.toJson(true));
+        assertSame(component.toJson(false), component.toJson(false));
+        assertNotEquals(component.toJson(true), component.toJson(false));
+    }
+}
@@ -12,6 +12,7 @@ import me.neznamy.chat.TextColor;
 import me.neznamy.chat.hook.AdventureHook;
 import me.neznamy.chat.hook.ViaVersionHook;
 import me.neznamy.chat.rgb.RGBUtils;
+import me.neznamy.chat.util.ComponentJsonSerializer;
 import me.neznamy.chat.util.TriFunction;
 import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
@@ -99,28 +100,36 @@ public abstract class TabComponent {
     private static final Pattern fontPattern = Pattern.compile("<font:(.*?)>(.*?)</font>");
 
     @Nullable
-    private Object converted;
+    private volatile Object converted;
 
     /** Adventure component from this component */
     @Nullable
     @Setter
-    private Component adventureComponent;
+    private volatile Component adventureComponent;
 
     /** ViaVersion component from this component */
     @Nullable
     @Setter
-    private JsonElement viaComponent;
+    private volatile JsonElement viaComponent;
     /** ViaVersion tag from this component */
     @Nullable
     @Setter
-    private Tag viaTag;
+    private volatile Tag viaTag;
 
     @Nullable
-    private Object fixedFormat;
+    private volatile Object fixedFormat;
 
     /** TextHolder object for Velocity */
     @Nullable
-    private Object textHolder;
+    private volatile Object textHolder;
+
+    /** Json string of this component with RGB colors */
+    @Nullable
+    private volatile String json;
+
+    /** Json string of this component with colors converted to legacy */
+    @Nullable
+    private volatile String legacyJson;
 
     /**
      * Last color of this component.
@@ -240,6 +249,24 @@ public abstract class TabComponent {
         return (T) textHolder;
     }
 
+    /**
+     * Serializes this component into a json string. The result is cached.
+     *
+     * @param   modern
+     *          {@code true} if colors should be as RGB, {@code false} if legacy
+     * @return  Json string of this component
+     */
+    @NotNull
+    public String toJson(boolean modern) {
+        if (modern) {
+            if (json == null) json = ComponentJsonSerializer.serialize(this, true);
+            return json;
+        } else {
+            if (legacyJson == null) legacyJson = ComponentJsonSerializer.serialize(this, false);
+            return legacyJson;
+        }
+    }
+
     /**
      * Returns last color of this component. This value is cached. If no color is used, WHITE color is returned.
      *
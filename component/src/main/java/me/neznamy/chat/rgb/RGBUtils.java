@@ -53,6 +53,8 @@ public class RGBUtils {
     @NotNull
     public String applyFormats(@NotNull String text, @NotNull TriFunction<TextColor, String, TextColor, String> gradientFunction,
                                @NotNull Function<TextColor, String> rgbFunction) {
+        // All formats except bukkit's §x§R§R§G§G§B§B contain #, skip all the patterns if there is nothing to replace
+        if (text.indexOf('#') == -1 && !text.contains("§x")) return text;
         String replaced = text;
         for (GradientPattern pattern : gradients) {
             replaced = pattern.applyPattern(replaced, gradientFunction);
@@ -0,0 +1,159 @@
+package me.neznamy.chat.util;
+
+import me.neznamy.chat.ChatModifier;
+import me.neznamy.chat.component.KeybindComponent;
+import me.neznamy.chat.component.TabComponent;
+import me.neznamy.chat.component.TextComponent;
+import me.neznamy.chat.component.TranslatableComponent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Serializer writing components directly into a json string without building
+ * an intermediate json tree or going through reflection-based serializers.
+ * Output describes the same json as BungeeCord's gson serializer produces for
+ * the converted component, although key order and escaping of some characters
+ * differ. The only allocations are the builder (reused per thread) and the final string.
+ */
+public class ComponentJsonSerializer {
+
+    /** Hex digits for escaping control characters */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /** Builder reused by each thread to avoid growing a new one for every component */
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    /**
+     * Serializes the component into a json string.
+     *
+     * @param   component
+     *          Component to serialize
+     * @param   modern
+     *          {@code true} if colors should be as RGB, {@code false} if legacy
+     * @return  Json string of the component
+     */
+    @NotNull
+    public static String serialize(@NotNull TabComponent component, boolean modern) {
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        serialize(component, modern, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Appends json form of the component into given builder.
+     *
+     * @param   component
+     *          Component to serialize
+     * @param   modern
+     *          {@code true} if colors should be as RGB, {@code false} if legacy
+     * @param   builder
+     *          Builder to append the json into
+     */
+    public static void serialize(@NotNull TabComponent component, boolean modern, @NotNull StringBuilder builder) {
+        // Root
+        if (component instanceof TextComponent) {
+            builder.append("{\"text\":");
+            appendString(builder, ((TextComponent) component).getText());
+        } else if (component instanceof TranslatableComponent) {
+            builder.append("{\"translate\":");
+            appendString(builder, ((TranslatableComponent) component).getKey());
+        } else if (component instanceof KeybindComponent) {
+            builder.append("{\"keybind\":");
+            appendString(builder, ((KeybindComponent) component).getKeybind());
+        } else {
+            throw new IllegalStateException("Unknown component type: " + component.getClass().getName());
+        }
+
+        // Color
+        ChatModifier modifier = component.getModifier();
+        if (modifier.getColor() != null) {
+            builder.append(",\"color\":\"");
+            if (modern) {
+                builder.append('#').append(modifier.getColor().getHexCode());
+            } else {
+                String name = modifier.getColor().getLegacyColor().name();
+                for (int i = 0; i < name.length(); i++) {
+                    builder.append(Character.toLowerCase(name.charAt(i)));
+                }
+            }
+            builder.append('"');
+        }
+        if (modifier.getShadowColor() != null) {
+            builder.append(",\"shadow_color\":").append(modifier.getShadowColor().intValue());
+        }
+
+        // Render
+        appendBoolean(builder, "bold", modifier.getBold());
+        appendBoolean(builder, "italic", modifier.getItalic());
+        appendBoolean(builder, "obfuscated", modifier.getObfuscated());
+        appendBoolean(builder, "strikethrough", modifier.getStrikethrough());
+        appendBoolean(builder, "underlined", modifier.getUnderlined());
+        if (modifier.getFont() != null) {
+            builder.append(",\"font\":");
+            appendString(builder, modifier.getFont());
+        }
+
+        // Extra
+        if (!component.getExtra().isEmpty()) {
+            builder.append(",\"extra\":[");
+            boolean first = true;
+            for (TabComponent extra : component.getExtra()) {
+                if (!first) builder.append(',');
+                serialize(extra, modern, builder);
+                first = false;
+            }
+            builder.append(']');
+        }
+        builder.append('}');
+    }
+
+    private static void appendBoolean(@NotNull StringBuilder builder, @NotNull String key, @Nullable Boolean value) {
+        if (value == null) return;
+        builder.append(",\"").append(key).append("\":").append(value.booleanValue());
+    }
+
+    /**
+     * Appends quoted and escaped json string into the builder.
+     *
+     * @param   builder
+     *          Builder to append the string into
+     * @param   value
+     *          String to append
+     */
+    private static void appendString(@NotNull StringBuilder builder, @NotNull String value) {
+        builder.append('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') continue;
+            builder.append(value, start, i);
+            start = i + 1;
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    builder.append("\\u")
+                            .append(HEX_DIGITS[(c >> 12) & 0xF])
+                            .append(HEX_DIGITS[(c >> 8) & 0xF])
+                            .append(HEX_DIGITS[(c >> 4) & 0xF])
+                            .append(HEX_DIGITS[c & 0xF]);
+                    break;
+            }
+        }
+        builder.append(value, start, value.length()).append('"');
+    }
+}
@@ -1,4 +1,5 @@
 plugins {
+    id("tab.test-conventions")
     id("net.kyori.blossom") version "1.3.1"
 }
 
@@ -30,6 +31,7 @@ dependencies {
         exclude("org.slf4j", "slf4j-api")
     }
     implementation("com.saicone.delivery4j:extension-guava:1.1.1")
+    testImplementation("com.h2database:h2:2.2.224")
 }
 
 blossom {
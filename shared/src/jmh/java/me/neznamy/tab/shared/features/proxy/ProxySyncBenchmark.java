@@ -0,0 +1,342 @@
+package me.neznamy.tab.shared.features.proxy;
+
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.TestPlatform;
+import me.neznamy.tab.shared.cpu.ThreadExecutor;
+import me.neznamy.tab.shared.features.nametags.NameTag;
+import me.neznamy.tab.shared.features.nametags.NameTagUpdateProxyPlayer;
+import me.neznamy.tab.shared.features.proxy.message.PlayerJoin;
+import me.neznamy.tab.shared.features.proxy.message.PlayerQuit;
+import me.neznamy.tab.shared.features.proxy.message.ProxyMessage;
+import me.neznamy.tab.shared.features.proxy.message.ServerSwitch;
+import me.neznamy.tab.shared.platform.Scoreboard;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Benchmark of synchronizing players of other proxies. TAB is started on a test platform with
+ * {@link #viewers} players connected to it, while {@link #proxies} simulated proxies with
+ * {@link #playersPerProxy} players each send join, quit, server switch and nametag messages
+ * of their players to it through a {@link LocalBroker} network with {@link #latency} and
+ * {@link #loss}. Lost messages are recovered the same way as with a real messenger, by detecting
+ * the gap on the next message and requesting the changes.
+ * <p>
+ * The score is the time from sending a change until it is applied on the benchmarked proxy,
+ * including network latency and recovery of lost messages. If the change is not applied within
+ * {@link #RESEND_INTERVAL} milliseconds, it is sent again, which simulates further traffic
+ * revealing the lost message. Secondary result {@code cpuNanosPerMessage} is CPU time spent by
+ * TAB's processing thread and the nametag thread until the change is applied.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProxySyncBenchmark {
+
+    /** Servers fake players switch between */
+    private static final String[] SERVERS = {"lobby", "survival", "skyblock", "minigames"};
+
+    /** Time in milliseconds after which a change which was not applied yet is sent again */
+    private static final int RESEND_INTERVAL = 100;
+
+    @NotNull
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    /** Amount of simulated proxies */
+    @Param("3")
+    public int proxies;
+
+    /** Amount of players on each simulated proxy */
+    @Param("500")
+    public int playersPerProxy;
+
+    /** Amount of players connected to the proxy processing the messages */
+    @Param("100")
+    public int viewers;
+
+    /** Delay of every message in milliseconds */
+    @Param("2")
+    public int latency;
+
+    /** Chance of a message getting lost from 0 to 1 */
+    @Param({"0", "0.01"})
+    public double loss;
+
+    /** Network proxies are connected to */
+    private LocalBroker.Network network;
+
+    /** IDs of threads which process messages */
+    private long[] threadIds;
+
+    /** Test platform TAB is running on */
+    private TestPlatform platform;
+
+    /** Proxy support processing the messages */
+    private ProxySupport target;
+
+    /** Nametag feature */
+    private NameTag nameTags;
+
+    /** Simulated proxies sending the messages */
+    private final List<FakeProxy> proxyList = new ArrayList<>();
+
+    /** Counter for generating unique fake player names */
+    private int playerCounter;
+
+    /** Counter for generating unique nametag prefixes */
+    private int updateCounter;
+
+    /**
+     * Starts TAB, connects viewers and joins players of all simulated proxies.
+     *
+     * @throws  Exception
+     *          If TAB failed to start
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        File dataFolder = Files.createTempDirectory("tab-benchmark").toFile();
+        network = new LocalBroker.Network(latency, loss);
+        platform = new TestPlatform(dataFolder, network);
+        TAB tab = platform.start();
+        target = tab.getFeatureManager().getFeature(TabConstants.Feature.PROXY_SUPPORT);
+        nameTags = tab.getFeatureManager().getFeature(TabConstants.Feature.NAME_TAGS);
+        if (target == null || nameTags == null) throw new IllegalStateException("Proxy support and nametags must be enabled in default config");
+        target.setResyncTimeout(RESEND_INTERVAL * 5);
+        threadIds = new long[]{threadId(tab.getCpu().getProcessingThread()), threadId(nameTags.getCustomThread())};
+        for (int i = 0; i < viewers; i++) {
+            platform.join("Viewer" + i);
+        }
+        for (int i = 0; i < proxies; i++) {
+            FakeProxy proxy = new FakeProxy();
+            proxyList.add(proxy);
+            for (int j = 0; j < playersPerProxy; j++) {
+                proxy.join(null);
+            }
+        }
+    }
+
+    /**
+     * Stops TAB.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (FakeProxy proxy : proxyList) {
+            proxy.unregister();
+        }
+        TAB.getInstance().unload();
+        network.shutdown();
+    }
+
+    private static long threadId(@NotNull ThreadExecutor thread) throws Exception {
+        CompletableFuture<Long> id = new CompletableFuture<>();
+        thread.execute(() -> id.complete(Thread.currentThread().getId()));
+        return id.get(10, TimeUnit.SECONDS);
+    }
+
+    private long cpuTime() {
+        long total = 0;
+        for (long id : threadIds) {
+            total += threadBean.getThreadCpuTime(id);
+        }
+        return total;
+    }
+
+    /**
+     * Benchmarks nametag update of a random player.
+     *
+     * @param   cpu
+     *          CPU time counter
+     * @throws  InterruptedException
+     *          If interrupted while waiting for processing
+     */
+    @Benchmark
+    public void nameTagUpdate(@NotNull CpuCounter cpu) throws InterruptedException {
+        randomProxy().updateNameTag(cpu);
+    }
+
+    /**
+     * Benchmarks server switch of a random player.
+     *
+     * @param   cpu
+     *          CPU time counter
+     * @throws  InterruptedException
+     *          If interrupted while waiting for processing
+     */
+    @Benchmark
+    public void serverSwitch(@NotNull CpuCounter cpu) throws InterruptedException {
+        randomProxy().switchServer(cpu);
+    }
+
+    /**
+     * Benchmarks a random player leaving and a new player joining.
+     *
+     * @param   cpu
+     *          CPU time counter
+     * @throws  InterruptedException
+     *          If interrupted while waiting for processing
+     */
+    @Benchmark
+    public void quitAndJoin(@NotNull CpuCounter cpu) throws InterruptedException {
+        FakeProxy proxy = randomProxy();
+        proxy.quit(cpu);
+        proxy.join(cpu);
+    }
+
+    @NotNull
+    private FakeProxy randomProxy() {
+        return proxyList.get(ThreadLocalRandom.current().nextInt(proxyList.size()));
+    }
+
+    /**
+     * Sends message through the network and waits until the change is applied on the
+     * benchmarked proxy. If it is not applied in time, the message is sent again.
+     *
+     * @param   proxy
+     *          Proxy sending the message
+     * @param   message
+     *          Message to send
+     * @param   state
+     *          Message with full state of the player
+     * @param   applied
+     *          Condition which is met once the change is applied
+     * @param   cpu
+     *          Counter to add CPU time to, {@code null} if not measuring
+     * @throws  InterruptedException
+     *          If interrupted while waiting for processing
+     */
+    private void deliver(@NotNull FakeProxy proxy, @NotNull ProxyMessage message, @NotNull ProxyMessage state,
+                         @NotNull BooleanSupplier applied, CpuCounter cpu) throws InterruptedException {
+        long cpuTime = cpu == null ? 0 : cpuTime();
+        long deadline = System.currentTimeMillis() + 60000;
+        while (true) {
+            proxy.sendMessage(message, state);
+            long resend = System.currentTimeMillis() + RESEND_INTERVAL;
+            while (!applied.getAsBoolean()) {
+                if (System.currentTimeMillis() > deadline) throw new IllegalStateException("Change was not applied in time");
+                if (System.currentTimeMillis() > resend) break;
+                LockSupport.parkNanos(10_000);
+            }
+            if (applied.getAsBoolean()) break;
+        }
+        if (cpu != null) cpu.add(cpuTime() - cpuTime);
+    }
+
+    /**
+     * CPU time spent processing messages, reported as a secondary result.
+     * Values are only correct with a single benchmark thread.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CpuCounter {
+
+        /** Average CPU time per message in nanoseconds */
+        public long cpuNanosPerMessage;
+
+        private long total;
+        private long messages;
+
+        /**
+         * Resets counter before each iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            cpuNanosPerMessage = 0;
+            total = 0;
+            messages = 0;
+        }
+
+        private void add(long cpuNanos) {
+            total += cpuNanos;
+            messages++;
+            cpuNanosPerMessage = total / messages;
+        }
+    }
+
+    /**
+     * Simulated proxy with fake players, sending their messages to the benchmarked proxy.
+     */
+    private class FakeProxy extends SimulatedProxy {
+
+        /** Players connected to this proxy */
+        @NotNull
+        private final List<ProxyPlayer> players = new ArrayList<>();
+
+        private FakeProxy() {
+            super(target, network);
+        }
+
+        private void join(CpuCounter cpu) throws InterruptedException {
+            String name = "Bench" + playerCounter++;
+            ProxyPlayer player = new ProxyPlayer(UUID.randomUUID(), name, name, randomServer(), false, false);
+            players.add(player);
+            PlayerJoin join = new PlayerJoin(player);
+            deliver(this, join, join, () -> target.getProxyPlayers().containsKey(player.getUniqueId()), cpu);
+            updateNameTag(player, null);
+        }
+
+        private void quit(CpuCounter cpu) throws InterruptedException {
+            ProxyPlayer player = players.remove(ThreadLocalRandom.current().nextInt(players.size()));
+            PlayerQuit quit = new PlayerQuit(player.getUniqueId());
+            deliver(this, quit, quit, () -> !target.getProxyPlayers().containsKey(player.getUniqueId()), cpu);
+        }
+
+        private void switchServer(CpuCounter cpu) throws InterruptedException {
+            ProxyPlayer player = randomPlayer();
+            String server = randomServer(player.server);
+            player.setServer(server);
+            deliver(this, new ServerSwitch(player.getUniqueId(), server), new PlayerJoin(player), () -> {
+                ProxyPlayer received = target.getProxyPlayers().get(player.getUniqueId());
+                return received != null && received.server.equals(server);
+            }, cpu);
+        }
+
+        private void updateNameTag(CpuCounter cpu) throws InterruptedException {
+            updateNameTag(randomPlayer(), cpu);
+        }
+
+        private void updateNameTag(@NotNull ProxyPlayer player, CpuCounter cpu) throws InterruptedException {
+            String teamName = player.getName();
+            if (teamName.length() > 15) teamName = teamName.substring(0, 15);
+            // Unique prefix, so every update is a change
+            String prefix = "&" + Integer.toHexString(ThreadLocalRandom.current().nextInt(16)) + "[Bench" + updateCounter++ + "] ";
+            NameTagUpdateProxyPlayer update = new NameTagUpdateProxyPlayer(nameTags, player.getUniqueId(), teamName + "A",
+                    prefix, "", Scoreboard.NameVisibility.ALWAYS);
+            deliver(this, update, update, () -> {
+                ProxyPlayer received = target.getProxyPlayers().get(player.getUniqueId());
+                return received != null && prefix.equals(received.getTagPrefix());
+            }, cpu);
+        }
+
+        @NotNull
+        private ProxyPlayer randomPlayer() {
+            return players.get(ThreadLocalRandom.current().nextInt(players.size()));
+        }
+
+        @NotNull
+        private String randomServer() {
+            return SERVERS[ThreadLocalRandom.current().nextInt(SERVERS.length)];
+        }
+
+        @NotNull
+        private String randomServer(@NotNull String current) {
+            String server;
+            do {
+                server = randomServer();
+            } while (server.equals(current));
+            return server;
+        }
+    }
+}
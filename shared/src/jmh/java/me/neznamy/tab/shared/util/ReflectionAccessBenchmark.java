@@ -0,0 +1,148 @@
+package me.neznamy.tab.shared.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of reading and writing packet fields using {@link Field} compared to method handles
+ * created by {@link ReflectionUtils#getter(Field)} and {@link ReflectionUtils#setter(Field)}.
+ * Fields mirror player info packet, which is read on every sent player info packet. Handles
+ * are tested both as static final constants (reflection provider and NMS modules) and as
+ * final instance fields (team packet data).
+ * <p>
+ * Server classes are only a compile-time dependency of the NMS modules and are not available
+ * when running benchmarks, so the packet is a stand-in with the same field layout as entries
+ * of 1.19.3+ {@code ClientboundPlayerInfoUpdatePacket} (list of entries with profile id,
+ * display name, latency and listed flag). Access cost depends on field types and modifiers,
+ * not on the class declaring them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReflectionAccessBenchmark {
+
+    private static final Field ENTRIES = field(PlayerInfoPacket.class, "entries");
+    private static final Field ENTRY_ID = field(PlayerInfoEntry.class, "id");
+    private static final Field DISPLAY_NAME = field(PlayerInfoEntry.class, "displayName");
+    private static final Field LATENCY = field(PlayerInfoEntry.class, "latency");
+    private static final Field LISTED = field(PlayerInfoEntry.class, "listed");
+
+    private static final MethodHandle GET_ENTRIES = ReflectionUtils.getter(ENTRIES);
+    private static final MethodHandle SET_ENTRIES = ReflectionUtils.setter(ENTRIES);
+    private static final MethodHandle GET_ENTRY_ID = ReflectionUtils.getter(ENTRY_ID);
+    private static final MethodHandle GET_DISPLAY_NAME = ReflectionUtils.getter(DISPLAY_NAME);
+    private static final MethodHandle GET_LATENCY = ReflectionUtils.getter(LATENCY);
+    private static final MethodHandle GET_LISTED = ReflectionUtils.getter(LISTED);
+
+    private final MethodHandle instanceGetEntries = ReflectionUtils.getter(ENTRIES);
+    private final MethodHandle instanceGetEntryId = ReflectionUtils.getter(ENTRY_ID);
+    private final MethodHandle instanceGetDisplayName = ReflectionUtils.getter(DISPLAY_NAME);
+    private final MethodHandle instanceGetLatency = ReflectionUtils.getter(LATENCY);
+    private final MethodHandle instanceGetListed = ReflectionUtils.getter(LISTED);
+
+    /** Amount of entries in the packet */
+    @Param({"1", "20"})
+    public int entries;
+
+    private PlayerInfoPacket packet;
+    private List<PlayerInfoEntry> rewritten;
+
+    @Setup
+    public void setup() {
+        List<PlayerInfoEntry> list = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            list.add(new PlayerInfoEntry(UUID.randomUUID(), "Player" + i, i, i % 2 == 0));
+        }
+        packet = new PlayerInfoPacket(list);
+        rewritten = new ArrayList<>(list);
+        Collections.reverse(rewritten);
+    }
+
+    @Benchmark
+    public void readField(Blackhole blackhole) throws IllegalAccessException {
+        for (Object entry : (List<?>) ENTRIES.get(packet)) {
+            blackhole.consume(ENTRY_ID.get(entry));
+            blackhole.consume(DISPLAY_NAME.get(entry));
+            blackhole.consume(LATENCY.getInt(entry));
+            blackhole.consume(LISTED.getBoolean(entry));
+        }
+    }
+
+    @Benchmark
+    public void readStaticHandle(Blackhole blackhole) throws Throwable {
+        for (Object entry : (List<?>) (Object) GET_ENTRIES.invokeExact((Object) packet)) {
+            blackhole.consume((Object) GET_ENTRY_ID.invokeExact(entry));
+            blackhole.consume((Object) GET_DISPLAY_NAME.invokeExact(entry));
+            blackhole.consume((int) GET_LATENCY.invokeExact(entry));
+            blackhole.consume((boolean) GET_LISTED.invokeExact(entry));
+        }
+    }
+
+    @Benchmark
+    public void readInstanceHandle(Blackhole blackhole) throws Throwable {
+        for (Object entry : (List<?>) (Object) instanceGetEntries.invokeExact((Object) packet)) {
+            blackhole.consume((Object) instanceGetEntryId.invokeExact(entry));
+            blackhole.consume((Object) instanceGetDisplayName.invokeExact(entry));
+            blackhole.consume((int) instanceGetLatency.invokeExact(entry));
+            blackhole.consume((boolean) instanceGetListed.invokeExact(entry));
+        }
+    }
+
+    @Benchmark
+    public Object writeField() throws IllegalAccessException {
+        ENTRIES.set(packet, rewritten);
+        return packet;
+    }
+
+    @Benchmark
+    public Object writeStaticHandle() throws Throwable {
+        SET_ENTRIES.invokeExact((Object) packet, (Object) rewritten);
+        return packet;
+    }
+
+    private static Field field(Class<?> clazz, String name) {
+        try {
+            return ReflectionUtils.setAccessible(clazz.getDeclaredField(name));
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Packet with a list of entries, like {@code ClientboundPlayerInfoUpdatePacket}.
+     */
+    private static class PlayerInfoPacket {
+
+        private List<PlayerInfoEntry> entries;
+
+        private PlayerInfoPacket(List<PlayerInfoEntry> entries) {
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * Single entry of player info packet, like {@code ClientboundPlayerInfoUpdatePacket.Entry}.
+     */
+    private static class PlayerInfoEntry {
+
+        private final UUID id;
+        private final Object displayName;
+        private final int latency;
+        private final boolean listed;
+
+        private PlayerInfoEntry(UUID id, Object displayName, int latency, boolean listed) {
+            this.id = id;
+            this.displayName = displayName;
+            this.latency = latency;
+            this.listed = listed;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package me.neznamy.tab.shared.util.cache;
+
+import me.neznamy.chat.component.TabComponent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of converting text into a component on a cache miss. Compares {@link MiniMessageLexer}
+ * with converting legacy codes and RGB formats into MiniMessage tags and parsing the text
+ * using MiniMessage.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MiniMessageLexerBenchmark {
+
+    /** Text to convert, a prefix with legacy codes and a longer text with RGB and tags */
+    @Param({
+            "§c§lOwner <gray>| ",
+            "<bold>#FF5555[Admin]</bold> §7{#AAAAAA}Player <font:uniform>§#55FF55Online</font> <c:gold>100 <i>ms"
+    })
+    public String text;
+
+    @Benchmark
+    public TabComponent lexer() {
+        return MiniMessageLexer.parse(text);
+    }
+
+    @Benchmark
+    public TabComponent miniMessage() {
+        return StringToComponentCache.parseMiniMessage(text);
+    }
+}
@@ -1,28 +1,55 @@
 package me.neznamy.tab.shared;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.api.event.TabEvent;
 import me.neznamy.chat.component.SimpleTextComponent;
+import me.neznamy.tab.shared.cpu.ThreadExecutor;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * An error assistant to print internal errors into error file
- * and warn user about misconfiguration
+ * and warn user about misconfiguration.
+ * <p>
+ * Errors are only queued by the calling thread and written by a separate logging thread,
+ * which keeps log files open. Repeated errors with the same stack trace are only logged once
+ * per {@link #REPEAT_WINDOW} with a count of suppressed repeats and each log file has a limit
+ * of how many errors it accepts per second, so an error storm cannot slow down the threads
+ * reporting the errors. Errors printed into console are exempt from both limits.
  */
-
 public class ErrorManager {
 
-    /** Date format used in error messages */
+    /** Maximum amount of errors waiting to be written */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /** How long repeated errors are suppressed for after being logged in milliseconds */
+    private static final long REPEAT_WINDOW = TimeUnit.MINUTES.toMillis(1);
+
+    /** Amount of errors a single log file accepts at once */
+    private static final int RATE_LIMIT_BURST = 50;
+
+    /** Amount of errors a single log file accepts per second after using up the burst */
+    private static final int RATE_LIMIT_PER_SECOND = 10;
+
+    /** Date format used in error messages, only used by logging thread */
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("dd.MM.yyyy - HH:mm:ss - ");
 
     /** errors.log file for internal plugin errors */
@@ -34,6 +61,28 @@ public class ErrorManager {
     /** placeholder-errors.log file for errors thrown by placeholders */
     private final File placeholderErrorLog;
 
+    /** Thread writing queued errors, created on first error and shut down on unload */
+    @Nullable
+    private ThreadExecutor loggingThread;
+
+    /** Errors waiting to be written */
+    private final BlockingQueue<LogEntry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    /** Flag tracking whether writing of queued errors is scheduled or not */
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+
+    /** Rate limit and amount of errors dropped due to it for each log file */
+    private final Map<File, RateLimit> rateLimits = new ConcurrentHashMap<>();
+
+    /** Lock for writing errors, guarding all fields below */
+    private final Object writeLock = new Object();
+
+    /** Opened log files */
+    private final Map<File, LogWriter> writers = new HashMap<>();
+
+    /** Recently logged errors for suppressing repeats */
+    private final Map<Signature, Repeat> recentErrors = new HashMap<>();
+
     /**
      * Constructs new instance.
      *
@@ -71,8 +120,7 @@ public class ErrorManager {
      *          file to print error to
      */
     public void printError(@Nullable String message, @Nullable Throwable t, boolean intoConsoleToo, @NotNull File file) {
-        List<String> lines = t == null ? Collections.emptyList() : throwableToList(t, false);
-        printError(message, lines, intoConsoleToo, file);
+        queue(new LogEntry(System.currentTimeMillis(), message, t, null, intoConsoleToo, file));
     }
 
     /**
@@ -97,6 +145,25 @@ public class ErrorManager {
         return list;
     }
 
+    /**
+     * Converts error entry into lines printed into console.
+     *
+     * @param   entry
+     *          Error to convert
+     * @return  Message followed by the stack trace
+     */
+    @NotNull
+    private List<String> toLines(@NotNull LogEntry entry) {
+        List<String> lines = new ArrayList<>();
+        if (entry.message != null) lines.add("[TAB v" + TabConstants.PLUGIN_VERSION + "] " + entry.message);
+        if (entry.error != null) {
+            lines.addAll(entry.error);
+        } else if (entry.throwable != null) {
+            lines.addAll(throwableToList(entry.throwable, false));
+        }
+        return lines;
+    }
+
     /**
      * Prints error message and stack trace into specified file
      *
@@ -109,33 +176,199 @@ public class ErrorManager {
      * @param   file
      *          file to print error to
      */
-    public synchronized void printError(@Nullable String message, @NotNull List<String> error, boolean intoConsoleToo, @NotNull File file) {
-        try {
-            if (!file.exists()) Files.createFile(file.toPath());
-            try (BufferedWriter buf = new BufferedWriter(new FileWriter(file, true))) {
-                if (message != null) {
-                    if (file.length() < TabConstants.MAX_LOG_SIZE)
-                        buf.write(dateFormat.format(new Date()) + "[TAB v" + TabConstants.PLUGIN_VERSION + "] " + message + System.lineSeparator());
-                    if (intoConsoleToo || TAB.getInstance().getConfiguration().getConfig().isDebugMode())
-                        TAB.getInstance().getPlatform().logWarn(SimpleTextComponent.text(message));
+    public void printError(@Nullable String message, @NotNull List<String> error, boolean intoConsoleToo, @NotNull File file) {
+        queue(new LogEntry(System.currentTimeMillis(), message, null, error, intoConsoleToo, file));
+    }
+
+    /**
+     * Queues error to be written by logging thread. If the file exceeded its rate limit
+     * or the queue is full, the error is dropped and only counted.
+     *
+     * @param   entry
+     *          Error to queue
+     */
+    private void queue(@NotNull LogEntry entry) {
+        RateLimit limit = rateLimits.computeIfAbsent(entry.file, f -> new RateLimit());
+        if (!entry.intoConsoleToo && !limit.tryAcquire(entry.time)) {
+            limit.dropped.incrementAndGet();
+            return;
+        }
+        if (!queue.offer(entry)) {
+            limit.dropped.incrementAndGet();
+            if (entry.intoConsoleToo) {
+                // Do not lose errors meant for console even if file logging cannot keep up
+                for (String line : toLines(entry)) {
+                    TAB.getInstance().getPlatform().logWarn(SimpleTextComponent.text(line));
+                }
+            }
+            return;
+        }
+        if (writeScheduled.compareAndSet(false, true)) {
+            getLoggingThread().execute(this::writeQueued);
+        }
+    }
+
+    @NotNull
+    private synchronized ThreadExecutor getLoggingThread() {
+        if (loggingThread == null) loggingThread = new ThreadExecutor("TAB Error Logging Thread");
+        return loggingThread;
+    }
+
+    /**
+     * Stops the logging thread and writes all remaining errors using {@link #flush()}.
+     * Errors reported after this call start a new logging thread.
+     */
+    public void shutdown() {
+        ThreadExecutor thread;
+        synchronized (this) {
+            thread = loggingThread;
+            loggingThread = null;
+        }
+        if (thread != null) thread.shutdown();
+        // Also writes errors whose write task was rejected by the thread shutting down
+        flush();
+    }
+
+    /**
+     * Writes all queued errors, writes summaries of repeated errors and closes all log files.
+     * Errors reported after this call are still written, reopening the files.
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            writeQueued();
+            for (Map.Entry<Signature, Repeat> entry : recentErrors.entrySet()) {
+                writeRepeatSummary(entry.getKey(), entry.getValue());
+            }
+            recentErrors.clear();
+            for (Map.Entry<File, LogWriter> entry : new ArrayList<>(writers.entrySet())) {
+                try {
+                    entry.getValue().writer.close();
+                } catch (IOException e) {
+                    logWriteFailure(entry.getKey(), e);
+                }
+            }
+            writers.clear();
+        }
+    }
+
+    private void writeQueued() {
+        synchronized (writeLock) {
+            writeScheduled.set(false);
+            LogEntry entry;
+            while ((entry = queue.poll()) != null) {
+                write(entry);
+            }
+            for (Map.Entry<File, RateLimit> limit : rateLimits.entrySet()) {
+                int dropped = limit.getValue().dropped.getAndSet(0);
+                if (dropped > 0) {
+                    writeLines(limit.getKey(), System.currentTimeMillis(), Collections.singletonList(dropped +
+                            " errors were not logged, because too many errors were reported in a short time"), false);
                 }
-                for (String line : error) {
-                    if (file.length() < TabConstants.MAX_LOG_SIZE)
-                        buf.write(dateFormat.format(new Date()) + line + System.lineSeparator());
-                    if (intoConsoleToo || TAB.getInstance().getConfiguration().getConfig().isDebugMode())
-                        TAB.getInstance().getPlatform().logWarn(SimpleTextComponent.text(line));
+            }
+            recentErrors.entrySet().removeIf(e -> {
+                if (System.currentTimeMillis() - e.getValue().firstTime < REPEAT_WINDOW) return false;
+                writeRepeatSummary(e.getKey(), e.getValue());
+                return true;
+            });
+            for (Map.Entry<File, LogWriter> writer : new ArrayList<>(writers.entrySet())) {
+                try {
+                    writer.getValue().writer.flush();
+                } catch (IOException e) {
+                    logWriteFailure(writer.getKey(), e);
                 }
             }
-        } catch (IOException ex) {
-            List<String> lines = new ArrayList<>();
-            lines.add("An error occurred when printing error message into file");
-            lines.addAll(throwableToList(ex, false));
-            lines.add("Original error: " + message);
-            lines.addAll(error);
+        }
+    }
+
+    /**
+     * Writes a single error into its file and console if requested. If the same error
+     * was already logged recently, it is only counted.
+     *
+     * @param   entry
+     *          Error to write
+     */
+    private void write(@NotNull LogEntry entry) {
+        List<String> error = entry.error != null ? entry.error :
+                entry.throwable != null ? throwableToList(entry.throwable, false) : Collections.emptyList();
+        if (entry.message == null && error.isEmpty()) return;
+        if (!entry.intoConsoleToo) {
+            Signature signature = new Signature(entry.file, error.isEmpty() ? entry.message : null, error);
+            Repeat repeat = recentErrors.get(signature);
+            if (repeat != null) {
+                repeat.count++;
+                return;
+            }
+            recentErrors.put(signature, new Repeat(entry.time));
+        }
+        boolean console = entry.intoConsoleToo || isDebugMode();
+        if (entry.message != null) {
+            writeLines(entry.file, entry.time, Collections.singletonList("[TAB v" + TabConstants.PLUGIN_VERSION + "] " + entry.message), console);
+        }
+        writeLines(entry.file, entry.time, error, console);
+    }
+
+    private void writeRepeatSummary(@NotNull Signature signature, @NotNull Repeat repeat) {
+        if (repeat.count == 0) return;
+        String error = signature.message != null ? signature.message : signature.error.get(0);
+        writeLines(signature.file, System.currentTimeMillis(), Collections.singletonList("Error \"" + error + "\" was repeated " +
+                repeat.count + " more times in the last " + TimeUnit.MILLISECONDS.toSeconds(REPEAT_WINDOW) + " seconds"), false);
+    }
+
+    private void writeLines(@NotNull File file, long time, @NotNull List<String> lines, boolean console) {
+        if (console) {
             for (String line : lines) {
                 TAB.getInstance().getPlatform().logWarn(SimpleTextComponent.text(line));
             }
         }
+        try {
+            LogWriter writer = writers.get(file);
+            if (writer != null && !file.exists()) {
+                // File was deleted by the user, start a new one
+                closeWriter(file);
+                writer = null;
+            }
+            if (writer == null) {
+                writer = new LogWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND), file.length());
+                writers.put(file, writer);
+            }
+            String date = dateFormat.format(new Date(time));
+            for (String line : lines) {
+                if (writer.size >= TabConstants.MAX_LOG_SIZE) return;
+                String text = date + line + System.lineSeparator();
+                writer.writer.write(text);
+                writer.size += text.length();
+            }
+        } catch (IOException ex) {
+            List<String> failed = new ArrayList<>();
+            failed.add("An error occurred when printing error message into file");
+            failed.addAll(throwableToList(ex, false));
+            failed.add("Original error:");
+            failed.addAll(lines);
+            for (String line : failed) {
+                TAB.getInstance().getPlatform().logWarn(SimpleTextComponent.text(line));
+            }
+            closeWriter(file);
+        }
+    }
+
+    private void logWriteFailure(@NotNull File file, @NotNull IOException e) {
+        TAB.getInstance().getPlatform().logWarn(SimpleTextComponent.text("Failed to write into " + file.getName() + ": " + e.getMessage()));
+        closeWriter(file);
+    }
+
+    private void closeWriter(@NotNull File file) {
+        LogWriter writer = writers.remove(file);
+        if (writer == null) return;
+        try {
+            writer.writer.close();
+        } catch (IOException ignored) {
+            // Already failed
+        }
+    }
+
+    private boolean isDebugMode() {
+        return TAB.getInstance().getConfiguration() != null && TAB.getInstance().getConfiguration().getConfig().isDebugMode();
     }
 
     @NotNull
@@ -309,6 +542,34 @@ public class ErrorManager {
         printError("Failed to execute MySQL query due to error: " + root.getClass().getName() + ": " + root.getMessage(), Collections.emptyList(), false, errorLog);
     }
 
+    /**
+     * Prints error message if MySQL rejected a queued write because of its data,
+     * such as a value too long for the column. Such write is discarded.
+     *
+     * @param   write
+     *          Description of the rejected write
+     * @param   t
+     *          Thrown error
+     */
+    public void mysqlWriteRejected(@NotNull String write, @NotNull Throwable t) {
+        Throwable root = getRootCause(t);
+        printError("MySQL rejected " + write + ", discarding it: " + root.getClass().getName() + ": " + root.getMessage(), Collections.emptyList(), false, errorLog);
+    }
+
+    /**
+     * Prints error message if queued MySQL writes failed after the connection was closed
+     * and cannot be retried anymore.
+     *
+     * @param   count
+     *          Amount of discarded writes
+     * @param   t
+     *          Thrown error
+     */
+    public void mysqlWritesDiscarded(int count, @NotNull Throwable t) {
+        Throwable root = getRootCause(t);
+        printError("Discarded " + count + " MySQL write(s) which failed after the connection was closed: " + root.getClass().getName() + ": " + root.getMessage(), Collections.emptyList(), false, errorLog);
+    }
+
     /**
      * Prints error message if errors were thrown when firing a TAB event.
      *
@@ -328,4 +589,75 @@ public class ErrorManager {
     public void redisBungeeMessageSendFail(@NotNull Exception e) {
         printError("Failed to deliver message through RedisBungee due to an error ", e, false, errorLog);
     }
-}
\ No newline at end of file
+
+    /**
+     * Error waiting to be written.
+     */
+    @RequiredArgsConstructor
+    private static class LogEntry {
+
+        private final long time;
+        @Nullable private final String message;
+        @Nullable private final Throwable throwable;
+        @Nullable private final List<String> error;
+        private final boolean intoConsoleToo;
+        @NotNull private final File file;
+    }
+
+    /**
+     * Identity of an error for detecting repeats. Errors with a stack trace are compared
+     * only by the stack trace, since messages often contain player names.
+     */
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class Signature {
+
+        @NotNull private final File file;
+        @Nullable private final String message;
+        @NotNull private final List<String> error;
+    }
+
+    /**
+     * Repeats of an error since it was logged.
+     */
+    @RequiredArgsConstructor
+    private static class Repeat {
+
+        private final long firstTime;
+        private int count;
+    }
+
+    /**
+     * Opened log file with its current size.
+     */
+    private static class LogWriter {
+
+        @NotNull private final BufferedWriter writer;
+        private long size;
+
+        private LogWriter(@NotNull BufferedWriter writer, long size) {
+            this.writer = writer;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Token bucket limiting how many errors a log file accepts.
+     */
+    private static class RateLimit {
+
+        /** Amount of errors dropped since last written */
+        private final AtomicInteger dropped = new AtomicInteger();
+
+        private double tokens = RATE_LIMIT_BURST;
+        private long lastRefill = System.currentTimeMillis();
+
+        private synchronized boolean tryAcquire(long now) {
+            tokens = Math.min(RATE_LIMIT_BURST, tokens + (now - lastRefill) * RATE_LIMIT_PER_SECOND / 1000d);
+            lastRefill = Math.max(lastRefill, now);
+            if (tokens < 1) return false;
+            tokens--;
+            return true;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import me.neznamy.tab.api.placeholder.PlayerPlaceholder;
 import me.neznamy.tab.shared.TabConstants.CpuUsageCategory;
 import me.neznamy.tab.shared.config.files.Config;
 import me.neznamy.tab.shared.config.mysql.MySQLUserConfiguration;
+import me.neznamy.tab.shared.cpu.CpuManager;
+import me.neznamy.tab.shared.cpu.ThreadExecutor;
 import me.neznamy.tab.shared.cpu.TimedCaughtTask;
 import me.neznamy.tab.shared.features.*;
 import me.neznamy.tab.shared.features.belowname.BelowName;
@@ -26,13 +28,16 @@ import me.neznamy.tab.shared.features.sorting.Sorting;
 import me.neznamy.tab.shared.features.types.*;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.platform.decorators.TrackedTabList;
+import me.neznamy.tab.shared.proxy.BridgeSubscriptionRefresher;
 import me.neznamy.tab.shared.proxy.ProxyPlatform;
 import me.neznamy.tab.shared.proxy.ProxyTabPlayer;
 import me.neznamy.tab.shared.proxy.message.outgoing.Unload;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Array;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Feature registration which offers calls to all features
@@ -47,11 +52,27 @@ public class FeatureManager {
     @NotNull
     private TabFeature[] values = new TabFeature[0];
 
-    /** Flag tracking presence of a feature listening to latency change for faster check with better performance */
-    private boolean hasLatencyChangeListener;
+    /** Feature name under which time spent dispatching events outside of listeners is shown in CPU usage */
+    private static final String EVENT_DISPATCH = "Event dispatch";
 
-    /** Flag tracking presence of a feature listening to command preprocess for faster check with better performance */
-    private boolean hasCommandListener;
+    /*
+     * Listeners of each event, rebuilt when a feature is registered or unregistered,
+     * so dispatching an event does not need to check type of every feature.
+     */
+    @NotNull private Listeners<GroupListener> groupListeners = new Listeners<>(values, GroupListener.class);
+    @NotNull private Listeners<GameModeListener> gameModeListeners = new Listeners<>(values, GameModeListener.class);
+    @NotNull private Listeners<QuitListener> quitListeners = new Listeners<>(values, QuitListener.class);
+    @NotNull private Listeners<JoinListener> joinListeners = new Listeners<>(values, JoinListener.class);
+    @NotNull private Listeners<WorldSwitchListener> worldSwitchListeners = new Listeners<>(values, WorldSwitchListener.class);
+    @NotNull private Listeners<ServerSwitchListener> serverSwitchListeners = new Listeners<>(values, ServerSwitchListener.class);
+    @NotNull private Listeners<CommandListener> commandListeners = new Listeners<>(values, CommandListener.class);
+    @NotNull private Listeners<DisplayObjectiveListener> displayObjectiveListeners = new Listeners<>(values, DisplayObjectiveListener.class);
+    @NotNull private Listeners<ObjectiveListener> objectiveListeners = new Listeners<>(values, ObjectiveListener.class);
+    @NotNull private Listeners<VanishListener> vanishListeners = new Listeners<>(values, VanishListener.class);
+    @NotNull private Listeners<EntryAddListener> entryAddListeners = new Listeners<>(values, EntryAddListener.class);
+    @NotNull private Listeners<LatencyListener> latencyListeners = new Listeners<>(values, LatencyListener.class);
+    @NotNull private Listeners<TabListClearListener> tabListClearListeners = new Listeners<>(values, TabListClearListener.class);
+    @NotNull private Listeners<ProxyFeature> proxyFeatures = new Listeners<>(values, ProxyFeature.class);
 
     /** Commands features listen to */
     private final List<String> listeningCommands = new ArrayList<>();
@@ -113,16 +134,7 @@ public class FeatureManager {
      *          player with new group
      */
     public void onGroupChange(@NotNull TabPlayer player) {
-        for (TabFeature f : values) {
-            if (!(f instanceof GroupListener)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((GroupListener) f).onGroupChange(player), f.getFeatureName(), CpuUsageCategory.GROUP_CHANGE);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
+        dispatch(groupListeners, CpuUsageCategory.GROUP_CHANGE, f -> f.onGroupChange(player));
     }
 
     /**
@@ -132,16 +144,7 @@ public class FeatureManager {
      *          Player whose gamemode has changed.
      */
     public void onGameModeChange(@NotNull TabPlayer player) {
-        for (TabFeature f : values) {
-            if (!(f instanceof GameModeListener)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((GameModeListener) f).onGameModeChange(player), f.getFeatureName(), CpuUsageCategory.GAMEMODE_CHANGE);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
+        dispatch(gameModeListeners, CpuUsageCategory.GAMEMODE_CHANGE, f -> f.onGameModeChange(player));
     }
 
     /**
@@ -154,16 +157,7 @@ public class FeatureManager {
         if (disconnectedPlayer == null) return;
         disconnectedPlayer.markOffline();
         long millis = System.currentTimeMillis();
-        for (TabFeature f : values) {
-            if (!(f instanceof QuitListener)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((QuitListener) f).onQuit(disconnectedPlayer), f.getFeatureName(), CpuUsageCategory.PLAYER_QUIT);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
+        dispatch(quitListeners, CpuUsageCategory.PLAYER_QUIT, f -> f.onQuit(disconnectedPlayer));
         TAB.getInstance().removePlayer(disconnectedPlayer);
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
             ((TrackedTabList<?>)all.getTabList()).getExpectedDisplayNames().remove(disconnectedPlayer.getTablistId());
@@ -180,19 +174,11 @@ public class FeatureManager {
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
         long millis = System.currentTimeMillis();
         TAB.getInstance().addPlayer(connectedPlayer);
-        for (TabFeature f : values) {
-            if (!(f instanceof JoinListener)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(), () -> {
-                long time = System.nanoTime();
-                ((JoinListener) f).onJoin(connectedPlayer);
-                TAB.getInstance().debug("Feature " + f.getClass().getSimpleName() + " processed player join in " + (System.nanoTime()-time)/1000000 + "ms");
-            }, f.getFeatureName(), CpuUsageCategory.PLAYER_JOIN);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
+        dispatch(joinListeners, CpuUsageCategory.PLAYER_JOIN, f -> {
+            long time = System.nanoTime();
+            f.onJoin(connectedPlayer);
+            TAB.getInstance().debug("Feature " + f.getClass().getSimpleName() + " processed player join in " + (System.nanoTime()-time)/1000000 + "ms");
+        });
         connectedPlayer.markAsLoaded(true);
         TAB.getInstance().debug("Player join of " + connectedPlayer.getName() + " processed in " + (System.currentTimeMillis()-millis) + "ms");
         if (TAB.getInstance().getConfiguration().getUsers() instanceof MySQLUserConfiguration) {
@@ -214,16 +200,7 @@ public class FeatureManager {
         if (changed == null) return;
         String from = changed.world;
         changed.world = to;
-        for (TabFeature f : values) {
-            if (!(f instanceof WorldSwitchListener)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((WorldSwitchListener) f).onWorldChange(changed, from, to), f.getFeatureName(), CpuUsageCategory.WORLD_SWITCH);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
+        dispatch(worldSwitchListeners, CpuUsageCategory.WORLD_SWITCH, f -> f.onWorldChange(changed, from, to));
         ((PlayerPlaceholder)TAB.getInstance().getPlaceholderManager().getPlaceholder(TabConstants.Placeholder.WORLD)).updateValue(changed, to);
     }
 
@@ -241,16 +218,7 @@ public class FeatureManager {
         String from = changed.server;
         changed.server = to;
         ((ProxyTabPlayer)changed).sendJoinPluginMessage();
-        for (TabFeature f : values) {
-            if (!(f instanceof ServerSwitchListener)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((ServerSwitchListener) f).onServerChange(changed, from, to), f.getFeatureName(), CpuUsageCategory.SERVER_SWITCH);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
+        dispatch(serverSwitchListeners, CpuUsageCategory.SERVER_SWITCH, f -> f.onServerChange(changed, from, to));
         ((PlayerPlaceholder)TAB.getInstance().getPlaceholderManager().getPlaceholder(TabConstants.Placeholder.SERVER)).updateValue(changed, to);
     }
 
@@ -265,14 +233,13 @@ public class FeatureManager {
      * @return  {@code true} if event should be cancelled, {@code false} if not.
      */
     public boolean onCommand(@Nullable TabPlayer sender, @NotNull String command) {
-        if (!hasCommandListener || sender == null) return false;
+        if (commandListeners.isEmpty() || sender == null) return false;
         if (!listeningCommands.contains(command)) return false;
         boolean cancel = false;
-        for (TabFeature f : values) {
-            if (!(f instanceof CommandListener)) continue;
+        for (int i = 0; i < commandListeners.listeners.length; i++) {
             long time = System.nanoTime();
-            if (((CommandListener)f).onCommand(sender, command)) cancel = true;
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), CpuUsageCategory.COMMAND_PREPROCESS, System.nanoTime()-time);
+            if (commandListeners.listeners[i].onCommand(sender, command)) cancel = true;
+            TAB.getInstance().getCPUManager().addTime(commandListeners.featureNames[i], CpuUsageCategory.COMMAND_PREPROCESS, System.nanoTime()-time);
         }
         return cancel;
     }
@@ -288,16 +255,7 @@ public class FeatureManager {
      *          Objective name
      */
     public void onDisplayObjective(@NotNull TabPlayer packetReceiver, int slot, @NotNull String objective) {
-        for (TabFeature f : values) {
-            if (!(f instanceof DisplayObjectiveListener)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((DisplayObjectiveListener) f).onDisplayObjective(packetReceiver, slot, objective), f.getFeatureName(), CpuUsageCategory.SCOREBOARD_PACKET_CHECK);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
+        dispatch(displayObjectiveListeners, CpuUsageCategory.SCOREBOARD_PACKET_CHECK, f -> f.onDisplayObjective(packetReceiver, slot, objective));
     }
 
     /**
@@ -311,16 +269,7 @@ public class FeatureManager {
      *          Objective name
      */
     public void onObjective(@NotNull TabPlayer packetReceiver, int action, @NotNull String objective) {
-        for (TabFeature f : values) {
-            if (!(f instanceof ObjectiveListener)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((ObjectiveListener) f).onObjective(packetReceiver, action, objective), f.getFeatureName(), CpuUsageCategory.SCOREBOARD_PACKET_CHECK);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
+        dispatch(objectiveListeners, CpuUsageCategory.SCOREBOARD_PACKET_CHECK, f -> f.onObjective(packetReceiver, action, objective));
     }
 
     /**
@@ -330,16 +279,27 @@ public class FeatureManager {
      *          Player whose vanish status changed
      */
     public void onVanishStatusChange(@NotNull TabPlayer player) {
-        for (TabFeature f : values) {
-            if (!(f instanceof VanishListener)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((VanishListener) f).onVanishStatusChange(player), f.getFeatureName(), CpuUsageCategory.VANISH_CHANGE);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
+        dispatch(vanishListeners, CpuUsageCategory.VANISH_CHANGE, f -> f.onVanishStatusChange(player));
+    }
+
+    /**
+     * Forwards change of features displayed for the player to bridge subscription refresher,
+     * so it can update which bridge placeholders backend server refreshes for the player.
+     *
+     * @param   player
+     *          Player whose displayed features changed
+     */
+    public void onDisplayChange(@NotNull TabPlayer player) {
+        BridgeSubscriptionRefresher refresher = getFeature(TabConstants.Feature.BRIDGE_SUBSCRIPTIONS);
+        if (refresher != null) refresher.onDisplayChange(player);
+    }
+
+    /**
+     * Forwards change of features displayed for all players to bridge subscription refresher.
+     */
+    public void onDisplayChange() {
+        BridgeSubscriptionRefresher refresher = getFeature(TabConstants.Feature.BRIDGE_SUBSCRIPTIONS);
+        if (refresher != null) refresher.onDisplayChange();
     }
 
     /**
@@ -353,12 +313,19 @@ public class FeatureManager {
      *          Player name of the entry
      */
     public void onEntryAdd(TabPlayer packetReceiver, UUID id, String name) {
-        for (TabFeature f : values) {
-            if (!(f instanceof EntryAddListener)) continue;
+        Listeners<EntryAddListener> table = entryAddListeners;
+        if (table.isEmpty()) return;
+        CpuManager cpu = TAB.getInstance().getCPUManager();
+        long start = System.nanoTime();
+        long listenerTime = 0;
+        for (int i = 0; i < table.listeners.length; i++) {
             long time = System.nanoTime();
-            ((EntryAddListener)f).onEntryAdd(packetReceiver, id, name);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), CpuUsageCategory.NICK_PLUGIN_COMPATIBILITY, System.nanoTime() - time);
+            table.listeners[i].onEntryAdd(packetReceiver, id, name);
+            long elapsed = System.nanoTime() - time;
+            cpu.addTime(table.featureNames[i], CpuUsageCategory.NICK_PLUGIN_COMPATIBILITY, elapsed);
+            listenerTime += elapsed;
         }
+        cpu.addTime(EVENT_DISPATCH, CpuUsageCategory.NICK_PLUGIN_COMPATIBILITY, System.nanoTime() - start - listenerTime);
     }
 
     /**
@@ -373,14 +340,20 @@ public class FeatureManager {
      * @return  New latency to use
      */
     public int onLatencyChange(TabPlayer packetReceiver, UUID id, int latency) {
-        if (!hasLatencyChangeListener) return latency;
+        Listeners<LatencyListener> table = latencyListeners;
+        if (table.isEmpty()) return latency;
+        CpuManager cpu = TAB.getInstance().getCPUManager();
+        long start = System.nanoTime();
+        long listenerTime = 0;
         int newLatency = latency;
-        for (TabFeature f : values) {
-            if (!(f instanceof LatencyListener)) continue;
+        for (int i = 0; i < table.listeners.length; i++) {
             long time = System.nanoTime();
-            newLatency = ((LatencyListener)f).onLatencyChange(packetReceiver, id, newLatency);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), CpuUsageCategory.PING_CHANGE, System.nanoTime() - time);
+            newLatency = table.listeners[i].onLatencyChange(packetReceiver, id, newLatency);
+            long elapsed = System.nanoTime() - time;
+            cpu.addTime(table.featureNames[i], CpuUsageCategory.PING_CHANGE, elapsed);
+            listenerTime += elapsed;
         }
+        cpu.addTime(EVENT_DISPATCH, CpuUsageCategory.PING_CHANGE, System.nanoTime() - start - listenerTime);
         return newLatency;
     }
 
@@ -391,32 +364,7 @@ public class FeatureManager {
      *          Player whose tablist got cleared
      */
     public void onTabListClear(TabPlayer packetReceiver) {
-        for (TabFeature f : values) {
-            if (!(f instanceof TabListClearListener)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((TabListClearListener) f).onTabListClear(packetReceiver), f.getFeatureName(), CpuUsageCategory.TABLIST_CLEAR);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
-    }
-
-    /**
-     * Called when another proxy is reloaded to request all data again.
-     */
-    public void onProxyLoadRequest() {
-        for (TabFeature f : values) {
-            if (!(f instanceof ProxyFeature)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((ProxyFeature) f).onProxyLoadRequest(), f.getFeatureName(), CpuUsageCategory.PROXY_RELOAD);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
+        dispatch(tabListClearListeners, CpuUsageCategory.TABLIST_CLEAR, f -> f.onTabListClear(packetReceiver));
     }
 
     /**
@@ -426,16 +374,7 @@ public class FeatureManager {
      *          Player who joined
      */
     public void onJoin(@NotNull ProxyPlayer connectedPlayer) {
-        for (TabFeature f : values) {
-            if (!(f instanceof ProxyFeature)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((ProxyFeature) f).onJoin(connectedPlayer), f.getFeatureName(), CpuUsageCategory.PLAYER_JOIN);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
+        dispatch(proxyFeatures, CpuUsageCategory.PLAYER_JOIN, f -> f.onJoin(connectedPlayer));
     }
 
     /**
@@ -445,16 +384,7 @@ public class FeatureManager {
      *          Player who joined
      */
     public void onServerSwitch(@NotNull ProxyPlayer player) {
-        for (TabFeature f : values) {
-            if (!(f instanceof ProxyFeature)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((ProxyFeature) f).onServerSwitch(player), f.getFeatureName(), CpuUsageCategory.SERVER_SWITCH);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
+        dispatch(proxyFeatures, CpuUsageCategory.SERVER_SWITCH, f -> f.onServerSwitch(player));
     }
 
     /**
@@ -464,16 +394,7 @@ public class FeatureManager {
      *          Player who left
      */
     public void onQuit(@NotNull ProxyPlayer disconnectedPlayer) {
-        for (TabFeature f : values) {
-            if (!(f instanceof ProxyFeature)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((ProxyFeature) f).onQuit(disconnectedPlayer), f.getFeatureName(), CpuUsageCategory.PLAYER_QUIT);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
-            }
-        }
+        dispatch(proxyFeatures, CpuUsageCategory.PLAYER_QUIT, f -> f.onQuit(disconnectedPlayer));
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
             ((TrackedTabList<?>)all.getTabList()).getExpectedDisplayNames().remove(disconnectedPlayer.getUniqueId());
         }
@@ -486,16 +407,47 @@ public class FeatureManager {
      *          Player whose vanish status changed
      */
     public void onVanishStatusChange(@NotNull ProxyPlayer player) {
-        for (TabFeature f : values) {
-            if (!(f instanceof ProxyFeature)) continue;
-            TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(),
-                    () -> ((ProxyFeature) f).onVanishStatusChange(player), f.getFeatureName(), CpuUsageCategory.VANISH_CHANGE);
-            if (f instanceof CustomThreaded) {
-                ((CustomThreaded) f).getCustomThread().execute(task);
-            } else {
-                task.run();
+        dispatch(proxyFeatures, CpuUsageCategory.VANISH_CHANGE, f -> f.onVanishStatusChange(player));
+    }
+
+    /**
+     * Forwards an event to all listeners in given table. Listeners with their own thread
+     * receive the event in their thread, others are called directly in current thread.
+     * If CPU usage tracking is enabled, time spent dispatching the event outside of
+     * listeners is added to {@link #EVENT_DISPATCH}.
+     *
+     * @param   table
+     *          Listeners of the event
+     * @param   usageType
+     *          CPU usage type of the event
+     * @param   event
+     *          Function calling the event on a listener
+     * @param   <T>
+     *          Listener type
+     */
+    private <T> void dispatch(@NotNull Listeners<T> table, @NotNull String usageType, @NotNull Consumer<T> event) {
+        if (table.isEmpty()) return;
+        CpuManager cpu = TAB.getInstance().getCPUManager();
+        long start = System.nanoTime();
+        long listenerTime = 0;
+        for (int i = 0; i < table.listeners.length; i++) {
+            T listener = table.listeners[i];
+            ThreadExecutor thread = table.threads[i];
+            if (thread != null) {
+                thread.execute(new TimedCaughtTask(cpu, () -> event.accept(listener), table.featureNames[i], usageType));
+                continue;
             }
+            long time = System.nanoTime();
+            try {
+                event.accept(listener);
+            } catch (Exception | LinkageError | StackOverflowError e) {
+                TAB.getInstance().getErrorManager().taskThrewError(e);
+            }
+            long elapsed = System.nanoTime() - time;
+            cpu.addTime(table.featureNames[i], usageType, elapsed);
+            listenerTime += elapsed;
         }
+        cpu.addTime(EVENT_DISPATCH, usageType, System.nanoTime() - start - listenerTime);
     }
 
     /**
@@ -508,18 +460,14 @@ public class FeatureManager {
      */
     public synchronized void registerFeature(@NotNull String featureName, @NotNull TabFeature featureHandler) {
         features.put(featureName, featureHandler);
-        values = features.values().toArray(new TabFeature[0]);
+        rebuildListeners();
         if (featureHandler instanceof VanishListener) {
             TAB.getInstance().getPlaceholderManager().addUsedPlaceholder(TabConstants.Placeholder.VANISHED);
         }
         if (featureHandler instanceof GameModeListener) {
             TAB.getInstance().getPlaceholderManager().addUsedPlaceholder(TabConstants.Placeholder.GAMEMODE);
         }
-        if (featureHandler instanceof LatencyListener) {
-            hasLatencyChangeListener = true;
-        }
         if (featureHandler instanceof CommandListener) {
-            hasCommandListener = true;
             listeningCommands.add(((CommandListener) featureHandler).getCommand());
         }
     }
@@ -530,9 +478,30 @@ public class FeatureManager {
      * @param   featureName
      *          Name of the feature it was previously registered with.
      */
-    public void unregisterFeature(@NotNull String featureName) {
+    public synchronized void unregisterFeature(@NotNull String featureName) {
         features.remove(featureName);
+        rebuildListeners();
+    }
+
+    /**
+     * Rebuilds array of all features and listener tables of all events from currently registered features.
+     */
+    private void rebuildListeners() {
         values = features.values().toArray(new TabFeature[0]);
+        groupListeners = new Listeners<>(values, GroupListener.class);
+        gameModeListeners = new Listeners<>(values, GameModeListener.class);
+        quitListeners = new Listeners<>(values, QuitListener.class);
+        joinListeners = new Listeners<>(values, JoinListener.class);
+        worldSwitchListeners = new Listeners<>(values, WorldSwitchListener.class);
+        serverSwitchListeners = new Listeners<>(values, ServerSwitchListener.class);
+        commandListeners = new Listeners<>(values, CommandListener.class);
+        displayObjectiveListeners = new Listeners<>(values, DisplayObjectiveListener.class);
+        objectiveListeners = new Listeners<>(values, ObjectiveListener.class);
+        vanishListeners = new Listeners<>(values, VanishListener.class);
+        entryAddListeners = new Listeners<>(values, EntryAddListener.class);
+        latencyListeners = new Listeners<>(values, LatencyListener.class);
+        tabListClearListeners = new Listeners<>(values, TabListClearListener.class);
+        proxyFeatures = new Listeners<>(values, ProxyFeature.class);
     }
 
     /**
@@ -638,5 +607,56 @@ public class FeatureManager {
         }
 
         featureManager.registerFeature(TabConstants.Feature.NICK_COMPATIBILITY, new NickCompatibility());
+
+        if (TAB.getInstance().getPlatform() instanceof ProxyPlatform) {
+            featureManager.registerFeature(TabConstants.Feature.BRIDGE_SUBSCRIPTIONS, new BridgeSubscriptionRefresher());
+        }
+    }
+
+    /**
+     * Features listening to a single event type, together with their names and threads.
+     *
+     * @param   <T>
+     *          Listener type
+     */
+    private static class Listeners<T> {
+
+        /** Listening features */
+        @NotNull private final T[] listeners;
+
+        /** Names of listening features for CPU usage */
+        @NotNull private final String[] featureNames;
+
+        /** Custom threads of listening features, {@code null} for features processing events in the calling thread */
+        @NotNull private final ThreadExecutor[] threads;
+
+        /**
+         * Constructs new instance with all features from given array implementing given listener type.
+         *
+         * @param   features
+         *          All registered features
+         * @param   type
+         *          Listener type
+         */
+        @SuppressWarnings("unchecked")
+        private Listeners(@NotNull TabFeature[] features, @NotNull Class<T> type) {
+            List<TabFeature> matching = new ArrayList<>();
+            for (TabFeature f : features) {
+                if (type.isInstance(f)) matching.add(f);
+            }
+            listeners = (T[]) Array.newInstance(type, matching.size());
+            featureNames = new String[matching.size()];
+            threads = new ThreadExecutor[matching.size()];
+            for (int i = 0; i < matching.size(); i++) {
+                TabFeature f = matching.get(i);
+                listeners[i] = (T) f;
+                featureNames[i] = f.getFeatureName();
+                threads[i] = f instanceof CustomThreaded ? ((CustomThreaded) f).getCustomThread() : null;
+            }
+        }
+
+        private boolean isEmpty() {
+            return listeners.length == 0;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,33 @@
 package me.neznamy.tab.shared;
 
+import lombok.AccessLevel;
 import lombok.Getter;
+import me.neznamy.tab.shared.cpu.CpuManager;
 import me.neznamy.tab.shared.cpu.TimedCaughtTask;
+import me.neznamy.tab.shared.hook.LuckPermsHook;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.task.GroupRefreshTask;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 /**
- * Permission group manager retrieving groups from permission plugin
+ * Permission group manager retrieving groups from permission plugin.
+ * When groups are taken from LuckPerms, players are only checked when LuckPerms reports
+ * a change of their data. For other permission plugins, groups are checked periodically,
+ * with players whose group did not change for a while being checked less often.
  */
 @Getter
 public class GroupManager {
 
+    /**
+     * Delay of checking all players after LuckPerms reports a change of a group in milliseconds (one tick),
+     * so changes of multiple groups at once only check all players once
+     */
+    private static final int FULL_REFRESH_DELAY = 50;
+
     /** Permission plugin's name */
     @NotNull private final String permissionPlugin;
 
@@ -23,8 +37,15 @@ public class GroupManager {
     /** Function for retrieving player's group */
     private final Function<TabPlayer, String> detectGroup = TAB.getInstance().getConfiguration().getConfig().isGroupsByPermissions() ? this::getByPermission : this::getByPrimary;
 
+    /** Flag tracking whether groups are refreshed based on LuckPerms events instead of periodic task */
+    private final boolean eventDriven;
+
+    /** Flag tracking whether checking of all players is scheduled or not */
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean fullRefreshScheduled = new AtomicBoolean();
+
     /**
-     * Constructs new instance with given permission plugin and registers group placeholder.
+     * Constructs new instance with given permission plugin and starts listening to group changes.
      *
      * @param   permissionPlugin
      *          Name of detected permission plugin
@@ -32,10 +53,77 @@ public class GroupManager {
      *          Function returning group of a player
      */
     public GroupManager(@NotNull String permissionPlugin, @NotNull Function<TabPlayer, String> groupFunction) {
+        this(permissionPlugin, groupFunction, permissionPlugin.equals("LuckPerms"));
+        if (eventDriven) {
+            LuckPermsHook.getInstance().subscribeToDataChanges(this::onDataChange);
+        } else {
+            TAB.getInstance().getCpu().getGroupRefreshingThread().repeatTask(new TimedCaughtTask(TAB.getInstance().getCpu(), new GroupRefreshTask(detectGroup),
+                    "Permission group refreshing", "Periodic task"), TAB.getInstance().getConfiguration().getConfig().getPermissionRefreshInterval());
+        }
+    }
+
+    /**
+     * Constructs new instance with given parameters without listening to group changes.
+     *
+     * @param   permissionPlugin
+     *          Name of detected permission plugin
+     * @param   groupFunction
+     *          Function returning group of a player
+     * @param   eventDriven
+     *          Whether groups are refreshed based on LuckPerms events or not
+     */
+    GroupManager(@NotNull String permissionPlugin, @NotNull Function<TabPlayer, String> groupFunction, boolean eventDriven) {
         this.permissionPlugin = permissionPlugin;
         this.groupFunction = groupFunction;
-        TAB.getInstance().getCpu().getGroupRefreshingThread().repeatTask(new TimedCaughtTask(TAB.getInstance().getCpu(), new GroupRefreshTask(detectGroup),
-                "Permission group refreshing", "Periodic task"), TAB.getInstance().getConfiguration().getConfig().getPermissionRefreshInterval());
+        this.eventDriven = eventDriven;
+    }
+
+    /**
+     * Stops listening to LuckPerms events.
+     */
+    public void unload() {
+        if (eventDriven) LuckPermsHook.getInstance().unsubscribeFromDataChanges();
+    }
+
+    /**
+     * Processes change of permission data reported by LuckPerms. Group is checked again
+     * in group refreshing thread and applied if changed. Changes of groups, which require
+     * checking all players, are collected for one tick and processed together.
+     *
+     * @param   player
+     *          Player whose data changed or {@code null} if data of all players might have changed
+     */
+    void onDataChange(@Nullable TabPlayer player) {
+        CpuManager cpu = TAB.getInstance().getCpu();
+        if (player != null) {
+            cpu.getGroupRefreshingThread().execute(new TimedCaughtTask(cpu, () -> checkGroup(player),
+                    "Permission group refreshing", "Processing LuckPerms event"));
+            return;
+        }
+        if (!fullRefreshScheduled.compareAndSet(false, true)) return;
+        cpu.getGroupRefreshingThread().executeLater(new TimedCaughtTask(cpu, () -> {
+            // Reset before checking, so changes reported during the check are not missed
+            fullRefreshScheduled.set(false);
+            for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+                checkGroup(all);
+            }
+        }, "Permission group refreshing", "Processing LuckPerms event"), FULL_REFRESH_DELAY);
+    }
+
+    /**
+     * Detects group of player and applies it in main thread if it changed.
+     *
+     * @param   player
+     *          Player to check group of
+     */
+    private void checkGroup(@NotNull TabPlayer player) {
+        if (!player.isOnline()) return;
+        String newGroup = detectGroup.apply(player);
+        if (!player.getPermissionGroup().equals(newGroup)) {
+            // Back to main thread to avoid concurrency issues
+            CpuManager cpu = TAB.getInstance().getCpu();
+            cpu.getProcessingThread().execute(new TimedCaughtTask(cpu, () -> player.setGroup(newGroup), "Permission group refreshing", "Applying changes"));
+        }
     }
 
     /**
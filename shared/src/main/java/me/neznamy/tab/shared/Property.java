@@ -10,6 +10,8 @@ import me.neznamy.chat.EnumChatFormat;
 import me.neznamy.chat.rgb.RGBUtils;
 import me.neznamy.tab.shared.placeholders.expansion.TabExpansion;
 import me.neznamy.tab.shared.placeholders.types.RelationalPlaceholderImpl;
+import me.neznamy.tab.shared.placeholders.types.ServerPlaceholderImpl;
+import me.neznamy.tab.shared.placeholders.types.TabPlaceholder;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -54,8 +56,11 @@ public class Property {
     /** Flag tracking whether last replaced value may contain relational placeholders or not */
     private boolean mayContainRelPlaceholders;
     
-    /** Source defining value of the text, displayed in debug command */
-    @Nullable private String source;
+    /**
+     * Source defining value of the text, displayed in debug command. It may be an object
+     * building the text in {@code toString()}, so it is only built when displayed.
+     */
+    @Nullable private Object source;
 
     /**
      * All placeholders used in the text in the same order they are used,
@@ -63,11 +68,18 @@ public class Property {
      * Contains relational placeholders as well, which will get formatted
      * to their identifier.
      */
-    private String[] placeholders;
+    @Getter private String[] placeholders;
     
     /** Relational placeholders in the text in the same order they are used */
     private String[] relPlaceholders;
 
+    /**
+     * Flag tracking whether all placeholders used in the text, including placeholders nested
+     * in their outputs, are server placeholders, which means the text resolves to the same
+     * value for all players.
+     */
+    @Getter private boolean serverOnly;
+
     /**
      * Constructs new instance with given parameters and prepares
      * the formatter for use by detecting placeholders and reformatting the text.
@@ -100,7 +112,7 @@ public class Property {
      *          Source of the text used in debug command
      */
     public Property(@Nullable String name, @Nullable RefreshableFeature listener, @NotNull TabPlayer owner,
-                    @NotNull String rawValue, @Nullable String source) {
+                    @NotNull String rawValue, @Nullable Object source) {
         this.name = name;
         this.listener = listener;
         this.owner = owner;
@@ -120,10 +132,17 @@ public class Property {
         // Identify placeholders used directly
         List<String> placeholders0 = new ArrayList<>();
         List<String> relPlaceholders0 = new ArrayList<>();
+        boolean serverOnly0 = true;
         for (String identifier : PlaceholderManagerImpl.detectPlaceholders(value)) {
             placeholders0.add(identifier);
             if (identifier.startsWith("%rel_")) {
                 relPlaceholders0.add(identifier);
+                serverOnly0 = false;
+            } else {
+                TabPlaceholder placeholder = TAB.getInstance().getPlaceholderManager().getPlaceholder(identifier);
+                if (!(placeholder instanceof ServerPlaceholderImpl) || !((ServerPlaceholderImpl) placeholder).isServerOnly()) {
+                    serverOnly0 = false;
+                }
             }
         }
 
@@ -154,6 +173,7 @@ public class Property {
         // Update and save values
         placeholders = placeholders0.toArray(new String[0]);
         relPlaceholders = relPlaceholders0.toArray(new String[0]);
+        serverOnly = serverOnly0 && !placeholders0.isEmpty();
         if (listener != null) {
             listener.addUsedPlaceholders(placeholders0);
         }
@@ -197,7 +217,7 @@ public class Property {
      *          new source of the text
      * @return  Whether raw value changed or not
      */
-    public boolean changeRawValue(@NotNull String newValue, @Nullable String newSource) {
+    public boolean changeRawValue(@NotNull String newValue, @Nullable Object newSource) {
         if (originalRawValue.equals(newValue)) return false;
         originalRawValue = newValue;
         source = newSource;
@@ -213,7 +233,8 @@ public class Property {
      * @return  source of the value
      */
     public @Nullable String getSource() {
-        return temporaryValue == null ? source : "API";
+        if (temporaryValue != null) return "API";
+        return source == null ? null : source.toString();
     }
 
     /**
@@ -1,5 +1,6 @@
 package me.neznamy.tab.shared;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import me.neznamy.chat.TextColor;
@@ -7,6 +8,7 @@ import me.neznamy.chat.component.TabComponent;
 import me.neznamy.chat.component.TextComponent;
 import me.neznamy.tab.api.TabAPI;
 import me.neznamy.tab.api.bossbar.BossBarManager;
+import me.neznamy.tab.api.placeholder.Placeholder;
 import me.neznamy.tab.api.scoreboard.ScoreboardManager;
 import me.neznamy.tab.api.tablist.HeaderFooterManager;
 import me.neznamy.tab.api.tablist.SortingManager;
@@ -15,20 +17,24 @@ import me.neznamy.tab.api.tablist.layout.LayoutManager;
 import me.neznamy.tab.shared.command.DisabledCommand;
 import me.neznamy.tab.shared.command.TabCommand;
 import me.neznamy.tab.shared.config.Configs;
+import me.neznamy.tab.shared.config.file.ConfigurationFile;
 import me.neznamy.tab.shared.config.helper.ConfigHelper;
 import me.neznamy.tab.shared.cpu.CpuManager;
 import me.neznamy.tab.shared.event.EventBusImpl;
 import me.neznamy.tab.shared.event.impl.TabLoadEventImpl;
 import me.neznamy.tab.shared.features.PlaceholderManagerImpl;
 import me.neznamy.tab.shared.features.nametags.NameTag;
+import me.neznamy.tab.shared.placeholders.types.RelationalPlaceholderImpl;
 import me.neznamy.tab.shared.platform.Platform;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.proxy.ProxyPlatform;
+import me.neznamy.tab.shared.util.cache.StringToComponentCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.File;
+import java.util.BitSet;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -55,6 +61,10 @@ public class TAB extends TabAPI {
     /** Online player array to avoid memory allocation when iterating */
     private volatile TabPlayer[] onlinePlayers = new TabPlayer[0];
 
+    /** Slots currently assigned to online players */
+    @Getter(AccessLevel.NONE)
+    private final BitSet usedSlots = new BitSet();
+
     /** Instance of plugin's main command */
     private TabCommand command;
 
@@ -111,6 +121,9 @@ public class TAB extends TabAPI {
     /** Helper for detecting misconfiguration in configs and send it to user */
     private final ConfigHelper configHelper = new ConfigHelper();
 
+    /** Text to component cache shared by all features */
+    private final StringToComponentCache componentCache = new StringToComponentCache("Component", 10000);
+
     /**
      * Creates new instance using given platform and loads it
      *
@@ -223,6 +236,8 @@ public class TAB extends TabAPI {
             long time = System.currentTimeMillis();
             if (configuration.getMysql() != null) configuration.getMysql().closeConnection();
             featureManager.unload();
+            configuration.closePlayerDataStore();
+            ConfigurationFile.flushPendingSaves();
             platform.logInfo(new TextComponent("Disabled in " + (System.currentTimeMillis()-time) + "ms", TextColor.GREEN));
         } catch (Throwable e) {
             errorManager.criticalError("Failed to disable", e);
@@ -235,11 +250,19 @@ public class TAB extends TabAPI {
      */
     private void kill() {
         pluginDisabled = true;
+        synchronized (usedSlots) {
+            for (TabPlayer player : data.values()) {
+                player.slot = -1;
+            }
+            usedSlots.clear();
+        }
         data.clear();
         playersByName.clear();
         playersByTabListId.clear();
         onlinePlayers = new TabPlayer[0];
         cpu.cancelAllTasks();
+        if (groupManager != null) groupManager.unload();
+        errorManager.shutdown();
     }
 
     /**
@@ -249,6 +272,12 @@ public class TAB extends TabAPI {
      *          Player to add
      */
     public void addPlayer(@NotNull TabPlayer player) {
+        synchronized (usedSlots) {
+            if (player.slot == -1) {
+                player.slot = usedSlots.nextClearBit(0);
+                usedSlots.set(player.slot);
+            }
+        }
         data.put(player.getUniqueId(), player);
         playersByName.put(player.getName(), player);
         playersByTabListId.put(player.getTablistId(), player);
@@ -266,6 +295,17 @@ public class TAB extends TabAPI {
         playersByName.remove(player.getName());
         playersByTabListId.remove(player.getTablistId());
         onlinePlayers = data.values().toArray(new TabPlayer[0]);
+        synchronized (usedSlots) {
+            int slot = player.slot;
+            if (slot == -1) return;
+            player.slot = -1;
+            for (Placeholder placeholder : placeholderManager.getAllPlaceholders()) {
+                if (placeholder instanceof RelationalPlaceholderImpl) {
+                    ((RelationalPlaceholderImpl) placeholder).clearValues(slot);
+                }
+            }
+            usedSlots.clear(slot);
+        }
     }
 
     /**
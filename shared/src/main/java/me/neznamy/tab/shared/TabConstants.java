@@ -45,6 +45,9 @@ public class TabConstants {
         public static final String SERVER_SWITCH = "Server Switch";
         public static final String COMMAND_PREPROCESS = "Command Preprocess";
         public static final String PROXY_MESSAGE = "Proxy Message processing";
+        public static final String PROXY_UPDATE_COALESCED = "Sending coalesced proxy update";
+        public static final String BRIDGE_SUBSCRIPTION_UPDATE = "Updating bridge placeholder subscriptions";
+        public static final String MYSQL_WRITE_RETRY = "Retrying failed MySQL writes";
 
         public static final String PLUGIN_MESSAGE_DECODE = "Decoding message";
         public static final String PLUGIN_MESSAGE_PROCESS = "Processing message";
@@ -59,8 +62,9 @@ public class TabConstants {
         public static final String BYTE_BUF = "ByteBuf";
         public static final String PACKET_LOGIN = "Login packet";
         public static final String SCOREBOARD_PACKET_CHECK = "Checking for other plugins";
-        public static final String PROXY_RELOAD = "Processing reload from another proxy";
         public static final String GROUP_CHANGE = "Processing group change";
+        public static final String FILE_SAVE = "Saving file";
+        public static final String LAYOUT_SKIN_DOWNLOAD = "Applying downloaded skin";
 
         // Placeholders
         public static final String PLACEHOLDER_REFRESH_INIT = "Phase #1 - Preparing for request";
@@ -152,6 +156,7 @@ public class TabConstants {
 
         //BungeeCord only
         public static final String GLOBAL_PLAYER_LIST = "GlobalPlayerList";
+        public static final String BRIDGE_SUBSCRIPTIONS = "BridgeSubscriptions";
 
         //additional info displayed in cpu command
         public static final String PACKET_DESERIALIZING = "Packet deserializing";
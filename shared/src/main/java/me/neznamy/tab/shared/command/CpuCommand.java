@@ -6,6 +6,7 @@ import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.chat.component.TabComponent;
 import me.neznamy.tab.shared.cpu.CpuReport;
 import me.neznamy.tab.shared.platform.TabPlayer;
+import me.neznamy.tab.shared.util.cache.StringToComponentCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -56,6 +57,9 @@ public class CpuCommand extends SubCommand {
         sendMessage(sender, String.format("&8&l%s &6&lPlaceholders Total: &a&l%s%%", LINE_CHAR, colorize(decimal3.format(report.getPlaceholderUsageTotal()), 10, 5)));
         sendMessage(sender, String.format("&8&l%s &6&lPlugin internals: &a&l%s%%", LINE_CHAR, colorize(decimal3.format(report.getFeatureUsageTotal()-report.getPlaceholderUsageTotal()), 10, 5)));
         sendMessage(sender, String.format("&8&l%s &6&lTotal: &e&l%s%%", LINE_CHAR, colorize(decimal3.format(report.getFeatureUsageTotal()), 10, 5)));
+        StringToComponentCache componentCache = TAB.getInstance().getComponentCache();
+        sendMessage(sender, String.format("&8&l%s &6Component cache hit rate: &a%s%% &7(%d requests)", LINE_CHAR,
+                decimal3.format(componentCache.getHitRate()*100), componentCache.getRequestCount()));
         sendMessage(sender, "&8&l" + LINE_CHAR + "&8&m             &r&8&l[ &bTAB CPU Stats &8&l]&r&8&l&m             ");
         sendMessage(sender, " ");
     }
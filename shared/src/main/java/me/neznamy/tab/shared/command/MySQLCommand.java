@@ -11,7 +11,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.error.YAMLException;
 
-import javax.sql.rowset.CachedRowSet;
 import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
@@ -64,16 +63,10 @@ public class MySQLCommand extends SubCommand {
             try {
                 YamlPropertyConfigurationFile groupFile = new YamlPropertyConfigurationFile(Configs.class.getClassLoader().getResourceAsStream("config/groups.yml"), new File(TAB.getInstance().getDataFolder(), "groups.yml"));
                 YamlPropertyConfigurationFile userFile = new YamlPropertyConfigurationFile(Configs.class.getClassLoader().getResourceAsStream("config/users.yml"), new File(TAB.getInstance().getDataFolder(), "users.yml"));
-                CachedRowSet crs = mysql.getCRS("select * from tab_groups");
-                while (crs.next()) {
-                    groupFile.setProperty(crs.getString("group"), crs.getString("property"),
-                            crs.getString("server"), crs.getString("world"), crs.getString("value"));
-                }
-                crs = mysql.getCRS("select * from tab_users");
-                while (crs.next()) {
-                    userFile.setProperty(crs.getString("user"), crs.getString("property"),
-                            crs.getString("server"), crs.getString("world"), crs.getString("value"));
-                }
+                mysql.query("select * from tab_groups", row -> groupFile.setProperty(row.getString("group"), row.getString("property"),
+                        MySQL.fromColumn(row.getString("server")), MySQL.fromColumn(row.getString("world")), row.getString("value")));
+                mysql.query("select * from tab_users", row -> userFile.setProperty(row.getString("user"), row.getString("property"),
+                        MySQL.fromColumn(row.getString("server")), MySQL.fromColumn(row.getString("world")), row.getString("value")));
                 sendMessage(sender, getMessages().getMySQLDownloadSuccess());
             } catch (YAMLException | IOException | SQLException e) {
                 sendMessage(sender, getMessages().getMySQLFailError());
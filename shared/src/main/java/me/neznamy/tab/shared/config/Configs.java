@@ -2,10 +2,13 @@ package me.neznamy.tab.shared.config;
 
 import lombok.Getter;
 import lombok.NonNull;
+import me.neznamy.chat.TextColor;
+import me.neznamy.chat.component.TextComponent;
 import me.neznamy.tab.shared.FeatureManager;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.config.file.ConfigurationFile;
+import me.neznamy.tab.shared.config.file.PlayerDataStore;
 import me.neznamy.tab.shared.config.file.YamlConfigurationFile;
 import me.neznamy.tab.shared.config.file.YamlPropertyConfigurationFile;
 import me.neznamy.tab.shared.config.files.Animations;
@@ -20,8 +23,11 @@ import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
-import java.util.Collection;
+import java.util.*;
 
 /**
  * Core of loading configuration files
@@ -38,8 +44,8 @@ public class Configs {
     //messages.yml file
     private final MessageFile messages = new MessageFile();
 
-    //playerdata.yml, used for bossbar & scoreboard toggle saving
-    private ConfigurationFile playerdata;
+    //player data storage, used for bossbar & scoreboard toggle saving
+    private PlayerDataStore playerDataStore;
 
     private PropertyConfiguration groups;
 
@@ -80,23 +86,67 @@ public class Configs {
     }
 
     /**
-     * Returns playerdata.yml file used for storing feature toggle status.
+     * Returns player data storage used for storing feature toggle status. When loaded for
+     * the first time, data from old playerdata.yml file is imported into it.
      *
-     * @return  playerdata.yml file
+     * @return  player data storage
      */
     @Nullable
-    public ConfigurationFile getPlayerDataFile() {
-        if (playerdata == null) {
-            File file = new File(TAB.getInstance().getDataFolder(), "playerdata.yml");
+    public PlayerDataStore getPlayerDataStore() {
+        if (playerDataStore == null) {
+            File folder = new File(TAB.getInstance().getDataFolder(), "playerdata");
             try {
-                if (file.exists() || file.createNewFile()) {
-                    playerdata = new YamlConfigurationFile(null, file);
+                Files.createDirectories(folder.toPath());
+                playerDataStore = new PlayerDataStore(folder);
+                File legacyFile = new File(TAB.getInstance().getDataFolder(), "playerdata.yml");
+                if (legacyFile.exists() && playerDataStore.isEmpty()) {
+                    importPlayerData(legacyFile, playerDataStore);
                 }
             } catch (IOException e) {
-                TAB.getInstance().getErrorManager().criticalError("Failed to load playerdata.yml", e);
+                TAB.getInstance().getErrorManager().criticalError("Failed to load player data", e);
             }
         }
-        return playerdata;
+        return playerDataStore;
+    }
+
+    /**
+     * Imports toggled players from old playerdata.yml file into player data storage and renames
+     * the file. Players saved by name from older versions are imported using their offline UUID.
+     *
+     * @param   legacyFile
+     *          playerdata.yml file
+     * @param   store
+     *          Storage to import data into
+     * @throws  IOException
+     *          If reading or writing data fails
+     */
+    private void importPlayerData(@NotNull File legacyFile, @NotNull PlayerDataStore store) throws IOException {
+        ConfigurationFile file = new YamlConfigurationFile(null, legacyFile);
+        Map<String, Collection<UUID>> data = new HashMap<>();
+        int count = 0;
+        for (Object section : file.getValues().keySet()) {
+            List<UUID> players = new ArrayList<>();
+            for (String player : file.getStringList(section.toString(), Collections.emptyList())) {
+                try {
+                    players.add(UUID.fromString(player));
+                } catch (IllegalArgumentException e) {
+                    players.add(UUID.nameUUIDFromBytes(("OfflinePlayer:" + player).getBytes(StandardCharsets.UTF_8)));
+                }
+            }
+            data.put(section.toString(), players);
+            count += players.size();
+        }
+        store.importData(data);
+        Files.move(legacyFile.toPath(), new File(legacyFile.getParentFile(), "playerdata.yml.old").toPath(), StandardCopyOption.REPLACE_EXISTING);
+        TAB.getInstance().getPlatform().logInfo(new TextComponent("Imported " + count + " entries from playerdata.yml, " +
+                "original file was renamed to playerdata.yml.old", TextColor.GREEN));
+    }
+
+    /**
+     * Writes all pending player data changes and closes the storage if it was loaded.
+     */
+    public void closePlayerDataStore() {
+        if (playerDataStore != null) playerDataStore.close();
     }
 
     /**
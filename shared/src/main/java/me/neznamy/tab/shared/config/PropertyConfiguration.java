@@ -59,6 +59,28 @@ public interface PropertyConfiguration {
     @NotNull
     String[] getProperty(@NonNull String groupOrUser, @NonNull String property, @Nullable String server, @Nullable String world);
 
+    /**
+     * Gets property of group or user using the same algorithm as
+     * {@link #getProperty(String, String, String, String)}, but returns it as an object
+     * building the source text only when requested. Returns {@code null} if nothing is found.
+     *
+     * @param   groupOrUser
+     *          Name of group or user, depending on what this instance handles
+     * @param   property
+     *          Name of property to get
+     * @param   server
+     *          Server the player is currently in, to allow check for per-server settings
+     * @param   world
+     *          World the player is currently in, to allow check for per-world settings
+     * @return  Property value if found, {@code null} if not
+     */
+    @Nullable
+    default PropertyValue findProperty(@NonNull String groupOrUser, @NonNull String property, @Nullable String server, @Nullable String world) {
+        String[] value = getProperty(groupOrUser, property, server, world);
+        if (value.length == 0) return null;
+        return new PropertyValue(value[0], value[1], null, null);
+    }
+
     /**
      * Removes all data applied to specified group or user.
      *
@@ -0,0 +1,63 @@
+package me.neznamy.tab.shared.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Value of a group or user property together with information about where it was defined.
+ * The source text displayed in debug command is only built when requested using
+ * {@link #getSource()}, since it is rarely needed compared to how often properties are resolved.
+ */
+@RequiredArgsConstructor
+public class PropertyValue {
+
+    /** Configured value of the property */
+    @Getter
+    @NotNull
+    private final String value;
+
+    /** Entity which defined the value, such as {@code "group=default"} */
+    @NotNull
+    private final String entity;
+
+    /** Type of location the value is limited to ({@code "world"} or {@code "server"}), {@code null} if global */
+    @Nullable
+    private final String scope;
+
+    /** World or server the value was resolved for, {@code null} if global */
+    @Nullable
+    private final String location;
+
+    /**
+     * Returns this value resolved for specified world or server. If it is the same as
+     * the one this value was created with, this instance is returned.
+     *
+     * @param   location
+     *          World or server the value was resolved for
+     * @return  Value with given location
+     */
+    @NotNull
+    public PropertyValue at(@Nullable String location) {
+        if (scope == null || (this.location != null && this.location.equals(location))) return this;
+        return new PropertyValue(value, entity, scope, location);
+    }
+
+    /**
+     * Returns source of the value displayed in debug command.
+     *
+     * @return  Source of the value
+     */
+    @NotNull
+    public String getSource() {
+        if (scope == null) return entity;
+        return entity + ", " + scope + "=" + location;
+    }
+
+    @Override
+    @NotNull
+    public String toString() {
+        return getSource();
+    }
+}
@@ -4,6 +4,9 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.cpu.CpuManager;
+import me.neznamy.tab.shared.cpu.TimedCaughtTask;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -14,6 +17,7 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Abstract class for configuration file
@@ -22,6 +26,12 @@ import java.util.Map.Entry;
 @SuppressWarnings("unchecked")
 public abstract class ConfigurationFile {
 
+    /** Delay in milliseconds between modification and saving, so that further modifications are saved together */
+    private static final int SAVE_DELAY = 1000;
+
+    /** Files with modifications which were not saved yet */
+    private static final Set<ConfigurationFile> pendingSaves = ConcurrentHashMap.newKeySet();
+
     /** Configuration file content */
     @Setter
     @NotNull
@@ -60,6 +70,62 @@ public abstract class ConfigurationFile {
      */
     public abstract void save();
 
+    /**
+     * Schedules saving of the file in a background thread. Modifications made
+     * before the file is saved are saved together.
+     */
+    public void scheduleSave() {
+        if (!pendingSaves.add(this)) return;
+        CpuManager.getFileSavingThread().executeLater(new TimedCaughtTask(TAB.getInstance().getCPUManager(),
+                this::savePending, "Configuration files", TabConstants.CpuUsageCategory.FILE_SAVE), SAVE_DELAY);
+    }
+
+    /**
+     * Saves the file if it has modifications which were not saved yet.
+     */
+    private void savePending() {
+        if (pendingSaves.remove(this)) save();
+    }
+
+    /**
+     * Saves all files with modifications which were not saved yet in current thread.
+     */
+    public static void flushPendingSaves() {
+        for (ConfigurationFile file : pendingSaves.toArray(new ConfigurationFile[0])) {
+            file.savePending();
+        }
+    }
+
+    /**
+     * Creates a copy of current values, which can be serialized while
+     * the values are being modified in another thread.
+     *
+     * @return  Copy of current values
+     */
+    @NotNull
+    protected synchronized Map<Object, Object> copyValues() {
+        return (Map<Object, Object>) copy(values);
+    }
+
+    @Nullable
+    private Object copy(@Nullable Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(entry.getKey(), copy(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            for (Object element : (List<?>) value) {
+                copy.add(copy(element));
+            }
+            return copy;
+        }
+        return value;
+    }
+
     /**
      * Gets config option with specified path. If the option is not present and
      * {@code defaultValue} is not {@code null}, value is inserted, {@link #save()}
@@ -262,7 +328,7 @@ public abstract class ConfigurationFile {
     }
 
     /**
-     * Sets value to the specified path and saves the file to disk by calling {@link #save()}.
+     * Sets value to the specified path and schedules saving the file to disk using {@link #scheduleSave()}.
      *
      * @param   path
      *          Path to the option with sections separated with "{@code .}"
@@ -270,8 +336,10 @@ public abstract class ConfigurationFile {
      *          Value to save
      */
     public void set(@NonNull String path, @Nullable Object value) {
-        set(values, path, value);
-        save();
+        synchronized (this) {
+            set(values, path, value);
+        }
+        scheduleSave();
     }
 
     /**
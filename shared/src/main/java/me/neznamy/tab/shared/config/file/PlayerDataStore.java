@@ -0,0 +1,603 @@
+package me.neznamy.tab.shared.config.file;
+
+import com.google.common.io.CountingInputStream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.cpu.CpuManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Binary storage of player sets, such as players who toggled a feature. Data is stored
+ * as a snapshot file containing sorted 16-byte UUIDs of each section, which is memory-mapped
+ * and searched using binary search without loading it into heap. Changes made since the snapshot
+ * was written are kept in memory and appended into a change log, which is replayed on startup.
+ * Once the log grows too large, snapshot is rewritten with all changes in a new generation
+ * of files and the log starts over.
+ * <p>
+ * Each generation consists of {@code playerdata-<generation>.dat} snapshot and
+ * {@code playerdata-<generation>.log} change log. Snapshot is written into a temporary
+ * file first and then renamed, so the latest complete generation is always used on startup.
+ * If the snapshot is corrupted anyway, it is renamed to {@code playerdata-<generation>.dat.corrupt}
+ * and the store starts without it, only keeping changes from the log.
+ */
+public class PlayerDataStore {
+
+    /** Snapshot file header identifying the format */
+    private static final int MAGIC = 0x54414244;
+
+    /** Snapshot format version */
+    private static final int VERSION = 1;
+
+    /** Default amount of logged changes after which snapshot is rewritten */
+    private static final int COMPACT_THRESHOLD = 10000;
+
+    /** Pattern of snapshot file names */
+    private static final Pattern SNAPSHOT_PATTERN = Pattern.compile("playerdata-(\\d+)\\.dat");
+
+    /** Folder containing the files */
+    @NotNull
+    private final File folder;
+
+    /** Amount of logged changes after which snapshot is rewritten */
+    private final int compactThreshold;
+
+    /** Changes made since the snapshot was written by section, {@code true} for added, {@code false} for removed */
+    @NotNull
+    private final Map<String, Map<UUID, Boolean>> changes = new ConcurrentHashMap<>();
+
+    /** Changes waiting to be appended into the log */
+    @NotNull
+    private final Queue<Change> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    /** Currently mapped snapshot */
+    @NotNull
+    private volatile Snapshot snapshot = new Snapshot(null, Collections.emptyMap());
+
+    /** Generation of current snapshot and log */
+    private long generation;
+
+    /** Output stream appending changes to current log */
+    @Nullable
+    private DataOutputStream log;
+
+    /** Amount of changes in current log */
+    private int loggedChanges;
+
+    /** Flag tracking whether writing of pending changes is scheduled or not */
+    private boolean writeScheduled;
+
+    /** Flag tracking whether compaction is scheduled or not */
+    private boolean compactionScheduled;
+
+    /** Flag tracking whether the store was closed or not */
+    private boolean closed;
+
+    /**
+     * Constructs new instance, maps the latest snapshot in given folder and replays its change log.
+     *
+     * @param   folder
+     *          Folder containing the files
+     * @throws  IOException
+     *          If reading the files fails
+     */
+    public PlayerDataStore(@NonNull File folder) throws IOException {
+        this(folder, COMPACT_THRESHOLD);
+    }
+
+    /**
+     * Constructs new instance with given compaction threshold, maps the latest snapshot
+     * in given folder and replays its change log.
+     *
+     * @param   folder
+     *          Folder containing the files
+     * @param   compactThreshold
+     *          Amount of logged changes after which snapshot is rewritten
+     * @throws  IOException
+     *          If reading the files fails
+     */
+    PlayerDataStore(@NonNull File folder, int compactThreshold) throws IOException {
+        this.folder = folder;
+        this.compactThreshold = compactThreshold;
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Matcher matcher = SNAPSHOT_PATTERN.matcher(file.getName());
+                if (matcher.matches()) generation = Math.max(generation, Long.parseLong(matcher.group(1)));
+            }
+        }
+        IOException corruption = null;
+        if (generation > 0) {
+            try {
+                snapshot = mapSnapshot(snapshotFile(generation));
+            } catch (IOException e) {
+                corruption = e;
+            }
+        }
+        replayLog();
+        if (corruption != null) discardCorruptedSnapshot(corruption);
+        deleteOldGenerations();
+    }
+
+    /**
+     * Renames corrupted snapshot of current generation and writes a new generation
+     * containing only changes replayed from the log.
+     *
+     * @param   corruption
+     *          Error thrown when mapping the snapshot
+     * @throws  IOException
+     *          If renaming the snapshot or writing the new one fails
+     */
+    private void discardCorruptedSnapshot(@NotNull IOException corruption) throws IOException {
+        File file = snapshotFile(generation);
+        File renamed = new File(folder, file.getName() + ".corrupt");
+        TAB.getInstance().getErrorManager().criticalError("Player data file " + file.getName() + " is corrupted, it was renamed to " +
+                renamed.getName() + " and players saved in it were lost", corruption);
+        Files.move(file.toPath(), renamed.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        writeSnapshot(generation + 1, snapshot, changes);
+        generation++;
+        snapshot = mapSnapshot(snapshotFile(generation));
+        changes.clear();
+        loggedChanges = 0;
+    }
+
+    /**
+     * Returns {@code true} if this store does not contain any data yet.
+     *
+     * @return  {@code true} if empty, {@code false} if not
+     */
+    public boolean isEmpty() {
+        return generation == 0 && loggedChanges == 0;
+    }
+
+    /**
+     * Writes given data as a new snapshot. This is meant for importing data from another
+     * storage into an empty store, existing data is not included.
+     *
+     * @param   data
+     *          Players by section
+     * @throws  IOException
+     *          If writing fails
+     */
+    public synchronized void importData(@NonNull Map<String, Collection<UUID>> data) throws IOException {
+        Map<String, Map<UUID, Boolean>> added = new HashMap<>();
+        for (Map.Entry<String, Collection<UUID>> entry : data.entrySet()) {
+            Map<UUID, Boolean> players = new HashMap<>();
+            for (UUID uniqueId : entry.getValue()) {
+                players.put(uniqueId, true);
+            }
+            added.put(entry.getKey(), players);
+        }
+        writeSnapshot(generation + 1, new Snapshot(null, Collections.emptyMap()), added);
+        generation++;
+        snapshot = mapSnapshot(snapshotFile(generation));
+    }
+
+    /**
+     * Returns {@code true} if section contains given player, {@code false} if not.
+     *
+     * @param   section
+     *          Section name
+     * @param   uniqueId
+     *          Player UUID
+     * @return  {@code true} if section contains the player, {@code false} if not
+     */
+    public boolean contains(@NonNull String section, @NonNull UUID uniqueId) {
+        Map<UUID, Boolean> sectionChanges = changes.get(section);
+        if (sectionChanges != null) {
+            Boolean changed = sectionChanges.get(uniqueId);
+            if (changed != null) return changed;
+        }
+        return snapshot.contains(section, uniqueId);
+    }
+
+    /**
+     * Adds player into section or removes them from it. Returns {@code true}
+     * if this changed the section, {@code false} if not.
+     *
+     * @param   section
+     *          Section name
+     * @param   uniqueId
+     *          Player UUID
+     * @param   value
+     *          {@code true} to add the player, {@code false} to remove them
+     * @return  {@code true} if section changed, {@code false} if not
+     */
+    public synchronized boolean set(@NonNull String section, @NonNull UUID uniqueId, boolean value) {
+        if (contains(section, uniqueId) == value) return false;
+        changes.computeIfAbsent(section, c -> new ConcurrentHashMap<>()).put(uniqueId, value);
+        pendingChanges.add(new Change(section, uniqueId, value));
+        if (!writeScheduled && !closed) {
+            writeScheduled = true;
+            CpuManager.getFileSavingThread().execute(this::writePendingChanges);
+        }
+        return true;
+    }
+
+    /**
+     * Appends pending changes into the log and schedules compaction if the log is too large.
+     */
+    private synchronized void writePendingChanges() {
+        writeScheduled = false;
+        if (closed) return;
+        try {
+            Change change;
+            while ((change = pendingChanges.poll()) != null) {
+                writeChange(change);
+            }
+            if (log != null) log.flush();
+        } catch (IOException e) {
+            TAB.getInstance().getErrorManager().criticalError("Failed to write player data changes", e);
+        }
+        if (loggedChanges >= compactThreshold && !compactionScheduled) {
+            compactionScheduled = true;
+            CpuManager.getFileSavingThread().execute(this::compact);
+        }
+    }
+
+    private void writeChange(@NotNull Change change) throws IOException {
+        if (log == null) {
+            log = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(logFile(generation), true)));
+        }
+        log.writeBoolean(change.value);
+        log.writeUTF(change.section);
+        log.writeLong(change.uniqueId.getMostSignificantBits());
+        log.writeLong(change.uniqueId.getLeastSignificantBits());
+        loggedChanges++;
+    }
+
+    /**
+     * Writes a new snapshot containing all current data and starts a new log.
+     */
+    private void compact() {
+        Map<String, Map<UUID, Boolean>> written = new HashMap<>();
+        Snapshot current;
+        long newGeneration;
+        synchronized (this) {
+            compactionScheduled = false;
+            if (closed) return;
+            for (Map.Entry<String, Map<UUID, Boolean>> entry : changes.entrySet()) {
+                written.put(entry.getKey(), new HashMap<>(entry.getValue()));
+            }
+            current = snapshot;
+            newGeneration = generation + 1;
+        }
+        try {
+            writeSnapshot(newGeneration, current, written);
+        } catch (IOException e) {
+            TAB.getInstance().getErrorManager().criticalError("Failed to compact player data", e);
+            return;
+        }
+        synchronized (this) {
+            try {
+                if (log != null) log.close();
+                log = null;
+                generation = newGeneration;
+                loggedChanges = 0;
+                snapshot = mapSnapshot(snapshotFile(generation));
+                // Changes made while the snapshot was being written are written into the new log
+                pendingChanges.clear();
+                for (Map.Entry<String, Map<UUID, Boolean>> entry : changes.entrySet()) {
+                    Map<UUID, Boolean> sectionWritten = written.getOrDefault(entry.getKey(), Collections.emptyMap());
+                    for (Map.Entry<UUID, Boolean> change : sectionWritten.entrySet()) {
+                        entry.getValue().remove(change.getKey(), change.getValue());
+                    }
+                    for (Map.Entry<UUID, Boolean> change : entry.getValue().entrySet()) {
+                        writeChange(new Change(entry.getKey(), change.getKey(), change.getValue()));
+                    }
+                }
+                if (log != null) {
+                    log.flush();
+                    // Store was closed while the snapshot was being written
+                    if (closed) {
+                        log.close();
+                        log = null;
+                    }
+                }
+            } catch (IOException e) {
+                TAB.getInstance().getErrorManager().criticalError("Failed to compact player data", e);
+            }
+        }
+        deleteOldGenerations();
+    }
+
+    /**
+     * Writes snapshot of given generation containing given snapshot with given changes applied.
+     *
+     * @param   generation
+     *          Generation of the snapshot
+     * @param   current
+     *          Current snapshot
+     * @param   changes
+     *          Changes to apply by section
+     * @throws  IOException
+     *          If writing fails
+     */
+    private void writeSnapshot(long generation, @NotNull Snapshot current, @NotNull Map<String, Map<UUID, Boolean>> changes) throws IOException {
+        Map<String, long[]> merged = new LinkedHashMap<>();
+        Set<String> names = new LinkedHashSet<>(current.sections.keySet());
+        names.addAll(changes.keySet());
+        for (String name : names) {
+            long[] data = merge(current, name, changes.getOrDefault(name, Collections.emptyMap()));
+            if (data.length > 0) merged.put(name, data);
+        }
+        File temp = new File(folder, "playerdata-" + generation + ".dat.tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(merged.size());
+            long offset = 12;
+            for (String name : merged.keySet()) {
+                offset += 2 + name.getBytes(StandardCharsets.UTF_8).length + 4 + 8;
+            }
+            for (Map.Entry<String, long[]> entry : merged.entrySet()) {
+                byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeShort(name.length);
+                out.write(name);
+                out.writeInt(entry.getValue().length / 2);
+                out.writeLong(offset);
+                offset += entry.getValue().length * 8L;
+            }
+            for (long[] data : merged.values()) {
+                for (long value : data) {
+                    out.writeLong(value);
+                }
+            }
+        }
+        Path target = snapshotFile(generation).toPath();
+        try {
+            Files.move(temp.toPath(), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Merges sorted UUIDs of section in snapshot with given changes.
+     *
+     * @param   current
+     *          Current snapshot
+     * @param   section
+     *          Section name
+     * @param   changes
+     *          Changes to apply
+     * @return  Sorted UUIDs as pairs of most and least significant bits
+     */
+    @NotNull
+    private long[] merge(@NotNull Snapshot current, @NotNull String section, @NotNull Map<UUID, Boolean> changes) {
+        List<UUID> added = new ArrayList<>();
+        for (Map.Entry<UUID, Boolean> entry : changes.entrySet()) {
+            if (entry.getValue()) added.add(entry.getKey());
+        }
+        added.sort(PlayerDataStore::compare);
+        SnapshotSection snapshotSection = current.sections.get(section);
+        int snapshotCount = snapshotSection == null ? 0 : snapshotSection.count;
+        long[] result = new long[(snapshotCount + added.size()) * 2];
+        int size = 0;
+        int addedIndex = 0;
+        for (int i = 0; i < snapshotCount; i++) {
+            UUID existing = current.get(snapshotSection, i);
+            while (addedIndex < added.size() && compare(added.get(addedIndex), existing) < 0) {
+                size = put(result, size, added.get(addedIndex++));
+            }
+            if (addedIndex < added.size() && compare(added.get(addedIndex), existing) == 0) addedIndex++;
+            if (changes.get(existing) != Boolean.FALSE) size = put(result, size, existing);
+        }
+        while (addedIndex < added.size()) {
+            size = put(result, size, added.get(addedIndex++));
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private int put(@NotNull long[] array, int size, @NotNull UUID uniqueId) {
+        array[size] = uniqueId.getMostSignificantBits();
+        array[size + 1] = uniqueId.getLeastSignificantBits();
+        return size + 2;
+    }
+
+    @NotNull
+    private Snapshot mapSnapshot(@NotNull File file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < 12 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("File " + file.getName() + " is not a valid player data file");
+        }
+        Map<String, SnapshotSection> sections = new HashMap<>();
+        try {
+            int sectionCount = buffer.getInt(8);
+            int position = 12;
+            for (int i = 0; i < sectionCount; i++) {
+                byte[] name = new byte[buffer.getShort(position) & 0xFFFF];
+                position += 2;
+                for (int j = 0; j < name.length; j++) {
+                    name[j] = buffer.get(position++);
+                }
+                int count = buffer.getInt(position);
+                long offset = buffer.getLong(position + 4);
+                if (count < 0 || offset < position + 12 || offset + count * 16L > buffer.capacity()) {
+                    throw new IOException("File " + file.getName() + " has invalid section bounds");
+                }
+                sections.put(new String(name, StandardCharsets.UTF_8), new SnapshotSection(count, (int) offset));
+                position += 12;
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("File " + file.getName() + " is truncated", e);
+        }
+        return new Snapshot(buffer, sections);
+    }
+
+    /**
+     * Loads changes from the log of current generation. If the last change was not
+     * written completely, it is cut off, so new changes are appended after the last
+     * complete one instead of after the partial bytes.
+     *
+     * @throws  IOException
+     *          If reading or truncating the log fails
+     */
+    @SuppressWarnings("UnstableApiUsage")
+    private void replayLog() throws IOException {
+        File file = logFile(generation);
+        if (!file.exists()) return;
+        long validLength = 0;
+        CountingInputStream counter = new CountingInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try (DataInputStream in = new DataInputStream(counter)) {
+            while (true) {
+                boolean value = in.readBoolean();
+                String section = in.readUTF();
+                UUID uniqueId = new UUID(in.readLong(), in.readLong());
+                changes.computeIfAbsent(section, c -> new ConcurrentHashMap<>()).put(uniqueId, value);
+                loggedChanges++;
+                validLength = counter.getCount();
+            }
+        } catch (EOFException ignored) {
+            // End of log, possibly with an incomplete last change
+        }
+        if (validLength < file.length()) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        }
+    }
+
+    private void deleteOldGenerations() {
+        File[] files = folder.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            String name = file.getName();
+            if (!name.startsWith("playerdata-") || name.endsWith(".corrupt")) continue;
+            if (name.equals(snapshotFile(generation).getName()) || name.equals(logFile(generation).getName())) continue;
+            if (!file.delete()) {
+                // Still mapped on some systems, will be deleted on next startup
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    @NotNull
+    private File snapshotFile(long generation) {
+        return new File(folder, "playerdata-" + generation + ".dat");
+    }
+
+    @NotNull
+    private File logFile(long generation) {
+        return new File(folder, "playerdata-" + generation + ".log");
+    }
+
+    /**
+     * Writes all pending changes and closes the log.
+     */
+    public synchronized void close() {
+        writePendingChanges();
+        closed = true;
+        try {
+            if (log != null) log.close();
+        } catch (IOException e) {
+            TAB.getInstance().getErrorManager().criticalError("Failed to close player data log", e);
+        }
+        log = null;
+    }
+
+    private static int compare(@NotNull UUID first, @NotNull UUID second) {
+        int result = Long.compare(first.getMostSignificantBits(), second.getMostSignificantBits());
+        return result != 0 ? result : Long.compare(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    }
+
+    /**
+     * Mapped snapshot file.
+     */
+    @RequiredArgsConstructor
+    private static class Snapshot {
+
+        /** Mapped file content, {@code null} if no snapshot exists yet */
+        @Nullable
+        private final ByteBuffer buffer;
+
+        /** Sections in the snapshot by their name */
+        @NotNull
+        private final Map<String, SnapshotSection> sections;
+
+        /**
+         * Returns player at given index in given section.
+         *
+         * @param   section
+         *          Section to get player from
+         * @param   index
+         *          Player index
+         * @return  Player at given index
+         */
+        @NotNull
+        private UUID get(@NotNull SnapshotSection section, int index) {
+            int position = section.offset + index * 16;
+            return new UUID(buffer.getLong(position), buffer.getLong(position + 8));
+        }
+
+        /**
+         * Searches section for given player using binary search.
+         *
+         * @param   section
+         *          Section name
+         * @param   uniqueId
+         *          Player to find
+         * @return  {@code true} if found, {@code false} if not
+         */
+        private boolean contains(@NotNull String section, @NotNull UUID uniqueId) {
+            SnapshotSection snapshotSection = sections.get(section);
+            if (snapshotSection == null) return false;
+            int low = 0;
+            int high = snapshotSection.count - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int position = snapshotSection.offset + middle * 16;
+                int result = Long.compare(buffer.getLong(position), uniqueId.getMostSignificantBits());
+                if (result == 0) result = Long.compare(buffer.getLong(position + 8), uniqueId.getLeastSignificantBits());
+                if (result < 0) {
+                    low = middle + 1;
+                } else if (result > 0) {
+                    high = middle - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Location of a section in snapshot file.
+     */
+    @RequiredArgsConstructor
+    private static class SnapshotSection {
+
+        /** Amount of players in the section */
+        private final int count;
+
+        /** Offset of the first player of the section */
+        private final int offset;
+    }
+
+    /**
+     * A change waiting to be written into the log.
+     */
+    @RequiredArgsConstructor
+    private static class Change {
+
+        @NotNull private final String section;
+        @NotNull private final UUID uniqueId;
+        private final boolean value;
+    }
+}
@@ -14,9 +14,13 @@ import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * YAML implementation of ConfigurationFile
@@ -68,19 +72,33 @@ public class YamlConfigurationFile extends ConfigurationFile {
         }
     }
 
+    /**
+     * Saves values to the file. Values are copied first and then written into a temporary file,
+     * which then replaces the original file, so the file is never left partially written.
+     */
     @Override
-    public synchronized void save() {
-        try {
-            Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8);
-            DumperOptions options = new DumperOptions();
-            options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-            new Yaml(options).dump(values, writer);
-            writer.close();
-        } catch (IOException e) {
-            TAB.getInstance().getPlatform().logWarn(SimpleTextComponent.text(String.format(
-                    "Failed to save yaml file %s: %s: %s",
-                    file.getPath(), e.getClass().getName(), e.getMessage()
-            )));
+    public void save() {
+        Map<Object, Object> snapshot = copyValues();
+        synchronized (file) {
+            Path target = file.toPath();
+            Path temp = target.resolveSibling(file.getName() + ".tmp");
+            try {
+                try (Writer writer = new OutputStreamWriter(Files.newOutputStream(temp), StandardCharsets.UTF_8)) {
+                    DumperOptions options = new DumperOptions();
+                    options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+                    new Yaml(options).dump(snapshot, writer);
+                }
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                TAB.getInstance().getPlatform().logWarn(SimpleTextComponent.text(String.format(
+                        "Failed to save yaml file %s: %s: %s",
+                        file.getPath(), e.getClass().getName(), e.getMessage()
+                )));
+            }
         }
     }
-}
\ No newline at end of file
+}
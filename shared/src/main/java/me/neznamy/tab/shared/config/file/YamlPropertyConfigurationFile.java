@@ -4,6 +4,7 @@ import lombok.NonNull;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.config.PropertyConfiguration;
+import me.neznamy.tab.shared.config.PropertyValue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.error.YAMLException;
@@ -12,6 +13,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -21,10 +23,15 @@ public class YamlPropertyConfigurationFile extends YamlConfigurationFile impleme
 
     private final String PER_SERVER = "per-server";
     private final String PER_WORLD = "per-world";
+
+    /** Default group name as it is stored in compiled table */
+    private static final String DEFAULT_GROUP = TabConstants.DEFAULT_GROUP.toLowerCase(Locale.US);
     
     private final String category;
-    private final Collection<String> worldGroups = new ArrayList<>(this.<String, Object>getMap(PER_WORLD).keySet());
-    private final Collection<String> serverGroups = new ArrayList<>(this.<String, Object>getMap(PER_SERVER).keySet());
+
+    /** Compiled lookup table of all values, {@code null} if file was modified and it needs to be rebuilt */
+    @Nullable
+    private volatile PropertyTable table;
 
     /**
      * Constructs new instance and attempts to load specified configuration file.
@@ -46,9 +53,10 @@ public class YamlPropertyConfigurationFile extends YamlConfigurationFile impleme
     public YamlPropertyConfigurationFile(@Nullable InputStream source, @NonNull File destination) throws IOException {
         super(source, destination);
         category = destination.getName().contains("groups") ? "group" : "user";
+        PropertyTable table = compile();
         for (Map.Entry<Object, Object> entry : getValues().entrySet()) {
             if (entry.getKey().equals(PER_SERVER)) {
-                for (String server : serverGroups) {
+                for (String server : table.serverGroups) {
                     for (String name : this.<String, Object>getMap(PER_SERVER + "." + server).keySet()) {
                         for (String property : this.<String, Object>getMap(PER_SERVER + "." + server + "." + name).keySet()) {
                             checkProperty(destination.getName(), category, name, property, server, null, true);
@@ -56,7 +64,7 @@ public class YamlPropertyConfigurationFile extends YamlConfigurationFile impleme
                     }
                 }
             } else if (entry.getKey().equals(PER_WORLD)) {
-                for (String world : worldGroups) {
+                for (String world : table.worldGroups) {
                     for (String name : this.<String, Object>getMap(PER_WORLD + "." + world).keySet()) {
                         for (String property : this.<String, Object>getMap(PER_WORLD + "." + world + "." + name).keySet()) {
                             checkProperty(destination.getName(), category, name, property, null, world, true);
@@ -71,6 +79,66 @@ public class YamlPropertyConfigurationFile extends YamlConfigurationFile impleme
         }
     }
 
+    /**
+     * Compiles content of the file into a lookup table, so that resolving a property
+     * only takes a few hash lookups instead of walking the YAML structure. Keys are
+     * converted to lowercase to keep lookups case-insensitive. If multiple keys only differ
+     * in case, the first one is used, same as when reading the YAML structure directly.
+     *
+     * @return  Compiled table
+     */
+    @NotNull
+    private synchronized PropertyTable compile() {
+        if (this.table != null) return this.table;
+        PropertyTable table = new PropertyTable();
+        for (Map.Entry<Object, Object> entry : getValues().entrySet()) {
+            String key = entry.getKey().toString();
+            if (key.equalsIgnoreCase(PER_WORLD)) {
+                compileScoped(entry.getValue(), table.perWorld, table.worldGroups, "world");
+            } else if (key.equalsIgnoreCase(PER_SERVER)) {
+                compileScoped(entry.getValue(), table.perServer, table.serverGroups, "server");
+            } else {
+                compileEntity(key, entry.getValue(), table.global, null, null);
+            }
+        }
+        this.table = table;
+        return table;
+    }
+
+    /**
+     * Marks compiled table as outdated, so it is rebuilt on next lookup. This is synchronized
+     * with {@link #compile()}, so a table being compiled during modification is discarded.
+     */
+    private synchronized void invalidate() {
+        table = null;
+    }
+
+    private void compileScoped(@Nullable Object section, @NotNull Map<String, Map<String, Map<String, PropertyValue>>> target,
+                               @NotNull Collection<String> groups, @NotNull String scope) {
+        if (!(section instanceof Map)) return;
+        for (Map.Entry<?, ?> group : ((Map<?, ?>) section).entrySet()) {
+            String groupName = group.getKey().toString();
+            groups.add(groupName);
+            if (!(group.getValue() instanceof Map)) continue;
+            Map<String, Map<String, PropertyValue>> groupValues = target.computeIfAbsent(groupName.toLowerCase(Locale.US), g -> new HashMap<>());
+            for (Map.Entry<?, ?> entity : ((Map<?, ?>) group.getValue()).entrySet()) {
+                compileEntity(entity.getKey().toString(), entity.getValue(), groupValues, scope, groupName);
+            }
+        }
+    }
+
+    private void compileEntity(@NotNull String name, @Nullable Object section, @NotNull Map<String, Map<String, PropertyValue>> target,
+                               @Nullable String scope, @Nullable String location) {
+        if (!(section instanceof Map)) return;
+        String entity = category + "=" + name;
+        Map<String, PropertyValue> properties = target.computeIfAbsent(name.toLowerCase(Locale.US), n -> new HashMap<>());
+        for (Map.Entry<?, ?> property : ((Map<?, ?>) section).entrySet()) {
+            if (property.getValue() == null) continue;
+            properties.putIfAbsent(property.getKey().toString().toLowerCase(Locale.US),
+                    new PropertyValue(toString(property.getValue()), entity, scope, location));
+        }
+    }
+
     @Override
     public void setProperty(@NonNull String name, @NonNull String property, @Nullable String server, @Nullable String world, @Nullable String value) {
         if (world != null) {
@@ -80,30 +148,42 @@ public class YamlPropertyConfigurationFile extends YamlConfigurationFile impleme
         } else {
             set(String.format("%s.%s", name, property), fromString(value));
         }
+        invalidate();
     }
 
     @Override
     public String[] getProperty(@NonNull String name, @NonNull String property, @Nullable String server, @Nullable String world) {
-        Object value;
-        if ((value = getObject(new String[] {PER_WORLD, TAB.getInstance().getConfiguration().getGroup(worldGroups, world), name, property})) != null) {
-            return new String[] {toString(value), category + "=" + name + ", world=" + world};
-        }
-        if ((value = getObject(new String[] {PER_WORLD, TAB.getInstance().getConfiguration().getGroup(worldGroups, world), TabConstants.DEFAULT_GROUP, property})) != null) {
-            return new String[] {toString(value), category + "=" + TabConstants.DEFAULT_GROUP + ", world=" + world};
-        }
-        if ((value = getObject(new String[] {PER_SERVER, TAB.getInstance().getConfiguration().getServerGroup(serverGroups, server), name, property})) != null) {
-            return new String[] {toString(value), category + "=" + name + ", server=" + server};
-        }
-        if ((value = getObject(new String[] {PER_SERVER, TAB.getInstance().getConfiguration().getServerGroup(serverGroups, server), TabConstants.DEFAULT_GROUP, property})) != null) {
-            return new String[] {toString(value), category + "=" + TabConstants.DEFAULT_GROUP + ", server=" + server};
-        }
-        if ((value = getObject(new String[] {name, property})) != null) {
-            return new String[] {toString(value), category + "=" + name};
+        PropertyValue value = findProperty(name, property, server, world);
+        if (value == null) return new String[0];
+        return new String[] {value.getValue(), value.getSource()};
+    }
+
+    @Override
+    @Nullable
+    public PropertyValue findProperty(@NonNull String name, @NonNull String property, @Nullable String server, @Nullable String world) {
+        PropertyTable table = this.table;
+        if (table == null) table = compile();
+        String lowercaseName = name.toLowerCase(Locale.US);
+        String lowercaseProperty = property.toLowerCase(Locale.US);
+        PropertyValue value;
+        Map<String, Map<String, PropertyValue>> worldValues = table.perWorld.get(table.getWorldGroup(world));
+        if (worldValues != null) {
+            if ((value = get(worldValues, lowercaseName, lowercaseProperty)) != null) return value.at(world);
+            if ((value = get(worldValues, DEFAULT_GROUP, lowercaseProperty)) != null) return value.at(world);
         }
-        if ((value = getObject(new String[] {TabConstants.DEFAULT_GROUP, property})) != null) {
-            return new String[] {toString(value), category + "=" + TabConstants.DEFAULT_GROUP};
+        Map<String, Map<String, PropertyValue>> serverValues = table.perServer.get(table.getServerGroup(server));
+        if (serverValues != null) {
+            if ((value = get(serverValues, lowercaseName, lowercaseProperty)) != null) return value.at(server);
+            if ((value = get(serverValues, DEFAULT_GROUP, lowercaseProperty)) != null) return value.at(server);
         }
-        return new String[0];
+        if ((value = get(table.global, lowercaseName, lowercaseProperty)) != null) return value;
+        return get(table.global, DEFAULT_GROUP, lowercaseProperty);
+    }
+
+    @Nullable
+    private PropertyValue get(@NotNull Map<String, Map<String, PropertyValue>> values, @NotNull String name, @NotNull String property) {
+        Map<String, PropertyValue> properties = values.get(name);
+        return properties == null ? null : properties.get(property);
     }
 
     @Override
@@ -111,6 +191,7 @@ public class YamlPropertyConfigurationFile extends YamlConfigurationFile impleme
         set(name, null);
         getMap(PER_WORLD).keySet().forEach(world -> set(PER_WORLD + "." + world + "." + name, null));
         getMap(PER_SERVER).keySet().forEach(server -> set(PER_SERVER + "." + server + "." + name, null));
+        invalidate();
     }
 
     @Override
@@ -143,4 +224,45 @@ public class YamlPropertyConfigurationFile extends YamlConfigurationFile impleme
         perServer.values().forEach(m -> set.addAll(m.keySet()));
         return set.stream().map(Object::toString).collect(Collectors.toSet());
     }
-}
\ No newline at end of file
+
+    /**
+     * Compiled content of the file. Maps are only read after the table is built.
+     */
+    private static class PropertyTable {
+
+        /** Global values by lowercase name and property */
+        @NotNull private final Map<String, Map<String, PropertyValue>> global = new HashMap<>();
+
+        /** Per-world values by lowercase world group, name and property */
+        @NotNull private final Map<String, Map<String, Map<String, PropertyValue>>> perWorld = new HashMap<>();
+
+        /** Per-server values by lowercase server group, name and property */
+        @NotNull private final Map<String, Map<String, Map<String, PropertyValue>>> perServer = new HashMap<>();
+
+        /** Configured world groups */
+        @NotNull private final Collection<String> worldGroups = new ArrayList<>();
+
+        /** Configured server groups */
+        @NotNull private final Collection<String> serverGroups = new ArrayList<>();
+
+        /** Lowercase world groups of worlds resolved so far */
+        @NotNull private final Map<String, String> worldGroupCache = new ConcurrentHashMap<>();
+
+        /** Lowercase server groups of servers resolved so far */
+        @NotNull private final Map<String, String> serverGroupCache = new ConcurrentHashMap<>();
+
+        @NotNull
+        private String getWorldGroup(@Nullable String world) {
+            if (world == null || worldGroups.isEmpty()) return world == null ? "null" : world.toLowerCase(Locale.US);
+            return worldGroupCache.computeIfAbsent(world, w ->
+                    TAB.getInstance().getConfiguration().getGroup(worldGroups, w).toLowerCase(Locale.US));
+        }
+
+        @NotNull
+        private String getServerGroup(@Nullable String server) {
+            if (server == null || serverGroups.isEmpty()) return server == null ? "null" : server.toLowerCase(Locale.US);
+            return serverGroupCache.computeIfAbsent(server, s ->
+                    TAB.getInstance().getConfiguration().getServerGroup(serverGroups, s).toLowerCase(Locale.US));
+        }
+    }
+}
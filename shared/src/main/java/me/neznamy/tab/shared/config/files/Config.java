@@ -57,12 +57,14 @@ public class Config {
 
     private final boolean preventSpectatorEffect = config.getBoolean("prevent-spectator-effect.enabled", false);
     private final boolean bukkitPermissions = TAB.getInstance().getPlatform().isProxy() && config.getBoolean("use-bukkit-permissions-manager", false);
+    private final int bukkitPermissionsCacheTime = config.getInt("bukkit-permissions-cache-time", 1000);
     private final boolean debugMode = config.getBoolean("debug", false);
     private final boolean onlineUuidInTabList = config.getBoolean("use-online-uuid-in-tablist", true);
     private final boolean pipelineInjection = getSecretOption("pipeline-injection", true);
     @NotNull private final String serverName = getSecretOption("server-name", "N/A");
     private final int permissionRefreshInterval = config.getInt("permission-refresh-interval", 1000);
     private final boolean enableProxySupport = config.getBoolean("proxy-support.enabled", true);
+    private final int proxyUpdateInterval = config.getInt("proxy-support.minimum-update-interval", 100);
     private final boolean packetEventsCompensation = config.getBoolean("compensate-for-packetevents-bug", false) && !TAB.getInstance().getPlatform().isSafeFromPacketEventsBug();
 
     /** If enabled, groups are assigned via permissions instead of permission plugin */
@@ -1,75 +1,400 @@
 package me.neznamy.tab.shared.config.mysql;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.chat.TextColor;
 import me.neznamy.chat.component.TextComponent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import javax.sql.rowset.CachedRowSet;
-import javax.sql.rowset.RowSetProvider;
 import java.sql.*;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
-@RequiredArgsConstructor
+/**
+ * MySQL connection pool. Connections are kept open and reused, which allows the
+ * driver to cache prepared statements on each connection. Queries from different
+ * threads (join loading, commands, API calls) can run in parallel up to the configured
+ * pool size.
+ */
 public class MySQL {
 
-    private Connection con;
+    /** How long to wait for a connection to be returned before checking if pool was closed, in milliseconds */
+    private static final int CONNECTION_WAIT_INTERVAL = 1000;
+
+    /** Idle connections ready to be used */
+    @NotNull private final BlockingQueue<Connection> idleConnections = new LinkedBlockingQueue<>();
+
+    /** Amount of connections currently open, both idle and in use */
+    private int openConnections;
+
+    /** Flag tracking whether the pool was closed or not */
+    private boolean closed;
+
+    /** Write queues to flush before closing */
+    @NotNull private final List<MySQLWriteQueue> writeQueues = new CopyOnWriteArrayList<>();
+
     @NotNull private final MySQLConfiguration configuration;
 
+    /**
+     * Constructs new instance with given configuration.
+     *
+     * @param   configuration
+     *          MySQL configuration
+     */
+    public MySQL(@NotNull MySQLConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Opens the first connection to verify the configuration and puts it into the pool.
+     *
+     * @throws  SQLException
+     *          If connection fails
+     */
     public void openConnection() throws SQLException {
-        if (isConnected()) return;
+        if (!idleConnections.isEmpty()) return;
+        synchronized (this) {
+            idleConnections.add(createConnection());
+            openConnections++;
+        }
+        TAB.getInstance().getPlatform().logInfo(new TextComponent("Successfully connected to MySQL", TextColor.GREEN));
+    }
+
+    /**
+     * Registers write queue to be flushed before closing connections.
+     *
+     * @param   queue
+     *          Queue to register
+     */
+    public void registerWriteQueue(@NonNull MySQLWriteQueue queue) {
+        writeQueues.add(queue);
+    }
+
+    /**
+     * Flushes all pending writes and closes all idle connections.
+     * Connections currently in use are closed once they are returned.
+     *
+     * @throws  SQLException
+     *          If closing a connection fails
+     */
+    public void closeConnection() throws SQLException {
+        for (MySQLWriteQueue queue : writeQueues) {
+            queue.flush();
+        }
+        closeConnections();
+    }
+
+    private synchronized void closeConnections() throws SQLException {
+        Connection con;
+        while ((con = idleConnections.poll()) != null) {
+            openConnections--;
+            con.close();
+        }
+        closed = true;
+    }
+
+    /**
+     * Opens a new connection to the database.
+     *
+     * @return  Opened connection
+     * @throws  SQLException
+     *          If connection fails
+     */
+    @NotNull
+    protected Connection createConnection() throws SQLException {
         Properties properties = new Properties();
         properties.setProperty("user", configuration.getUsername());
         properties.setProperty("password", configuration.getPassword());
         properties.setProperty("useSSL", String.valueOf(configuration.isUseSSL()));
         properties.setProperty("characterEncoding", "UTF-8");
-        con = DriverManager.getConnection(String.format("jdbc:mysql://%s:%d/%s", configuration.getHost(), configuration.getPort(), configuration.getDatabase()), properties);
-        TAB.getInstance().getPlatform().logInfo(new TextComponent("Successfully connected to MySQL", TextColor.GREEN));
+        properties.setProperty("cachePrepStmts", "true");
+        properties.setProperty("prepStmtCacheSize", "64");
+        properties.setProperty("useServerPrepStmts", "true");
+        properties.setProperty("rewriteBatchedStatements", "true");
+        return DriverManager.getConnection(String.format("jdbc:mysql://%s:%d/%s", configuration.getHost(), configuration.getPort(), configuration.getDatabase()), properties);
     }
-    
-    public void closeConnection() throws SQLException {
-        if (isConnected()) con.close();
+
+    /**
+     * Takes a connection from the pool, opening a new one if pool is not full yet
+     * or waiting for one to be returned if it is.
+     *
+     * @return  Connection to use
+     * @throws  SQLException
+     *          If opening a connection fails or thread is interrupted while waiting
+     */
+    @NotNull
+    private Connection takeConnection() throws SQLException {
+        Connection con = idleConnections.poll();
+        if (con == null) {
+            synchronized (this) {
+                if (closed) throw new SQLException("MySQL connection pool is closed");
+                if (openConnections < configuration.getPoolSize()) {
+                    openConnections++;
+                    try {
+                        return createConnection();
+                    } catch (SQLException e) {
+                        openConnections--;
+                        throw e;
+                    }
+                }
+            }
+            // Connections returned after closing are closed instead of added back, so keep checking the flag
+            while (con == null) {
+                try {
+                    con = idleConnections.poll(CONNECTION_WAIT_INTERVAL, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a MySQL connection", e);
+                }
+                if (con == null && isClosed()) throw new SQLException("MySQL connection pool is closed");
+            }
+        }
+        if (con.isValid(1)) return con;
+        con.close();
+        try {
+            return createConnection();
+        } catch (SQLException e) {
+            synchronized (this) {
+                openConnections--;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the pool was closed, {@code false} if not.
+     *
+     * @return  {@code true} if the pool was closed, {@code false} if not
+     */
+    synchronized boolean isClosed() {
+        return closed;
     }
 
-    private boolean isConnected() throws SQLException {
-        return con != null && !con.isClosed();
+    /**
+     * Returns connection back to the pool.
+     *
+     * @param   con
+     *          Connection to return
+     */
+    private void returnConnection(@NotNull Connection con) {
+        synchronized (this) {
+            if (!closed) {
+                idleConnections.add(con);
+                return;
+            }
+            openConnections--;
+        }
+        try {
+            con.close();
+        } catch (SQLException ignored) {
+            // Shutting down
+        }
     }
 
     public void execute(@NonNull String query, @Nullable Object... vars) throws SQLException {
-        try (PreparedStatement ps = prepareStatement(query, vars)) {
+        Connection con = takeConnection();
+        try (PreparedStatement ps = prepareStatement(con, query, vars)) {
             ps.execute();
+        } finally {
+            returnConnection(con);
         }
     }
 
-    @NotNull
-    private PreparedStatement prepareStatement(@NonNull String query, @Nullable Object... vars) throws SQLException {
-        if (!isConnected()) openConnection();
-        PreparedStatement ps = con.prepareStatement(query);
-        int i = 0;
-        if (query.contains("?")) {
-            for (Object obj : vars) {
-                i++;
-                ps.setObject(i, obj);
+    /**
+     * Executes the same statement with multiple sets of parameters as a single batch,
+     * which the driver sends to the server together instead of one by one.
+     *
+     * @param   query
+     *          Statement to execute
+     * @param   batch
+     *          Parameters for each execution
+     * @throws  SQLException
+     *          If statement fails
+     */
+    public void executeBatch(@NonNull String query, @NonNull List<Object[]> batch) throws SQLException {
+        if (batch.isEmpty()) return;
+        Connection con = takeConnection();
+        try (PreparedStatement ps = con.prepareStatement(query)) {
+            for (Object[] vars : batch) {
+                setParameters(ps, vars);
+                ps.addBatch();
             }
+            ps.executeBatch();
+        } finally {
+            returnConnection(con);
         }
-        return ps;
     }
 
-    @NotNull
-    public CachedRowSet getCRS(@NonNull String query, @NonNull Object... vars) throws SQLException {
-        PreparedStatement ps = prepareStatement(query, vars);
-        ResultSet rs = ps.executeQuery();
-        CachedRowSet crs;
+    /**
+     * Executes multiple batched statements in a single transaction. Statements are
+     * executed in iteration order of the map. If any of them fails, none are applied.
+     *
+     * @param   batches
+     *          Statements mapped to parameters for each of their executions
+     * @throws  SQLException
+     *          If a statement fails
+     */
+    public void executeBatches(@NonNull Map<String, List<Object[]>> batches) throws SQLException {
+        Connection con = takeConnection();
         try {
-            crs = RowSetProvider.newFactory().createCachedRowSet();
-            crs.populate(rs);
-            return crs;
+            con.setAutoCommit(false);
+            try {
+                for (Map.Entry<String, List<Object[]>> entry : batches.entrySet()) {
+                    if (entry.getValue().isEmpty()) continue;
+                    try (PreparedStatement ps = con.prepareStatement(entry.getKey())) {
+                        for (Object[] vars : entry.getValue()) {
+                            setParameters(ps, vars);
+                            ps.addBatch();
+                        }
+                        ps.executeBatch();
+                    }
+                }
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
         } finally {
-            rs.close();
-            ps.close();
+            returnConnection(con);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs a query and passes each row of the result to given handler. Rows are read
+     * directly from the result set without copying them.
+     *
+     * @param   query
+     *          Query to run
+     * @param   handler
+     *          Handler to process each row
+     * @param   vars
+     *          Query parameters
+     * @throws  SQLException
+     *          If query fails
+     */
+    public void query(@NonNull String query, @NonNull RowHandler handler, @Nullable Object... vars) throws SQLException {
+        Connection con = takeConnection();
+        try (PreparedStatement ps = prepareStatement(con, query, vars); ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                handler.handle(rs);
+            }
+        } finally {
+            returnConnection(con);
+        }
+    }
+
+    @NotNull
+    private PreparedStatement prepareStatement(@NotNull Connection con, @NonNull String query, @Nullable Object... vars) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(query);
+        if (query.contains("?") && vars != null) setParameters(ps, vars);
+        return ps;
+    }
+
+    private void setParameters(@NotNull PreparedStatement ps, @NotNull Object[] vars) throws SQLException {
+        for (int i = 0; i < vars.length; i++) {
+            ps.setObject(i + 1, vars[i]);
+        }
+    }
+
+    /**
+     * Creates a property table with given name if it does not exist. The table has a composite
+     * primary key of (key column, property, world, server), where no world / server is stored
+     * as an empty string. Tables created by older versions without a key are migrated, keeping
+     * the original table with "_old" suffix.
+     *
+     * @param   table
+     *          Table name
+     * @param   keyColumn
+     *          Name of column with group / user name
+     * @throws  SQLException
+     *          If a query fails
+     */
+    public void createPropertyTable(@NonNull String table, @NonNull String keyColumn) throws SQLException {
+        String definition = " (`" + keyColumn + "` varchar(64) not null, `property` varchar(16) not null, `value` varchar(1024), " +
+                "`world` varchar(64) not null default '', `server` varchar(64) not null default '', " +
+                "primary key (`" + keyColumn + "`, `property`, `world`, `server`))";
+        execute("create table if not exists `" + table + "`" + definition);
+        if (hasPrimaryKey(table)) return;
+        execute("drop table if exists `" + table + "_new`");
+        execute("create table `" + table + "_new`" + definition);
+        execute("insert ignore into `" + table + "_new` (`" + keyColumn + "`, `property`, `value`, `world`, `server`) " +
+                "select `" + keyColumn + "`, `property`, `value`, coalesce(`world`, ''), coalesce(`server`, '') from `" + table + "` " +
+                "where `" + keyColumn + "` is not null and `property` is not null");
+        execute("rename table `" + table + "` to `" + table + "_old`, `" + table + "_new` to `" + table + "`");
+        TAB.getInstance().getPlatform().logInfo(new TextComponent("Migrated MySQL table " + table + " to indexed format, " +
+                "original table was kept as " + table + "_old", TextColor.GREEN));
+    }
+
+    private boolean hasPrimaryKey(@NotNull String table) throws SQLException {
+        Connection con = takeConnection();
+        try (ResultSet rs = con.getMetaData().getPrimaryKeys(con.getCatalog(), null, table)) {
+            return rs.next();
+        } finally {
+            returnConnection(con);
+        }
+    }
+
+    /**
+     * Converts group / user name to the format stored in the database. Names are stored
+     * in lowercase, except for the default group.
+     *
+     * @param   name
+     *          Group / user name
+     * @return  Name to store in the database
+     */
+    @NotNull
+    public static String toKey(@NonNull String name) {
+        return name.equals(TabConstants.DEFAULT_GROUP) ? name : name.toLowerCase(Locale.US);
+    }
+
+    /**
+     * Converts world / server value to the format stored in the database.
+     *
+     * @param   value
+     *          World / server or {@code null} if not set
+     * @return  Value to store in the database
+     */
+    @NotNull
+    public static String toColumn(@Nullable String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Converts world / server value stored in the database back to {@code null} if not set.
+     *
+     * @param   value
+     *          Value stored in the database
+     * @return  World / server or {@code null} if not set
+     */
+    @Nullable
+    public static String fromColumn(@Nullable String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Handler processing a single row of a query result.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+
+        /**
+         * Processes current row of the result set.
+         *
+         * @param   row
+         *          Result set positioned at the row
+         * @throws  SQLException
+         *          If reading the row fails
+         */
+        void handle(@NotNull ResultSet row) throws SQLException;
+    }
+}
@@ -21,6 +21,7 @@ public class MySQLConfiguration {
     @NonNull private final String username;
     @NonNull private final String password;
     private final boolean useSSL;
+    private final int poolSize;
 
     /**
      * Returns instance of this class created from given configuration section. If there are
@@ -33,7 +34,7 @@ public class MySQLConfiguration {
     @NotNull
     public static MySQLConfiguration fromSection(@NonNull ConfigurationSection section) {
         // Check keys
-        section.checkForUnknownKey(Arrays.asList("enabled", "host", "port", "database", "username", "password", "useSSL"));
+        section.checkForUnknownKey(Arrays.asList("enabled", "host", "port", "database", "username", "password", "useSSL", "pool-size"));
 
         return new MySQLConfiguration(
                 section.getString("host", "127.0.0.1"),
@@ -41,7 +42,8 @@ public class MySQLConfiguration {
                 section.getString("database", "tab"),
                 section.getString("username", "user"),
                 section.getString("password", "password"),
-                section.getBoolean("useSSL", true)
+                section.getBoolean("useSSL", true),
+                Math.max(1, section.getInt("pool-size", 4))
         );
     }
 }
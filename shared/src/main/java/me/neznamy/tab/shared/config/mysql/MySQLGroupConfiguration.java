@@ -7,56 +7,42 @@ import me.neznamy.tab.shared.TabConstants;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import javax.sql.rowset.CachedRowSet;
 import java.sql.SQLException;
 import java.util.*;
 
 public class MySQLGroupConfiguration implements PropertyConfiguration {
 
-    private final MySQL mysql;
+    private final MySQLWriteQueue writeQueue;
 
     private final Map<String, Map<String, Object>> values = new HashMap<>();
     private final Map<String, Map<String, Map<String, Object>>> perWorld = new HashMap<>();
     private final Map<String, Map<String, Map<String, Object>>> perServer = new HashMap<>();
 
     public MySQLGroupConfiguration(@NonNull MySQL mysql) throws SQLException {
-        this.mysql = mysql;
-        mysql.execute("create table if not exists tab_groups (`group` varchar(64), `property` varchar(16), `value` varchar(1024), world varchar(64), server varchar(64))");
-        CachedRowSet crs = mysql.getCRS("select * from tab_groups");
-        if (crs.size() == 0) {
+        mysql.createPropertyTable("tab_groups", "group");
+        writeQueue = new MySQLWriteQueue(mysql, "tab_groups", "group");
+        mysql.query("select `group`, `property`, `value`, `world`, `server` from `tab_groups`", row -> {
+            String group = row.getString("group");
+            group = MySQL.toKey(group);
+            String property = row.getString("property");
+            String value = row.getString("value");
+            String world = MySQL.fromColumn(row.getString("world"));
+            String server = MySQL.fromColumn(row.getString("server"));
+            setProperty0(group, property, server, world, value);
+            checkProperty("MySQL", "group", group, property, server, world, true);
+        });
+        if (values.isEmpty() && perWorld.isEmpty() && perServer.isEmpty()) {
             TAB.getInstance().getConfigHelper().startup().startupWarn("[MySQL] Using MySQL to store groups and users, however, the database is empty. " +
                     "You can get started by uploading existing data in files using \"/" + TAB.getInstance().getPlatform().getCommand() + " mysql upload\". Further modifications can " +
                     "be done using property commands (/" + TAB.getInstance().getPlatform().getCommand() + " <group / player> <name> <property> <value...>).");
-            return;
-        }
-        while (crs.next()) {
-            String group = crs.getString("group");
-            if (!group.equals(TabConstants.DEFAULT_GROUP)) group = group.toLowerCase(Locale.US);
-            String property = crs.getString("property");
-            String value = crs.getString("value");
-            String world = crs.getString("world");
-            String server = crs.getString("server");
-            setProperty0(group, property, server, world, value);
-            checkProperty("MySQL", "group", group, property, server, world, true);
         }
     }
 
     @Override
     public void setProperty(@NonNull String group, @NonNull String property, @Nullable String server, @Nullable String world, @Nullable String value) {
-        String lowercaseGroup = group.equals(TabConstants.DEFAULT_GROUP) ? group : group.toLowerCase(Locale.US);
-        try {
-            if (getProperty(lowercaseGroup, property, server, world) != null) {
-                mysql.execute("delete from `tab_groups` where `group` = ? and `property` = ? and world " + querySymbol(world == null) + " ? and server " + querySymbol(server == null) + " ?", lowercaseGroup, property, world, server);
-            }
-            setProperty0(lowercaseGroup, property, server, world, value);
-            if (value != null) mysql.execute("insert into `tab_groups` (`group`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?)", lowercaseGroup, property, value, world, server);
-        } catch (SQLException e) {
-            TAB.getInstance().getErrorManager().mysqlQueryFailed(e);
-        }
-    }
-    
-    private String querySymbol(boolean isNull) {
-        return isNull ? "is" : "=";
+        String lowercaseGroup = MySQL.toKey(group);
+        setProperty0(lowercaseGroup, property, server, world, value);
+        writeQueue.write(lowercaseGroup, property, server, world, value);
     }
 
     private void setProperty0(@NonNull String group, @NonNull String property, @Nullable String server, @Nullable String world, @Nullable String value) {
@@ -71,7 +57,7 @@ public class MySQLGroupConfiguration implements PropertyConfiguration {
 
     @Override
     public String[] getProperty(@NonNull String group, @NonNull String property, @Nullable String server, @Nullable String world) {
-        String lowercaseGroup = group.equals(TabConstants.DEFAULT_GROUP) ? group : group.toLowerCase(Locale.US);
+        String lowercaseGroup = MySQL.toKey(group);
         Object value;
         if ((value = perWorld.getOrDefault(world, new HashMap<>()).getOrDefault(lowercaseGroup, new HashMap<>()).get(property)) != null) {
             return new String[] {toString(value), String.format("group=%s,world=%s", lowercaseGroup, world)};
@@ -7,40 +7,41 @@ import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import javax.sql.rowset.CachedRowSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class MySQLUserConfiguration implements PropertyConfiguration {
 
+    /** Maximum amount of players loaded using a single query */
+    private static final int MAX_LOAD_BATCH = 100;
+
     private final MySQL mysql;
+    private final MySQLWriteQueue writeQueue;
 
     private final WeakHashMap<TabPlayer, Map<String, Object>> values = new WeakHashMap<>();
     private final Map<String, WeakHashMap<TabPlayer, Map<String, Object>>> perWorld = new HashMap<>();
     private final Map<String, WeakHashMap<TabPlayer, Map<String, Object>>> perServer = new HashMap<>();
 
+    /** Players waiting for their data to be loaded */
+    private final Queue<TabPlayer> pendingLoads = new ConcurrentLinkedQueue<>();
+
+    /** Flag tracking whether a task loading pending players is scheduled or not */
+    private final AtomicBoolean loadScheduled = new AtomicBoolean();
+
     public MySQLUserConfiguration(@NonNull MySQL mysql) throws SQLException {
         this.mysql = mysql;
-        mysql.execute("create table if not exists tab_users (`user` varchar(64), `property` varchar(16), `value` varchar(1024), world varchar(64), server varchar(64))");
+        mysql.createPropertyTable("tab_users", "user");
+        writeQueue = new MySQLWriteQueue(mysql, "tab_users", "user");
     }
 
     @Override
     public void setProperty(@NonNull String user, @NonNull String property, @Nullable String server, @Nullable String world, @Nullable String value) {
         TabPlayer p = getPlayer(user);
-        String lowercaseUser = user.toLowerCase();
-        try {
-            if (getProperty(lowercaseUser, property, server, world) != null) {
-                mysql.execute("delete from `tab_users` where `user` = ? and `property` = ? and world " + querySymbol(world == null) + " ? and server " + querySymbol(server == null) + " ?", lowercaseUser, property, world, server);
-            }
-            if (p != null) setProperty0(p, property, server, world, value);
-            if (value != null) mysql.execute("insert into `tab_users` (`user`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?)", lowercaseUser, property, value, world, server);
-        } catch (SQLException e) {
-            TAB.getInstance().getErrorManager().mysqlQueryFailed(e);
-        }
-    }
-
-    private String querySymbol(boolean isNull) {
-        return isNull ? "is" : "=";
+        String lowercaseUser = user.toLowerCase(Locale.US);
+        if (p != null) setProperty0(p, property, server, world, value);
+        writeQueue.write(lowercaseUser, property, server, world, value);
     }
 
     private void setProperty0(@NonNull TabPlayer user, @NonNull String property, @Nullable String server, @Nullable String world, @Nullable String value) {
@@ -72,11 +73,7 @@ public class MySQLUserConfiguration implements PropertyConfiguration {
 
     @Override
     public void remove(@NonNull String player) {
-        try {
-            mysql.execute("delete from `tab_users` where `user` = ?", player);
-        } catch (SQLException e) {
-            TAB.getInstance().getErrorManager().mysqlQueryFailed(e);
-        }
+        writeQueue.remove(player.toLowerCase(Locale.US));
         TabPlayer user = getPlayer(player);
         if (user == null) return;
         values.remove(user);
@@ -125,37 +122,84 @@ public class MySQLUserConfiguration implements PropertyConfiguration {
         return p;
     }
 
+    /**
+     * Queues player for loading their data. Players queued while a load is already
+     * pending are loaded together using a single query.
+     *
+     * @param   player
+     *          Player to load data of
+     */
     public void load(@NonNull TabPlayer player) {
-        TAB.getInstance().getCPUManager().getMysqlThread().execute(() -> {
+        pendingLoads.add(player);
+        if (loadScheduled.compareAndSet(false, true)) {
+            TAB.getInstance().getCPUManager().getMysqlThread().execute(this::loadPending);
+        }
+    }
 
-            try {
-                CachedRowSet crs = mysql.getCRS("select * from `tab_users` where `user` = ?", player.getName().toLowerCase());
-                while (crs.next()) {
-                    String user = crs.getString("user");
-                    String property = crs.getString("property");
-                    String value = crs.getString("value");
-                    String world = crs.getString("world");
-                    String server = crs.getString("server");
-                    TAB.getInstance().debug("Loaded user line: " + String.format("%s, %s, %s, %s, %s", user, property, value, world, server));
-                    setProperty0(player, property, server, world, value);
-                }
-                CachedRowSet crs2 = mysql.getCRS("select * from `tab_users` where `user` = ?", player.getUniqueId().toString());
-                while (crs2.next()) {
-                    String user = crs2.getString("user");
-                    String property = crs2.getString("property");
-                    String value = crs2.getString("value");
-                    String world = crs2.getString("world");
-                    String server = crs2.getString("server");
-                    TAB.getInstance().debug("Loaded user line: " + String.format("%s, %s, %s, %s, %s", user, property, value, world, server));
-                    setProperty0(player, property, server, world, value);
-                }
-                TAB.getInstance().debug("Loaded MySQL data of " + player.getName());
-                if (crs.size() > 0 || crs2.size() > 0) {
-                    TAB.getInstance().getFeatureManager().onGroupChange(player);
-                }
-            } catch (SQLException e) {
-                TAB.getInstance().getErrorManager().mysqlQueryFailed(e);
+    /**
+     * Loads data of all queued players in batches.
+     */
+    private void loadPending() {
+        loadScheduled.set(false);
+        List<TabPlayer> batch = new ArrayList<>();
+        TabPlayer player;
+        while ((player = pendingLoads.poll()) != null) {
+            batch.add(player);
+            if (batch.size() == MAX_LOAD_BATCH) {
+                load(batch);
+                batch.clear();
             }
-        });
+        }
+        if (!batch.isEmpty()) load(batch);
+    }
+
+    /**
+     * Loads data of given players using a single query, looking up rows
+     * by both player names and UUIDs. Rows stored under UUID are applied after
+     * rows stored under name, so they take priority regardless of row order.
+     *
+     * @param   players
+     *          Players to load data of
+     */
+    private void load(@NonNull List<TabPlayer> players) {
+        Map<String, TabPlayer> keys = new HashMap<>();
+        for (TabPlayer player : players) {
+            keys.put(player.getName().toLowerCase(), player);
+            keys.put(player.getUniqueId().toString(), player);
+        }
+        Set<TabPlayer> loaded = new HashSet<>();
+        List<String[]> uuidRows = new ArrayList<>();
+        try {
+            mysql.query("select `user`, `property`, `value`, `world`, `server` from `tab_users` where `user` in (" +
+                    String.join(", ", Collections.nCopies(keys.size(), "?")) + ")", row -> {
+                String[] values = {row.getString("user"), row.getString("property"), row.getString("value"),
+                        MySQL.fromColumn(row.getString("world")), MySQL.fromColumn(row.getString("server"))};
+                TabPlayer player = keys.get(values[0]);
+                if (player == null) return;
+                if (values[0].equals(player.getUniqueId().toString())) {
+                    uuidRows.add(values);
+                } else {
+                    loadRow(player, values);
+                }
+                loaded.add(player);
+            }, keys.keySet().toArray());
+        } catch (SQLException e) {
+            TAB.getInstance().getErrorManager().mysqlQueryFailed(e);
+            return;
+        }
+        for (String[] values : uuidRows) {
+            loadRow(keys.get(values[0]), values);
+        }
+        for (TabPlayer player : players) {
+            TAB.getInstance().debug("Loaded MySQL data of " + player.getName());
+        }
+        for (TabPlayer player : loaded) {
+            if (player.isOnline()) TAB.getInstance().getFeatureManager().onGroupChange(player);
+        }
+    }
+
+    private void loadRow(@NotNull TabPlayer player, @NotNull String[] row) {
+        TAB.getInstance().debug("Loaded user line: " + String.join(", ", Arrays.asList(row)));
+        setProperty0(player, row[1], row[4], row[3], row[2]);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,327 @@
+package me.neznamy.tab.shared.config.mysql;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.cpu.TimedCaughtTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Write-behind queue for a property table. Property changes are applied to memory by the
+ * caller right away and queued here, where repeated writes to the same row are merged.
+ * Queued writes are then executed in the MySQL thread as batched upserts and deletes
+ * in a single transaction, so callers such as commands never wait for the database.
+ * If the database rejects a row because of its data (such as a value too long for the column),
+ * writes are executed one by one and the rejected rows are discarded. If the transaction fails
+ * for any other reason, its writes are queued again and retried with increasing delay until
+ * the connection pool is closed.
+ */
+public class MySQLWriteQueue {
+
+    /** Delay before the first retry of failed writes in milliseconds */
+    private static final int MIN_RETRY_DELAY = 1000;
+
+    /** Maximum delay between retries of failed writes in milliseconds */
+    private static final int MAX_RETRY_DELAY = 60000;
+
+    @NotNull private final MySQL mysql;
+
+    /** Upsert statement of the table */
+    @NotNull private final String upsertQuery;
+
+    /** Delete statement of a single row of the table */
+    @NotNull private final String deleteQuery;
+
+    /** Delete statement of all rows of a group / user */
+    @NotNull private final String removeQuery;
+
+    /** Pending writes mapped by their row, {@code null} value means the row should be deleted */
+    @NotNull private final Map<Row, String> pendingWrites = new LinkedHashMap<>();
+
+    /** Groups / users whose all rows should be deleted before pending writes are executed */
+    @NotNull private final Set<String> pendingRemovals = new LinkedHashSet<>();
+
+    /** Flag tracking whether a flush is scheduled or not */
+    private boolean flushScheduled;
+
+    /** Delay before retrying failed writes, doubled after each failure and reset after success */
+    private int retryDelay = MIN_RETRY_DELAY;
+
+    /** Lock making sure flushes are executed in the order their writes were queued */
+    @NotNull private final Object flushLock = new Object();
+
+    /**
+     * Constructs new instance for given table.
+     *
+     * @param   mysql
+     *          MySQL connection pool
+     * @param   table
+     *          Table name
+     * @param   keyColumn
+     *          Name of column with group / user name
+     */
+    public MySQLWriteQueue(@NonNull MySQL mysql, @NonNull String table, @NonNull String keyColumn) {
+        this.mysql = mysql;
+        upsertQuery = "insert into `" + table + "` (`" + keyColumn + "`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?) " +
+                "on duplicate key update `value` = values(`value`)";
+        deleteQuery = "delete from `" + table + "` where `" + keyColumn + "` = ? and `property` = ? and `world` = ? and `server` = ?";
+        removeQuery = "delete from `" + table + "` where `" + keyColumn + "` = ?";
+        mysql.registerWriteQueue(this);
+    }
+
+    /**
+     * Queues write of a property value. Name is converted to lowercase,
+     * except for the default group.
+     *
+     * @param   name
+     *          Group / user name
+     * @param   property
+     *          Property name
+     * @param   server
+     *          Server or {@code null} if not per-server
+     * @param   world
+     *          World or {@code null} if not per-world
+     * @param   value
+     *          New value or {@code null} to delete the property
+     */
+    public synchronized void write(@NonNull String name, @NonNull String property, @Nullable String server,
+                                   @Nullable String world, @Nullable String value) {
+        Row row = new Row(MySQL.toKey(name), property, MySQL.toColumn(world), MySQL.toColumn(server));
+        pendingWrites.remove(row); // Move to the end to keep order of writes
+        pendingWrites.put(row, value);
+        scheduleFlush();
+    }
+
+    /**
+     * Queues removal of all rows of a group / user. Writes queued before are discarded.
+     * Name is converted the same way names are when writing.
+     *
+     * @param   name
+     *          Group / user name
+     */
+    public synchronized void remove(@NonNull String name) {
+        String lowercaseName = MySQL.toKey(name);
+        pendingWrites.keySet().removeIf(row -> row.name.equals(lowercaseName));
+        pendingRemovals.add(lowercaseName);
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled) return;
+        flushScheduled = true;
+        TAB.getInstance().getCPUManager().getMysqlThread().execute(this::flush);
+    }
+
+    /**
+     * Executes all pending writes in a single transaction.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            flush0();
+        }
+    }
+
+    private void flush0() {
+        Map<String, List<Object[]>> batches = new LinkedHashMap<>();
+        Set<String> removals;
+        Map<Row, String> writes;
+        synchronized (this) {
+            flushScheduled = false;
+            if (pendingWrites.isEmpty() && pendingRemovals.isEmpty()) return;
+            removals = new LinkedHashSet<>(pendingRemovals);
+            writes = new LinkedHashMap<>(pendingWrites);
+            pendingRemovals.clear();
+            pendingWrites.clear();
+        }
+        List<Object[]> removeBatch = batches.computeIfAbsent(removeQuery, q -> new ArrayList<>());
+        for (String name : removals) {
+            removeBatch.add(new Object[]{name});
+        }
+        List<Object[]> upserts = batches.computeIfAbsent(upsertQuery, q -> new ArrayList<>());
+        List<Object[]> deletes = batches.computeIfAbsent(deleteQuery, q -> new ArrayList<>());
+        for (Map.Entry<Row, String> entry : writes.entrySet()) {
+            Row row = entry.getKey();
+            if (entry.getValue() == null) {
+                deletes.add(new Object[]{row.name, row.property, row.world, row.server});
+            } else {
+                upserts.add(new Object[]{row.name, row.property, entry.getValue(), row.world, row.server});
+            }
+        }
+        try {
+            mysql.executeBatches(batches);
+            onSuccess();
+        } catch (SQLException e) {
+            if (isDataError(e)) {
+                // Find and discard rejected rows, everything else can still be written
+                flushIndividually(removals, writes);
+            } else {
+                onFailure(e, removals, writes);
+            }
+        }
+    }
+
+    /**
+     * Executes writes one by one, discarding writes rejected by the database because
+     * of their data. If a write fails for another reason, it and all following writes
+     * are queued again.
+     *
+     * @param   removals
+     *          Removals to execute
+     * @param   writes
+     *          Writes to execute
+     */
+    private void flushIndividually(@NotNull Set<String> removals, @NotNull Map<Row, String> writes) {
+        Set<String> remainingRemovals = new LinkedHashSet<>(removals);
+        Map<Row, String> remainingWrites = new LinkedHashMap<>(writes);
+        try {
+            for (Iterator<String> iterator = remainingRemovals.iterator(); iterator.hasNext();) {
+                String name = iterator.next();
+                execute("removal of " + name, removeQuery, name);
+                iterator.remove();
+            }
+            for (Iterator<Map.Entry<Row, String>> iterator = remainingWrites.entrySet().iterator(); iterator.hasNext();) {
+                Map.Entry<Row, String> entry = iterator.next();
+                Row row = entry.getKey();
+                if (entry.getValue() == null) {
+                    execute("deletion of " + row, deleteQuery, row.name, row.property, row.world, row.server);
+                } else {
+                    execute("write of " + row + " with value \"" + entry.getValue() + "\"", upsertQuery,
+                            row.name, row.property, entry.getValue(), row.world, row.server);
+                }
+                iterator.remove();
+            }
+            onSuccess();
+        } catch (SQLException e) {
+            onFailure(e, remainingRemovals, remainingWrites);
+        }
+    }
+
+    /**
+     * Executes a single write. If the database rejects it because of its data,
+     * an error is printed and the write is discarded.
+     *
+     * @param   description
+     *          Description of the write for the error message
+     * @param   query
+     *          Statement to execute
+     * @param   vars
+     *          Statement parameters
+     * @throws  SQLException
+     *          If the write fails for any other reason
+     */
+    private void execute(@NotNull String description, @NotNull String query, @NotNull Object... vars) throws SQLException {
+        try {
+            mysql.execute(query, vars);
+        } catch (SQLException e) {
+            if (!isDataError(e)) throw e;
+            TAB.getInstance().getErrorManager().mysqlWriteRejected(description, e);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the exception was caused by data of a row, such as a value
+     * too long for the column (SQLState class 22) or a constraint violation (class 23).
+     * Retrying such writes would never succeed.
+     *
+     * @param   e
+     *          Exception to check
+     * @return  {@code true} if the exception was caused by data of a row, {@code false} if not
+     */
+    static boolean isDataError(@NotNull SQLException e) {
+        for (SQLException next = e; next != null; next = next.getNextException()) {
+            for (Throwable t = next; t != null; t = t.getCause()) {
+                if (!(t instanceof SQLException)) continue;
+                String state = ((SQLException) t).getSQLState();
+                if (state != null && (state.startsWith("22") || state.startsWith("23"))) return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void onSuccess() {
+        retryDelay = MIN_RETRY_DELAY;
+    }
+
+    /**
+     * Handles failure of writes which may succeed later. The error is only printed for
+     * the first failure after a success, writes are then retried until they succeed
+     * or the connection pool is closed.
+     *
+     * @param   e
+     *          Thrown exception
+     * @param   removals
+     *          Failed removals
+     * @param   writes
+     *          Failed writes
+     */
+    private void onFailure(@NotNull SQLException e, @NotNull Set<String> removals, @NotNull Map<Row, String> writes) {
+        if (mysql.isClosed()) {
+            TAB.getInstance().getErrorManager().mysqlWritesDiscarded(removals.size() + writes.size(), e);
+            return;
+        }
+        synchronized (this) {
+            if (retryDelay == MIN_RETRY_DELAY) {
+                TAB.getInstance().getErrorManager().mysqlQueryFailed(e);
+            } else {
+                TAB.getInstance().debug("Retrying failed MySQL writes in " + retryDelay + "ms: " + e.getMessage());
+            }
+        }
+        requeue(removals, writes);
+    }
+
+    /**
+     * Puts writes of a failed transaction back in front of the queue, except for those
+     * replaced by writes queued while the transaction was running, and schedules a retry.
+     *
+     * @param   removals
+     *          Failed removals
+     * @param   writes
+     *          Failed writes
+     */
+    private synchronized void requeue(@NotNull Set<String> removals, @NotNull Map<Row, String> writes) {
+        Set<String> newRemovals = new LinkedHashSet<>(removals);
+        newRemovals.addAll(pendingRemovals);
+        Map<Row, String> newWrites = new LinkedHashMap<>();
+        for (Map.Entry<Row, String> entry : writes.entrySet()) {
+            Row row = entry.getKey();
+            if (pendingWrites.containsKey(row) || pendingRemovals.contains(row.name)) continue; // Replaced by a newer write
+            newWrites.put(row, entry.getValue());
+        }
+        newWrites.putAll(pendingWrites);
+        pendingRemovals.clear();
+        pendingRemovals.addAll(newRemovals);
+        pendingWrites.clear();
+        pendingWrites.putAll(newWrites);
+        if (flushScheduled) return; // Newer writes already scheduled a flush
+        flushScheduled = true;
+        TAB.getInstance().getCPUManager().getMysqlThread().executeLater(new TimedCaughtTask(TAB.getInstance().getCPUManager(),
+                this::flush, "MySQL", TabConstants.CpuUsageCategory.MYSQL_WRITE_RETRY), retryDelay);
+        retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY);
+    }
+
+    /**
+     * A single row of a property table.
+     */
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class Row {
+
+        @NotNull private final String name;
+        @NotNull private final String property;
+        @NotNull private final String world;
+        @NotNull private final String server;
+
+        @Override
+        @NotNull
+        public String toString() {
+            return "property " + property + " of " + name + (world.isEmpty() ? "" : " in world " + world) +
+                    (server.isEmpty() ? "" : " on server " + server);
+        }
+    }
+}
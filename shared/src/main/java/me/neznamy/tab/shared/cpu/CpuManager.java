@@ -44,6 +44,10 @@ public class CpuManager {
     @Getter
     private static final ThreadExecutor pluginMessageEncodeThread = new ThreadExecutor("TAB Plugin Message Encoding Thread");
 
+    /** Scheduler for saving configuration files, kept across reloads to save files modified during reload */
+    @Getter
+    private static final ThreadExecutor fileSavingThread = new ThreadExecutor("TAB File Saving Thread");
+
     /** Scheduler for decoding plugin messages */
     private final ThreadExecutor pluginMessageDecodeThread = new ThreadExecutor("TAB Plugin Message Decoding Thread");
 
@@ -29,6 +29,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -52,6 +53,12 @@ public class PlaceholderManagerImpl extends RefreshableFeature implements Placeh
     private final Map<String, Set<RefreshableFeature>> placeholderUsage = new ConcurrentHashMap<>();
     private Placeholder[] usedPlaceholders = new Placeholder[0];
 
+    /** IDs assigned to placeholder identifiers, used as indexes into per-player value arrays */
+    private final Map<String, Integer> placeholderIds = new ConcurrentHashMap<>();
+
+    /** ID to assign to the next new placeholder identifier */
+    private final AtomicInteger nextPlaceholderId = new AtomicInteger();
+
     @Getter private int loopTime;
 
     @NotNull @Getter private final TabExpansion tabExpansion;
@@ -225,6 +232,13 @@ public class PlaceholderManagerImpl extends RefreshableFeature implements Placeh
         boolean override = registeredPlaceholders.containsKey(placeholder.getIdentifier());
         registeredPlaceholders.put(placeholder.getIdentifier(), placeholder);
         recalculateUsedPlaceholders();
+        if (override && placeholder instanceof PlayerPlaceholderImpl) {
+            // Forget values of the previous implementation
+            int id = ((PlayerPlaceholderImpl) placeholder).getId();
+            for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) {
+                p.lastPlaceholderValues.put(id, null);
+            }
+        }
         if (override && placeholderUsage.containsKey(placeholder.getIdentifier())) {
             for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) {
                 if (!p.isLoaded()) continue;
@@ -241,6 +255,18 @@ public class PlaceholderManagerImpl extends RefreshableFeature implements Placeh
         return placeholder;
     }
 
+    /**
+     * Returns ID of placeholder with given identifier. The same identifier always
+     * gets the same ID, even if the placeholder is registered again.
+     *
+     * @param   identifier
+     *          Placeholder identifier
+     * @return  ID of placeholder with given identifier
+     */
+    public int getPlaceholderId(@NotNull String identifier) {
+        return placeholderIds.computeIfAbsent(identifier, i -> nextPlaceholderId.getAndIncrement());
+    }
+
     @Override
     public void load() {
         cpu.getProcessingThread().repeatTask(new TimedCaughtTask(cpu, this::refresh, getFeatureName(), CpuUsageCategory.PLACEHOLDER_REFRESH_INIT),
@@ -298,6 +324,7 @@ public class PlaceholderManagerImpl extends RefreshableFeature implements Placeh
             for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
                 tabExpansion.setPlaceholderValue(all, p.getIdentifier(), p.getLastValueSafe(all));
             }
+            if (!bridgePlaceholders.isEmpty()) TAB.getInstance().getFeatureManager().onDisplayChange();
         }
     }
 
@@ -339,6 +366,60 @@ public class PlaceholderManagerImpl extends RefreshableFeature implements Placeh
         return usage;
     }
 
+    /**
+     * Returns bridge placeholders which are displayed for given player, mapped to their
+     * backend refresh intervals. A placeholder is displayed if at least one feature using it
+     * is displayed for the player. Placeholders not used by any feature are always included,
+     * since it is unknown where their values are needed.
+     *
+     * @param   player
+     *          Player to get displayed placeholders of
+     * @return  Displayed bridge placeholders with their refresh intervals
+     */
+    @NotNull
+    public Map<String, Integer> getDisplayedBridgePlaceholders(@NotNull TabPlayer player) {
+        Map<String, Integer> displayed = new HashMap<>();
+        for (Entry<String, Integer> entry : bridgePlaceholders.entrySet()) {
+            if (isDisplayed(entry.getKey(), player)) displayed.put(entry.getKey(), entry.getValue());
+        }
+        return displayed;
+    }
+
+    private boolean isDisplayed(@NotNull String identifier, @NotNull TabPlayer player) {
+        if (!registeredPlaceholders.containsKey(identifier)) return true;
+        Boolean displayed = isUsageDisplayed(identifier, player);
+        return displayed == null || displayed;
+    }
+
+    /**
+     * Checks features using the placeholder or any of its parents without copying the usage.
+     *
+     * @param   identifier
+     *          Placeholder identifier
+     * @param   player
+     *          Player to check
+     * @return  {@code true} if any feature using it is displayed, {@code false} if none is,
+     *          {@code null} if placeholder is not used by any feature
+     */
+    @Nullable
+    private Boolean isUsageDisplayed(@NotNull String identifier, @NotNull TabPlayer player) {
+        Boolean result = null;
+        Set<RefreshableFeature> usage = placeholderUsage.get(identifier);
+        if (usage != null) {
+            for (RefreshableFeature feature : usage) {
+                if (feature.isDisplayedFor(player)) return true;
+                result = false;
+            }
+        }
+        for (String parent : getPlaceholder(identifier).getParents()) {
+            Boolean parentResult = isUsageDisplayed(parent, player);
+            if (parentResult == null) continue;
+            if (parentResult) return true;
+            result = false;
+        }
+        return result;
+    }
+
     @Override
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
         for (Placeholder p : usedPlaceholders) {
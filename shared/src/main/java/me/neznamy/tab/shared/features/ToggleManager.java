@@ -1,13 +1,11 @@
 package me.neznamy.tab.shared.features;
 
-import me.neznamy.tab.shared.config.file.ConfigurationFile;
+import me.neznamy.tab.shared.config.file.PlayerDataStore;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
 
 /**
  * This class tracks toggling of a feature using commands when "remember-toggle-choice" is enabled
@@ -15,42 +13,39 @@ import java.util.Set;
  */
 public class ToggleManager {
 
-    /** Player data file to store toggle status in */
+    /** Player data storage to store toggle status in */
     @NotNull
-    private final ConfigurationFile playerDataFile;
+    private final PlayerDataStore playerData;
 
-    /** Name of the section to save the toggled players list as in the player data file */
+    /** Name of the section to save the toggled players as in the player data storage */
     @NotNull
     private final String sectionName;
 
-    /** List of players who toggled the feature */
-    @NotNull
-    private final Set<String> toggledPlayers;
-
     /**
-     * Constructs new instance with given parameters and loads list of toggled players from the file.
+     * Constructs new instance with given parameters.
      *
-     * @param   playerDataFile
-     *          File where toggled players are saved
+     * @param   playerData
+     *          Storage where toggled players are saved
      * @param   sectionName
-     *          Name of the section to save the toggled players list as in the player data file
+     *          Name of the section to save the toggled players as in the player data storage
      */
-    public ToggleManager(@NotNull ConfigurationFile playerDataFile, @NotNull String sectionName) {
-        this.playerDataFile = playerDataFile;
+    public ToggleManager(@NotNull PlayerDataStore playerData, @NotNull String sectionName) {
+        this.playerData = playerData;
         this.sectionName = sectionName;
-        toggledPlayers = new HashSet<>(playerDataFile.getStringList(sectionName, Collections.emptyList()));
     }
 
     /**
      * Checks for converting player to use UUID instead of name (from the old system).
+     * Players saved by name were imported using their offline UUID.
      *
      * @param   player
      *          Player to check to convert
      */
     public void convert(@NotNull TabPlayer player) {
-        if (toggledPlayers.remove(player.getName())) {
-            toggledPlayers.add(player.getUniqueId().toString());
-            save();
+        UUID offlineId = UUID.nameUUIDFromBytes(("OfflinePlayer:" + player.getName()).getBytes(StandardCharsets.UTF_8));
+        if (offlineId.equals(player.getUniqueId())) return;
+        if (playerData.set(sectionName, offlineId, false)) {
+            playerData.set(sectionName, player.getUniqueId(), true);
         }
     }
 
@@ -58,11 +53,11 @@ public class ToggleManager {
      * Returns {@code true} if the player has toggled this feature, {@code false} if not.
      *
      * @param   player
-     *          Player to check for
+     *          Player to check
      * @return  {@code true} if player has toggled the feature, {@code false} if not
      */
     public boolean contains(@NotNull TabPlayer player) {
-        return toggledPlayers.contains(player.getUniqueId().toString());
+        return playerData.contains(sectionName, player.getUniqueId());
     }
 
     /**
@@ -72,9 +67,7 @@ public class ToggleManager {
      *          Player to add
      */
     public void add(@NotNull TabPlayer player) {
-        if (toggledPlayers.add(player.getUniqueId().toString())) {
-            save();
-        }
+        playerData.set(sectionName, player.getUniqueId(), true);
     }
 
     /**
@@ -84,15 +77,6 @@ public class ToggleManager {
      *          Player to remove
      */
     public void remove(@NotNull TabPlayer player) {
-        if (toggledPlayers.remove(player.getUniqueId().toString())) {
-            save();
-        }
-    }
-
-    /**
-     * Saves list of toggled players into file.
-     */
-    private void save() {
-        playerDataFile.set(sectionName, new ArrayList<>(toggledPlayers));
+        playerData.set(sectionName, player.getUniqueId(), false);
     }
 }
@@ -13,7 +13,6 @@ import me.neznamy.tab.shared.placeholders.conditions.Condition;
 import me.neznamy.tab.shared.platform.Scoreboard;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.util.OnlinePlayers;
-import me.neznamy.tab.shared.util.cache.StringToComponentCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -30,7 +29,6 @@ public class BelowName extends RefreshableFeature implements JoinListener, QuitL
     public static final String OBJECTIVE_NAME = "TAB-BelowName";
 
     @Getter
-    private final StringToComponentCache cache = new StringToComponentCache("BelowName", 1000);
 
     @Getter
     private final ThreadExecutor customThread = new ThreadExecutor("TAB Belowname Objective Thread");
@@ -209,9 +207,9 @@ public class BelowName extends RefreshableFeature implements JoinListener, QuitL
     private void register(@NotNull TabPlayer player) {
         player.getScoreboard().registerObjective(
                 OBJECTIVE_NAME,
-                cache.get(player.belowNameData.text.updateAndGet()),
+                TAB.getInstance().getComponentCache().get(player.belowNameData.text.updateAndGet()),
                 Scoreboard.HealthDisplay.INTEGER,
-                cache.get(player.belowNameData.defaultNumberFormat.updateAndGet())
+                TAB.getInstance().getComponentCache().get(player.belowNameData.defaultNumberFormat.updateAndGet())
         );
         player.getScoreboard().setDisplaySlot(OBJECTIVE_NAME, Scoreboard.DisplaySlot.BELOW_NAME);
     }
@@ -236,7 +234,7 @@ public class BelowName extends RefreshableFeature implements JoinListener, QuitL
                 scoreHolder.getNickname(),
                 value,
                 null, // Unused by this objective slot
-                cache.get(fancyDisplay)
+                TAB.getInstance().getComponentCache().get(fancyDisplay)
         );
     }
 
@@ -296,13 +294,6 @@ public class BelowName extends RefreshableFeature implements JoinListener, QuitL
     // ProxySupport
     // ------------------
 
-    @Override
-    public void onProxyLoadRequest() {
-        for (TabPlayer all : onlinePlayers.getPlayers()) {
-            proxy.sendMessage(new BelowNameUpdateProxyPlayer(this, all.getTablistId(), getValue(all), all.belowNameData.numberFormat.get()));
-        }
-    }
-
     @NotNull
     @Override
     public String getFeatureName() {
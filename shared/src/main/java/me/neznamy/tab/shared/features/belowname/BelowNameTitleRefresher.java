@@ -1,6 +1,7 @@
 package me.neznamy.tab.shared.features.belowname;
 
 import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.cpu.ThreadExecutor;
 import me.neznamy.tab.shared.features.types.CustomThreaded;
 import me.neznamy.tab.shared.features.types.RefreshableFeature;
@@ -37,9 +38,9 @@ public class BelowNameTitleRefresher extends RefreshableFeature implements Custo
         if (refreshed.belowNameData.disabled.get()) return;
         refreshed.getScoreboard().updateObjective(
                 BelowName.OBJECTIVE_NAME,
-                feature.getCache().get(refreshed.belowNameData.text.updateAndGet()),
+                TAB.getInstance().getComponentCache().get(refreshed.belowNameData.text.updateAndGet()),
                 Scoreboard.HealthDisplay.INTEGER,
-                feature.getCache().get(refreshed.belowNameData.defaultNumberFormat.updateAndGet())
+                TAB.getInstance().getComponentCache().get(refreshed.belowNameData.defaultNumberFormat.updateAndGet())
         );
     }
 
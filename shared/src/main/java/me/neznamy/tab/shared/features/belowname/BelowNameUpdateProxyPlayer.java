@@ -33,6 +33,12 @@ public class BelowNameUpdateProxyPlayer extends ProxyMessage {
         return feature.getCustomThread();
     }
 
+    @Override
+    @NotNull
+    public UUID getStatePlayer() {
+        return playerId;
+    }
+
     @Override
     public void write(@NotNull ByteArrayDataOutput out) {
         writeUUID(out, playerId);
@@ -58,7 +64,7 @@ public class BelowNameUpdateProxyPlayer extends ProxyMessage {
             TAB.getInstance().debug("Processing belowname objective join of proxy player " + target.getName());
         }
         target.setBelowNameNumber(value);
-        target.setBelowNameFancy(feature.getCache().get(fancyValue));
+        target.setBelowNameFancy(TAB.getInstance().getComponentCache().get(fancyValue));
         for (TabPlayer viewer : feature.getOnlinePlayers().getPlayers()) {
             if (viewer.belowNameData.disabled.get()) continue;
             viewer.getScoreboard().setScore(
@@ -242,7 +242,7 @@ public class BossBarLine implements BossBar {
         this.title = title;
         for (TabPlayer p : players) {
             p.bossbarData.visibleBossBars.get(this).textProperty.changeRawValue(title);
-            p.getBossBar().update(uniqueId, manager.getCache().get(p.bossbarData.visibleBossBars.get(this).textProperty.get()));
+            p.getBossBar().update(uniqueId, TAB.getInstance().getComponentCache().get(p.bossbarData.visibleBossBars.get(this).textProperty.get()));
         }
     }
 
@@ -304,7 +304,7 @@ public class BossBarLine implements BossBar {
         player.bossbarData.visibleBossBars.put(this, properties);
         player.getBossBar().create(
                 uniqueId,
-                manager.getCache().get(properties.textProperty.get()),
+                TAB.getInstance().getComponentCache().get(properties.textProperty.get()),
                 parseProgress(player, properties.progressProperty.get())/100,
                 parseColor(player, properties.colorProperty.get()),
                 parseStyle(player, properties.styleProperty.get())
@@ -337,7 +337,7 @@ public class BossBarLine implements BossBar {
         @Override
         public void refresh(@NotNull TabPlayer refreshed, boolean force) {
             if (!refreshed.bossbarData.visibleBossBars.containsKey(BossBarLine.this)) return;
-            refreshed.getBossBar().update(uniqueId, manager.getCache().get(refreshed.bossbarData.visibleBossBars.get(BossBarLine.this).textProperty.updateAndGet()));
+            refreshed.getBossBar().update(uniqueId, TAB.getInstance().getComponentCache().get(refreshed.bossbarData.visibleBossBars.get(BossBarLine.this).textProperty.updateAndGet()));
         }
 
         @Override
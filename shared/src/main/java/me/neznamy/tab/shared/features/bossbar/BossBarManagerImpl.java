@@ -15,7 +15,6 @@ import me.neznamy.tab.shared.features.ToggleManager;
 import me.neznamy.tab.shared.features.bossbar.BossBarConfiguration.BossBarDefinition;
 import me.neznamy.tab.shared.features.types.*;
 import me.neznamy.tab.shared.platform.TabPlayer;
-import me.neznamy.tab.shared.util.cache.StringToComponentCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -28,7 +27,6 @@ import java.util.stream.Collectors;
 public class BossBarManagerImpl extends RefreshableFeature implements BossBarManager, JoinListener, CommandListener, Loadable,
         QuitListener, CustomThreaded {
 
-    @Getter private final StringToComponentCache cache = new StringToComponentCache("BossBar", 1000);
     @Getter private final ThreadExecutor customThread = new ThreadExecutor("TAB BossBar Thread");
 
     //registered BossBars
@@ -53,7 +51,7 @@ public class BossBarManagerImpl extends RefreshableFeature implements BossBarMan
     public BossBarManagerImpl(@NonNull BossBarConfiguration configuration) {
         this.configuration = configuration;
         if (configuration.isRememberToggleChoice()) {
-            toggleManager = new ToggleManager( TAB.getInstance().getConfiguration().getPlayerDataFile(), "bossbar-off");
+            toggleManager = new ToggleManager( TAB.getInstance().getConfiguration().getPlayerDataStore(), "bossbar-off");
         }
         for (Map.Entry<String, BossBarDefinition> entry : configuration.getBars().entrySet()) {
             String name = entry.getKey();
@@ -5,13 +5,16 @@ import me.neznamy.tab.api.tablist.HeaderFooterManager;
 import me.neznamy.tab.shared.Property;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.config.PropertyValue;
 import me.neznamy.chat.component.SimpleTextComponent;
 import me.neznamy.tab.shared.cpu.ThreadExecutor;
 import me.neznamy.tab.shared.features.header.HeaderFooterConfiguration.HeaderFooterPair;
 import me.neznamy.tab.shared.features.types.*;
 import me.neznamy.tab.shared.placeholders.conditions.Condition;
+import me.neznamy.tab.shared.placeholders.types.ServerPlaceholderImpl;
+import me.neznamy.tab.shared.placeholders.types.TabPlaceholder;
 import me.neznamy.tab.shared.platform.TabPlayer;
-import me.neznamy.tab.shared.util.cache.StringToComponentCache;
+import me.neznamy.tab.shared.util.cache.Cache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -24,8 +27,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class HeaderFooter extends RefreshableFeature implements HeaderFooterManager, JoinListener, Loadable, UnLoadable,
         WorldSwitchListener, ServerSwitchListener, CustomThreaded, GroupListener {
 
-    private final StringToComponentCache headerCache = new StringToComponentCache("Header", 1000);
-    private final StringToComponentCache footerCache = new StringToComponentCache("Footer", 1000);
+    private final Cache<String, SharedTemplate> sharedTemplates = new Cache<>("Shared header/footer", 1000, template -> new SharedTemplate());
     @Getter private final ThreadExecutor customThread = new ThreadExecutor("TAB Header/Footer Thread");
     private final HeaderFooterConfiguration configuration;
     private final DisableChecker disableChecker;
@@ -64,7 +66,7 @@ public class HeaderFooter extends RefreshableFeature implements HeaderFooterMana
         if (disableChecker.isDisableConditionMet(connectedPlayer)) {
             connectedPlayer.headerFooterData.disabled.set(true);
         } else {
-            sendHeaderFooter(connectedPlayer, connectedPlayer.headerFooterData.header.get(), connectedPlayer.headerFooterData.footer.get());
+            sendHeaderFooter(connectedPlayer);
         }
     }
 
@@ -72,13 +74,13 @@ public class HeaderFooter extends RefreshableFeature implements HeaderFooterMana
     public void onServerChange(@NotNull TabPlayer p, @NotNull String from, @NotNull String to) {
         // Velocity clears header/footer on server switch, resend regardless of whether values changed or not
         updateProperties(p);
-        sendHeaderFooter(p, p.headerFooterData.header.get(), p.headerFooterData.footer.get());
+        sendHeaderFooter(p);
     }
 
     @Override
     public void onWorldChange(@NotNull TabPlayer p, @NotNull String from, @NotNull String to) {
         if (updateProperties(p)) {
-            sendHeaderFooter(p, p.headerFooterData.header.get(), p.headerFooterData.footer.get());
+            sendHeaderFooter(p);
         }
     }
 
@@ -88,15 +90,20 @@ public class HeaderFooter extends RefreshableFeature implements HeaderFooterMana
         return "Updating header/footer";
     }
 
+    @Override
+    public boolean isDisplayedFor(@NotNull TabPlayer player) {
+        return !player.headerFooterData.disabled.get();
+    }
+
     @Override
     public void refresh(@NotNull TabPlayer p, boolean force) {
-        sendHeaderFooter(p, p.headerFooterData.header.updateAndGet(), p.headerFooterData.footer.updateAndGet());
+        sendHeaderFooter(p);
     }
 
     @Override
     public void onGroupChange(@NotNull TabPlayer player) {
         if (updateProperties(player)) {
-            sendHeaderFooter(player, player.headerFooterData.header.get(), player.headerFooterData.footer.get());
+            sendHeaderFooter(player);
         }
     }
 
@@ -126,22 +133,14 @@ public class HeaderFooter extends RefreshableFeature implements HeaderFooterMana
         if (disabledNow) {
             p.getTabList().setPlayerListHeaderFooter(SimpleTextComponent.EMPTY, SimpleTextComponent.EMPTY);
         } else {
-            sendHeaderFooter(p, p.headerFooterData.header.get(), p.headerFooterData.footer.get());
+            sendHeaderFooter(p);
         }
     }
 
     private String getFromConfig(TabPlayer p, String property) {
-        String[] value = TAB.getInstance().getConfiguration().getUsers().getProperty(p.getName(), property, p.server, p.world);
-        if (value.length > 0) {
-            return value[0];
-        }
-        value = TAB.getInstance().getConfiguration().getUsers().getProperty(p.getUniqueId().toString(), property, p.server, p.world);
-        if (value.length > 0) {
-            return value[0];
-        }
-        value = TAB.getInstance().getConfiguration().getGroups().getProperty(p.getGroup(), property, p.server, p.world);
-        if (value.length > 0) {
-            return value[0];
+        PropertyValue value = p.findPropertyInConfig(property);
+        if (value != null) {
+            return value.getValue();
         }
         List<String> lines = null;
         HeaderFooterPair pair = configuration.getPerWorld().get(TAB.getInstance().getConfiguration().getGroup(configuration.getPerWorld().keySet(), p.world));
@@ -161,9 +160,35 @@ public class HeaderFooter extends RefreshableFeature implements HeaderFooterMana
         return String.join("\n", lines);
     }
 
+    /**
+     * Evaluates player's header and footer and sends them to the player.
+     *
+     * @param   player
+     *          Player to send header and footer to
+     */
+    private void sendHeaderFooter(@NotNull TabPlayer player) {
+        sendHeaderFooter(player, evaluate(player.headerFooterData.header), evaluate(player.headerFooterData.footer));
+    }
+
+    /**
+     * Returns current value of given header or footer. If it only uses server placeholders,
+     * it is evaluated once for all players using the same text and only re-evaluated when
+     * one of the placeholders changes value. Since all these players receive the same string,
+     * they also receive the same component instance, which is converted only once.
+     *
+     * @param   property
+     *          Header or footer to evaluate
+     * @return  Current value of the property
+     */
+    @NotNull
+    private String evaluate(@NotNull Property property) {
+        if (!property.isServerOnly()) return property.updateAndGet();
+        return sharedTemplates.get(property.getCurrentRawValue()).get(property);
+    }
+
     private void sendHeaderFooter(TabPlayer player, String header, String footer) {
         if (player.headerFooterData.disabled.get()) return;
-        player.getTabList().setPlayerListHeaderFooter(headerCache.get(header), footerCache.get(footer));
+        player.getTabList().setPlayerListHeaderFooter(TAB.getInstance().getComponentCache().get(header), TAB.getInstance().getComponentCache().get(footer));
     }
 
     // ------------------
@@ -176,7 +201,7 @@ public class HeaderFooter extends RefreshableFeature implements HeaderFooterMana
         customThread.execute(() -> {
             TabPlayer player = (TabPlayer) p;
             player.headerFooterData.header.setTemporaryValue(header);
-            sendHeaderFooter(player, player.headerFooterData.header.updateAndGet(), player.headerFooterData.footer.updateAndGet());
+            sendHeaderFooter(player);
         });
     }
 
@@ -186,7 +211,7 @@ public class HeaderFooter extends RefreshableFeature implements HeaderFooterMana
         customThread.execute(() -> {
             TabPlayer player = (TabPlayer) p;
             player.headerFooterData.footer.setTemporaryValue(footer);
-            sendHeaderFooter(player, player.headerFooterData.header.updateAndGet(), player.headerFooterData.footer.updateAndGet());
+            sendHeaderFooter(player);
         });
     }
 
@@ -197,7 +222,7 @@ public class HeaderFooter extends RefreshableFeature implements HeaderFooterMana
             TabPlayer player = (TabPlayer) p;
             player.headerFooterData.header.setTemporaryValue(header);
             player.headerFooterData.footer.setTemporaryValue(footer);
-            sendHeaderFooter(player, player.headerFooterData.header.updateAndGet(), player.headerFooterData.footer.updateAndGet());
+            sendHeaderFooter(player);
         });
     }
 
@@ -221,4 +246,62 @@ public class HeaderFooter extends RefreshableFeature implements HeaderFooterMana
         /** Flag tracking whether this feature is disabled for the player with condition or not */
         public final AtomicBoolean disabled = new AtomicBoolean();
     }
+
+    /**
+     * Header or footer text only using server placeholders, shared by all players using it.
+     */
+    private static class SharedTemplate {
+
+        /** Values of placeholders the text was last evaluated with */
+        @Nullable
+        private String[] placeholderValues;
+
+        /**
+         * Flag tracking whether placeholders nested in outputs of the placeholders were
+         * server placeholders as well in the last evaluation, so the value can be shared
+         */
+        private boolean shared;
+
+        /** Last evaluated value if it is shared */
+        @Nullable
+        private String value;
+
+        /**
+         * Returns value of the text. If any of the placeholders changed value since the last
+         * evaluation, the text is re-evaluated using given property, otherwise the previous
+         * value is returned without evaluating anything. If output of any placeholder contains
+         * a placeholder which is not a server placeholder, the text is evaluated for each player.
+         *
+         * @param   property
+         *          Property of the player requesting the value
+         * @return  Current value of the text
+         */
+        @NotNull
+        public synchronized String get(@NotNull Property property) {
+            String[] identifiers = property.getPlaceholders();
+            boolean changed = placeholderValues == null;
+            if (placeholderValues == null) placeholderValues = new String[identifiers.length];
+            for (int i=0; i<identifiers.length; i++) {
+                TabPlaceholder placeholder = TAB.getInstance().getPlaceholderManager().getPlaceholder(identifiers[i]);
+                if (!(placeholder instanceof ServerPlaceholderImpl)) return property.updateAndGet(); // Replaced via API
+                String placeholderValue = ((ServerPlaceholderImpl) placeholder).getLastValue(null);
+                if (placeholderValue != placeholderValues[i]) {
+                    placeholderValues[i] = placeholderValue;
+                    changed = true;
+                }
+            }
+            if (changed) {
+                shared = true;
+                for (String identifier : identifiers) {
+                    if (!((ServerPlaceholderImpl) TAB.getInstance().getPlaceholderManager().getPlaceholder(identifier)).isServerOnly()) {
+                        shared = false;
+                        break;
+                    }
+                }
+                value = shared ? property.updateAndGet() : null;
+            }
+            if (!shared) return property.updateAndGet();
+            return value;
+        }
+    }
 }
@@ -10,8 +10,8 @@ import me.neznamy.tab.shared.features.layout.LayoutConfiguration.LayoutDefinitio
 import me.neznamy.tab.shared.features.types.RefreshableFeature;
 import me.neznamy.tab.shared.platform.TabList;
 import me.neznamy.tab.shared.platform.TabPlayer;
-import me.neznamy.tab.shared.util.cache.StringToComponentCache;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
 
@@ -21,8 +21,6 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class FixedSlot extends RefreshableFeature {
 
-    @NotNull private static final StringToComponentCache cache = new StringToComponentCache("LayoutFixedSlot", 1000);
-
     @NonNull private final LayoutManagerImpl manager;
     @Getter private final int slot;
     @NonNull private final LayoutPattern pattern;
@@ -51,7 +49,7 @@ public class FixedSlot extends RefreshableFeature {
             p.getTabList().removeEntry(id);
             p.getTabList().addEntry(createEntry(p));
         } else {
-            p.getTabList().updateDisplayName(id, cache.get(p.layoutData.currentLayout.fixedSlotTexts.get(this).updateAndGet()));
+            p.getTabList().updateDisplayName(id, TAB.getInstance().getComponentCache().get(p.layoutData.currentLayout.fixedSlotTexts.get(this).updateAndGet()));
         }
     }
 
@@ -69,16 +67,47 @@ public class FixedSlot extends RefreshableFeature {
         return new TabList.Entry(
                 id,
                 manager.getConfiguration().getDirection().getEntryName(viewer, slot, LayoutManagerImpl.isTeamsEnabled()),
-                manager.getSkinManager().getSkin(viewer.layoutData.currentLayout.fixedSlotSkins.get(this).updateAndGet()),
+                getSkin(viewer),
                 true,
                 ping,
                 0,
-                cache.get(viewer.layoutData.currentLayout.fixedSlotTexts.get(this).updateAndGet()),
+                TAB.getInstance().getComponentCache().get(viewer.layoutData.currentLayout.fixedSlotTexts.get(this).updateAndGet()),
                 Integer.MAX_VALUE - manager.getConfiguration().getDirection().translateSlot(slot),
                 true
         );
     }
 
+    /**
+     * Returns skin of this slot for given viewer. If the skin is not downloaded yet,
+     * default skin is returned and the entry is re-added once the download finishes.
+     *
+     * @param   viewer
+     *          Player viewing the slot
+     * @return  Skin of this slot for given viewer
+     */
+    @Nullable
+    private TabList.Skin getSkin(@NotNull TabPlayer viewer) {
+        String skinDefinition = viewer.layoutData.currentLayout.fixedSlotSkins.get(this).updateAndGet();
+        return manager.getSkinManager().getSkin(skinDefinition, skin -> TAB.getInstance().getCpu().runMeasuredTask(
+                getFeatureName(), TabConstants.CpuUsageCategory.LAYOUT_SKIN_DOWNLOAD, () -> onSkinDownload(viewer, skinDefinition)));
+    }
+
+    /**
+     * Re-adds the entry with downloaded skin if the viewer still sees this slot with the same skin.
+     *
+     * @param   viewer
+     *          Player viewing the slot
+     * @param   skinDefinition
+     *          Skin definition that was downloaded
+     */
+    private void onSkinDownload(@NotNull TabPlayer viewer, @NotNull String skinDefinition) {
+        if (!viewer.isOnline() || viewer.layoutData.currentLayout == null || viewer.layoutData.currentLayout.view.getPattern() != pattern) return;
+        Property skinProperty = viewer.layoutData.currentLayout.fixedSlotSkins.get(this);
+        if (skinProperty == null || !skinProperty.get().equals(skinDefinition)) return;
+        viewer.getTabList().removeEntry(id);
+        viewer.getTabList().addEntry(createEntry(viewer));
+    }
+
     /**
      * Creates a new instance with given parameters.
      *
@@ -3,10 +3,10 @@ package me.neznamy.tab.shared.features.layout;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import me.neznamy.chat.component.SimpleTextComponent;
+import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.features.playerlist.PlayerList;
 import me.neznamy.tab.shared.platform.TabList;
 import me.neznamy.tab.shared.platform.TabPlayer;
-import me.neznamy.tab.shared.util.cache.StringToComponentCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -15,8 +15,6 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PlayerSlot {
 
-    private static final StringToComponentCache cache = new StringToComponentCache("LayoutPlayerSlot", 100);
-
     private final int slot;
     private final LayoutView layout;
     @Getter private final UUID uniqueId;
@@ -71,7 +69,7 @@ public class PlayerSlot {
             setPlayer(null);
         } else {
             if (layout.getViewer().isBedrockPlayer()) return;
-            layout.getViewer().getTabList().updateDisplayName(uniqueId, cache.get(text));
+            layout.getViewer().getTabList().updateDisplayName(uniqueId, TAB.getInstance().getComponentCache().get(text));
         }
     }
 }
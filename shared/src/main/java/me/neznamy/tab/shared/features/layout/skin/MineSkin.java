@@ -16,8 +16,16 @@ import java.io.IOException;
  */
 public class MineSkin extends SkinSource {
 
+    /** URL of the API returning skins, type and ID are appended to it */
+    @NotNull private final String apiUrl;
+
     protected MineSkin(@NotNull ConfigurationFile file) {
+        this(file, "https://api.mineskin.org/get/");
+    }
+
+    protected MineSkin(@NotNull ConfigurationFile file, @NotNull String apiUrl) {
         super(file, "mineskin");
+        this.apiUrl = apiUrl;
     }
 
     @Override
@@ -32,7 +40,7 @@ public class MineSkin extends SkinSource {
             } catch (NumberFormatException ex) {
                 type = "uuid";
             }
-            JSONObject json = getResponse("https://api.mineskin.org/get/" + type + "/" + input);
+            JSONObject json = getResponse(apiUrl + type + "/" + input);
             JSONObject data = (JSONObject) json.get("data");
             JSONObject texture = (JSONObject) data.get("texture");
             String value = (String) texture.get("value");
@@ -11,14 +11,31 @@ import org.json.simple.parser.ParseException;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Skin source using player names.
  */
 public class PlayerSkin extends SkinSource {
 
+    /** How long downloaded player skins are used before downloading them again, since players can change their skin */
+    private static final long REFRESH_INTERVAL = TimeUnit.DAYS.toMillis(1);
+
+    /** URL of the API returning skin of player name appended to it */
+    @NotNull private final String apiUrl;
+
     protected PlayerSkin(@NotNull ConfigurationFile file) {
+        this(file, "https://api.ashcon.app/mojang/v2/user/");
+    }
+
+    protected PlayerSkin(@NotNull ConfigurationFile file, @NotNull String apiUrl) {
         super(file, "players");
+        this.apiUrl = apiUrl;
+    }
+
+    @Override
+    public boolean isOutdated(@NotNull CachedSkin skin) {
+        return System.currentTimeMillis() - skin.getTime() > REFRESH_INTERVAL;
     }
 
     @Override
@@ -34,7 +51,7 @@ public class PlayerSkin extends SkinSource {
                 }
             }
             long time = System.currentTimeMillis();
-            JSONObject json = getResponse("https://api.ashcon.app/mojang/v2/user/" + input);
+            JSONObject json = getResponse(apiUrl + input);
             JSONObject textures = (JSONObject) json.get("textures");
             JSONObject raw = (JSONObject) textures.get("raw");
             String value = (String) raw.get("value");
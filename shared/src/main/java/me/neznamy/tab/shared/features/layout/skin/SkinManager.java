@@ -2,39 +2,62 @@ package me.neznamy.tab.shared.features.layout.skin;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import me.neznamy.tab.shared.config.file.ConfigurationFile;
 import me.neznamy.tab.shared.config.file.YamlConfigurationFile;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.platform.TabList.Skin;
+import me.neznamy.tab.shared.features.layout.skin.SkinSource.CachedSkin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * Skin manager for layout feature.
+ * Skin manager for layout feature. Skins which are not cached are downloaded asynchronously
+ * with limited amount of parallel downloads, while default skin is used until the download finishes.
+ * Multiple requests for the same skin share a single download. Skins which failed to download
+ * are not requested again for a while.
  */
 public class SkinManager {
 
-    /** Skins defined in configuration that are invalid */
-    private final List<String> invalidSkins = new ArrayList<>();
+    /** Maximum amount of skins downloaded at the same time */
+    private static final int MAX_PARALLEL_DOWNLOADS = 4;
+
+    /** How long to wait before trying to download a skin again after it failed in milliseconds */
+    @Setter(AccessLevel.PACKAGE)
+    private long failedSkinRetryDelay = TimeUnit.MINUTES.toMillis(5);
+
+    /** Skins which failed to download mapped to time when download can be tried again */
+    private final Map<String, Long> failedSkins = new ConcurrentHashMap<>();
+
+    /** Downloads which are currently in progress by their skin definition */
+    private final Map<String, CompletableFuture<Skin>> downloads = new ConcurrentHashMap<>();
+
+    /** Executor for downloading skins */
+    private final ExecutorService downloadExecutor = Executors.newFixedThreadPool(MAX_PARALLEL_DOWNLOADS,
+            new ThreadFactoryBuilder().setNameFormat("TAB Skin Download Thread #%d").setDaemon(true).build());
 
     /** Configured default skin */
-    @Getter private Skin defaultSkin;
+    @Getter private volatile Skin defaultSkin;
 
     /** Default skins per slot */
-    private final Map<Integer, Skin> defaultSkinHashMap = new HashMap<>();
+    private final Map<Integer, Skin> defaultSkinHashMap = new ConcurrentHashMap<>();
 
     /** Registered skin patterns and their sources */
     private final Map<String, SkinSource> sources = new HashMap<>();
 
     /**
      * Constructs new instance with given parameters and loads cache.
+     * Default skins which are not cached yet are downloaded in the background.
      *
      * @param   defaultSkin
      *          Defined default skin
@@ -42,18 +65,30 @@ public class SkinManager {
      *          Map of default skins per slot
      */
     public SkinManager(@NotNull String defaultSkin, @NotNull Map<Integer, String> defaultSkinHashMap) {
+        this(defaultSkin, defaultSkinHashMap, SkinManager::createSources);
+    }
+
+    /**
+     * Constructs new instance with given parameters and skin sources created by given function
+     * from the loaded cache.
+     *
+     * @param   defaultSkin
+     *          Defined default skin
+     * @param   defaultSkinHashMap
+     *          Map of default skins per slot
+     * @param   sources
+     *          Function creating skin sources by their pattern from skin cache
+     */
+    SkinManager(@NotNull String defaultSkin, @NotNull Map<Integer, String> defaultSkinHashMap,
+                @NotNull Function<ConfigurationFile, Map<String, SkinSource>> sources) {
         try {
             File f = new File(TAB.getInstance().getDataFolder(), "skincache.yml");
             if (f.exists() || f.createNewFile()) {
-                ConfigurationFile cache = new YamlConfigurationFile(null, f);
-                sources.put("player", new PlayerSkin(cache));
-                sources.put("mineskin", new MineSkin(cache));
-                sources.put("texture", new Texture(cache));
-                sources.put("signed_texture", new SignedTexture(cache));
-                this.defaultSkin = getSkin(defaultSkin);
+                this.sources.putAll(sources.apply(new YamlConfigurationFile(null, f)));
+                this.defaultSkin = getSkin(defaultSkin, skin -> this.defaultSkin = skin);
                 for (Map.Entry<Integer, String> entry : defaultSkinHashMap.entrySet()) {
-                    Skin skin = getSkin(entry.getValue());
-                    if (skin != null) this.defaultSkinHashMap.put(entry.getKey(), skin);
+                    Skin skin = getSkin(entry.getValue(), downloaded -> this.defaultSkinHashMap.put(entry.getKey(), downloaded));
+                    if (skin != null && skin != this.defaultSkin) this.defaultSkinHashMap.put(entry.getKey(), skin);
                 }
             } else {
                 TAB.getInstance().getErrorManager().criticalError("Failed to load skin cache", null);
@@ -63,6 +98,23 @@ public class SkinManager {
         }
     }
 
+    /**
+     * Creates all supported skin sources using given cache.
+     *
+     * @param   cache
+     *          Skin cache file
+     * @return  Skin sources by their pattern
+     */
+    @NotNull
+    private static Map<String, SkinSource> createSources(@NotNull ConfigurationFile cache) {
+        Map<String, SkinSource> sources = new HashMap<>();
+        sources.put("player", new PlayerSkin(cache));
+        sources.put("mineskin", new MineSkin(cache));
+        sources.put("texture", new Texture(cache));
+        sources.put("signed_texture", new SignedTexture(cache));
+        return sources;
+    }
+
     /**
      * Returns default skin of specified slot. If not defined, default skin is returned.
      *
@@ -70,9 +122,10 @@ public class SkinManager {
      *          Slot id
      * @return  Default skin for specified slot
      */
-    @NotNull
+    @Nullable
     public Skin getDefaultSkin(int slot) {
-        return defaultSkinHashMap.getOrDefault(slot, defaultSkin);
+        Skin skin = defaultSkinHashMap.get(slot);
+        return skin != null ? skin : defaultSkin;
     }
 
     /**
@@ -85,18 +138,101 @@ public class SkinManager {
      */
     @Nullable
     public Skin getSkin(@NotNull String skin) {
-        if (invalidSkins.contains(skin)) return defaultSkin;
+        return getSkin(skin, null);
+    }
+
+    /**
+     * Returns skin from given skin definition. If the skin is not cached yet, it starts
+     * downloading in the background, default skin is returned and {@code onDownload} is called
+     * from the download thread once skin is successfully downloaded. Cached skins which are
+     * outdated are returned as well, while a new version is downloaded in the background.
+     * If skin definition is invalid, warn is printed and {@code null} is returned.
+     *
+     * @param   skin
+     *          Full skin definition
+     * @param   onDownload
+     *          Function to call once skin is downloaded if it was not cached
+     * @return  Skin from given definition or default skin if it is not available yet
+     */
+    @Nullable
+    public Skin getSkin(@NotNull String skin, @Nullable Consumer<Skin> onDownload) {
+        Long retryTime = failedSkins.get(skin);
+        if (retryTime != null) {
+            if (System.currentTimeMillis() < retryTime) return defaultSkin;
+            failedSkins.remove(skin);
+        }
         for (Entry<String, SkinSource> entry : sources.entrySet()) {
             if (skin.startsWith(entry.getKey() + ":")) {
-                Skin value = entry.getValue().getSkin(skin.substring(entry.getKey().length() + 1));
-                if (value == null) {
-                    invalidSkins.add(skin);
-                    return defaultSkin;
+                SkinSource source = entry.getValue();
+                String input = skin.substring(entry.getKey().length() + 1);
+                CachedSkin cached = source.getCachedSkin(input);
+                if (cached != null) {
+                    if (source.isOutdated(cached)) download(skin, source, input);
+                    return cached.getSkin();
                 }
-                return value;
+                if (!source.isRemote()) {
+                    Skin value = source.download(input);
+                    if (value == null) return defaultSkin;
+                    source.cacheSkin(input, value);
+                    return value;
+                }
+                CompletableFuture<Skin> download = download(skin, source, input);
+                if (onDownload != null) {
+                    download.thenAccept(downloaded -> {
+                        if (downloaded != null) onDownload.accept(downloaded);
+                    });
+                }
+                return defaultSkin;
             }
         }
         TAB.getInstance().getConfigHelper().startup().invalidLayoutSkinDefinition(skin);
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Downloads skin in the background. If the skin is already being downloaded,
+     * existing download is returned.
+     *
+     * @param   skin
+     *          Full skin definition
+     * @param   source
+     *          Skin source to download skin from
+     * @param   input
+     *          Skin definition without source prefix
+     * @return  Download completed with downloaded skin or {@code null} if download failed
+     */
+    @NotNull
+    private CompletableFuture<Skin> download(@NotNull String skin, @NotNull SkinSource source, @NotNull String input) {
+        CompletableFuture<Skin> download = new CompletableFuture<>();
+        CompletableFuture<Skin> existing = downloads.putIfAbsent(skin, download);
+        if (existing != null) return existing;
+        try {
+            downloadExecutor.execute(() -> {
+                Skin downloaded = null;
+                try {
+                    downloaded = source.download(input);
+                    if (downloaded != null) source.cacheSkin(input, downloaded);
+                } catch (RuntimeException e) {
+                    downloaded = null;
+                    TAB.getInstance().getErrorManager().printError("Failed to download skin " + skin, e);
+                } finally {
+                    if (downloaded == null) failedSkins.put(skin, System.currentTimeMillis() + failedSkinRetryDelay);
+                    downloads.remove(skin);
+                    download.complete(downloaded);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Feature was unloaded
+            downloads.remove(skin);
+            download.complete(null);
+        }
+        return download;
+    }
+
+    /**
+     * Cancels all downloads in progress.
+     */
+    public void unload() {
+        downloadExecutor.shutdownNow();
+    }
+}
@@ -1,5 +1,7 @@
 package me.neznamy.tab.shared.features.layout.skin;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.shared.config.file.ConfigurationFile;
 import me.neznamy.tab.shared.platform.TabList.Skin;
 import org.jetbrains.annotations.NotNull;
@@ -11,16 +13,22 @@ import org.json.simple.parser.ParseException;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.net.URLConnection;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Abstract class for skin sources for getting skins.
+ * Abstract class for skin sources for getting skins. Downloaded skins are cached in skin cache file
+ * together with the time they were downloaded.
  */
 public abstract class SkinSource {
 
+    /** Timeout for connecting to and reading from skin APIs in milliseconds */
+    protected static final int TIMEOUT = 5000;
+
     /** Configuration file for storing cache */
     @NotNull private final ConfigurationFile file;
 
@@ -28,43 +36,84 @@ public abstract class SkinSource {
     @NotNull private final String path;
 
     /** Current cache of this source */
-    @NotNull private final Map<String, List<String>> cache;
+    @NotNull private final Map<String, List<Object>> cache;
 
     /** Cached skins as skin objects */
-    @NotNull private final Map<String, Skin> skins = new HashMap<>();
+    @NotNull private final Map<String, CachedSkin> skins = new ConcurrentHashMap<>();
 
     protected SkinSource(@NotNull ConfigurationFile file, @NotNull String path) {
         this.file = file;
         this.path = path;
-        cache = file.getMap(path);
-        for (Map.Entry<String, List<String>> entry : cache.entrySet()) {
-            skins.put(entry.getKey(), new Skin(entry.getValue().get(0), entry.getValue().get(1)));
+        cache = new HashMap<>(file.getMap(path));
+        long loadTime = System.currentTimeMillis();
+        boolean migrated = false;
+        for (Map.Entry<String, List<Object>> entry : cache.entrySet()) {
+            List<Object> value = entry.getValue();
+            long time;
+            if (value.size() > 2) {
+                time = Long.parseLong(value.get(2).toString());
+            } else {
+                // Cached by an older version without download time, consider it downloaded now
+                time = loadTime;
+                entry.setValue(Arrays.asList(value.get(0), value.get(1), time));
+                migrated = true;
+            }
+            skins.put(entry.getKey(), new CachedSkin(new Skin(value.get(0).toString(), value.get(1).toString()), time));
         }
+        if (migrated) file.set(path, new HashMap<>(cache));
     }
 
     /**
-     * Returns skin using given skin definition.
+     * Returns cached skin using given skin definition or {@code null} if it is not cached.
      *
      * @param   skin
      *          Skin definition
-     * @return  Skin from definition or null if invalid
+     * @return  Cached skin or {@code null} if not cached
      */
     @Nullable
-    public Skin getSkin(@NotNull String skin) {
-        if (skins.containsKey(skin)) {
-            return skins.get(skin);
-        }
-        Skin downloaded = download(skin);
-        if (downloaded != null) {
-            skins.put(skin, downloaded);
-            cache.put(skin, Arrays.asList(downloaded.getValue(), downloaded.getSignature()));
-            file.set(path, cache);
-        }
-        return downloaded;
+    public CachedSkin getCachedSkin(@NotNull String skin) {
+        return skins.get(skin);
+    }
+
+    /**
+     * Saves downloaded skin into cache.
+     *
+     * @param   skin
+     *          Skin definition
+     * @param   downloaded
+     *          Downloaded skin
+     */
+    public synchronized void cacheSkin(@NotNull String skin, @NotNull Skin downloaded) {
+        long time = System.currentTimeMillis();
+        skins.put(skin, new CachedSkin(downloaded, time));
+        cache.put(skin, Arrays.asList(downloaded.getValue(), downloaded.getSignature(), time));
+        file.set(path, new HashMap<>(cache));
     }
 
     /**
-     * Downloads skin with given skin definition.
+     * Returns {@code true} if cached skin should be downloaded again, {@code false} if not.
+     * Outdated skins are still used until the new download finishes.
+     *
+     * @param   skin
+     *          Cached skin
+     * @return  {@code true} if skin should be downloaded again, {@code false} if not
+     */
+    public boolean isOutdated(@NotNull CachedSkin skin) {
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if skins need to be requested from a remote server,
+     * {@code false} if they can be created immediately.
+     *
+     * @return  {@code true} if skins are downloaded, {@code false} if not
+     */
+    public boolean isRemote() {
+        return true;
+    }
+
+    /**
+     * Downloads skin with given skin definition. This method is blocking.
      *
      * @param   input
      *          Skin definition
@@ -75,8 +124,25 @@ public abstract class SkinSource {
 
     @NotNull
     protected JSONObject getResponse(@NotNull String url) throws IOException, ParseException {
-        try (InputStreamReader reader = new InputStreamReader(new URL(url).openStream())) {
+        URLConnection connection = new URL(url).openConnection();
+        connection.setConnectTimeout(TIMEOUT);
+        connection.setReadTimeout(TIMEOUT);
+        try (InputStreamReader reader = new InputStreamReader(connection.getInputStream())) {
             return (JSONObject) new JSONParser().parse(reader);
         }
     }
+
+    /**
+     * Skin saved in cache with the time it was downloaded.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class CachedSkin {
+
+        /** Cached skin */
+        @NotNull private final Skin skin;
+
+        /** Time when skin was downloaded in milliseconds, or first loaded for skins cached without it */
+        private final long time;
+    }
 }
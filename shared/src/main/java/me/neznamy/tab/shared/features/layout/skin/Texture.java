@@ -21,8 +21,16 @@ import java.nio.charset.StandardCharsets;
  */
 public class Texture extends SkinSource {
 
+    /** URL of the API generating skins from texture URL */
+    @NotNull private final String apiUrl;
+
     protected Texture(@NotNull ConfigurationFile file) {
+        this(file, "https://api.mineskin.org/generate/url/");
+    }
+
+    protected Texture(@NotNull ConfigurationFile file, @NotNull String apiUrl) {
         super(file, "textures");
+        this.apiUrl = apiUrl;
     }
 
     @Override
@@ -45,9 +53,11 @@ public class Texture extends SkinSource {
     }
 
     @NotNull
-    private static InputStreamReader getInputStreamReader(@NotNull String texture) throws IOException {
-        URL url = new URL("https://api.mineskin.org/generate/url/");
+    private InputStreamReader getInputStreamReader(@NotNull String texture) throws IOException {
+        URL url = new URL(apiUrl);
         HttpURLConnection con = (HttpURLConnection) url.openConnection();
+        con.setConnectTimeout(TIMEOUT);
+        con.setReadTimeout(TIMEOUT);
         con.setRequestProperty("User-Agent", "ExampleApp/v1.0");
         con.setRequestProperty("Content-Type", "application/json");
         con.setRequestMethod("POST");
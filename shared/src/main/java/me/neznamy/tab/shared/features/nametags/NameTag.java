@@ -11,6 +11,7 @@ import me.neznamy.tab.shared.cpu.ThreadExecutor;
 import me.neznamy.tab.shared.cpu.TimedCaughtTask;
 import me.neznamy.tab.shared.features.proxy.ProxyPlayer;
 import me.neznamy.tab.shared.features.proxy.ProxySupport;
+import me.neznamy.tab.shared.features.proxy.ProxyUpdateLimiter;
 import me.neznamy.tab.shared.features.types.*;
 import me.neznamy.tab.shared.placeholders.conditions.Condition;
 import me.neznamy.tab.shared.platform.Scoreboard.CollisionRule;
@@ -18,7 +19,6 @@ import me.neznamy.tab.shared.platform.Scoreboard.NameVisibility;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.platform.decorators.SafeScoreboard;
 import me.neznamy.tab.shared.util.OnlinePlayers;
-import me.neznamy.tab.shared.util.cache.StringToComponentCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -31,11 +31,11 @@ public class NameTag extends RefreshableFeature implements NameTagManager, JoinL
     private final ThreadExecutor customThread = new ThreadExecutor("TAB NameTag Thread");
     private OnlinePlayers onlinePlayers;
     private final TeamConfiguration configuration;
-    private final StringToComponentCache cache = new StringToComponentCache("NameTags", 1000);
     private final CollisionManager collisionManager;
     private final int teamOptions;
     private final DisableChecker disableChecker;
     @Nullable private final ProxySupport proxy = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.PROXY_SUPPORT);
+    @Nullable private final ProxyUpdateLimiter proxyUpdateLimiter;
 
     /**
      * Constructs new instance and registers sub-features.
@@ -52,6 +52,9 @@ public class NameTag extends RefreshableFeature implements NameTagManager, JoinL
         TAB.getInstance().getFeatureManager().registerFeature(TabConstants.Feature.NAME_TAGS_VISIBILITY, new VisibilityRefresher(this));
         if (proxy != null) {
             proxy.registerMessage("teams", NameTagUpdateProxyPlayer.class, () -> new NameTagUpdateProxyPlayer(this));
+            proxyUpdateLimiter = new ProxyUpdateLimiter(customThread, getFeatureName(), proxy.getUpdateInterval());
+        } else {
+            proxyUpdateLimiter = null;
         }
     }
 
@@ -74,14 +77,7 @@ public class NameTag extends RefreshableFeature implements NameTagManager, JoinL
             TAB.getInstance().getPlaceholderManager().getTabExpansion().setNameTagVisibility(all, true);
             if (proxy != null) {
                 TAB.getInstance().debug("Sending nametag join (on load) of proxy player " + all.getName());
-                proxy.sendMessage(new NameTagUpdateProxyPlayer(
-                        this,
-                        all.getTablistId(),
-                        all.teamData.teamName,
-                        all.teamData.prefix.get(),
-                        all.teamData.suffix.get(),
-                        getTeamVisibility(all, all) ? NameVisibility.ALWAYS : NameVisibility.NEVER
-                ));
+                sendProxyUpdate(all, true);
             }
         }
         for (TabPlayer viewer : onlinePlayers.getPlayers()) {
@@ -100,6 +96,11 @@ public class NameTag extends RefreshableFeature implements NameTagManager, JoinL
         return "Updating prefix/suffix";
     }
 
+    @Override
+    public boolean isDisplayedFor(@NotNull TabPlayer player) {
+        return !player.teamData.disabled.get();
+    }
+
     @Override
     public void refresh(@NotNull TabPlayer refreshed, boolean force) {
         if (refreshed.teamData.isDisabled()) return;
@@ -152,11 +153,11 @@ public class NameTag extends RefreshableFeature implements NameTagManager, JoinL
         if (proxy != null) {
             for (ProxyPlayer proxied : proxy.getProxyPlayers().values()) {
                 if (proxied.getTagPrefix() == null) continue; // This proxy player is not loaded yet
-                TabComponent prefix = cache.get(proxied.getTagPrefix());
+                TabComponent prefix = TAB.getInstance().getComponentCache().get(proxied.getTagPrefix());
                 connectedPlayer.getScoreboard().registerTeam(
                         proxied.getTeamName(),
                         prefix,
-                        cache.get(proxied.getTagSuffix()),
+                        TAB.getInstance().getComponentCache().get(proxied.getTagSuffix()),
                         proxied.getNameVisibility(),
                         CollisionRule.ALWAYS,
                         Collections.singletonList(proxied.getNickname()),
@@ -165,20 +166,14 @@ public class NameTag extends RefreshableFeature implements NameTagManager, JoinL
                 );
             }
             TAB.getInstance().debug("Sending nametag join of proxy player " + connectedPlayer.getName());
-            proxy.sendMessage(new NameTagUpdateProxyPlayer(
-                    this,
-                    connectedPlayer.getTablistId(),
-                    connectedPlayer.teamData.teamName,
-                    connectedPlayer.teamData.prefix.get(),
-                    connectedPlayer.teamData.suffix.get(),
-                    getTeamVisibility(connectedPlayer, connectedPlayer) ? NameVisibility.ALWAYS : NameVisibility.NEVER
-            ));
+            sendProxyUpdate(connectedPlayer, true);
         }
     }
 
     @Override
     public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
         onlinePlayers.removePlayer(disconnectedPlayer);
+        if (proxyUpdateLimiter != null) proxyUpdateLimiter.removePlayer(disconnectedPlayer);
         for (TabPlayer viewer : onlinePlayers.getPlayers()) {
             ((SafeScoreboard<?>)viewer.getScoreboard()).unregisterTeamSafe(disconnectedPlayer.teamData.teamName);
         }
@@ -259,24 +254,17 @@ public class NameTag extends RefreshableFeature implements NameTagManager, JoinL
      */
     private void updatePrefixSuffix(@NonNull TabPlayer player) {
         for (TabPlayer viewer : onlinePlayers.getPlayers()) {
-            TabComponent prefix = cache.get(player.teamData.prefix.getFormat(viewer));
+            TabComponent prefix = TAB.getInstance().getComponentCache().get(player.teamData.prefix.getFormat(viewer));
             viewer.getScoreboard().updateTeam(
                     player.teamData.teamName,
                     prefix,
-                    cache.get(player.teamData.suffix.getFormat(viewer)),
+                    TAB.getInstance().getComponentCache().get(player.teamData.suffix.getFormat(viewer)),
                     prefix.getLastColor()
             );
         }
         if (proxy != null) {
             TAB.getInstance().debug("Sending nametag update (prefix / suffix) of proxy player " + player.getName());
-            proxy.sendMessage(new NameTagUpdateProxyPlayer(
-                    this,
-                    player.getTablistId(),
-                    player.teamData.teamName,
-                    player.teamData.prefix.get(),
-                    player.teamData.suffix.get(),
-                    getTeamVisibility(player, player) ? NameVisibility.ALWAYS : NameVisibility.NEVER
-            ));
+            sendProxyUpdate(player, false);
         }
     }
 
@@ -320,14 +308,7 @@ public class NameTag extends RefreshableFeature implements NameTagManager, JoinL
             }
             if (proxy != null) {
                 TAB.getInstance().debug("Sending nametag update (visibility) of proxy player " + player.getName());
-                proxy.sendMessage(new NameTagUpdateProxyPlayer(
-                        this,
-                        player.getTablistId(),
-                        player.teamData.teamName,
-                        player.teamData.prefix.get(),
-                        player.teamData.suffix.get(),
-                        getTeamVisibility(player, player) ? NameVisibility.ALWAYS : NameVisibility.NEVER
-                ));
+                sendProxyUpdate(player, false);
             }
         }, getFeatureName(), "Updating visibility"));
     }
@@ -362,11 +343,11 @@ public class NameTag extends RefreshableFeature implements NameTagManager, JoinL
     private void registerTeam(@NonNull TabPlayer p, @NonNull TabPlayer viewer) {
         if (p.teamData.isDisabled() || p.teamData.vanishedFor.contains(viewer.getUniqueId())) return;
         if (!viewer.canSee(p) && p != viewer) return;
-        TabComponent prefix = cache.get(p.teamData.prefix.getFormat(viewer));
+        TabComponent prefix = TAB.getInstance().getComponentCache().get(p.teamData.prefix.getFormat(viewer));
         viewer.getScoreboard().registerTeam(
                 p.teamData.teamName,
                 prefix,
-                cache.get(p.teamData.suffix.getFormat(viewer)),
+                TAB.getInstance().getComponentCache().get(p.teamData.suffix.getFormat(viewer)),
                 getTeamVisibility(p, viewer) ? NameVisibility.ALWAYS : NameVisibility.NEVER,
                 p.teamData.getCollisionRule() ? CollisionRule.ALWAYS : CollisionRule.NEVER,
                 Collections.singletonList(p.getNickname()),
@@ -406,14 +387,7 @@ public class NameTag extends RefreshableFeature implements NameTagManager, JoinL
             player.teamData.teamName = newTeamName;
             if (proxy != null) {
                 TAB.getInstance().debug("Sending nametag update (team name) of proxy player " + player.getName());
-                proxy.sendMessage(new NameTagUpdateProxyPlayer(
-                        this,
-                        player.getTablistId(),
-                        player.teamData.teamName,
-                        player.teamData.prefix.get(),
-                        player.teamData.suffix.get(),
-                        getTeamVisibility(player, player) ? NameVisibility.ALWAYS : NameVisibility.NEVER
-                ));
+                sendProxyUpdate(player, false);
             }
         }, getFeatureName(), "Updating team name"));
     }
@@ -422,19 +396,43 @@ public class NameTag extends RefreshableFeature implements NameTagManager, JoinL
     // ProxySupport
     // ------------------
 
-    @Override
-    public void onProxyLoadRequest() {
-        TAB.getInstance().debug("Sending nametag load of all proxy players as requested by another proxy");
-        for (TabPlayer all : onlinePlayers.getPlayers()) {
-            proxy.sendMessage(new NameTagUpdateProxyPlayer(
-                    this,
-                    all.getTablistId(),
-                    all.teamData.teamName,
-                    all.teamData.prefix.get(),
-                    all.teamData.suffix.get(),
-                    getTeamVisibility(all, all) ? NameVisibility.ALWAYS : NameVisibility.NEVER
-            ));
+    /**
+     * Sends team data of a player to other proxies. If {@code full} is {@code false},
+     * only values changed since the last message are sent and the update is rate-limited.
+     *
+     * @param   player
+     *          Player to send team data of
+     * @param   full
+     *          Whether all values should be sent immediately or not
+     */
+    private void sendProxyUpdate(@NonNull TabPlayer player, boolean full) {
+        if (proxyUpdateLimiter == null) return;
+        if (full) {
+            proxyUpdateLimiter.markSent(player);
+            sendProxyMessage(player, true);
+        } else {
+            proxyUpdateLimiter.submit(player, () -> sendProxyMessage(player, false));
+        }
+    }
+
+    private void sendProxyMessage(@NonNull TabPlayer player, boolean full) {
+        if (proxy == null) return;
+        NameTagUpdateProxyPlayer current = new NameTagUpdateProxyPlayer(
+                this,
+                player.getTablistId(),
+                player.teamData.teamName,
+                player.teamData.prefix.get(),
+                player.teamData.suffix.get(),
+                getTeamVisibility(player, player) ? NameVisibility.ALWAYS : NameVisibility.NEVER
+        );
+        NameTagUpdateProxyPlayer previous = player.teamData.lastProxyUpdate;
+        player.teamData.lastProxyUpdate = current;
+        if (full || previous == null) {
+            proxy.sendMessage(current);
+            return;
         }
+        NameTagUpdateProxyPlayer delta = current.delta(previous);
+        if (delta != null) proxy.sendMessage(delta, current);
     }
 
     @Override
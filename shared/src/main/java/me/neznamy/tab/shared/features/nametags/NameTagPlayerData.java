@@ -40,6 +40,10 @@ public class NameTagPlayerData {
     @Nullable
     public Boolean forcedCollision;
 
+    /** Full team data last sent to other proxies, used to only send changed values */
+    @Nullable
+    public NameTagUpdateProxyPlayer lastProxyUpdate;
+
     /** Reasons why player's nametag is hidden for everyone */
     @NotNull
     private final EnumSet<NameTagInvisibilityReason> nameTagInvisibilityReasons = EnumSet.noneOf(NameTagInvisibilityReason.class);
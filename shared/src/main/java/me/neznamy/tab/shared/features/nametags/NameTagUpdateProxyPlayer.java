@@ -13,45 +13,84 @@ import me.neznamy.tab.shared.features.proxy.message.ProxyMessage;
 import me.neznamy.tab.shared.platform.Scoreboard;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
- * Proxy message to update team data of a player.
+ * Proxy message to update team data of a player. Fields which did not change
+ * since the last message are {@code null} and not sent at all.
  */
 @RequiredArgsConstructor
 @AllArgsConstructor
 public class NameTagUpdateProxyPlayer extends ProxyMessage {
 
+    private static final int TEAM_NAME = 1;
+    private static final int PREFIX = 1 << 1;
+    private static final int SUFFIX = 1 << 2;
+    private static final int NAME_VISIBILITY = 1 << 3;
+
     @NotNull private final NameTag feature;
     private UUID playerId;
-    private String teamName;
-    private String prefix;
-    private String suffix;
-    private Scoreboard.NameVisibility nameVisibility;
+    @Nullable private String teamName;
+    @Nullable private String prefix;
+    @Nullable private String suffix;
+    @Nullable private Scoreboard.NameVisibility nameVisibility;
 
     @NotNull
     public ThreadExecutor getCustomThread() {
         return feature.getCustomThread();
     }
 
+    @Override
+    @NotNull
+    public UUID getStatePlayer() {
+        return playerId;
+    }
+
+    /**
+     * Creates a message only containing values which are different from the previous
+     * message. If nothing has changed, returns {@code null}.
+     *
+     * @param   previous
+     *          Previously sent message with full data
+     * @return  Message only containing changed values or {@code null} if nothing changed
+     */
+    @Nullable
+    public NameTagUpdateProxyPlayer delta(@NotNull NameTagUpdateProxyPlayer previous) {
+        String teamName = Objects.equals(this.teamName, previous.teamName) ? null : this.teamName;
+        String prefix = Objects.equals(this.prefix, previous.prefix) ? null : this.prefix;
+        String suffix = Objects.equals(this.suffix, previous.suffix) ? null : this.suffix;
+        Scoreboard.NameVisibility nameVisibility = this.nameVisibility == previous.nameVisibility ? null : this.nameVisibility;
+        if (teamName == null && prefix == null && suffix == null && nameVisibility == null) return null;
+        return new NameTagUpdateProxyPlayer(feature, playerId, teamName, prefix, suffix, nameVisibility);
+    }
+
     @Override
     public void write(@NotNull ByteArrayDataOutput out) {
         writeUUID(out, playerId);
-        out.writeUTF(teamName);
-        out.writeUTF(prefix);
-        out.writeUTF(suffix);
-        out.writeUTF(nameVisibility.toString());
+        int flags = 0;
+        if (teamName != null) flags |= TEAM_NAME;
+        if (prefix != null) flags |= PREFIX;
+        if (suffix != null) flags |= SUFFIX;
+        if (nameVisibility != null) flags |= NAME_VISIBILITY;
+        out.writeByte(flags);
+        if (teamName != null) out.writeUTF(teamName);
+        if (prefix != null) out.writeUTF(prefix);
+        if (suffix != null) out.writeUTF(suffix);
+        if (nameVisibility != null) out.writeUTF(nameVisibility.toString());
     }
 
     @Override
     public void read(@NotNull ByteArrayDataInput in) {
         playerId = readUUID(in);
-        teamName = in.readUTF();
-        prefix = in.readUTF();
-        suffix = in.readUTF();
-        nameVisibility = Scoreboard.NameVisibility.getByName(in.readUTF());
+        int flags = in.readByte();
+        if ((flags & TEAM_NAME) != 0) teamName = in.readUTF();
+        if ((flags & PREFIX) != 0) prefix = in.readUTF();
+        if ((flags & SUFFIX) != 0) suffix = in.readUTF();
+        if ((flags & NAME_VISIBILITY) != 0) nameVisibility = Scoreboard.NameVisibility.getByName(in.readUTF());
     }
 
     @Override
@@ -67,21 +106,25 @@ public class NameTagUpdateProxyPlayer extends ProxyMessage {
             TAB.getInstance().debug("The player " + target.getName() + " is already connected");
             return;
         }
+        if (target.getTagPrefix() == null && (teamName == null || prefix == null || suffix == null || nameVisibility == null)) {
+            // Expected when partial update overtakes full data on startup or server switch
+            TAB.getInstance().debug("[Proxy Support] Received partial nametag update of proxy player " + target.getName() + " before full data, requesting full data");
+            proxySupport.requestFullResync(playerId);
+            return;
+        }
         String oldTeamName = target.getTeamName();
-        String newTeamName = checkTeamName(target, teamName.substring(0, teamName.length()-1));
-        target.setTeamName(newTeamName);
-        target.setTagPrefix(prefix);
-        target.setTagSuffix(suffix);
-        target.setNameVisibility(nameVisibility);
-        TabComponent prefixComponent = feature.getCache().get(prefix);
+        String newTeamName = teamName == null ? oldTeamName : checkTeamName(target, teamName.substring(0, teamName.length()-1));
+        target.applyNameTagUpdate(newTeamName, prefix, suffix, nameVisibility);
+        TabComponent prefixComponent = TAB.getInstance().getComponentCache().get(target.getTagPrefix());
+        TabComponent suffixComponent = TAB.getInstance().getComponentCache().get(target.getTagSuffix());
         if (!newTeamName.equals(oldTeamName)) {
             for (TabPlayer viewer : feature.getOnlinePlayers().getPlayers()) {
                 if (oldTeamName != null) viewer.getScoreboard().unregisterTeam(oldTeamName);
                 viewer.getScoreboard().registerTeam(
                         newTeamName,
                         prefixComponent,
-                        feature.getCache().get(suffix),
-                        nameVisibility,
+                        suffixComponent,
+                        target.getNameVisibility(),
                         Scoreboard.CollisionRule.ALWAYS,
                         Collections.singletonList(target.getNickname()),
                         2,
@@ -93,8 +136,8 @@ public class NameTagUpdateProxyPlayer extends ProxyMessage {
                 viewer.getScoreboard().updateTeam(
                         oldTeamName,
                         prefixComponent,
-                        feature.getCache().get(suffix),
-                        nameVisibility,
+                        suffixComponent,
+                        target.getNameVisibility(),
                         Scoreboard.CollisionRule.ALWAYS,
                         2,
                         prefixComponent.getLastColor()
@@ -13,11 +13,11 @@ import me.neznamy.tab.shared.cpu.TimedCaughtTask;
 import me.neznamy.tab.shared.features.layout.PlayerSlot;
 import me.neznamy.tab.shared.features.proxy.ProxyPlayer;
 import me.neznamy.tab.shared.features.proxy.ProxySupport;
+import me.neznamy.tab.shared.features.proxy.ProxyUpdateLimiter;
 import me.neznamy.tab.shared.features.types.*;
 import me.neznamy.tab.shared.placeholders.conditions.Condition;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.platform.decorators.TrackedTabList;
-import me.neznamy.tab.shared.util.cache.StringToComponentCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -28,12 +28,12 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * Feature handler for TabList display names
  */
 @Getter
-public class PlayerList extends RefreshableFeature implements TabListFormatManager, JoinListener, Loadable,
+public class PlayerList extends RefreshableFeature implements TabListFormatManager, JoinListener, QuitListener, Loadable,
         UnLoadable, WorldSwitchListener, ServerSwitchListener, VanishListener, ProxyFeature, GroupListener {
 
-    @NotNull private final StringToComponentCache cache = new StringToComponentCache("Tablist name formatting", 1000);
     @NotNull private final TablistFormattingConfiguration configuration;
     @Nullable private final ProxySupport proxy = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.PROXY_SUPPORT);
+    @Nullable private final ProxyUpdateLimiter proxyUpdateLimiter;
     @NotNull private final DisableChecker disableChecker;
 
     /**
@@ -56,6 +56,9 @@ public class PlayerList extends RefreshableFeature implements TabListFormatManag
         }
         if (proxy != null) {
             proxy.registerMessage("tabformat", PlayerListUpdateProxyPlayer.class, () -> new PlayerListUpdateProxyPlayer(this));
+            proxyUpdateLimiter = new ProxyUpdateLimiter(TAB.getInstance().getCpu().getProcessingThread(), getFeatureName(), proxy.getUpdateInterval());
+        } else {
+            proxyUpdateLimiter = null;
         }
     }
 
@@ -124,8 +127,34 @@ public class PlayerList extends RefreshableFeature implements TabListFormatManag
             viewer.getTabList().updateDisplayName(tablistId, format ? getTabFormat(player, viewer) :
                     tablistId.getMostSignificantBits() == 0 ? SimpleTextComponent.text(player.getName()) : null);
         }
-        if (proxy != null) proxy.sendMessage(new PlayerListUpdateProxyPlayer(this, player.getUniqueId(), player.getName(), player.tablistData.prefix.get() +
-                player.tablistData.name.get() + player.tablistData.suffix.get()));
+        sendProxyUpdate(player, false);
+    }
+
+    /**
+     * Sends tablist format of a player to other proxies. If {@code full} is {@code false},
+     * the message is only sent if the format changed since the last message and the update is rate-limited.
+     *
+     * @param   player
+     *          Player to send format of
+     * @param   full
+     *          Whether the format should be sent immediately even if it did not change or not
+     */
+    private void sendProxyUpdate(@NotNull TabPlayer player, boolean full) {
+        if (proxyUpdateLimiter == null) return;
+        if (full) {
+            proxyUpdateLimiter.markSent(player);
+            sendProxyMessage(player, true);
+        } else {
+            proxyUpdateLimiter.submit(player, () -> sendProxyMessage(player, false));
+        }
+    }
+
+    private void sendProxyMessage(@NotNull TabPlayer player, boolean full) {
+        if (proxy == null) return;
+        String format = player.tablistData.prefix.get() + player.tablistData.name.get() + player.tablistData.suffix.get();
+        if (!full && format.equals(player.tablistData.lastProxyFormat)) return;
+        player.tablistData.lastProxyFormat = format;
+        proxy.sendMessage(new PlayerListUpdateProxyPlayer(this, player.getTablistId(), player.getName(), format));
     }
 
     /**
@@ -145,7 +174,7 @@ public class PlayerList extends RefreshableFeature implements TabListFormatManag
         if (prefix == null || name == null || suffix == null) {
             return null;
         }
-        return cache.get(prefix.getFormat(viewer) + name.getFormat(viewer) + suffix.getFormat(viewer));
+        return TAB.getInstance().getComponentCache().get(prefix.getFormat(viewer) + name.getFormat(viewer) + suffix.getFormat(viewer));
     }
 
     @Override
@@ -159,8 +188,7 @@ public class PlayerList extends RefreshableFeature implements TabListFormatManag
             if (disableChecker.isDisableConditionMet(all)) {
                 all.tablistData.disabled.set(true);
             } else {
-                if (proxy != null) proxy.sendMessage(new PlayerListUpdateProxyPlayer(this, all.getUniqueId(), all.getName(),
-                        all.tablistData.prefix.get() + all.tablistData.name.get() + all.tablistData.suffix.get()));
+                sendProxyUpdate(all, true);
             }
         }
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
@@ -229,6 +257,11 @@ public class PlayerList extends RefreshableFeature implements TabListFormatManag
         return "Updating TabList format";
     }
 
+    @Override
+    public boolean isDisplayedFor(@NotNull TabPlayer player) {
+        return !player.tablistData.disabled.get();
+    }
+
     @Override
     public void refresh(@NotNull TabPlayer refreshed, boolean force) {
         if (refreshed.tablistData.prefix == null) return; // Placeholder in condition on join
@@ -285,6 +318,11 @@ public class PlayerList extends RefreshableFeature implements TabListFormatManag
         }
     }
 
+    @Override
+    public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
+        if (proxyUpdateLimiter != null) proxyUpdateLimiter.removePlayer(disconnectedPlayer);
+    }
+
     @Override
     public void onVanishStatusChange(@NotNull TabPlayer player) {
         if (player.isVanished() || player.tablistData.disabled.get()) return;
@@ -371,14 +409,6 @@ public class PlayerList extends RefreshableFeature implements TabListFormatManag
     // ProxySupport
     // ------------------
 
-    @Override
-    public void onProxyLoadRequest() {
-        TAB.getInstance().debug("[Proxy Support] Sending tablist update of all players as requested by another proxy");
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            proxy.sendMessage(new PlayerListUpdateProxyPlayer(this, all.getTablistId(), all.getName(), all.tablistData.prefix.get() + all.tablistData.name.get() + all.tablistData.suffix.get()));
-        }
-    }
-
     @Override
     public void onVanishStatusChange(@NotNull ProxyPlayer player) {
         if (player.isVanished()) return;
@@ -409,5 +439,9 @@ public class PlayerList extends RefreshableFeature implements TabListFormatManag
 
         /** Flag tracking whether this feature is disabled for the player with condition or not */
         public final AtomicBoolean disabled = new AtomicBoolean();
+
+        /** Tablist format last sent to other proxies, used to skip sending unchanged values */
+        @Nullable
+        public String lastProxyFormat;
     }
 }
\ No newline at end of file
@@ -25,6 +25,12 @@ public class PlayerListUpdateProxyPlayer extends ProxyMessage {
     private String player;
     private String format;
 
+    @Override
+    @NotNull
+    public UUID getStatePlayer() {
+        return playerId;
+    }
+
     @Override
     public void write(@NotNull ByteArrayDataOutput out) {
         TAB.getInstance().debug("[Proxy Support] Sending proxy message to update tablist format of player " + player + " to " + format);
@@ -48,7 +54,7 @@ public class PlayerListUpdateProxyPlayer extends ProxyMessage {
             return;
         }
         TAB.getInstance().debug("[Proxy Support] Processing tablist formatting update of proxy player " + player + " to " + format);
-        target.setTabFormat(feature.getCache().get(format));
+        target.setTabFormat(TAB.getInstance().getComponentCache().get(format));
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
             viewer.getTabList().updateDisplayName(target.getUniqueId(), target.getTabFormat());
         }
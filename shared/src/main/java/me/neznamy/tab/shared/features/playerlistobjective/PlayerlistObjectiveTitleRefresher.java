@@ -2,6 +2,7 @@ package me.neznamy.tab.shared.features.playerlistobjective;
 
 import lombok.RequiredArgsConstructor;
 import me.neznamy.chat.component.SimpleTextComponent;
+import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.cpu.ThreadExecutor;
 import me.neznamy.tab.shared.features.types.CustomThreaded;
 import me.neznamy.tab.shared.features.types.RefreshableFeature;
@@ -34,7 +35,7 @@ public class PlayerlistObjectiveTitleRefresher extends RefreshableFeature implem
         if (refreshed.playerlistObjectiveData.disabled.get()) return;
         refreshed.getScoreboard().updateObjective(
                 YellowNumber.OBJECTIVE_NAME,
-                feature.getCache().get(refreshed.playerlistObjectiveData.title.updateAndGet()),
+                TAB.getInstance().getComponentCache().get(refreshed.playerlistObjectiveData.title.updateAndGet()),
                 feature.getConfiguration().getHealthDisplay(),
                 SimpleTextComponent.EMPTY
         );
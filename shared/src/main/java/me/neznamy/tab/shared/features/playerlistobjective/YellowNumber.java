@@ -19,7 +19,6 @@ import me.neznamy.tab.shared.placeholders.conditions.Condition;
 import me.neznamy.tab.shared.platform.Scoreboard;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.util.OnlinePlayers;
-import me.neznamy.tab.shared.util.cache.StringToComponentCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -38,8 +37,6 @@ public class YellowNumber extends RefreshableFeature implements JoinListener, Qu
     /** Objective name used by this feature */
     public static final String OBJECTIVE_NAME = "TAB-PlayerList";
 
-    private final StringToComponentCache cache = new StringToComponentCache("Playerlist Objective", 1000);
-
     private final ThreadExecutor customThread = new ThreadExecutor("TAB Playerlist Objective Thread");
 
     private OnlinePlayers onlinePlayers;
@@ -209,7 +206,7 @@ public class YellowNumber extends RefreshableFeature implements JoinListener, Qu
     private void register(@NotNull TabPlayer player) {
         player.getScoreboard().registerObjective(
                 OBJECTIVE_NAME,
-                cache.get(player.playerlistObjectiveData.title.updateAndGet()),
+                TAB.getInstance().getComponentCache().get(player.playerlistObjectiveData.title.updateAndGet()),
                 configuration.getHealthDisplay(),
                 SimpleTextComponent.EMPTY
         );
@@ -235,7 +232,7 @@ public class YellowNumber extends RefreshableFeature implements JoinListener, Qu
                 scoreHolder.getNickname(),
                 value,
                 null, // Unused by this objective slot
-                cache.get(fancyValue)
+                TAB.getInstance().getComponentCache().get(fancyValue)
         );
     }
 
@@ -259,17 +256,6 @@ public class YellowNumber extends RefreshableFeature implements JoinListener, Qu
         onlinePlayers.removePlayer(disconnectedPlayer);
     }
 
-    // ------------------
-    // ProxySupport
-    // ------------------
-
-    @Override
-    public void onProxyLoadRequest() {
-        for (TabPlayer all : onlinePlayers.getPlayers()) {
-            proxy.sendMessage(new UpdateProxyPlayer(all.getTablistId(), getValueNumber(all), all.playerlistObjectiveData.valueModern.get()));
-        }
-    }
-
     @NotNull
     @Override
     public String getFeatureName() {
@@ -292,6 +278,12 @@ public class YellowNumber extends RefreshableFeature implements JoinListener, Qu
             return customThread;
         }
 
+        @Override
+        @NotNull
+        public UUID getStatePlayer() {
+            return playerId;
+        }
+
         @Override
         public void write(@NotNull ByteArrayDataOutput out) {
             writeUUID(out, playerId);
@@ -322,7 +314,7 @@ public class YellowNumber extends RefreshableFeature implements JoinListener, Qu
                 return;
             }
             target.setPlayerlistNumber(value);
-            target.setPlayerlistFancy(cache.get(fancyValue));
+            target.setPlayerlistFancy(TAB.getInstance().getComponentCache().get(fancyValue));
             for (TabPlayer viewer : onlinePlayers.getPlayers()) {
                 if (viewer.playerlistObjectiveData.disabled.get()) continue;
                 viewer.getScoreboard().setScore(
@@ -6,6 +6,7 @@ import me.neznamy.chat.component.TabComponent;
 import me.neznamy.tab.shared.platform.Scoreboard;
 import me.neznamy.tab.shared.platform.TabList;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
 
@@ -96,6 +97,27 @@ public class ProxyPlayer {
         this.staff = staff;
     }
 
+    /**
+     * Applies nametag update received from another proxy. Values which are {@code null}
+     * did not change and are kept.
+     *
+     * @param   teamName
+     *          New team name or {@code null} if unchanged
+     * @param   tagPrefix
+     *          New nametag prefix or {@code null} if unchanged
+     * @param   tagSuffix
+     *          New nametag suffix or {@code null} if unchanged
+     * @param   nameVisibility
+     *          New nametag visibility or {@code null} if unchanged
+     */
+    public void applyNameTagUpdate(@Nullable String teamName, @Nullable String tagPrefix, @Nullable String tagSuffix,
+                                   @Nullable Scoreboard.NameVisibility nameVisibility) {
+        if (teamName != null) this.teamName = teamName;
+        if (tagPrefix != null) this.tagPrefix = tagPrefix;
+        if (tagSuffix != null) this.tagSuffix = tagSuffix;
+        if (nameVisibility != null) this.nameVisibility = nameVisibility;
+    }
+
     @NotNull
     public TabList.Entry asEntry() {
         return new TabList.Entry(uniqueId, nickname, skin, true, 0, 0, tabFormat, 0, true);
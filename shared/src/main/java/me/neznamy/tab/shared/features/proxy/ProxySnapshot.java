@@ -0,0 +1,145 @@
+package me.neznamy.tab.shared.features.proxy;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Compact snapshot of data of players on this proxy as it was sent to other proxies.
+ * Every sent message is tagged with a sequence number, which allows other proxies
+ * to only request changes since the last message they have received instead of
+ * requesting everything again.
+ */
+public class ProxySnapshot {
+
+    /** Maximum amount of removed players remembered for incremental synchronization */
+    private static final int MAX_REMOVED_PLAYERS = 10000;
+
+    /** Sequence number of the last sent message */
+    private long sequence;
+
+    /** Latest state messages of all players, mapped by player and then by message name */
+    @NotNull
+    private final Map<UUID, Map<String, Entry>> players = new LinkedHashMap<>();
+
+    /** Players who left, mapped to sequence number of their quit message */
+    @NotNull
+    private final LinkedHashMap<UUID, Long> removedPlayers = new LinkedHashMap<>();
+
+    /** Lowest sequence number incremental synchronization can start from */
+    private long minimumDeltaSequence;
+
+    /**
+     * Assigns and returns a sequence number for a new message.
+     *
+     * @return  Sequence number of the new message
+     */
+    public synchronized long nextSequence() {
+        return ++sequence;
+    }
+
+    /**
+     * Stores new state message of a player, replacing previous message with the same name.
+     *
+     * @param   player
+     *          Tablist UUID of the player
+     * @param   action
+     *          Name of the message
+     * @param   data
+     *          Encoded message content
+     * @param   sequence
+     *          Sequence number of the message
+     */
+    public synchronized void record(@NotNull UUID player, @NotNull String action, byte[] data, long sequence) {
+        removedPlayers.remove(player);
+        players.computeIfAbsent(player, p -> new LinkedHashMap<>()).put(action, new Entry(player, action, data, sequence));
+    }
+
+    /**
+     * Removes all data of a player who left.
+     *
+     * @param   player
+     *          Tablist UUID of the player
+     * @param   sequence
+     *          Sequence number of the quit message
+     */
+    public synchronized void removePlayer(@NotNull UUID player, long sequence) {
+        if (players.remove(player) == null) return;
+        removedPlayers.put(player, sequence);
+        if (removedPlayers.size() > MAX_REMOVED_PLAYERS) {
+            Iterator<Map.Entry<UUID, Long>> iterator = removedPlayers.entrySet().iterator();
+            minimumDeltaSequence = iterator.next().getValue();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns {@code true} if changes since given sequence number can be sent
+     * incrementally, {@code false} if full snapshot needs to be sent.
+     *
+     * @param   since
+     *          Sequence number of the last message other proxy received
+     * @return  {@code true} if incremental synchronization is possible, {@code false} if not
+     */
+    public synchronized boolean canSendDelta(long since) {
+        return since >= minimumDeltaSequence && since <= sequence;
+    }
+
+    /**
+     * Returns all state messages newer than given sequence number, grouped by player.
+     *
+     * @param   since
+     *          Sequence number to return newer messages of, {@code 0} for all messages
+     * @return  State messages newer than given sequence number
+     */
+    @NotNull
+    public synchronized List<Entry> getEntries(long since) {
+        List<Entry> entries = new ArrayList<>();
+        for (Map<String, Entry> playerEntries : players.values()) {
+            for (Entry entry : playerEntries.values()) {
+                if (entry.sequence > since) entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Returns players who left after given sequence number.
+     *
+     * @param   since
+     *          Sequence number to return removed players after
+     * @return  Players who left after given sequence number
+     */
+    @NotNull
+    public synchronized List<UUID> getRemovedPlayers(long since) {
+        List<UUID> removed = new ArrayList<>();
+        for (Map.Entry<UUID, Long> entry : removedPlayers.entrySet()) {
+            if (entry.getValue() > since) removed.add(entry.getKey());
+        }
+        return removed;
+    }
+
+    /**
+     * A single stored state message.
+     */
+    @AllArgsConstructor
+    @Getter
+    public static class Entry {
+
+        /** Tablist UUID of the player */
+        @NotNull
+        private final UUID player;
+
+        /** Name of the message */
+        @NotNull
+        private final String action;
+
+        /** Encoded message content */
+        private final byte[] data;
+
+        /** Sequence number of the message */
+        private final long sequence;
+    }
+}
@@ -3,7 +3,10 @@ package me.neznamy.tab.shared.features.proxy;
 import com.google.common.io.ByteArrayDataInput;
 import com.google.common.io.ByteArrayDataOutput;
 import com.google.common.io.ByteStreams;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import me.neznamy.tab.api.event.EventHandler;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
@@ -15,6 +18,7 @@ import me.neznamy.tab.shared.features.types.*;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.util.PerformanceUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -30,19 +34,41 @@ public abstract class ProxySupport extends TabFeature implements JoinListener, Q
         Loadable, UnLoadable, ServerSwitchListener,
         VanishListener {
 
+    /** Approximate size of a single snapshot message in bytes */
+    private static final int SNAPSHOT_CHUNK_SIZE = 256 * 1024;
+
+    /** Maximum amount of attempts to get a response to a load request */
+    private static final int MAX_RESYNC_ATTEMPTS = 5;
+
+    /** Time in milliseconds after which a proxy with no players which sent no messages is forgotten */
+    private static final long PEER_EXPIRY = 10 * 60 * 1000;
+
     /** Proxy players on other proxies by their UUID */
     @NotNull protected final Map<UUID, ProxyPlayer> proxyPlayers = new ConcurrentHashMap<>();
 
     /** UUID of this proxy to ignore messages coming from the same proxy */
     @NotNull private final UUID proxy = UUID.randomUUID();
 
+    /** Minimum interval between two updates of the same player in milliseconds */
+    private final int updateInterval = TAB.getInstance().getConfiguration().getConfig().getProxyUpdateInterval();
+
+    /** Time in milliseconds to wait for a response to a load request before sending it again */
+    @Setter(AccessLevel.PACKAGE)
+    private int resyncTimeout = 10000;
+
+    /** Data of players on this proxy as sent to other proxies */
+    @NotNull private final ProxySnapshot snapshot = new ProxySnapshot();
+
+    /** Synchronization state of other proxies by their UUID */
+    @NotNull private final Map<UUID, PeerState> peers = new HashMap<>();
+
     private EventHandler<TabPlaceholderRegisterEvent> eventHandler;
     @NotNull private final Map<String, Supplier<ProxyMessage>> messages = new HashMap<>();
     @NotNull private final Map<Class<? extends ProxyMessage>, String> classStringMap = new HashMap<>();
 
     protected ProxySupport() {
-        registerMessage("load", Load.class, Load::new);
         registerMessage("loadrequest", LoadRequest.class, LoadRequest::new);
+        registerMessage("snapshot", SyncSnapshot.class, SyncSnapshot::new);
         registerMessage("join", PlayerJoin.class, PlayerJoin::new);
         registerMessage("quit", PlayerQuit.class, PlayerQuit::new);
         registerMessage("server", ServerSwitch.class, ServerSwitch::new);
@@ -65,24 +91,227 @@ public abstract class ProxySupport extends TabFeature implements JoinListener, Q
         // Queue the task to make sure it does not execute before load does, causing NPE
         TAB.getInstance().getCpu().runMeasuredTask(getFeatureName(), CpuUsageCategory.PROXY_MESSAGE, () -> {
             ByteArrayDataInput in = ByteStreams.newDataInput(Base64.getDecoder().decode(msg));
-            String proxy = in.readUTF();
-            if (proxy.equals(this.proxy.toString())) return; // Message coming from current proxy
-            String action = in.readUTF();
-            Supplier<ProxyMessage> supplier = messages.get(action);
-            if (supplier == null) {
-                TAB.getInstance().getErrorManager().unknownProxyMessage(action);
+            UUID source = new UUID(in.readLong(), in.readLong());
+            if (source.equals(proxy)) return; // Message coming from current proxy
+            long sequence = in.readLong();
+            long now = System.currentTimeMillis();
+            PeerState peer = getPeer(source, now);
+            if (peer.lastSequence != 0 && sequence <= peer.lastSequence) {
+                TAB.getInstance().debug("[Proxy Support] Sequence of proxy " + source + " went back from " + peer.lastSequence + " to " + sequence + ", requesting all data");
+                peer = resetPeer(peer);
+                requestResync(peer, null);
+            } else if (peer.lastSequence != 0 && sequence > peer.lastSequence + 1 && peer.resyncRequestTime == 0) {
+                TAB.getInstance().debug("[Proxy Support] Missed " + (sequence - peer.lastSequence - 1) + " message(s) from proxy " + source + ", requesting changes");
+                requestResync(peer, peer.lastSequence);
+            }
+            peer.lastSequence = sequence;
+            peer.lastMessageTime = now;
+            processMessage(peer, in.readUTF(), in);
+        });
+    }
+
+    /**
+     * Returns synchronization state of given proxy. If the proxy is not known yet, new state is
+     * created and proxies which have no players and did not send anything for a long time are
+     * forgotten, because every proxy start uses a new UUID.
+     *
+     * @param   source
+     *          UUID of the proxy
+     * @param   now
+     *          Current time in milliseconds
+     * @return  Synchronization state of the proxy
+     */
+    @NotNull
+    private PeerState getPeer(@NotNull UUID source, long now) {
+        PeerState peer = peers.get(source);
+        if (peer != null) return peer;
+        peers.values().removeIf(p -> p.players.isEmpty() && p.resyncRequestTime == 0 && now - p.lastMessageTime > PEER_EXPIRY);
+        peer = new PeerState(source);
+        peers.put(source, peer);
+        return peer;
+    }
+
+    /**
+     * Replaces state of a proxy with a new one, keeping track of its players, so they
+     * can be removed by the next full snapshot if they are no longer online.
+     *
+     * @param   peer
+     *          State to reset
+     * @return  New state of the proxy
+     */
+    @NotNull
+    private PeerState resetPeer(@NotNull PeerState peer) {
+        PeerState reset = new PeerState(peer.proxy);
+        reset.players.addAll(peer.players);
+        peers.put(peer.proxy, reset);
+        return reset;
+    }
+
+    /**
+     * Requests data from given proxy. If the response does not arrive in time, the request
+     * is sent again, up to {@link #MAX_RESYNC_ATTEMPTS} times in total.
+     *
+     * @param   peer
+     *          Proxy to request data from
+     * @param   knownSequence
+     *          Sequence number to request changes since, {@code null} to request all data
+     */
+    private void requestResync(@NotNull PeerState peer, @Nullable Long knownSequence) {
+        long requestTime = System.currentTimeMillis();
+        if (peer.resyncRequestTime == 0) peer.resyncAttempts = 0;
+        peer.resyncRequestTime = requestTime;
+        peer.resyncSince = knownSequence;
+        peer.resyncAttempts++;
+        sendMessage(new LoadRequest(proxy, peer.proxy, knownSequence == null ? Collections.emptyMap() : Collections.singletonMap(peer.proxy, knownSequence)));
+        TAB.getInstance().getCpu().getProcessingThread().executeLater(new TimedCaughtTask(TAB.getInstance().getCpu(), () -> {
+            if (peer.resyncRequestTime != requestTime || peers.get(peer.proxy) != peer) return; // Answered or sent again
+            if (peer.resyncAttempts >= MAX_RESYNC_ATTEMPTS) {
+                TAB.getInstance().debug("[Proxy Support] Proxy " + peer.proxy + " did not respond to " + peer.resyncAttempts + " data requests, giving up");
+                peer.resyncRequestTime = 0;
+                peer.snapshotPlayers = null;
                 return;
             }
-            ProxyMessage proxyMessage = supplier.get();
-            proxyMessage.read(in);
-            if (proxyMessage.getCustomThread() != null) {
-                proxyMessage.getCustomThread().execute(new TimedCaughtTask(TAB.getInstance().getCpu(), () -> proxyMessage.process(this), getFeatureName(), CpuUsageCategory.PROXY_MESSAGE));
-            } else {
-                proxyMessage.process(this);
+            TAB.getInstance().debug("[Proxy Support] Proxy " + peer.proxy + " did not respond to data request in time, requesting again");
+            requestResync(peer, peer.resyncSince);
+        }, getFeatureName(), CpuUsageCategory.PROXY_MESSAGE), resyncTimeout);
+    }
+
+    /**
+     * Decodes and processes message coming from another proxy.
+     *
+     * @param   peer
+     *          Proxy the message is coming from
+     * @param   action
+     *          Name of the message
+     * @param   in
+     *          Input to read message content from
+     */
+    private void processMessage(@NotNull PeerState peer, @NotNull String action, @NotNull ByteArrayDataInput in) {
+        Supplier<ProxyMessage> supplier = messages.get(action);
+        if (supplier == null) {
+            TAB.getInstance().getErrorManager().unknownProxyMessage(action);
+            return;
+        }
+        ProxyMessage proxyMessage = supplier.get();
+        proxyMessage.read(in);
+        if (proxyMessage instanceof PlayerJoin) {
+            peer.players.add(((PlayerJoin) proxyMessage).getPlayer().getUniqueId());
+        } else if (proxyMessage instanceof PlayerQuit) {
+            peer.players.remove(((PlayerQuit) proxyMessage).getPlayerId());
+        }
+        if (proxyMessage.getCustomThread() != null) {
+            proxyMessage.getCustomThread().execute(new TimedCaughtTask(TAB.getInstance().getCpu(), () -> proxyMessage.process(this), getFeatureName(), CpuUsageCategory.PROXY_MESSAGE));
+        } else {
+            proxyMessage.process(this);
+        }
+    }
+
+    /**
+     * Processes a chunk of snapshot sent by another proxy as a response to our request.
+     *
+     * @param   message
+     *          Received snapshot chunk
+     */
+    public void processSnapshot(@NotNull SyncSnapshot message) {
+        PeerState peer = getPeer(message.getSource(), System.currentTimeMillis());
+        if (message.getChunk() == 0) {
+            TAB.getInstance().debug("[Proxy Support] Processing " + (message.isFull() ? "full" : "incremental") + " snapshot from proxy " + message.getSource());
+            peer.snapshotPlayers = message.isFull() ? new HashSet<>() : null;
+            for (UUID removed : message.getRemovedPlayers()) {
+                removePlayer(peer, removed);
+            }
+        } else if (message.getChunk() != peer.nextChunk) {
+            // A chunk was lost, the snapshot is incomplete
+            TAB.getInstance().debug("[Proxy Support] Missed snapshot chunk " + peer.nextChunk + " from proxy " + message.getSource() + ", requesting data again");
+            peer.nextChunk = 0;
+            peer.snapshotPlayers = null;
+            requestResync(peer, peer.resyncRequestTime == 0 ? null : peer.resyncSince);
+            return;
+        }
+        peer.nextChunk = message.getChunk() + 1;
+        for (ProxySnapshot.Entry entry : message.getEntries()) {
+            if (peer.snapshotPlayers != null) peer.snapshotPlayers.add(entry.getPlayer());
+            processMessage(peer, entry.getAction(), ByteStreams.newDataInput(entry.getData()));
+        }
+        if (message.isLast()) {
+            if (peer.snapshotPlayers != null) {
+                // Remove players who left while we did not know
+                for (UUID player : new ArrayList<>(peer.players)) {
+                    if (!peer.snapshotPlayers.contains(player)) removePlayer(peer, player);
+                }
+                peer.snapshotPlayers = null;
+            }
+            peer.nextChunk = 0;
+            peer.resyncRequestTime = 0;
+        }
+    }
+
+    /**
+     * Requests full data from the proxy the player is connected to. Used when a partial
+     * update arrived before full data of the player, which can happen during startup
+     * or server switch. Only one request is sent until the response arrives.
+     *
+     * @param   player
+     *          Player whose data is incomplete
+     */
+    public void requestFullResync(@NotNull UUID player) {
+        TAB.getInstance().getCpu().runMeasuredTask(getFeatureName(), CpuUsageCategory.PROXY_MESSAGE, () -> {
+            for (PeerState peer : peers.values()) {
+                if (!peer.players.contains(player)) continue;
+                if (peer.resyncRequestTime != 0) return;
+                TAB.getInstance().debug("[Proxy Support] Requesting full data from proxy " + peer.proxy + " due to incomplete data of player " + player);
+                requestResync(peer, null);
+                return;
             }
         });
     }
 
+    private void removePlayer(@NotNull PeerState peer, @NotNull UUID player) {
+        peer.players.remove(player);
+        if (proxyPlayers.containsKey(player)) new PlayerQuit(player).process(this);
+    }
+
+    /**
+     * Sends data of players on this proxy to the requesting proxy. If the requester knows
+     * a sequence number which changes can be computed from, only changes are sent,
+     * otherwise everything is sent. Data is split into chunks to avoid huge messages.
+     *
+     * @param   requester
+     *          Proxy requesting the data
+     * @param   knownSequence
+     *          Sequence number of the last message the requester received from this proxy,
+     *          {@code null} if it does not know this proxy
+     */
+    public void sendSnapshot(@NotNull UUID requester, @Nullable Long knownSequence) {
+        synchronized (snapshot) {
+            boolean full = knownSequence == null || !snapshot.canSendDelta(knownSequence);
+            long since = full ? 0 : knownSequence;
+            List<UUID> removed = full ? Collections.emptyList() : snapshot.getRemovedPlayers(since);
+            List<ProxySnapshot.Entry> entries = snapshot.getEntries(since);
+            TAB.getInstance().debug("[Proxy Support] Sending " + (full ? "full" : "incremental") + " snapshot with " +
+                    entries.size() + " entries to proxy " + requester);
+            int chunk = 0;
+            int chunkSize = 0;
+            List<ProxySnapshot.Entry> chunkEntries = new ArrayList<>();
+            for (int i = 0; i < entries.size(); i++) {
+                ProxySnapshot.Entry entry = entries.get(i);
+                chunkEntries.add(entry);
+                chunkSize += entry.getData().length;
+                // Do not split data of a single player into multiple chunks
+                boolean playerEnd = i == entries.size() - 1 || !entries.get(i + 1).getPlayer().equals(entry.getPlayer());
+                if (chunkSize >= SNAPSHOT_CHUNK_SIZE && playerEnd) {
+                    sendMessage(new SyncSnapshot(proxy, requester, full, chunk, i == entries.size() - 1, chunk == 0 ? removed : Collections.emptyList(), chunkEntries));
+                    chunk++;
+                    chunkSize = 0;
+                    chunkEntries = new ArrayList<>();
+                }
+            }
+            if (chunk == 0 || !chunkEntries.isEmpty()) {
+                sendMessage(new SyncSnapshot(proxy, requester, full, chunk, true, chunk == 0 ? removed : Collections.emptyList(), chunkEntries));
+            }
+        }
+    }
+
     /**
      * Sends message to all proxies
      *
@@ -107,7 +336,7 @@ public abstract class ProxySupport extends TabFeature implements JoinListener, Q
         overridePlaceholders();
         TAB.getInstance().getEventBus().register(TabPlaceholderRegisterEvent.class, eventHandler);
         for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) onJoin(p);
-        sendMessage(new LoadRequest());
+        sendMessage(new LoadRequest(proxy, null, Collections.emptyMap()));
     }
 
     private void overridePlaceholders() {
@@ -173,7 +402,7 @@ public abstract class ProxySupport extends TabFeature implements JoinListener, Q
 
     @Override
     public void onServerChange(@NotNull TabPlayer p, @NotNull String from, @NotNull String to) {
-        sendMessage(new ServerSwitch(p.getTablistId(), to));
+        sendMessage(new ServerSwitch(p.getTablistId(), to), new PlayerJoin(p));
     }
 
     @Override
@@ -182,17 +411,50 @@ public abstract class ProxySupport extends TabFeature implements JoinListener, Q
     }
 
     /**
-     * Sends message to other proxies.
+     * Sends message to other proxies. If the message carries state of a player,
+     * it is stored in the snapshot.
      *
      * @param   message
      *          Message to send
      */
     public void sendMessage(@NotNull ProxyMessage message) {
+        sendMessage(message, message);
+    }
+
+    /**
+     * Sends message to other proxies and stores given state message in the snapshot.
+     * This is used when the sent message only contains a part of the state.
+     *
+     * @param   message
+     *          Message to send
+     * @param   state
+     *          Message with full state to store in the snapshot
+     */
+    public void sendMessage(@NotNull ProxyMessage message, @NotNull ProxyMessage state) {
+        byte[] data = encode(message);
+        synchronized (snapshot) {
+            long sequence = snapshot.nextSequence();
+            if (message instanceof PlayerQuit) {
+                snapshot.removePlayer(((PlayerQuit) message).getPlayerId(), sequence);
+            }
+            UUID statePlayer = state.getStatePlayer();
+            if (statePlayer != null) {
+                snapshot.record(statePlayer, classStringMap.get(state.getClass()), state == message ? data : encode(state), sequence);
+            }
+            ByteArrayDataOutput out = ByteStreams.newDataOutput();
+            out.writeLong(proxy.getMostSignificantBits());
+            out.writeLong(proxy.getLeastSignificantBits());
+            out.writeLong(sequence);
+            out.writeUTF(classStringMap.get(message.getClass()));
+            out.write(data);
+            sendMessage(Base64.getEncoder().encodeToString(out.toByteArray()));
+        }
+    }
+
+    private byte[] encode(@NotNull ProxyMessage message) {
         ByteArrayDataOutput out = ByteStreams.newDataOutput();
-        out.writeUTF(proxy.toString());
-        out.writeUTF(classStringMap.get(message.getClass()));
         message.write(out);
-        sendMessage(Base64.getEncoder().encodeToString(out.toByteArray()));
+        return out.toByteArray();
     }
 
     /**
@@ -212,6 +474,40 @@ public abstract class ProxySupport extends TabFeature implements JoinListener, Q
 
     @Override
     public void onVanishStatusChange(@NotNull TabPlayer player) {
-        sendMessage(new UpdateVanishStatus(player.getTablistId(), player.isVanished()));
+        sendMessage(new UpdateVanishStatus(player.getTablistId(), player.isVanished()), new PlayerJoin(player));
+    }
+
+    /**
+     * Synchronization state of another proxy.
+     */
+    @RequiredArgsConstructor
+    private static class PeerState {
+
+        /** UUID of the proxy */
+        @NotNull private final UUID proxy;
+
+        /** Sequence number of the last received message */
+        private long lastSequence;
+
+        /** Time when the last message from this proxy was received */
+        private long lastMessageTime;
+
+        /** Time when data was requested from this proxy, {@code 0} if the response already arrived */
+        private long resyncRequestTime;
+
+        /** Sequence number data was requested since, {@code null} if all data was requested */
+        @Nullable private Long resyncSince;
+
+        /** Amount of times the pending data request was sent */
+        private int resyncAttempts;
+
+        /** Number of the next expected snapshot chunk */
+        private int nextChunk;
+
+        /** Players connected to this proxy */
+        @NotNull private final Set<UUID> players = new HashSet<>();
+
+        /** Players received in full snapshot which is currently being processed */
+        @Nullable private Set<UUID> snapshotPlayers;
     }
 }
\ No newline at end of file
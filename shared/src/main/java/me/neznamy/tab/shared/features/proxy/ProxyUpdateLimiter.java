@@ -0,0 +1,111 @@
+package me.neznamy.tab.shared.features.proxy;
+
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants.CpuUsageCategory;
+import me.neznamy.tab.shared.cpu.ThreadExecutor;
+import me.neznamy.tab.shared.cpu.TimedCaughtTask;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limits how often proxy messages of a feature are sent for each player.
+ * Updates coming faster than the configured interval are coalesced into
+ * a single delayed send, which uses the player's state at the time of sending.
+ */
+public class ProxyUpdateLimiter {
+
+    /** Thread to run delayed sends in, should be the thread of the feature */
+    @NotNull
+    private final ThreadExecutor thread;
+
+    /** Feature name for CPU usage tracking */
+    @NotNull
+    private final String featureName;
+
+    /** Minimum interval between two messages of the same player in milliseconds */
+    private final int interval;
+
+    /** Time when last message was sent for each player */
+    @NotNull
+    private final Map<UUID, Long> lastSent = new ConcurrentHashMap<>();
+
+    /** Players with a delayed send already scheduled */
+    @NotNull
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs new instance with given parameters.
+     *
+     * @param   thread
+     *          Thread to run delayed sends in
+     * @param   featureName
+     *          Feature name for CPU usage tracking
+     * @param   interval
+     *          Minimum interval between two messages of the same player in milliseconds
+     */
+    public ProxyUpdateLimiter(@NotNull ThreadExecutor thread, @NotNull String featureName, int interval) {
+        this.thread = thread;
+        this.featureName = featureName;
+        this.interval = interval;
+    }
+
+    /**
+     * Sends update of a player. If the last update was sent less than the configured
+     * interval ago, the send is delayed. Any further updates submitted before the delayed
+     * send runs are dropped, since the send task is expected to read the current state.
+     *
+     * @param   player
+     *          Player to send update of
+     * @param   sendTask
+     *          Task sending the message
+     */
+    public void submit(@NotNull TabPlayer player, @NotNull Runnable sendTask) {
+        if (interval <= 0) {
+            sendTask.run();
+            return;
+        }
+        UUID id = player.getTablistId();
+        if (pending.contains(id)) return; // Already scheduled, it will send the latest state
+        long now = System.currentTimeMillis();
+        Long last = lastSent.get(id);
+        if (last == null || now - last >= interval) {
+            lastSent.put(id, now);
+            sendTask.run();
+            return;
+        }
+        pending.add(id);
+        thread.executeLater(new TimedCaughtTask(TAB.getInstance().getCpu(), () -> {
+            pending.remove(id);
+            if (!player.isOnline()) return;
+            lastSent.put(id, System.currentTimeMillis());
+            sendTask.run();
+        }, featureName, CpuUsageCategory.PROXY_UPDATE_COALESCED), (int) (interval - (now - last)));
+    }
+
+    /**
+     * Marks update of a player as sent right now without rate limiting,
+     * such as when sending full state on join.
+     *
+     * @param   player
+     *          Player whose update was sent
+     */
+    public void markSent(@NotNull TabPlayer player) {
+        lastSent.put(player.getTablistId(), System.currentTimeMillis());
+    }
+
+    /**
+     * Forgets all data of a player.
+     *
+     * @param   player
+     *          Player who left
+     */
+    public void removePlayer(@NotNull TabPlayer player) {
+        lastSent.remove(player.getTablistId());
+        pending.remove(player.getTablistId());
+    }
+}
@@ -2,25 +2,61 @@ package me.neznamy.tab.shared.features.proxy.message;
 
 import com.google.common.io.ByteArrayDataInput;
 import com.google.common.io.ByteArrayDataOutput;
-import me.neznamy.tab.shared.TAB;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
 import me.neznamy.tab.shared.features.proxy.ProxySupport;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Message requesting data of players from other proxies. Proxies which the requester
+ * already knows respond with changes since the last message it received,
+ * others respond with full snapshot.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
 public class LoadRequest extends ProxyMessage {
 
+    /** Proxy requesting the data */
+    private UUID requester;
+
+    /** Proxy which should respond, {@code null} for all proxies */
+    @Nullable
+    private UUID target;
+
+    /** Sequence number of the last message requester received from each proxy it knows */
+    private Map<UUID, Long> knownSequences;
+
     @Override
     public void write(@NotNull ByteArrayDataOutput out) {
-        // Nothing to write anymore
+        writeUUID(out, requester);
+        out.writeBoolean(target != null);
+        if (target != null) writeUUID(out, target);
+        out.writeInt(knownSequences.size());
+        for (Map.Entry<UUID, Long> entry : knownSequences.entrySet()) {
+            writeUUID(out, entry.getKey());
+            out.writeLong(entry.getValue());
+        }
     }
 
     @Override
     public void read(@NotNull ByteArrayDataInput in) {
-        // Nothing to read anymore
+        requester = readUUID(in);
+        if (in.readBoolean()) target = readUUID(in);
+        int count = in.readInt();
+        knownSequences = new HashMap<>();
+        for (int i=0; i<count; i++) {
+            knownSequences.put(readUUID(in), in.readLong());
+        }
     }
 
     @Override
     public void process(@NotNull ProxySupport proxySupport) {
-        proxySupport.sendMessage(new Load(TAB.getInstance().getOnlinePlayers()));
-        TAB.getInstance().getFeatureManager().onProxyLoadRequest();
+        if (target != null && !target.equals(proxySupport.getProxy())) return;
+        proxySupport.sendSnapshot(requester, knownSequences.get(proxySupport.getProxy()));
     }
 }
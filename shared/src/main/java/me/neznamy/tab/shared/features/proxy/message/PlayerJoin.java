@@ -2,6 +2,7 @@ package me.neznamy.tab.shared.features.proxy.message;
 
 import com.google.common.io.ByteArrayDataInput;
 import com.google.common.io.ByteArrayDataOutput;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import me.neznamy.tab.shared.TAB;
@@ -15,23 +16,32 @@ import org.jetbrains.annotations.NotNull;
 import java.util.UUID;
 
 @NoArgsConstructor
+@AllArgsConstructor
 public class PlayerJoin extends ProxyMessage {
 
-    @Getter private ProxyPlayer decodedPlayer;
-    private TabPlayer encodedPlayer;
+    /** Player who joined, either the player to encode or the decoded player */
+    @Getter private ProxyPlayer player;
 
     public PlayerJoin(@NotNull TabPlayer encodedPlayer) {
-        this.encodedPlayer = encodedPlayer;
+        player = new ProxyPlayer(encodedPlayer.getTablistId(), encodedPlayer.getName(), encodedPlayer.getName(), encodedPlayer.server,
+                encodedPlayer.isVanished(), encodedPlayer.hasPermission(TabConstants.Permission.STAFF));
+        player.setSkin(encodedPlayer.getTabList().getSkin());
+    }
+
+    @Override
+    @NotNull
+    public UUID getStatePlayer() {
+        return player.getUniqueId();
     }
 
     @Override
     public void write(@NotNull ByteArrayDataOutput out) {
-        writeUUID(out, encodedPlayer.getTablistId());
-        out.writeUTF(encodedPlayer.getName());
-        out.writeUTF(encodedPlayer.server);
-        out.writeBoolean(encodedPlayer.isVanished());
-        out.writeBoolean(encodedPlayer.hasPermission(TabConstants.Permission.STAFF));
-        TabList.Skin skin = encodedPlayer.getTabList().getSkin();
+        writeUUID(out, player.getUniqueId());
+        out.writeUTF(player.getName());
+        out.writeUTF(player.server);
+        out.writeBoolean(player.isVanished());
+        out.writeBoolean(player.isStaff());
+        TabList.Skin skin = player.getSkin();
         out.writeBoolean(skin != null);
 
         // Load skin immediately to make global playerlist stuff not too complicated
@@ -51,7 +61,7 @@ public class PlayerJoin extends ProxyMessage {
         String server = in.readUTF();
         boolean vanished = in.readBoolean();
         boolean staff = in.readBoolean();
-        decodedPlayer = new ProxyPlayer(uniqueId, name, name, server, vanished, staff);
+        player = new ProxyPlayer(uniqueId, name, name, server, vanished, staff);
 
         // Load skin immediately to make global playerlist stuff not too complicated
         if (in.readBoolean()) {
@@ -60,19 +70,32 @@ public class PlayerJoin extends ProxyMessage {
             if (in.readBoolean()) {
                 signature = in.readUTF();
             }
-            decodedPlayer.setSkin(new TabList.Skin(value, signature));
+            player.setSkin(new TabList.Skin(value, signature));
         }
     }
 
     @Override
     public void process(@NotNull ProxySupport proxySupport) {
-        TAB.getInstance().debug("Processing join of proxy player " + decodedPlayer.getName() + " (" + decodedPlayer.getUniqueId() + ")");
+        TAB.getInstance().debug("Processing join of proxy player " + player.getName() + " (" + player.getUniqueId() + ")");
         // Do not create duplicated player
-        if (TAB.getInstance().isPlayerConnected(decodedPlayer.getUniqueId())) {
-            TAB.getInstance().debug("The player " + decodedPlayer.getName() + " is already connected");
+        if (TAB.getInstance().isPlayerConnected(player.getUniqueId())) {
+            TAB.getInstance().debug("The player " + player.getName() + " is already connected");
+            return;
+        }
+        ProxyPlayer existing = proxySupport.getProxyPlayers().get(player.getUniqueId());
+        if (existing != null) {
+            // Player is already loaded from previous synchronization, only apply changes
+            if (!existing.server.equals(player.server)) {
+                existing.setServer(player.server);
+                TAB.getInstance().getFeatureManager().onServerSwitch(existing);
+            }
+            if (existing.isVanished() != player.isVanished()) {
+                existing.setVanished(player.isVanished());
+                TAB.getInstance().getFeatureManager().onVanishStatusChange(existing);
+            }
             return;
         }
-        proxySupport.getProxyPlayers().put(decodedPlayer.getUniqueId(), decodedPlayer);
-        TAB.getInstance().getFeatureManager().onJoin(decodedPlayer);
+        proxySupport.getProxyPlayers().put(player.getUniqueId(), player);
+        TAB.getInstance().getFeatureManager().onJoin(player);
     }
 }
@@ -3,6 +3,7 @@ package me.neznamy.tab.shared.features.proxy.message;
 import com.google.common.io.ByteArrayDataInput;
 import com.google.common.io.ByteArrayDataOutput;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.features.proxy.ProxyPlayer;
@@ -15,7 +16,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class PlayerQuit extends ProxyMessage {
 
-    private UUID playerId;
+    @Getter private UUID playerId;
 
     @Override
     public void write(@NotNull ByteArrayDataOutput out) {
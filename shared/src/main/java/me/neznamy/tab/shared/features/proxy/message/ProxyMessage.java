@@ -16,6 +16,17 @@ public abstract class ProxyMessage {
         return null;
     }
 
+    /**
+     * Returns tablist UUID of player whose state this message carries, or {@code null}
+     * if this message is not a part of the synchronization snapshot.
+     *
+     * @return  Player whose state this message carries or {@code null}
+     */
+    @Nullable
+    public UUID getStatePlayer() {
+        return null;
+    }
+
     public void writeUUID(@NotNull ByteArrayDataOutput out, @NotNull UUID id) {
         out.writeLong(id.getMostSignificantBits());
         out.writeLong(id.getLeastSignificantBits());
@@ -0,0 +1,95 @@
+package me.neznamy.tab.shared.features.proxy.message;
+
+import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteArrayDataOutput;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import me.neznamy.tab.shared.features.proxy.ProxySnapshot;
+import me.neznamy.tab.shared.features.proxy.ProxySupport;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One chunk of player data sent as a response to {@link LoadRequest}. Contains
+ * either all data of players on the sending proxy or only changes since the last
+ * message the requester has received.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class SyncSnapshot extends ProxyMessage {
+
+    /** Proxy sending the data */
+    private UUID source;
+
+    /** Proxy which requested the data */
+    private UUID target;
+
+    /** Whether this is a full snapshot or only changes */
+    private boolean full;
+
+    /** Index of this chunk */
+    private int chunk;
+
+    /** Whether this is the last chunk or not */
+    private boolean last;
+
+    /** Players who left since the requested sequence number, only sent in first chunk */
+    private List<UUID> removedPlayers;
+
+    /** Player state messages */
+    private List<ProxySnapshot.Entry> entries;
+
+    @Override
+    public void write(@NotNull ByteArrayDataOutput out) {
+        writeUUID(out, source);
+        writeUUID(out, target);
+        out.writeBoolean(full);
+        out.writeInt(chunk);
+        out.writeBoolean(last);
+        out.writeInt(removedPlayers.size());
+        for (UUID removed : removedPlayers) {
+            writeUUID(out, removed);
+        }
+        out.writeInt(entries.size());
+        for (ProxySnapshot.Entry entry : entries) {
+            writeUUID(out, entry.getPlayer());
+            out.writeUTF(entry.getAction());
+            out.writeInt(entry.getData().length);
+            out.write(entry.getData());
+        }
+    }
+
+    @Override
+    public void read(@NotNull ByteArrayDataInput in) {
+        source = readUUID(in);
+        target = readUUID(in);
+        full = in.readBoolean();
+        chunk = in.readInt();
+        last = in.readBoolean();
+        int removedCount = in.readInt();
+        removedPlayers = new ArrayList<>(removedCount);
+        for (int i=0; i<removedCount; i++) {
+            removedPlayers.add(readUUID(in));
+        }
+        int entryCount = in.readInt();
+        entries = new ArrayList<>(entryCount);
+        for (int i=0; i<entryCount; i++) {
+            UUID player = readUUID(in);
+            String action = in.readUTF();
+            byte[] data = new byte[in.readInt()];
+            in.readFully(data);
+            entries.add(new ProxySnapshot.Entry(player, action, data, 0));
+        }
+    }
+
+    @Override
+    public void process(@NotNull ProxySupport proxySupport) {
+        if (!target.equals(proxySupport.getProxy())) return;
+        proxySupport.processSnapshot(this);
+    }
+}
@@ -3,13 +3,13 @@ package me.neznamy.tab.shared.features.scoreboard;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.shared.Property;
+import me.neznamy.tab.shared.TAB;
 import me.neznamy.chat.component.TabComponent;
 import me.neznamy.tab.shared.cpu.ThreadExecutor;
 import me.neznamy.tab.shared.features.scoreboard.lines.ScoreboardLine;
 import me.neznamy.tab.shared.features.types.CustomThreaded;
 import me.neznamy.tab.shared.features.types.RefreshableFeature;
 import me.neznamy.tab.shared.platform.TabPlayer;
-import me.neznamy.tab.shared.util.cache.StringToComponentCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -19,8 +19,6 @@ import org.jetbrains.annotations.Nullable;
 @RequiredArgsConstructor
 public class ScoreRefresher extends RefreshableFeature implements CustomThreaded {
 
-    private static final StringToComponentCache cache = new StringToComponentCache("Scoreboard NumberFormat", 1000);
-
     /** Line this score belongs to */
     @NonNull private final ScoreboardLine line;
 
@@ -33,6 +31,11 @@ public class ScoreRefresher extends RefreshableFeature implements CustomThreaded
         return "Updating NumberFormat";
     }
 
+    @Override
+    public boolean isDisplayedFor(@NotNull TabPlayer player) {
+        return player.scoreboardData.activeScoreboard == line.getParent();
+    }
+
     @Override
     public void refresh(@NotNull TabPlayer refreshed, boolean force) {
         if (refreshed.scoreboardData.activeScoreboard != line.getParent()) return; //player has different scoreboard displayed
@@ -65,7 +68,7 @@ public class ScoreRefresher extends RefreshableFeature implements CustomThreaded
      */
     @Nullable
     public TabComponent getNumberFormat(@NotNull TabPlayer player) {
-        return cache.get(player.scoreboardData.numberFormatProperties.get(line).updateAndGet());
+        return TAB.getInstance().getComponentCache().get(player.scoreboardData.numberFormatProperties.get(line).updateAndGet());
     }
 
     @Override
@@ -151,7 +151,7 @@ public class ScoreboardImpl extends RefreshableFeature implements me.neznamy.tab
         p.scoreboardData.titleProperty = new Property(this, p, title);
         p.getScoreboard().registerObjective(
                 ScoreboardManagerImpl.OBJECTIVE_NAME,
-                manager.getCache().get(p.scoreboardData.titleProperty.get()),
+                TAB.getInstance().getComponentCache().get(p.scoreboardData.titleProperty.get()),
                 Scoreboard.HealthDisplay.INTEGER,
                 SimpleTextComponent.EMPTY
         );
@@ -161,6 +161,7 @@ public class ScoreboardImpl extends RefreshableFeature implements me.neznamy.tab
         }
         players.add(p);
         p.scoreboardData.activeScoreboard = this;
+        TAB.getInstance().getFeatureManager().onDisplayChange(p);
         recalculateScores(p);
         TAB.getInstance().getPlaceholderManager().getTabExpansion().setScoreboardName(p, name);
         if (containsNumberFormat && p.getVersion().getNetworkId() < ProtocolVersion.V1_20_3.getNetworkId()) {
@@ -188,6 +189,7 @@ public class ScoreboardImpl extends RefreshableFeature implements me.neznamy.tab
         }
         players.remove(p);
         p.scoreboardData.activeScoreboard = null;
+        TAB.getInstance().getFeatureManager().onDisplayChange(p);
         p.scoreboardData.titleProperty = null;
         p.scoreboardData.lineProperties.clear();
         p.scoreboardData.lineNameProperties.clear();
@@ -201,12 +203,17 @@ public class ScoreboardImpl extends RefreshableFeature implements me.neznamy.tab
         return "Updating Scoreboard title";
     }
 
+    @Override
+    public boolean isDisplayedFor(@NotNull TabPlayer player) {
+        return player.scoreboardData.activeScoreboard == this;
+    }
+
     @Override
     public void refresh(@NotNull TabPlayer refreshed, boolean force) {
         if (refreshed.scoreboardData.activeScoreboard != this) return; //player has different scoreboard displayed
         refreshed.getScoreboard().updateObjective(
                 ScoreboardManagerImpl.OBJECTIVE_NAME,
-                manager.getCache().get(refreshed.scoreboardData.titleProperty.updateAndGet()),
+                TAB.getInstance().getComponentCache().get(refreshed.scoreboardData.titleProperty.updateAndGet()),
                 Scoreboard.HealthDisplay.INTEGER,
                 SimpleTextComponent.EMPTY
         );
@@ -269,7 +276,7 @@ public class ScoreboardImpl extends RefreshableFeature implements me.neznamy.tab
             p.scoreboardData.titleProperty.changeRawValue(title);
             p.getScoreboard().updateObjective(
                     ScoreboardManagerImpl.OBJECTIVE_NAME,
-                    manager.getCache().get(p.scoreboardData.titleProperty.get()),
+                    TAB.getInstance().getComponentCache().get(p.scoreboardData.titleProperty.get()),
                     Scoreboard.HealthDisplay.INTEGER,
                     SimpleTextComponent.EMPTY
             );
@@ -15,7 +15,6 @@ import me.neznamy.tab.shared.features.types.*;
 import me.neznamy.tab.shared.platform.Scoreboard;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.platform.decorators.SafeScoreboard;
-import me.neznamy.tab.shared.util.cache.StringToComponentCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -33,7 +32,6 @@ public class ScoreboardManagerImpl extends RefreshableFeature implements Scorebo
     public static final String OBJECTIVE_NAME = "TAB-Scoreboard";
 
     @Getter
-    private final StringToComponentCache cache = new StringToComponentCache("Scoreboard", 1000);
 
     @Getter
     private final ThreadExecutor customThread = new ThreadExecutor("TAB Scoreboard Thread");
@@ -62,7 +60,7 @@ public class ScoreboardManagerImpl extends RefreshableFeature implements Scorebo
     public ScoreboardManagerImpl(@NotNull ScoreboardConfiguration configuration) {
         this.configuration = configuration;
         if (configuration.isRememberToggleChoice()) {
-            toggleManager = new ToggleManager(TAB.getInstance().getConfiguration().getPlayerDataFile(), "scoreboard-off");
+            toggleManager = new ToggleManager(TAB.getInstance().getConfiguration().getPlayerDataStore(), "scoreboard-off");
         }
     }
 
@@ -42,7 +42,7 @@ public class LongLine extends ScoreboardLine {
                 removeLine(refreshed, refreshed.scoreboardData.lineNameProperties.get(this).get());
                 String[] values = splitText(
                         forcedPlayerNameStart,
-                        parent.getManager().getCache().get(lineProperty.get()).toLegacyText(),
+                        TAB.getInstance().getComponentCache().get(lineProperty.get()).toLegacyText(),
                         refreshed.getVersion().getMinorVersion() >= 8 ? Limitations.SCOREBOARD_SCORE_LENGTH_1_8 : Limitations.SCOREBOARD_SCORE_LENGTH_1_7
                 );
                 addLine(refreshed, values[1], values[0], values[2]);
@@ -62,7 +62,7 @@ public class LongLine extends ScoreboardLine {
         } else {
             String[] values = splitText(
                     forcedPlayerNameStart,
-                    parent.getManager().getCache().get(value).toLegacyText(),
+                    TAB.getInstance().getComponentCache().get(value).toLegacyText(),
                     p.getVersion().getMinorVersion() >= 8 ? Limitations.SCOREBOARD_SCORE_LENGTH_1_8 : Limitations.SCOREBOARD_SCORE_LENGTH_1_7
             );
             addLine(p, values[1], values[0], values[2]);
@@ -132,8 +132,8 @@ public abstract class ScoreboardLine extends RefreshableFeature implements Line,
         );
         p.getScoreboard().registerTeam(
                 teamName,
-                parent.getManager().getCache().get(prefix),
-                parent.getManager().getCache().get(suffix),
+                TAB.getInstance().getComponentCache().get(prefix),
+                TAB.getInstance().getComponentCache().get(suffix),
                 Scoreboard.NameVisibility.NEVER,
                 Scoreboard.CollisionRule.NEVER,
                 Collections.singletonList(fakePlayer),
@@ -242,8 +242,8 @@ public abstract class ScoreboardLine extends RefreshableFeature implements Line,
     protected void updateTeam(@NotNull TabPlayer player, @NotNull String prefix, @NotNull String suffix) {
         player.getScoreboard().updateTeam(
                 teamName,
-                parent.getManager().getCache().get(prefix),
-                parent.getManager().getCache().get(suffix),
+                TAB.getInstance().getComponentCache().get(prefix),
+                TAB.getInstance().getComponentCache().get(suffix),
                 TextColor.RESET
         );
     }
@@ -258,6 +258,11 @@ public abstract class ScoreboardLine extends RefreshableFeature implements Line,
         shownPlayers.remove(player);
     }
 
+    @Override
+    public boolean isDisplayedFor(@NotNull TabPlayer player) {
+        return player.scoreboardData.activeScoreboard == parent;
+    }
+
     @Override
     @NotNull
     public ThreadExecutor getCustomThread() {
@@ -75,7 +75,7 @@ public class StableDynamicLine extends ScoreboardLine {
         if (!scoreProperty.update() && !force) return EMPTY_ARRAY;
         String replaced = scoreProperty.get();
         if (!p.getVersion().supportsRGB()) {
-            replaced = parent.getManager().getCache().get(replaced).toLegacyText(); //converting RGB to legacy here to avoid splitting in the middle of RGB code
+            replaced = TAB.getInstance().getComponentCache().get(replaced).toLegacyText(); //converting RGB to legacy here to avoid splitting in the middle of RGB code
         }
         String[] split = split(p, replaced);
         if (!replaced.isEmpty()) {
@@ -119,7 +119,7 @@ public class StableDynamicLine extends ScoreboardLine {
                 suffix.insert(0, '§');
             }
             String prefixString = prefix.toString();
-            suffix.insert(0, getLastColors(parent.getManager().getCache().get(prefixString).toLegacyText()));
+            suffix.insert(0, getLastColors(TAB.getInstance().getComponentCache().get(prefixString).toLegacyText()));
             return new String[] {prefixString, suffix.toString()};
         } else {
             return new String[] {text, ""};
@@ -65,6 +65,7 @@ public class DisableChecker extends RefreshableFeature {
             if (disabledNow == value.get()) return; // Condition result did not change, only placeholders inside
             value.set(disabledNow);
             action.accept(refreshed, disabledNow);
+            TAB.getInstance().getFeatureManager().onDisplayChange(refreshed);
         };
         if (feature instanceof CustomThreaded) {
             ((CustomThreaded) feature).getCustomThread().execute(new TimedCaughtTask(TAB.getInstance().getCpu(), r,
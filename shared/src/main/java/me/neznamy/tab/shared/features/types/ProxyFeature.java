@@ -9,11 +9,6 @@ import org.jetbrains.annotations.NotNull;
  */
 public interface ProxyFeature {
 
-    /**
-     * Called when another proxy is reloaded to request all data again.
-     */
-    default void onProxyLoadRequest() {}
-
     /**
      * Called when a player joins another proxy.
      *
@@ -29,6 +29,20 @@ public abstract class RefreshableFeature extends TabFeature {
      */
     public abstract void refresh(@NotNull TabPlayer refreshed, boolean force);
 
+    /**
+     * Returns {@code true} if values of placeholders used by this feature are currently
+     * displayed for given player, {@code false} if not, such as when the feature is
+     * disabled for the player. Placeholders only used by features which return
+     * {@code false} are not refreshed on backend server for the player.
+     *
+     * @param   player
+     *          Player to check
+     * @return  {@code true} if placeholder values of the player are displayed, {@code false} if not
+     */
+    public boolean isDisplayedFor(@NotNull TabPlayer player) {
+        return true;
+    }
+
     /**
      * Registers this feature as one using specified placeholders
      *
@@ -1,5 +1,6 @@
 package me.neznamy.tab.shared.hook;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import me.neznamy.tab.shared.TAB;
@@ -8,10 +9,20 @@ import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 import net.luckperms.api.LuckPermsProvider;
 import net.luckperms.api.cacheddata.CachedMetaData;
+import net.luckperms.api.event.EventBus;
+import net.luckperms.api.event.EventSubscription;
+import net.luckperms.api.event.context.ContextUpdateEvent;
+import net.luckperms.api.event.group.GroupDataRecalculateEvent;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
 import net.luckperms.api.model.group.Group;
 import net.luckperms.api.query.QueryOptions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -36,6 +47,49 @@ public class LuckPermsHook {
         return p.luckPermsUser.getPrimaryGroup();
     };
 
+    /** Active subscriptions to LuckPerms events */
+    @Getter(AccessLevel.NONE)
+    private final List<EventSubscription<?>> subscriptions = new ArrayList<>();
+
+    /**
+     * Subscribes to LuckPerms events which may change group or permissions of players.
+     * Given listener is called from LuckPerms thread with the affected player or with
+     * {@code null} if data of all players might have changed (a group was modified).
+     *
+     * @param   listener
+     *          Listener to call when permission data changes
+     */
+    public synchronized void subscribeToDataChanges(@NotNull Consumer<TabPlayer> listener) {
+        EventBus bus = LuckPermsProvider.get().getEventBus();
+        subscriptions.add(bus.subscribe(UserDataRecalculateEvent.class, e -> {
+            TabPlayer player = TAB.getInstance().getPlayer(e.getUser().getUniqueId());
+            if (player != null) listener.accept(player);
+        }));
+        subscriptions.add(bus.subscribe(GroupDataRecalculateEvent.class, e -> listener.accept(null)));
+        subscriptions.add(bus.subscribe(ContextUpdateEvent.class, e -> {
+            TabPlayer player = getPlayer(e.getSubject());
+            if (player != null) listener.accept(player);
+        }));
+    }
+
+    /**
+     * Cancels all subscriptions created by {@link #subscribeToDataChanges(Consumer)}.
+     */
+    public synchronized void unsubscribeFromDataChanges() {
+        for (EventSubscription<?> subscription : subscriptions) {
+            subscription.close();
+        }
+        subscriptions.clear();
+    }
+
+    @Nullable
+    private TabPlayer getPlayer(@NotNull Object platformPlayer) {
+        for (TabPlayer player : TAB.getInstance().getOnlinePlayers()) {
+            if (player.getPlayer() == platformPlayer) return player;
+        }
+        return null;
+    }
+
     /**
      * Returns player's prefix configured in LuckPerms
      *
@@ -0,0 +1,57 @@
+package me.neznamy.tab.shared.placeholders;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Last known values of player placeholders of a single player, indexed by placeholder ID
+ * instead of being stored in a map. Reads are lock-free, writes are synchronized to
+ * prevent losing values written while the array is being resized.
+ */
+public class PlaceholderValueArray {
+
+    /** Initial capacity of the array */
+    private static final int INITIAL_CAPACITY = 32;
+
+    /** Values indexed by placeholder ID, {@code null} if value is not known */
+    @NotNull
+    private volatile AtomicReferenceArray<String> values = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+    /**
+     * Returns last known value of placeholder with given ID or {@code null} if not known.
+     *
+     * @param   id
+     *          Placeholder ID
+     * @return  Last known value or {@code null} if not known
+     */
+    @Nullable
+    public String get(int id) {
+        AtomicReferenceArray<String> values = this.values;
+        return id < values.length() ? values.get(id) : null;
+    }
+
+    /**
+     * Sets value of placeholder with given ID and returns previous value.
+     *
+     * @param   id
+     *          Placeholder ID
+     * @param   value
+     *          New value, {@code null} to forget the value
+     * @return  Previous value or {@code null} if not known
+     */
+    @Nullable
+    public synchronized String put(int id, @Nullable String value) {
+        AtomicReferenceArray<String> values = this.values;
+        if (id >= values.length()) {
+            if (value == null) return null;
+            AtomicReferenceArray<String> grown = new AtomicReferenceArray<>(Math.max(id + 1, values.length() * 2));
+            for (int i = 0; i < values.length(); i++) {
+                grown.set(i, values.get(i));
+            }
+            this.values = values = grown;
+        }
+        return values.getAndSet(id, value);
+    }
+}
@@ -22,6 +22,7 @@ public class PlaceholdersConfiguration {
     @NotNull private final SimpleDateFormat timeFormat;
     private final double timeOffset;
     private final boolean registerTabExpansion;
+    private final int syncPlaceholderBudget;
 
     /**
      * Returns instance of this class created from given configuration section. If there are
@@ -34,13 +35,20 @@ public class PlaceholdersConfiguration {
     @NotNull
     public static PlaceholdersConfiguration fromSection(@NotNull ConfigurationSection section) {
         // Check keys
-        section.checkForUnknownKey(Arrays.asList("date-format", "time-format", "time-offset", "register-tab-expansion"));
+        section.checkForUnknownKey(Arrays.asList("date-format", "time-format", "time-offset", "register-tab-expansion", "sync-placeholder-budget"));
+
+        int syncPlaceholderBudget = section.getInt("sync-placeholder-budget", 5);
+        if (syncPlaceholderBudget < 1) {
+            section.startupWarn("Sync placeholder budget is set to " + syncPlaceholderBudget + ", but it must be at least 1 millisecond. Using 1.");
+            syncPlaceholderBudget = 1;
+        }
 
         return new PlaceholdersConfiguration(
                 parseDateFormat(section.getString("date-format", "dd.MM.yyyy"), "dd.MM.yyyy"),
                 parseDateFormat(section.getString("time-format", "[HH:mm:ss / h:mm a]"), "[HH:mm:ss / h:mm a]"),
                 section.getNumber("time-offset", 0).doubleValue(),
-                section.getBoolean("register-tab-expansion", false)
+                section.getBoolean("register-tab-expansion", false),
+                syncPlaceholderBudget
         );
     }
 
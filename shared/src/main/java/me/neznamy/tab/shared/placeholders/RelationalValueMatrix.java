@@ -0,0 +1,133 @@
+package me.neznamy.tab.shared.placeholders;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Last known values of a relational placeholder for all viewer-target pairs, stored as
+ * a dense matrix indexed by player slots (see {@link me.neznamy.tab.shared.platform.TabPlayer#slot}).
+ * Rows are viewers, columns are targets. Reads are lock-free. Writes are synchronized, which is
+ * uncontended in practice, because values are written almost exclusively by the placeholder
+ * refreshing thread, while also preventing writes from getting lost when the matrix grows.
+ */
+public class RelationalValueMatrix {
+
+    /** Initial number of rows and columns */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Rows indexed by viewer slot, row is {@code null} if viewer has no values */
+    @NotNull
+    private volatile AtomicReferenceArray<AtomicReferenceArray<String>> rows = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+    /**
+     * Returns last known value for given viewer and target slots or {@code null} if not known.
+     *
+     * @param   viewer
+     *          Slot of the viewer
+     * @param   target
+     *          Slot of the target
+     * @return  Last known value or {@code null} if not known
+     */
+    @Nullable
+    public String get(int viewer, int target) {
+        if (viewer < 0 || target < 0) return null;
+        AtomicReferenceArray<AtomicReferenceArray<String>> rows = this.rows;
+        if (viewer >= rows.length()) return null;
+        AtomicReferenceArray<String> row = rows.get(viewer);
+        if (row == null || target >= row.length()) return null;
+        return row.get(target);
+    }
+
+    /**
+     * Sets value for given viewer and target slots. If any of the slots is invalid
+     * (player is no longer online), nothing happens.
+     *
+     * @param   viewer
+     *          Slot of the viewer
+     * @param   target
+     *          Slot of the target
+     * @param   value
+     *          New value
+     */
+    public synchronized void put(int viewer, int target, @NotNull String value) {
+        if (viewer < 0 || target < 0) return;
+        row(viewer, target).set(target, value);
+    }
+
+    /**
+     * Sets value for given viewer and target slots if no value is set yet and returns the
+     * value now present. If any of the slots is invalid, the value is not stored.
+     *
+     * @param   viewer
+     *          Slot of the viewer
+     * @param   target
+     *          Slot of the target
+     * @param   value
+     *          Value to set if not present
+     * @return  Value present after this call
+     */
+    @NotNull
+    public synchronized String putIfAbsent(int viewer, int target, @NotNull String value) {
+        if (viewer < 0 || target < 0) return value;
+        AtomicReferenceArray<String> row = row(viewer, target);
+        String current = row.get(target);
+        if (current != null) return current;
+        row.set(target, value);
+        return value;
+    }
+
+    /**
+     * Removes all values where player with given slot is either viewer or target.
+     *
+     * @param   slot
+     *          Slot of the player
+     */
+    public synchronized void clear(int slot) {
+        AtomicReferenceArray<AtomicReferenceArray<String>> rows = this.rows;
+        if (slot < 0 || slot >= rows.length()) return;
+        rows.set(slot, null);
+        for (int i = 0; i < rows.length(); i++) {
+            AtomicReferenceArray<String> row = rows.get(i);
+            if (row != null && slot < row.length()) row.set(slot, null);
+        }
+    }
+
+    /**
+     * Returns row of given viewer, making sure it exists and has enough columns for given target.
+     * Must be called while holding the lock.
+     *
+     * @param   viewer
+     *          Slot of the viewer
+     * @param   target
+     *          Slot of the target
+     * @return  Row of the viewer
+     */
+    @NotNull
+    private AtomicReferenceArray<String> row(int viewer, int target) {
+        AtomicReferenceArray<AtomicReferenceArray<String>> rows = this.rows;
+        int required = Math.max(viewer, target) + 1;
+        if (required > rows.length()) {
+            int capacity = rows.length();
+            while (capacity < required) capacity *= 2;
+            AtomicReferenceArray<AtomicReferenceArray<String>> grown = new AtomicReferenceArray<>(capacity);
+            for (int i = 0; i < rows.length(); i++) {
+                grown.set(i, rows.get(i));
+            }
+            this.rows = rows = grown;
+        }
+        AtomicReferenceArray<String> row = rows.get(viewer);
+        if (row == null) {
+            row = new AtomicReferenceArray<>(rows.length());
+            rows.set(viewer, row);
+        } else if (target >= row.length()) {
+            AtomicReferenceArray<String> grown = new AtomicReferenceArray<>(rows.length());
+            for (int i = 0; i < row.length(); i++) {
+                grown.set(i, row.get(i));
+            }
+            rows.set(viewer, row = grown);
+        }
+        return row;
+    }
+}
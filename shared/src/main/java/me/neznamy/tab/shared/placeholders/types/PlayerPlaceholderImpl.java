@@ -106,7 +106,8 @@ public class PlayerPlaceholderImpl extends TabPlaceholder implements PlayerPlace
         if (value == null) return false; //bridge placeholders, they are updated using updateValue method
         if (ERROR_VALUE.equals(value)) return false;
         String newValue = replacements.findReplacement(setPlaceholders(value, p));
-        String lastValue = p.lastPlaceholderValues.put(this, newValue);
+        String lastValue = p.lastPlaceholderValues.put(id, newValue);
+        if (lastValue == newValue) return false;
         if (lastValue == null || (!identifier.equals(newValue) && !newValue.equals(lastValue))) {
             if (updateParents) updateParents(p);
             TAB.getInstance().getPlaceholderManager().getTabExpansion().setPlaceholderValue(p, identifier, newValue);
@@ -123,19 +124,20 @@ public class PlayerPlaceholderImpl extends TabPlaceholder implements PlayerPlace
     @NotNull
     public synchronized String getLastValue(@Nullable TabPlayer p) {
         if (p == null) return identifier;
-        String value = p.lastPlaceholderValues.get(this);
+        String value = p.lastPlaceholderValues.get(id);
         if (value != null) return value;
 
         // Value not present, initialize
-        p.lastPlaceholderValues.put(this, replacements.findReplacement(identifier));
+        p.lastPlaceholderValues.put(id, replacements.findReplacement(identifier));
         hasValueChanged(p, request(p), false);
-        return p.lastPlaceholderValues.get(this);
+        return p.lastPlaceholderValues.get(id);
     }
 
     @Override
     @NotNull
     public String getLastValueSafe(@NotNull TabPlayer player) {
-        return player.lastPlaceholderValues.getOrDefault(this, identifier);
+        String value = player.lastPlaceholderValues.get(id);
+        return value == null ? identifier : value;
     }
 
     /**
@@ -1,15 +1,13 @@
 package me.neznamy.tab.shared.placeholders.types;
 
-import java.util.Collections;
-import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
 import java.util.function.BiFunction;
 
 import lombok.NonNull;
 import me.neznamy.tab.shared.cpu.TimedCaughtTask;
 import me.neznamy.tab.shared.features.types.CustomThreaded;
 import me.neznamy.tab.shared.features.types.RefreshableFeature;
+import me.neznamy.tab.shared.placeholders.RelationalValueMatrix;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.chat.EnumChatFormat;
 import me.neznamy.tab.api.placeholder.RelationalPlaceholder;
@@ -26,6 +24,9 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
     /** Placeholder function returning fresh output on request */
     @NonNull private final BiFunction<me.neznamy.tab.api.TabPlayer, me.neznamy.tab.api.TabPlayer, String> function;
 
+    /** Last known values for each viewer-target pair after applying replacements */
+    @NonNull private final RelationalValueMatrix values = new RelationalValueMatrix();
+
     /**
      * Constructs new instance with given parameters
      *
@@ -78,9 +79,9 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
     public boolean hasValueChanged(@NonNull TabPlayer viewer, @NonNull TabPlayer target, @Nullable String value) {
         if (value == null) return false; //bridge placeholders, they are updated using updateValue method
         String newValue = replacements.findReplacement(value);
-        Map<TabPlayer, String> viewerMap = viewer.lastRelationalValues.computeIfAbsent(this, v -> Collections.synchronizedMap(new WeakHashMap<>()));
-        if (!viewerMap.getOrDefault(target, identifier).equals(newValue)) {
-            viewerMap.put(target, newValue);
+        String lastValue = values.get(viewer.slot, target.slot);
+        if (lastValue != newValue && !(lastValue == null ? identifier : lastValue).equals(newValue)) {
+            values.put(viewer.slot, target.slot, newValue);
             updateParents(viewer);
             updateParents(target);
             return true;
@@ -94,7 +95,7 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
         for (TabPlayer target : TAB.getInstance().getOnlinePlayers()) {
             String value = request(viewer, target);
             String s = replacements.findReplacement(String.valueOf(value));
-            viewer.lastRelationalValues.computeIfAbsent(this, v -> Collections.synchronizedMap(new WeakHashMap<>())).put(target, s);
+            values.put(viewer.slot, target.slot, s);
             if (!target.isLoaded()) return; // Updated on join
             for (RefreshableFeature f : usage) {
                 TimedCaughtTask task = new TimedCaughtTask(TAB.getInstance().getCpu(), () -> f.refresh(target, true),
@@ -131,13 +132,19 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
      * @return  last known value for entered player duo
      */
     public String getLastValue(@NonNull TabPlayer viewer, @NonNull TabPlayer target) {
-        return setPlaceholders(
-                EnumChatFormat.color(
-                        viewer.lastRelationalValues.computeIfAbsent(this, v -> Collections.synchronizedMap(new WeakHashMap<>()))
-                                .computeIfAbsent(target, t -> retrieveValue(viewer, target))
-                ),
-                target
-        );
+        String value = values.get(viewer.slot, target.slot);
+        if (value == null) value = values.putIfAbsent(viewer.slot, target.slot, retrieveValue(viewer, target));
+        return setPlaceholders(EnumChatFormat.color(value), target);
+    }
+
+    /**
+     * Forgets all values where player with given slot is either viewer or target.
+     *
+     * @param   slot
+     *          Slot of player who left
+     */
+    public void clearValues(int slot) {
+        values.clear(slot);
     }
 
     @NotNull
@@ -1,10 +1,13 @@
 package me.neznamy.tab.shared.placeholders.types;
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import lombok.Getter;
 import lombok.NonNull;
 import me.neznamy.tab.shared.cpu.TimedCaughtTask;
+import me.neznamy.tab.shared.features.PlaceholderManagerImpl;
 import me.neznamy.tab.shared.features.types.CustomThreaded;
 import me.neznamy.tab.shared.features.types.RefreshableFeature;
 import me.neznamy.tab.shared.platform.TabPlayer;
@@ -121,4 +124,33 @@ public class ServerPlaceholderImpl extends TabPlaceholder implements ServerPlace
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns {@code true} if output of this placeholder is the same for all players, which is
+     * when all placeholders nested in its current output and in outputs of its replacements
+     * are server placeholders with the same property as well.
+     *
+     * @return  {@code true} if output is the same for all players, {@code false} if not
+     */
+    public boolean isServerOnly() {
+        return isServerOnly(new HashSet<>());
+    }
+
+    private boolean isServerOnly(@NotNull Set<String> checked) {
+        if (!checked.add(identifier)) return true;
+        for (String nested : replacements.getNestedPlaceholders()) {
+            if (!isServerOnly(nested, checked)) return false;
+        }
+        for (String nested : PlaceholderManagerImpl.detectPlaceholders(lastValue)) {
+            if (!isServerOnly(nested, checked)) return false;
+        }
+        return true;
+    }
+
+    private boolean isServerOnly(@NotNull String nested, @NotNull Set<String> checked) {
+        if (nested.equals(identifier) || (identifier.startsWith("%sync:") && ("%" + identifier.substring(6)).equals(nested))) return true;
+        if (nested.startsWith("%rel_")) return false;
+        TabPlaceholder placeholder = TAB.getInstance().getPlaceholderManager().getPlaceholder(nested);
+        return placeholder instanceof ServerPlaceholderImpl && ((ServerPlaceholderImpl) placeholder).isServerOnly(checked);
+    }
+}
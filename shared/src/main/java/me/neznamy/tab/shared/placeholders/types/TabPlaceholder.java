@@ -33,6 +33,9 @@ public abstract class TabPlaceholder implements Placeholder {
     /** Placeholder's identifier including % */
     @NonNull protected final String identifier;
 
+    /** Stable ID of this placeholder's identifier, used as index into arrays of per-player values */
+    protected final int id;
+
     /** Configured placeholder output replacements */
     @NonNull protected final PlaceholderReplacementPattern replacements;
 
@@ -59,6 +62,7 @@ public abstract class TabPlaceholder implements Placeholder {
             throw new IllegalArgumentException("Identifier must start and end with % (attempted to use \"" + identifier + "\")");
         this.identifier = identifier;
         this.refresh = refresh;
+        id = TAB.getInstance().getPlaceholderManager().getPlaceholderId(identifier);
         Map<Object, Object> map = TAB.getInstance().getConfiguration().getConfig().getReplacements().getValues().get(identifier);
         replacements = map == null ? PlaceholderReplacementPattern.EMPTY : PlaceholderReplacementPattern.create(identifier, map);
         for (String nested : replacements.getNestedPlaceholders()) {
@@ -6,11 +6,11 @@ import lombok.Setter;
 import me.neznamy.chat.component.TabComponent;
 import me.neznamy.tab.api.integration.VanishIntegration;
 import me.neznamy.tab.api.placeholder.PlayerPlaceholder;
-import me.neznamy.tab.api.placeholder.RelationalPlaceholder;
 import me.neznamy.tab.shared.Property;
 import me.neznamy.tab.shared.ProtocolVersion;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.config.PropertyValue;
 import me.neznamy.tab.shared.event.impl.PlayerLoadEventImpl;
 import me.neznamy.tab.shared.features.NickCompatibility;
 import me.neznamy.tab.shared.features.belowname.BelowNamePlayerData;
@@ -25,13 +25,13 @@ import me.neznamy.tab.shared.features.scoreboard.ScoreboardManagerImpl;
 import me.neznamy.tab.shared.features.sorting.Sorting;
 import me.neznamy.tab.shared.features.types.RefreshableFeature;
 import me.neznamy.tab.shared.hook.FloodgateHook;
+import me.neznamy.tab.shared.placeholders.PlaceholderValueArray;
 import net.luckperms.api.model.user.User;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Abstract class storing common variables and functions for player,
@@ -54,6 +54,9 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
     /** Player's unique ID */
     @Getter private final UUID uniqueId;
 
+    /** Player's unique ID as string for looking up per-user settings */
+    private final String uniqueIdString;
+
     /** Player's tablist UUID */
     @Getter private final UUID tablistId;
 
@@ -127,10 +130,14 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
     @Nullable public User luckPermsUser;
 
     /** Last known values for each player placeholder after applying replacements and nested placeholders */
-    public final Map<PlayerPlaceholder, String> lastPlaceholderValues = new ConcurrentHashMap<>();
+    public final PlaceholderValueArray lastPlaceholderValues = new PlaceholderValueArray();
 
-    /** Last known values for each relational placeholder after applying replacements and nested placeholders */
-    public final Map<RelationalPlaceholder, Map<TabPlayer, String>> lastRelationalValues = new ConcurrentHashMap<>();
+    /**
+     * Index of this player among online players, used as row and column in relational placeholder
+     * value matrices. Assigned when player is added to online players and reused by another player
+     * after this one leaves. {@code -1} if player is not online.
+     */
+    public volatile int slot = -1;
 
     /** Player's scoreboard */
     @Getter
@@ -170,6 +177,7 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
         this.platform = platform;
         this.player = player;
         this.uniqueId = uniqueId;
+        uniqueIdString = uniqueId.toString();
         this.name = name;
         this.server = server;
         this.world = world;
@@ -262,15 +270,9 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
      * @return  {@code true} if value did not exist or changed, {@code false} otherwise
      */
     public Property loadPropertyFromConfig(@Nullable RefreshableFeature feature, @NotNull String property, @NotNull String ifNotSet) {
-        String[] value = TAB.getInstance().getConfiguration().getUsers().getProperty(name, property, server, world);
-        if (value.length == 0) {
-            value = TAB.getInstance().getConfiguration().getUsers().getProperty(uniqueId.toString(), property, server, world);
-        }
-        if (value.length == 0) {
-            value = TAB.getInstance().getConfiguration().getGroups().getProperty(getGroup(), property, server, world);
-        }
-        if (value.length > 0) {
-            return new Property(property, feature, this, value[0], value[1]);
+        PropertyValue value = findPropertyInConfig(property);
+        if (value != null) {
+            return new Property(property, feature, this, value.getValue(), value);
         }
         return new Property(property, feature, this, ifNotSet, "None");
     }
@@ -286,17 +288,31 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
      * @return  {@code true} if value did not exist or changed, {@code false} otherwise
      */
     public boolean updatePropertyFromConfig(@NotNull Property property, @NotNull String ifNotSet) {
-        String[] value = TAB.getInstance().getConfiguration().getUsers().getProperty(name, property.getName(), server, world);
-        if (value.length == 0) {
-            value = TAB.getInstance().getConfiguration().getUsers().getProperty(uniqueId.toString(), property.getName(), server, world);
+        PropertyValue value = findPropertyInConfig(property.getName());
+        if (value != null) {
+            return property.changeRawValue(value.getValue(), value);
         }
-        if (value.length == 0) {
-            value = TAB.getInstance().getConfiguration().getGroups().getProperty(getGroup(), property.getName(), server, world);
+        return property.changeRawValue(ifNotSet, "None");
+    }
+
+    /**
+     * Finds value of property in config, checking user settings by name, then by UUID
+     * and then group settings. Returns {@code null} if the property is not set.
+     *
+     * @param   property
+     *          Property name to find
+     * @return  Configured value or {@code null} if not set
+     */
+    @Nullable
+    public PropertyValue findPropertyInConfig(@NotNull String property) {
+        PropertyValue value = TAB.getInstance().getConfiguration().getUsers().findProperty(name, property, server, world);
+        if (value == null) {
+            value = TAB.getInstance().getConfiguration().getUsers().findProperty(uniqueIdString, property, server, world);
         }
-        if (value.length > 0) {
-            return property.changeRawValue(value[0], value[1]);
+        if (value == null) {
+            value = TAB.getInstance().getConfiguration().getGroups().findProperty(getGroup(), property, server, world);
         }
-        return property.changeRawValue(ifNotSet, "None");
+        return value;
     }
 
     /**
@@ -0,0 +1,50 @@
+package me.neznamy.tab.shared.proxy;
+
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants.CpuUsageCategory;
+import me.neznamy.tab.shared.features.types.TabFeature;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Feature updating bridge placeholder subscriptions of players when features displaying
+ * placeholders get enabled or disabled for them (disable condition changes, scoreboard
+ * changes, newly used placeholders), so backend servers only refresh placeholders which
+ * are actually displayed.
+ */
+public class BridgeSubscriptionRefresher extends TabFeature {
+
+    /**
+     * Processes a change which may have changed placeholders displayed for the player.
+     * The update is queued into processing thread and multiple changes queued before it
+     * runs are merged into a single update.
+     *
+     * @param   player
+     *          Player whose displayed placeholders may have changed
+     */
+    public void onDisplayChange(@NotNull TabPlayer player) {
+        ProxyTabPlayer proxyPlayer = (ProxyTabPlayer) player;
+        // Not connected players get current subscriptions once bridge responds to join
+        if (!proxyPlayer.isBridgeConnected()) return;
+        if (!proxyPlayer.getBridgeSubscriptionUpdateQueued().compareAndSet(false, true)) return;
+        TAB.getInstance().getCpu().runMeasuredTask(getFeatureName(), CpuUsageCategory.BRIDGE_SUBSCRIPTION_UPDATE, () -> {
+            proxyPlayer.getBridgeSubscriptionUpdateQueued().set(false);
+            if (proxyPlayer.isOnline() && proxyPlayer.isBridgeConnected()) proxyPlayer.updateBridgeSubscriptions();
+        });
+    }
+
+    /**
+     * Processes a change which may have changed placeholders displayed for all players.
+     */
+    public void onDisplayChange() {
+        for (TabPlayer player : TAB.getInstance().getOnlinePlayers()) {
+            onDisplayChange(player);
+        }
+    }
+
+    @NotNull
+    @Override
+    public String getFeatureName() {
+        return "Bridge subscriptions";
+    }
+}
@@ -13,7 +13,6 @@ import me.neznamy.tab.shared.placeholders.UniversalPlaceholderRegistry;
 import me.neznamy.tab.shared.placeholders.expansion.TabExpansion;
 import me.neznamy.tab.shared.platform.Platform;
 import me.neznamy.tab.shared.platform.TabPlayer;
-import me.neznamy.tab.shared.proxy.message.outgoing.RegisterPlaceholder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -44,7 +43,7 @@ public abstract class ProxyPlatform implements Platform {
             placeholder = pl.registerBridgePlaceholder(identifier, refresh);
         }
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            ((ProxyTabPlayer)all).sendPluginMessage(new RegisterPlaceholder(placeholder.getIdentifier(), refresh));
+            ((ProxyTabPlayer)all).registerBridgePlaceholder(placeholder.getIdentifier(), refresh);
         }
     }
 
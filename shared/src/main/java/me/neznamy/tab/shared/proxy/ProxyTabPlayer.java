@@ -1,6 +1,8 @@
 package me.neznamy.tab.shared.proxy;
 
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import me.neznamy.tab.api.integration.VanishIntegration;
 import me.neznamy.tab.api.placeholder.PlayerPlaceholder;
@@ -11,13 +13,15 @@ import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.proxy.message.outgoing.OutgoingMessage;
 import me.neznamy.tab.shared.proxy.message.outgoing.PermissionRequest;
+import me.neznamy.tab.shared.proxy.message.outgoing.PlaceholderSubscriptions;
 import me.neznamy.tab.shared.proxy.message.outgoing.PlayerJoin;
+import me.neznamy.tab.shared.proxy.message.outgoing.RegisterPlaceholder;
 import me.neznamy.tab.shared.task.PluginMessageEncodeTask;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Abstract class for player on proxy containing variables and methods
@@ -41,11 +45,49 @@ public abstract class ProxyTabPlayer extends TabPlayer {
     /** Flag for marking if this player has received join response from bridge or not */
     private boolean bridgeConnected;
 
+    /**
+     * Flag tracking whether bridge on current server confirmed support for batched permission
+     * requests in its join response. Until then, permissions are requested one by one.
+     */
+    private volatile boolean batchedPermissions;
+
     /** Player's gamemode */
     private int gamemode;
 
-    /** Map of player's requested permissions */
-    private final Map<String, Boolean> permissions = new HashMap<>();
+    /** Permission values received from bridge mapped by permission node */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<String, CachedPermission> permissions = new ConcurrentHashMap<>();
+
+    /** Permissions requested from bridge which were not answered yet, mapped to time of the request */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<String, Long> requestedPermissions = new ConcurrentHashMap<>();
+
+    /** Permissions waiting to be sent to bridge in the next batched request */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Set<String> queuedPermissionRequests = new LinkedHashSet<>();
+
+    /**
+     * Bridge placeholder identifiers indexed by their numeric ID, which bridge uses in
+     * batched placeholder updates. IDs are assigned in the order placeholders were sent
+     * in join message, followed by placeholders registered later.
+     */
+    @NotNull
+    @Setter(AccessLevel.NONE)
+    private volatile List<String> bridgePlaceholderIds = Collections.emptyList();
+
+    /** Bridge placeholders bridge refreshes for this player, mapped to their refresh intervals */
+    @NotNull
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<String, Integer> bridgeSubscriptions = Collections.emptyMap();
+
+    /** Flag tracking whether subscription update is already queued to merge multiple changes into one update */
+    @NotNull
+    @Setter(AccessLevel.NONE)
+    private final AtomicBoolean bridgeSubscriptionUpdateQueued = new AtomicBoolean();
 
     /**
      * Constructs new instance with given parameters and sends a message
@@ -74,12 +116,21 @@ public abstract class ProxyTabPlayer extends TabPlayer {
      * Sends plugin message to backend server that this player has
      * joined, containing all plugin configuration data.
      */
-    public void sendJoinPluginMessage() {
+    public synchronized void sendJoinPluginMessage() {
         bridgeConnected = false; // Reset on server switch
+        batchedPermissions = false; // New server may run an older bridge
+        // Permissions may be different on the new server, keep using old values until new ones arrive
+        permissions.replaceAll((permission, cached) -> new CachedPermission(cached.value, 0));
+        requestedPermissions.clear();
+        Map<String, Integer> placeholders = new LinkedHashMap<>(TAB.getInstance().getPlaceholderManager().getBridgePlaceholders());
+        bridgePlaceholderIds = new ArrayList<>(placeholders.keySet());
+        bridgeSubscriptions = TAB.getInstance().getPlaceholderManager().getDisplayedBridgePlaceholders(this);
+        bridgeSubscriptions.keySet().retainAll(placeholders.keySet());
         sendPluginMessage(new PlayerJoin(
                 TAB.getInstance().getGroupManager().getPermissionPlugin().contains("Vault") &&
                     !TAB.getInstance().getConfiguration().getConfig().isGroupsByPermissions(),
-                TAB.getInstance().getPlaceholderManager().getBridgePlaceholders(),
+                placeholders,
+                bridgeSubscriptions.keySet(),
                 TAB.getInstance().getConfiguration().getConfig().getReplacements().getValues()
         ));
         TabExpansion expansion = TAB.getInstance().getPlaceholderManager().getTabExpansion();
@@ -89,6 +140,56 @@ public abstract class ProxyTabPlayer extends TabPlayer {
         bridgeRequestTime = System.currentTimeMillis();
     }
 
+    /**
+     * Sends newly registered bridge placeholder to backend server and assigns
+     * it the next placeholder ID.
+     *
+     * @param   identifier
+     *          Placeholder identifier
+     * @param   refresh
+     *          Placeholder refresh interval
+     */
+    public synchronized void registerBridgePlaceholder(@NotNull String identifier, int refresh) {
+        List<String> ids = new ArrayList<>(bridgePlaceholderIds);
+        ids.add(identifier);
+        bridgePlaceholderIds = ids;
+        Map<String, Integer> subscriptions = new HashMap<>(bridgeSubscriptions);
+        subscriptions.put(identifier, refresh); // Bridge refreshes newly registered placeholders
+        bridgeSubscriptions = subscriptions;
+        sendPluginMessage(new RegisterPlaceholder(identifier, refresh));
+    }
+
+    /**
+     * Compares bridge placeholders displayed for this player with placeholders bridge
+     * currently refreshes and sends the difference, including changed refresh intervals.
+     * Current values of newly subscribed placeholders are requested, since values
+     * stored on proxy were not updated while they were unsubscribed.
+     */
+    public synchronized void updateBridgeSubscriptions() {
+        Map<String, Integer> displayed = TAB.getInstance().getPlaceholderManager().getDisplayedBridgePlaceholders(this);
+        Map<String, Integer> subscriptions = new HashMap<>();
+        Map<Integer, Integer> subscribed = new HashMap<>();
+        List<Integer> unsubscribed = new ArrayList<>();
+        Set<Integer> valueRequests = new HashSet<>();
+        List<String> ids = bridgePlaceholderIds;
+        for (int id = 0; id < ids.size(); id++) {
+            String identifier = ids.get(id);
+            Integer refresh = displayed.get(identifier);
+            if (refresh != null) subscriptions.put(identifier, refresh);
+            Integer current = bridgeSubscriptions.get(identifier);
+            if (Objects.equals(refresh, current)) continue;
+            if (refresh == null) {
+                unsubscribed.add(id);
+            } else {
+                subscribed.put(id, refresh);
+                if (current == null) valueRequests.add(id);
+            }
+        }
+        if (subscribed.isEmpty() && unsubscribed.isEmpty()) return;
+        bridgeSubscriptions = subscriptions;
+        sendPluginMessage(new PlaceholderSubscriptions(subscribed, valueRequests, unsubscribed));
+    }
+
     /**
      * Sets permission presence status to provided value
      *
@@ -98,7 +199,42 @@ public abstract class ProxyTabPlayer extends TabPlayer {
      *          Permission value
      */
     public void setHasPermission(@NotNull String permission, boolean value) {
-        permissions.put(permission, value);
+        permissions.put(permission, new CachedPermission(value, System.currentTimeMillis()));
+        requestedPermissions.remove(permission);
+    }
+
+    /**
+     * Queues permission to be requested from bridge, unless it was already requested recently
+     * and the response did not arrive yet. If bridge supports batching, all permissions queued
+     * before the request is sent are requested in a single message, otherwise each permission
+     * is requested in a separate message.
+     *
+     * @param   permission
+     *          Permission to request
+     * @param   now
+     *          Current time in milliseconds
+     */
+    private void requestPermission(@NotNull String permission, long now) {
+        Long requestTime = requestedPermissions.get(permission);
+        if (requestTime != null && now - requestTime < TAB.getInstance().getConfiguration().getConfig().getBukkitPermissionsCacheTime()) return;
+        requestedPermissions.put(permission, now);
+        synchronized (queuedPermissionRequests) {
+            if (!queuedPermissionRequests.add(permission) || queuedPermissionRequests.size() > 1) return;
+        }
+        CpuManager.getPluginMessageEncodeThread().execute(() -> {
+            List<String> requests;
+            synchronized (queuedPermissionRequests) {
+                requests = new ArrayList<>(queuedPermissionRequests);
+                queuedPermissionRequests.clear();
+            }
+            if (batchedPermissions) {
+                sendPluginMessage(new PermissionRequest(requests));
+            } else {
+                for (String request : requests) {
+                    sendPluginMessage(new PermissionRequest(request));
+                }
+            }
+        });
     }
 
     /**
@@ -151,8 +287,12 @@ public abstract class ProxyTabPlayer extends TabPlayer {
     @Override
     public boolean hasPermission(@NotNull String permission) {
         if (TAB.getInstance().getConfiguration().getConfig().isBukkitPermissions()) {
-            sendPluginMessage(new PermissionRequest(permission));
-            return permissions != null && permissions.getOrDefault(permission, false);
+            CachedPermission cached = permissions.get(permission);
+            long now = System.currentTimeMillis();
+            if (cached == null || now - cached.time >= TAB.getInstance().getConfiguration().getConfig().getBukkitPermissionsCacheTime()) {
+                requestPermission(permission, now);
+            }
+            return cached != null && cached.value;
         }
         return hasPermission0(permission);
     }
@@ -177,4 +317,17 @@ public abstract class ProxyTabPlayer extends TabPlayer {
         }
         return vanished;
     }
-}
\ No newline at end of file
+
+    /**
+     * Permission value received from bridge.
+     */
+    @RequiredArgsConstructor
+    private static class CachedPermission {
+
+        /** Whether player has the permission or not */
+        private final boolean value;
+
+        /** Time when the value was received, 0 if it should be requested again on next check */
+        private final long time;
+    }
+}
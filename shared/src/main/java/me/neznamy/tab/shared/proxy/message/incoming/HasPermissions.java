@@ -0,0 +1,36 @@
+package me.neznamy.tab.shared.proxy.message.incoming;
+
+import com.google.common.io.ByteArrayDataInput;
+import me.neznamy.tab.shared.proxy.ProxyTabPlayer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Incoming plugin message notifying proxy about permission status of multiple
+ * permission nodes of a player, sent as a response to a batched permission request.
+ */
+public class HasPermissions implements IncomingMessage {
+
+    /** Permission nodes */
+    private String[] permissions;
+
+    /** Whether player has each permission or not */
+    private boolean[] values;
+
+    @Override
+    public void read(@NotNull ByteArrayDataInput in) {
+        int count = in.readInt();
+        permissions = new String[count];
+        values = new boolean[count];
+        for (int i=0; i<count; i++) {
+            permissions[i] = in.readUTF();
+            values[i] = in.readBoolean();
+        }
+    }
+
+    @Override
+    public void process(@NotNull ProxyTabPlayer player) {
+        for (int i=0; i<permissions.length; i++) {
+            player.setHasPermission(permissions[i], values[i]);
+        }
+    }
+}
@@ -19,6 +19,7 @@ public class PlayerJoinResponse implements IncomingMessage {
     private String group;
     private Map<String, Object> placeholders;
     private int gameMode;
+    private boolean batchedPermissions;
 
     @Override
     public void read(@NotNull ByteArrayDataInput in) {
@@ -43,6 +44,12 @@ public class PlayerJoinResponse implements IncomingMessage {
             }
         }
         gameMode = in.readInt();
+        try {
+            batchedPermissions = in.readBoolean();
+        } catch (IllegalStateException e) {
+            // Older bridge without batched permission support, message ends here
+            batchedPermissions = false;
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -88,6 +95,8 @@ public class PlayerJoinResponse implements IncomingMessage {
         }
         PlayerPlaceholderImpl.bulkUpdateValues(player, playerPlaceholderUpdates);
         player.setGamemode(gameMode);
+        player.setBatchedPermissions(batchedPermissions);
         player.setBridgeConnected(true);
+        player.updateBridgeSubscriptions();
     }
 }
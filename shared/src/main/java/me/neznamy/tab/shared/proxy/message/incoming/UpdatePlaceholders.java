@@ -0,0 +1,95 @@
+package me.neznamy.tab.shared.proxy.message.incoming;
+
+import com.google.common.io.ByteArrayDataInput;
+import me.neznamy.tab.api.placeholder.Placeholder;
+import me.neznamy.tab.api.placeholder.RelationalPlaceholder;
+import me.neznamy.tab.api.placeholder.ServerPlaceholder;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.placeholders.types.PlayerPlaceholderImpl;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import me.neznamy.tab.shared.proxy.ProxyTabPlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch of placeholder values which changed on backend server in the same tick.
+ * Placeholders are identified by numeric IDs negotiated in join message instead of
+ * sending full identifiers, see {@link ProxyTabPlayer#getBridgePlaceholderIds()}.
+ */
+public class UpdatePlaceholders implements IncomingMessage {
+
+    private int[] ids;
+    private String[] values;
+    private int[] relationalIds;
+    private String[] relationalTargets;
+    private String[] relationalValues;
+
+    @Override
+    public void read(@NotNull ByteArrayDataInput in) {
+        int count = in.readInt();
+        ids = new int[count];
+        values = new String[count];
+        for (int i=0; i<count; i++) {
+            ids[i] = in.readInt();
+            values[i] = in.readUTF();
+        }
+        int relationalCount = in.readInt();
+        relationalIds = new int[relationalCount];
+        relationalTargets = new String[relationalCount];
+        relationalValues = new String[relationalCount];
+        for (int i=0; i<relationalCount; i++) {
+            relationalIds[i] = in.readInt();
+            relationalTargets[i] = in.readUTF();
+            relationalValues[i] = in.readUTF();
+        }
+    }
+
+    @Override
+    public void process(@NotNull ProxyTabPlayer player) {
+        List<String> identifiers = player.getBridgePlaceholderIds();
+        Map<PlayerPlaceholderImpl, String> playerPlaceholderUpdates = new HashMap<>();
+        for (int i=0; i<ids.length; i++) {
+            Placeholder placeholder = getPlaceholder(identifiers, ids[i]);
+            if (placeholder instanceof PlayerPlaceholderImpl) {
+                playerPlaceholderUpdates.put((PlayerPlaceholderImpl) placeholder, values[i]);
+            } else if (placeholder instanceof ServerPlaceholder) {
+                ((ServerPlaceholder) placeholder).updateValue(values[i]);
+            }
+        }
+        PlayerPlaceholderImpl.bulkUpdateValues(player, playerPlaceholderUpdates);
+        for (int i=0; i<relationalIds.length; i++) {
+            Placeholder placeholder = getPlaceholder(identifiers, relationalIds[i]);
+            if (!(placeholder instanceof RelationalPlaceholder)) continue;
+            TabPlayer other = TAB.getInstance().getPlayer(relationalTargets[i]);
+            if (other != null) { // Backend player did not connect via this proxy if null
+                ((RelationalPlaceholder) placeholder).updateValue(player, other, relationalValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns bridge placeholder by its negotiated ID. Returns {@code null} if ID is unknown
+     * or placeholder was not registered with this reload.
+     *
+     * @param   identifiers
+     *          Placeholder identifiers by their IDs
+     * @param   id
+     *          Placeholder ID
+     * @return  Placeholder with given ID or {@code null} if not found
+     */
+    @Nullable
+    private Placeholder getPlaceholder(@NotNull List<String> identifiers, int id) {
+        if (id < 0 || id >= identifiers.size()) return null;
+        String identifier = identifiers.get(id);
+
+        // Ignore placeholders that were not registered with this reload
+        // (for example, a condition was used in config but not defined, but now it is defined).
+        // It is also in bridge memory, but bridge will not return the correct value, so ignore it.
+        if (!TAB.getInstance().getPlaceholderManager().getBridgePlaceholders().containsKey(identifier)) return null;
+        return TAB.getInstance().getPlaceholderManager().getPlaceholderRaw(identifier);
+    }
+}
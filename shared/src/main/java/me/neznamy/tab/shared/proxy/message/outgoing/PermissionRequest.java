@@ -5,18 +5,59 @@ import com.google.common.io.ByteStreams;
 import lombok.AllArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Request for permission status of permission nodes. Multiple nodes are requested
+ * at once and answered by bridge with a single batched response. Bridge versions
+ * without batching support only understand requests for a single node.
+ */
 @AllArgsConstructor
 @SuppressWarnings("UnstableApiUsage")
 public class PermissionRequest implements OutgoingMessage {
 
-    private String permission;
+    /** Permission nodes to check */
+    private Collection<String> permissions;
+
+    /** Whether to use the batched format or not */
+    private boolean batched;
+
+    /**
+     * Constructs new batched request for provided permission nodes.
+     *
+     * @param   permissions
+     *          Permission nodes to check
+     */
+    public PermissionRequest(@NotNull Collection<String> permissions) {
+        this(permissions, true);
+    }
+
+    /**
+     * Constructs new request for a single permission node,
+     * understood by all bridge versions.
+     *
+     * @param   permission
+     *          Permission node to check
+     */
+    public PermissionRequest(@NotNull String permission) {
+        this(Collections.singletonList(permission), false);
+    }
 
     @Override
     @NotNull
     public ByteArrayDataOutput write() {
         ByteArrayDataOutput out = ByteStreams.newDataOutput();
-        out.writeUTF("Permission");
-        out.writeUTF(permission);
+        if (!batched) {
+            out.writeUTF("Permission");
+            out.writeUTF(permissions.iterator().next());
+            return out;
+        }
+        out.writeUTF("Permissions");
+        out.writeInt(permissions.size());
+        for (String permission : permissions) {
+            out.writeUTF(permission);
+        }
         return out;
     }
 }
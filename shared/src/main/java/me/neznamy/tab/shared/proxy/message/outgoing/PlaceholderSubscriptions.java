@@ -0,0 +1,48 @@
+package me.neznamy.tab.shared.proxy.message.outgoing;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import lombok.AllArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Changes which placeholders bridge should refresh for the player. Placeholders are
+ * identified by IDs negotiated in {@link PlayerJoin}. Subscribing to an already subscribed
+ * placeholder changes its refresh interval. Placeholders with value requested should have
+ * their current value sent back right away instead of waiting for the next refresh.
+ */
+@AllArgsConstructor
+@SuppressWarnings("UnstableApiUsage")
+public class PlaceholderSubscriptions implements OutgoingMessage {
+
+    /** Placeholder IDs to start refreshing, mapped to their refresh intervals */
+    private Map<Integer, Integer> subscribed;
+
+    /** Subscribed placeholder IDs whose current value should be sent immediately */
+    private Set<Integer> valueRequests;
+
+    /** Placeholder IDs to stop refreshing */
+    private Collection<Integer> unsubscribed;
+
+    @Override
+    @NotNull
+    public ByteArrayDataOutput write() {
+        ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        out.writeUTF("Subscriptions");
+        out.writeInt(subscribed.size());
+        for (Map.Entry<Integer, Integer> entry : subscribed.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue());
+            out.writeBoolean(valueRequests.contains(entry.getKey()));
+        }
+        out.writeInt(unsubscribed.size());
+        for (int id : unsubscribed) {
+            out.writeInt(id);
+        }
+        return out;
+    }
+}
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import me.neznamy.chat.EnumChatFormat;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.Map;
 
 @AllArgsConstructor
@@ -14,6 +15,7 @@ public class PlayerJoin implements OutgoingMessage {
 
     private boolean forwardGroup;
     private Map<String, Integer> placeholders;
+    private Collection<String> subscribedPlaceholders;
     private Map<String, Map<Object, Object>> replacements;
 
     @Override
@@ -38,6 +40,14 @@ public class PlayerJoin implements OutgoingMessage {
             }
         }
         out.writeBoolean(false); // Deleted unlimited nametags
+        out.writeBoolean(true); // Batched placeholder updates using placeholder IDs (index in the placeholder list above)
+        out.writeInt(subscribedPlaceholders.size()); // Placeholders to refresh, others wait for a subscription
+        int id = 0;
+        for (String identifier : placeholders.keySet()) {
+            if (subscribedPlaceholders.contains(identifier)) out.writeInt(id);
+            id++;
+        }
+        out.writeBoolean(true); // Batched permission requests and responses
         return out;
     }
 }
@@ -7,28 +7,71 @@ import me.neznamy.tab.shared.cpu.TimedCaughtTask;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
- * Task for refreshing permission groups of players.
+ * Task for refreshing permission groups of players. Players whose group did not change
+ * in previous checks are checked less often, up to every {@link #MAX_SKIPPED_CHECKS} + 1 runs.
+ * Changing world or server resets the interval, since groups may be per-world / per-server.
  */
 @RequiredArgsConstructor
 public class GroupRefreshTask implements Runnable {
 
+    /** Maximum amount of runs a player can be skipped in a row */
+    private static final int MAX_SKIPPED_CHECKS = 7;
+
     /** Function for getting group of a player */
     @NotNull
     private final Function<TabPlayer, String> detectGroup;
 
+    /** Polling state of players, only accessed from group refreshing thread */
+    @NotNull
+    private final Map<TabPlayer, PollState> states = new IdentityHashMap<>();
+
     @Override
     public void run() {
+        states.keySet().removeIf(player -> !player.isOnline());
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+            PollState state = states.computeIfAbsent(all, p -> new PollState());
+            boolean moved = !all.world.equals(state.world) || !all.server.equals(state.server);
+            if (state.skipsLeft > 0 && !moved) {
+                state.skipsLeft--;
+                continue;
+            }
+            if (moved) state.skips = 0;
+            state.world = all.world;
+            state.server = all.server;
             String oldGroup = all.getPermissionGroup();
             String newGroup = detectGroup.apply(all);
             if (!oldGroup.equals(newGroup)) {
+                state.skips = 0;
                 // Back to main thread to avoid concurrency issues
                 CpuManager cpu = TAB.getInstance().getCpu();
                 cpu.getProcessingThread().execute(new TimedCaughtTask(cpu, () -> all.setGroup(newGroup), "Permission group refreshing", "Applying changes"));
+            } else {
+                state.skips = Math.min(MAX_SKIPPED_CHECKS, state.skips * 2 + 1);
             }
+            state.skipsLeft = state.skips;
         }
     }
+
+    /**
+     * Polling state of a player.
+     */
+    private static class PollState {
+
+        /** Amount of runs to skip after each check */
+        private int skips;
+
+        /** Amount of runs left to skip before checking again */
+        private int skipsLeft;
+
+        /** World the player was in during last check */
+        private String world;
+
+        /** Server the player was in during last check */
+        private String server;
+    }
 }
@@ -30,7 +30,9 @@ public class PluginMessageDecodeTask implements Runnable {
             Vanished::new,
             UpdatePlaceholder::new,
             PlayerJoinResponse::new,
-            RegisterPlaceholder::new
+            RegisterPlaceholder::new,
+            UpdatePlaceholders::new,
+            HasPermissions::new
     };
 
     /** UUID of player who received this plugin message */
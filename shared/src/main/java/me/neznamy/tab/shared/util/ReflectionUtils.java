@@ -2,8 +2,12 @@ package me.neznamy.tab.shared.util;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -272,4 +276,53 @@ public class ReflectionUtils {
         throw new IllegalArgumentException("Class " + clazz.getName() + " does not contain a field with potential names " +
                 Arrays.toString(names));
     }
+
+    /**
+     * Returns method handle reading value of given instance field. The handle takes the instance as
+     * {@code Object} and returns {@code Object}, or the primitive type for primitive fields, so it can
+     * be called using {@code invokeExact}. If the field cannot be unreflected, the handle falls back
+     * to calling {@link Field#get(Object)}.
+     *
+     * @param   field
+     *          Accessible field to create getter for
+     * @return  Method handle reading the field
+     */
+    @NotNull
+    @SneakyThrows
+    public static MethodHandle getter(@NotNull Field field) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            handle = MethodHandles.lookup().findVirtual(Field.class, "get", MethodType.methodType(Object.class, Object.class)).bindTo(field);
+        }
+        return handle.asType(MethodType.methodType(erase(field.getType()), Object.class));
+    }
+
+    /**
+     * Returns method handle writing value of given instance field. The handle takes the instance and
+     * new value as {@code Object}, or the primitive type for primitive fields, so it can be called using
+     * {@code invokeExact}. If the field cannot be unreflected (such as final fields on older Java versions),
+     * the handle falls back to calling {@link Field#set(Object, Object)}.
+     *
+     * @param   field
+     *          Accessible field to create setter for
+     * @return  Method handle writing the field
+     */
+    @NotNull
+    @SneakyThrows
+    public static MethodHandle setter(@NotNull Field field) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            handle = MethodHandles.lookup().findVirtual(Field.class, "set", MethodType.methodType(void.class, Object.class, Object.class)).bindTo(field);
+        }
+        return handle.asType(MethodType.methodType(void.class, Object.class, erase(field.getType())));
+    }
+
+    @NotNull
+    private static Class<?> erase(@NotNull Class<?> type) {
+        return type.isPrimitive() ? type : Object.class;
+    }
 }
@@ -0,0 +1,56 @@
+package me.neznamy.tab.shared.util.cache;
+
+import lombok.RequiredArgsConstructor;
+import me.neznamy.chat.component.TabComponent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.BiFunction;
+
+/**
+ * Cache of the last built header/footer packet. Header/footer feature passes the same
+ * component instances to all players seeing the same text, which allows platforms to build
+ * the packet only once and send the same instance to all of them, instead of building
+ * (and converting components into) a new packet for every player.
+ * <p>
+ * Only use this on platforms where packets are immutable and do not depend on
+ * the player's protocol version.
+ *
+ * @param   <T>
+ *          Packet type
+ */
+@RequiredArgsConstructor
+public class HeaderFooterPacketCache<T> {
+
+    /** Function creating a new packet from header and footer */
+    @NotNull
+    private final BiFunction<TabComponent, TabComponent, T> packetBuilder;
+
+    /** Header the last packet was built with */
+    private TabComponent lastHeader;
+
+    /** Footer the last packet was built with */
+    private TabComponent lastFooter;
+
+    /** Last built packet */
+    private T lastPacket;
+
+    /**
+     * Returns packet for given header and footer. If they are the same instances
+     * as in the previous call, the previously built packet is returned.
+     *
+     * @param   header
+     *          Header to display
+     * @param   footer
+     *          Footer to display
+     * @return  Packet for given header and footer
+     */
+    @NotNull
+    public synchronized T get(@NotNull TabComponent header, @NotNull TabComponent footer) {
+        if (header != lastHeader || footer != lastFooter) {
+            lastPacket = packetBuilder.apply(header, footer);
+            lastHeader = header;
+            lastFooter = footer;
+        }
+        return lastPacket;
+    }
+}
@@ -0,0 +1,375 @@
+package me.neznamy.tab.shared.util.cache;
+
+import me.neznamy.chat.ChatModifier;
+import me.neznamy.chat.EnumChatFormat;
+import me.neznamy.chat.TextColor;
+import me.neznamy.chat.component.TabComponent;
+import me.neznamy.chat.component.TextComponent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lexer converting text with legacy codes, TAB's RGB formats and basic MiniMessage tags
+ * into a component in a single pass. The result is the same component tree MiniMessage produces
+ * from the text after converting legacy codes and RGB formats into MiniMessage tags, without
+ * the intermediate strings and the Adventure component round-trip.
+ * <p>
+ * Only color, decoration, reset and font tags are supported. If the text contains anything else,
+ * such as gradients, events, escapes, unknown tags or invalid codes, {@code null} is returned
+ * and the text should be parsed by MiniMessage instead.
+ */
+public class MiniMessageLexer {
+
+    /** MiniMessage tag names of legacy codes, indexed by code character */
+    @NotNull
+    static final Map<Character, String> LEGACY_TAG_NAMES = new HashMap<>();
+
+    /** RGB values of MiniMessage color tags by name */
+    @NotNull
+    private static final Map<String, Integer> COLORS = new HashMap<>();
+
+    /** Actions of MiniMessage decoration tags by name */
+    @NotNull
+    private static final Map<String, Consumer<ChatModifier>> DECORATIONS = new HashMap<>();
+
+    static {
+        for (Map.Entry<Character, TextColor> entry : TextColor.LEGACY_COLORS.entrySet()) {
+            TextColor format = entry.getValue();
+            String name = format == TextColor.UNDERLINE ? "underlined" : format.getLegacyColor().name().toLowerCase(Locale.US);
+            LEGACY_TAG_NAMES.put(entry.getKey(), name);
+            if (format.getLegacyColor().ordinal() <= EnumChatFormat.WHITE.ordinal()) {
+                COLORS.put(name, format.getRgb());
+            }
+        }
+        COLORS.put("grey", TextColor.GRAY.getRgb());
+        COLORS.put("dark_grey", TextColor.DARK_GRAY.getRgb());
+        addDecoration(modifier -> modifier.setBold(true), "bold", "b");
+        addDecoration(modifier -> modifier.setItalic(true), "italic", "i", "em");
+        addDecoration(modifier -> modifier.setUnderlined(true), "underlined", "u");
+        addDecoration(modifier -> modifier.setStrikethrough(true), "strikethrough", "st");
+        addDecoration(modifier -> modifier.setObfuscated(true), "obfuscated", "obf");
+    }
+
+    private static void addDecoration(@NotNull Consumer<ChatModifier> action, @NotNull String... names) {
+        for (String name : names) {
+            DECORATIONS.put(name, action);
+        }
+    }
+
+    /** Text to parse */
+    @NotNull
+    private final String text;
+
+    /** Root component */
+    @NotNull
+    private final TextComponent root = new TextComponent("");
+
+    /** Currently open tag components, innermost last */
+    @NotNull
+    private final List<TabComponent> openComponents = new ArrayList<>();
+
+    /** Names of currently open tags, innermost last */
+    @NotNull
+    private final List<String> openNames = new ArrayList<>();
+
+    /** Text which was not added into a component yet */
+    @NotNull
+    private final StringBuilder content = new StringBuilder();
+
+    /** Whether last converted character was {@code :} in text, which prevents #RRGGBB conversion */
+    private boolean afterColon;
+
+    private MiniMessageLexer(@NotNull String text) {
+        this.text = text;
+    }
+
+    /**
+     * Converts text into a component. Returns {@code null} if the text uses syntax
+     * this lexer does not support and must be parsed by MiniMessage.
+     *
+     * @param   text
+     *          Text to convert
+     * @return  Converted component or {@code null} if not supported
+     */
+    @Nullable
+    public static TabComponent parse(@NotNull String text) {
+        return new MiniMessageLexer(text).parse();
+    }
+
+    @Nullable
+    private TabComponent parse() {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            int end;
+            switch (c) {
+                case '\\':
+                    return null;
+                case '<':
+                    end = text.indexOf('>', i);
+                    if (end == -1 || !tag(text.substring(i + 1, end))) return null;
+                    break;
+                case '§':
+                    end = legacyCode(i);
+                    if (end == -1) return null;
+                    break;
+                case '{':
+                    if (!text.startsWith("{#", i)) {
+                        end = literal(i);
+                    } else if (isHex(i + 2) && i + 8 < length && text.charAt(i + 8) == '}') {
+                        // CMI's {#RRGGBB}
+                        end = color("color", i + 2, i + 8);
+                    } else {
+                        return null; // Gradient or invalid code
+                    }
+                    break;
+                case '#':
+                    if (text.startsWith("#<", i) && isHex(i + 2) && i + 8 < length && text.charAt(i + 8) == '>') {
+                        // HTML #<RRGGBB>
+                        end = color("color", i + 2, i + 8);
+                    } else if (!afterColon && isHex(i + 1) && (i + 7 == length || (text.charAt(i + 7) != ':' && text.charAt(i + 7) != '>'))) {
+                        // TAB's #RRGGBB
+                        end = color("color", i + 1, i + 6);
+                    } else {
+                        end = literal(i);
+                    }
+                    break;
+                default:
+                    end = literal(i);
+                    break;
+            }
+            i = end;
+        }
+        flush();
+        return root;
+    }
+
+    /**
+     * Processes legacy code starting at given index and returns index of its last character,
+     * or {@code -1} if the code is not supported.
+     *
+     * @param   index
+     *          Index of {@code §}
+     * @return  Index of last character of the code or {@code -1} if not supported
+     */
+    private int legacyCode(int index) {
+        if (index + 1 == text.length()) return -1;
+        char code = text.charAt(index + 1);
+        String name = LEGACY_TAG_NAMES.get(code);
+        if (name != null) return tag(name) ? index + 1 : -1;
+        if (code == '#' && isHex(index + 2)) {
+            // &#RRGGBB
+            return color("color", index + 2, index + 7);
+        }
+        if (code == 'x' && index + 13 < text.length()) {
+            // Bukkit's &x&R&R&G&G&B&B
+            char[] hex = new char[6];
+            for (int i = 0; i < 6; i++) {
+                int position = index + 2 + i * 2;
+                char c = text.charAt(position + 1);
+                if (text.charAt(position) != '§' || !isHexDigit(c)) return -1;
+                hex[i] = c;
+            }
+            open("color", modifier -> modifier.setColor(new TextColor(Integer.parseInt(new String(hex), 16))));
+            return index + 13;
+        }
+        return -1;
+    }
+
+    /**
+     * Processes content of a MiniMessage tag. Returns {@code true} if the tag is supported,
+     * {@code false} if not.
+     *
+     * @param   tag
+     *          Content between {@code <} and {@code >}
+     * @return  {@code true} if tag is supported, {@code false} if not
+     */
+    private boolean tag(@NotNull String tag) {
+        for (int i = 0; i < tag.length(); i++) {
+            char c = tag.charAt(i);
+            if (i == 0 && c == '/') continue;
+            if ((c < 'a' || c > 'z') && (c < 'A' || c > 'Z') && (c < '0' || c > '9') && "_-.:#/".indexOf(c) == -1) return false;
+        }
+        if (tag.startsWith("/#")) return false; // HTML gradient
+        if (tag.startsWith("/")) return close(tag.substring(1));
+        String[] args = tag.split(":", -1);
+        String name = args[0];
+        if (args.length == 1) {
+            if (name.equals("reset")) {
+                flush();
+                openComponents.clear();
+                openNames.clear();
+                return true;
+            }
+            Integer rgb = parseColor(name);
+            if (rgb != null) {
+                open(name, modifier -> modifier.setColor(new TextColor(rgb)));
+                return true;
+            }
+            Consumer<ChatModifier> decoration = DECORATIONS.get(name);
+            if (decoration == null) return false;
+            open(name, decoration);
+            return true;
+        }
+        if (name.equals("color") || name.equals("colour") || name.equals("c")) {
+            Integer rgb = args.length == 2 ? parseColor(args[1]) : null;
+            if (rgb == null) return false;
+            open(name, modifier -> modifier.setColor(new TextColor(rgb)));
+            return true;
+        }
+        if (name.equals("font")) {
+            String font;
+            if (args.length == 2 && isKeyPart(args[1], false)) {
+                font = "minecraft:" + args[1];
+            } else if (args.length == 3 && isKeyPart(args[1], true) && isKeyPart(args[2], false)) {
+                font = args[1] + ":" + args[2];
+            } else {
+                return false;
+            }
+            open(name, modifier -> modifier.setFont(font));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns RGB value of named color or #RRGGBB, {@code null} if the value is not a color.
+     *
+     * @param   value
+     *          Color name or hex code
+     * @return  RGB value or {@code null} if not a color
+     */
+    @Nullable
+    private static Integer parseColor(@NotNull String value) {
+        if (value.length() == 7 && value.charAt(0) == '#') {
+            for (int i = 1; i < 7; i++) {
+                if (!isHexDigit(value.charAt(i))) return null;
+            }
+            return Integer.parseInt(value.substring(1), 16);
+        }
+        return COLORS.get(value);
+    }
+
+    /**
+     * Returns {@code true} if the value is a valid namespace or value of a key, {@code false} if not.
+     *
+     * @param   value
+     *          Value to check
+     * @param   namespace
+     *          {@code true} if value is a namespace, {@code false} if key value
+     * @return  {@code true} if valid, {@code false} if not
+     */
+    private static boolean isKeyPart(@NotNull String value, boolean namespace) {
+        if (value.isEmpty()) return false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < 'a' || c > 'z') && (c < '0' || c > '9') && c != '_' && c != '-' && c != '.' && (namespace || c != '/')) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if text contains 6 hex digits starting at given index, {@code false} if not.
+     *
+     * @param   index
+     *          Index of first digit
+     * @return  {@code true} if text contains hex code at given index, {@code false} if not
+     */
+    private boolean isHex(int index) {
+        if (index + 6 > text.length()) return false;
+        for (int i = index; i < index + 6; i++) {
+            if (!isHexDigit(text.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    /**
+     * Opens color tag with color from hex code at given indexes and returns end index.
+     *
+     * @param   name
+     *          Tag name
+     * @param   start
+     *          Index of first hex digit
+     * @param   end
+     *          Index of last character of the code
+     * @return  {@code end}
+     */
+    private int color(@NotNull String name, int start, int end) {
+        int rgb = Integer.parseInt(text.substring(start, start + 6), 16);
+        open(name, modifier -> modifier.setColor(new TextColor(rgb)));
+        return end;
+    }
+
+    /**
+     * Adds character at given index into text content.
+     *
+     * @param   index
+     *          Index of character
+     * @return  {@code index}
+     */
+    private int literal(int index) {
+        char c = text.charAt(index);
+        content.append(c);
+        afterColon = c == ':';
+        return index;
+    }
+
+    /**
+     * Opens new tag, which becomes parent of all following content until it is closed.
+     *
+     * @param   name
+     *          Tag name
+     * @param   style
+     *          Style of the tag
+     */
+    private void open(@NotNull String name, @NotNull Consumer<ChatModifier> style) {
+        flush();
+        TextComponent component = new TextComponent("");
+        style.accept(component.getModifier());
+        current().addExtra(component);
+        openComponents.add(component);
+        openNames.add(name);
+    }
+
+    /**
+     * Closes innermost tag if it has given name. Returns {@code true} if it was closed,
+     * {@code false} if innermost tag has a different name.
+     *
+     * @param   name
+     *          Name of tag to close
+     * @return  {@code true} if tag was closed, {@code false} if not
+     */
+    private boolean close(@NotNull String name) {
+        if (openNames.isEmpty() || !openNames.get(openNames.size() - 1).equals(name)) return false;
+        flush();
+        openComponents.remove(openComponents.size() - 1);
+        openNames.remove(openNames.size() - 1);
+        return true;
+    }
+
+    /**
+     * Adds pending text into current component.
+     */
+    private void flush() {
+        afterColon = false;
+        if (content.length() == 0) return;
+        current().addExtra(new TextComponent(content.toString()));
+        content.setLength(0);
+    }
+
+    @NotNull
+    private TabComponent current() {
+        return openComponents.isEmpty() ? root : openComponents.get(openComponents.size() - 1);
+    }
+}
@@ -5,27 +5,62 @@ import me.neznamy.chat.component.SimpleTextComponent;
 import me.neznamy.chat.component.TabComponent;
 import me.neznamy.chat.rgb.RGBUtils;
 import me.neznamy.chat.util.TriFunction;
+import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.hook.MiniMessageHook;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Locale;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
- * Cache for String → TabComponent conversion.
+ * Cache for String → TabComponent conversion. A single instance is shared by all features
+ * (available via {@link TAB#getComponentCache()}), so the same text used by multiple features
+ * or for multiple players is only parsed once and always resolves to the same component instance.
+ * Since components cache their conversions into platform, Adventure and ViaVersion formats,
+ * each text is also only converted into every format it is sent in once.
+ * <p>
+ * Returned components are shared and must not be modified.
  */
-public class StringToComponentCache extends Cache<String, TabComponent> {
+public class StringToComponentCache {
 
     /** Formatter to use Kyori's &lt;gradient:#RRGGBB:#RRGGBB>Text&lt;/gradient> */
     private static final TriFunction<TextColor, String, TextColor, String> kyoriGradientFormatter =
-            (start, text, end) -> String.format("<gradient:#%s:#%s>%s</gradient>", start.getHexCode(), end.getHexCode(), text);
+            (start, text, end) -> "<gradient:#" + start.getHexCode() + ":#" + end.getHexCode() + ">" + text + "</gradient>";
 
     /** Formatter to convert RGB code to use Kyori's &lt;color:#RRGGBB>*/
-    private static final Function<TextColor, String> kyoriRGBFormatter = color -> String.format("<color:#%s>", color.getHexCode());
+    private static final Function<TextColor, String> kyoriRGBFormatter = color -> "<color:#" + color.getHexCode() + ">";
 
-    private static final Pattern tabToKyori = Pattern.compile("(?<!:)(#([0-9A-Fa-f]{6}))(?![:>])");
+    /** Kyori tags of legacy color codes, indexed by color code character */
+    private static final Map<Character, String> kyoriLegacyTags = new HashMap<>();
+
+    static {
+        for (Map.Entry<Character, String> entry : MiniMessageLexer.LEGACY_TAG_NAMES.entrySet()) {
+            kyoriLegacyTags.put(entry.getKey(), "<" + entry.getValue() + ">");
+        }
+    }
+
+    /** Cache name for debug messages */
+    @NotNull
+    private final String name;
+
+    /** Size limit of the cache, after which it is cleared */
+    private final int cacheSize;
+
+    /** Cached components */
+    @NotNull
+    private final Map<String, TabComponent> cache = new ConcurrentHashMap<>();
+
+    /** Number of requests which found the component in the cache */
+    @NotNull
+    private final LongAdder hits = new LongAdder();
+
+    /** Number of requests which had to create a new component */
+    @NotNull
+    private final LongAdder misses = new LongAdder();
 
     /**
      * Constructs new instance with given parameters.
@@ -35,43 +70,152 @@ public class StringToComponentCache extends Cache<String, TabComponent> {
      * @param   cacheSize
      *          Size limit of the cache
      */
-    public StringToComponentCache(String name, int cacheSize) {
-        super(name, cacheSize, text -> {
-            if (MiniMessageHook.isAvailable() && text.indexOf('<') != -1) { // User may have wanted to use MiniMessage
-
-                // Reformat gradients and RGB to kyori format
-                String mmFormatted = RGBUtils.getInstance().applyFormats(text, kyoriGradientFormatter, kyoriRGBFormatter);
-
-                // Convert legacy codes into kyori format
-                for (TextColor format : TextColor.LEGACY_COLORS.values()) {
-                    String sequence = "§" + format.getLegacyColor().getCharacter();
-                    if (mmFormatted.contains(sequence)) {
-                        String colorName = format == TextColor.UNDERLINE ? "underlined" : format.getLegacyColor().name().toLowerCase(Locale.US);
-                        mmFormatted = mmFormatted.replace(sequence, "<" + colorName + ">");
-                    }
-                }
+    public StringToComponentCache(@NotNull String name, int cacheSize) {
+        this.name = name;
+        this.cacheSize = cacheSize;
+    }
 
-                // Convert TAB's #RRGGBB to Kyori <color:#RRGGBB>
-                mmFormatted = tabToKyori(mmFormatted);
+    /**
+     * Returns component from given text. If it is not cached yet, the text is converted
+     * and the result is inserted into the cache.
+     *
+     * @param   text
+     *          Text to convert
+     * @return  Component from given text
+     */
+    @NotNull
+    public TabComponent get(@NotNull String text) {
+        TabComponent component = cache.get(text);
+        if (component != null) {
+            hits.increment();
+            return component;
+        }
+        misses.increment();
+        if (cache.size() >= cacheSize) {
+            TAB.getInstance().debug("Clearing " + name + " cache due to limit (hit rate " + getHitRate()*100 + "%)");
+            cache.clear();
+        }
+        component = convert(text);
+        TabComponent previous = cache.putIfAbsent(text, component);
+        return previous == null ? component : previous;
+    }
 
-                TabComponent component = MiniMessageHook.parseText(mmFormatted);
-                if (component != null) return component;
-            }
-            return text.contains("#") || text.contains("§x") || text.contains("<") ?
-                    TabComponent.fromColoredText(text) : //contains RGB colors or font
-                    SimpleTextComponent.text(text); //no RGB
-        });
+    /**
+     * Returns ratio of requests which found the component in the cache since startup.
+     *
+     * @return  Cache hit rate from {@code 0} to {@code 1}
+     */
+    public float getHitRate() {
+        long hits = this.hits.sum();
+        long total = hits + misses.sum();
+        return total == 0 ? 0 : (float) hits / total;
     }
 
+    /**
+     * Returns total number of requests since startup.
+     *
+     * @return  Total number of requests
+     */
+    public long getRequestCount() {
+        return hits.sum() + misses.sum();
+    }
+
+    /**
+     * Converts text into a component.
+     *
+     * @param   text
+     *          Text to convert
+     * @return  Converted component
+     */
+    @NotNull
+    private static TabComponent convert(@NotNull String text) {
+        if (MiniMessageHook.isAvailable() && text.indexOf('<') != -1) { // User may have wanted to use MiniMessage
+            // Build the component directly if only colors, decorations and fonts are used
+            TabComponent component = MiniMessageLexer.parse(text);
+            if (component != null) return component;
+
+            component = parseMiniMessage(text);
+            if (component != null) return component;
+        }
+        return text.contains("#") || text.contains("§x") || text.contains("<") ?
+                TabComponent.fromColoredText(text) : //contains RGB colors or font
+                SimpleTextComponent.text(text); //no RGB
+    }
+
+    /**
+     * Converts legacy codes and RGB formats into MiniMessage tags and parses the text using MiniMessage.
+     * Returns {@code null} if MiniMessage is not available or failed to parse the text.
+     *
+     * @param   text
+     *          Text to parse
+     * @return  Parsed component or {@code null} if unable to parse
+     */
+    @Nullable
+    static TabComponent parseMiniMessage(@NotNull String text) {
+        // Reformat gradients and RGB to kyori format
+        String mmFormatted = RGBUtils.getInstance().applyFormats(text, kyoriGradientFormatter, kyoriRGBFormatter);
+
+        // Convert legacy codes and TAB's #RRGGBB into kyori format
+        mmFormatted = tabToKyori(mmFormatted);
+
+        return MiniMessageHook.parseText(mmFormatted);
+    }
+
+    /**
+     * Converts legacy color codes into Kyori tags and standalone TAB's #RRGGBB
+     * into Kyori &lt;color:#RRGGBB> in a single pass over the text. RGB codes which are
+     * already a part of a tag (preceded by {@code :} or followed by {@code :} or {@code >})
+     * are left untouched.
+     *
+     * @param   text
+     *          Text to convert
+     * @return  Converted text
+     */
     @NotNull
     private static String tabToKyori(@NotNull String text) {
-        Matcher matcher = tabToKyori.matcher(text);
-        StringBuffer result = new StringBuffer();
-        while (matcher.find()) {
-            // Replace standalone #RRGGBB with <color:#RRGGBB>
-            matcher.appendReplacement(result, "<color:" + matcher.group(1) + ">");
+        int length = text.length();
+        StringBuilder builder = new StringBuilder(length + 16);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '§' && i + 1 < length) {
+                String tag = kyoriLegacyTags.get(text.charAt(i + 1));
+                if (tag != null) {
+                    builder.append(tag);
+                    i++;
+                    continue;
+                }
+            } else if (c == '#' && i + 6 < length && isStandaloneHexCode(text, i, builder)) {
+                builder.append("<color:").append(text, i, i + 7).append('>');
+                i += 6;
+                continue;
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns {@code true} if text contains a 6-digit hex code after {@code #} at given index,
+     * which is not a part of a Kyori tag, {@code false} otherwise.
+     *
+     * @param   text
+     *          Text to check
+     * @param   index
+     *          Index of {@code #} in the text
+     * @param   converted
+     *          Already converted text before the index
+     * @return  {@code true} if the hex code should be converted, {@code false} if not
+     */
+    private static boolean isStandaloneHexCode(@NotNull String text, int index, @NotNull StringBuilder converted) {
+        if (converted.length() > 0 && converted.charAt(converted.length() - 1) == ':') return false;
+        for (int i = index + 1; i <= index + 6; i++) {
+            char c = text.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f') && (c < 'A' || c > 'F')) return false;
+        }
+        if (index + 7 < text.length()) {
+            char next = text.charAt(index + 7);
+            return next != ':' && next != '>';
         }
-        matcher.appendTail(result);
-        return result.toString();
+        return true;
     }
 }
@@ -0,0 +1,78 @@
+package me.neznamy.tab.shared;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorManagerTest {
+
+    @BeforeAll
+    static void start(@TempDir Path dataFolder) {
+        new TestPlatform(dataFolder.toFile(), null).start();
+    }
+
+    @AfterAll
+    static void stop() {
+        TAB.getInstance().unload();
+    }
+
+    private static long count(File file, String text) throws IOException {
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        return lines.stream().filter(line -> line.contains(text)).count();
+    }
+
+    @Test
+    void suppressesRepeatedErrors(@TempDir File folder) throws IOException {
+        ErrorManager errorManager = new ErrorManager(folder);
+        Exception exception = new IllegalStateException("repeated");
+        for (int i = 0; i < 5; i++) {
+            errorManager.printError("Error " + i, exception);
+        }
+        errorManager.shutdown();
+        assertEquals(1, count(errorManager.getErrorLog(), "IllegalStateException: repeated"));
+        assertEquals(1, count(errorManager.getErrorLog(), "was repeated 4 more times"));
+    }
+
+    @Test
+    void limitsErrorRate(@TempDir File folder) throws IOException {
+        ErrorManager errorManager = new ErrorManager(folder);
+        for (int i = 0; i < 200; i++) {
+            errorManager.printError("Error " + i, null);
+        }
+        errorManager.shutdown();
+        assertTrue(count(errorManager.getErrorLog(), "] Error ") < 200);
+        assertTrue(count(errorManager.getErrorLog(), "errors were not logged") > 0);
+    }
+
+    @Test
+    void criticalErrorsAreNotLimited(@TempDir File folder) throws IOException {
+        ErrorManager errorManager = new ErrorManager(folder);
+        Exception exception = new IllegalStateException("critical");
+        for (int i = 0; i < 100; i++) {
+            errorManager.criticalError("Critical " + i, exception);
+        }
+        errorManager.shutdown();
+        assertEquals(100, count(errorManager.getErrorLog(), "IllegalStateException: critical"));
+    }
+
+    @Test
+    void logsErrorsAfterShutdown(@TempDir File folder) throws IOException {
+        ErrorManager errorManager = new ErrorManager(folder);
+        errorManager.printError("Before", null);
+        errorManager.shutdown();
+        errorManager.printError("After", null);
+        errorManager.shutdown();
+        assertEquals(1, count(errorManager.getErrorLog(), "] Before"));
+        assertEquals(1, count(errorManager.getErrorLog(), "] After"));
+    }
+}
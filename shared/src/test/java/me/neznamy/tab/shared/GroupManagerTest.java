@@ -0,0 +1,112 @@
+package me.neznamy.tab.shared;
+
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of refreshing groups based on LuckPerms events. Events are simulated by calling
+ * the listener directly, since LuckPerms is not available in tests.
+ */
+class GroupManagerTest {
+
+    private static TestPlatform platform;
+    private static GroupManager manager;
+    private static TestTabPlayer first;
+    private static TestTabPlayer second;
+
+    /** Amount of times group of each player was retrieved */
+    private static final Map<TabPlayer, AtomicInteger> checks = new ConcurrentHashMap<>();
+
+    /** Group returned for all players */
+    private static volatile String group = TabConstants.NO_GROUP;
+
+    @BeforeAll
+    static void start(@TempDir Path dataFolder) throws Exception {
+        platform = new TestPlatform(dataFolder.toFile(), null);
+        platform.start();
+        first = platform.join("First");
+        second = platform.join("Second");
+        manager = new GroupManager("LuckPerms", player -> {
+            checks.computeIfAbsent(player, p -> new AtomicInteger()).incrementAndGet();
+            return group;
+        }, true);
+    }
+
+    @AfterAll
+    static void stop() {
+        TAB.getInstance().unload();
+    }
+
+    @BeforeEach
+    void reset() {
+        checks.clear();
+        group = TabConstants.NO_GROUP;
+    }
+
+    private static int checks(TabPlayer player) {
+        AtomicInteger count = checks.get(player);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Waits until condition is met, failing if it is not met in time.
+     *
+     * @param   condition
+     *          Condition to wait for
+     * @param   message
+     *          Message to fail with if condition is not met in time
+     */
+    private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail(message);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void waitForGroupRefreshingThread() throws Exception {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        TAB.getInstance().getCpu().getGroupRefreshingThread().execute(() -> future.complete(null));
+        future.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void userDataChangeChecksOnlyThatPlayer() throws Exception {
+        group = "vip";
+        manager.onDataChange(first);
+        await(() -> checks(first) == 1, "Player was not checked");
+        waitForGroupRefreshingThread();
+        // Group is applied in the processing thread right after it was detected
+        platform.runAndWait(() -> assertEquals("vip", first.getPermissionGroup()));
+        assertEquals(0, checks(second));
+    }
+
+    @Test
+    void groupDataChangesAreCoalesced() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            manager.onDataChange(null);
+        }
+        await(() -> checks(first) == 1 && checks(second) == 1, "Players were not checked");
+        Thread.sleep(200);
+        assertEquals(1, checks(first));
+        assertEquals(1, checks(second));
+
+        // Changes after the check was done are checked again
+        manager.onDataChange(null);
+        await(() -> checks(first) == 2 && checks(second) == 2, "Players were not checked again");
+    }
+}
@@ -0,0 +1,234 @@
+package me.neznamy.tab.shared;
+
+import lombok.Getter;
+import me.neznamy.chat.component.TabComponent;
+import me.neznamy.tab.shared.features.PerWorldPlayerListConfiguration;
+import me.neznamy.tab.shared.features.injection.PipelineInjector;
+import me.neznamy.tab.shared.features.proxy.LocalBroker;
+import me.neznamy.tab.shared.features.proxy.ProxyMessengerSupport;
+import me.neznamy.tab.shared.features.proxy.ProxySupport;
+import me.neznamy.tab.shared.features.types.TabFeature;
+import me.neznamy.tab.shared.placeholders.UniversalPlaceholderRegistry;
+import me.neznamy.tab.shared.platform.BossBar;
+import me.neznamy.tab.shared.platform.Scoreboard;
+import me.neznamy.tab.shared.platform.TabList;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import me.neznamy.tab.shared.platform.Platform;
+import me.neznamy.tab.shared.platform.impl.DummyBossBar;
+import me.neznamy.tab.shared.platform.impl.DummyScoreboard;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform without any server behind it for running TAB in tests and benchmarks.
+ * Players are created manually, packets are not sent anywhere and proxy support
+ * (if enabled in config, which it is by default) connects to an in-memory network.
+ */
+@Getter
+public class TestPlatform implements Platform {
+
+    /** Folder with configuration files */
+    @NotNull
+    private final File dataFolder;
+
+    /** Network to connect proxy support to, {@code null} to disable proxy support */
+    @Nullable
+    private final LocalBroker.Network network;
+
+    /**
+     * Constructs new instance with given parameters.
+     *
+     * @param   dataFolder
+     *          Folder with configuration files
+     * @param   network
+     *          Network to connect proxy support to, {@code null} to disable proxy support
+     */
+    public TestPlatform(@NotNull File dataFolder, @Nullable LocalBroker.Network network) {
+        this.dataFolder = dataFolder;
+        this.network = network;
+    }
+
+    /**
+     * Creates TAB instance with this platform and loads it.
+     *
+     * @return  Loaded TAB instance
+     */
+    @NotNull
+    public TAB start() {
+        TAB.create(this);
+        if (TAB.getInstance().isPluginDisabled()) throw new IllegalStateException("TAB failed to load, see output for more info");
+        return TAB.getInstance();
+    }
+
+    /**
+     * Creates a player, processes their join and waits until it is processed.
+     *
+     * @param   name
+     *          Player name
+     * @return  Joined player
+     * @throws  Exception
+     *          If join processing failed or timed out
+     */
+    @NotNull
+    public TestTabPlayer join(@NotNull String name) throws Exception {
+        return join(name, UUID.randomUUID());
+    }
+
+    /**
+     * Creates a player with given UUID, processes their join and waits until it is processed.
+     *
+     * @param   name
+     *          Player name
+     * @param   uniqueId
+     *          Player UUID
+     * @return  Joined player
+     * @throws  Exception
+     *          If join processing failed or timed out
+     */
+    @NotNull
+    public TestTabPlayer join(@NotNull String name, @NotNull UUID uniqueId) throws Exception {
+        TestTabPlayer player = new TestTabPlayer(this, uniqueId, name);
+        runAndWait(() -> TAB.getInstance().getFeatureManager().onJoin(player));
+        return player;
+    }
+
+    /**
+     * Runs task in TAB's processing thread and waits until it finishes.
+     *
+     * @param   task
+     *          Task to run
+     * @throws  Exception
+     *          If task threw an exception or timed out
+     */
+    public void runAndWait(@NotNull Runnable task) throws Exception {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        TAB.getInstance().getCpu().getProcessingThread().execute(() -> {
+            try {
+                task.run();
+                future.complete(null);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        future.get(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    @NotNull
+    public GroupManager detectPermissionPlugin() {
+        return new GroupManager("None", p -> TabConstants.NO_GROUP);
+    }
+
+    @Override
+    public void registerUnknownPlaceholder(@NotNull String identifier) {
+        if (identifier.startsWith("%rel_")) {
+            TAB.getInstance().getPlaceholderManager().registerRelationalPlaceholder(identifier, -1, (viewer, target) -> identifier);
+        } else {
+            TAB.getInstance().getPlaceholderManager().registerServerPlaceholder(identifier, -1, () -> identifier);
+        }
+    }
+
+    @Override
+    public void loadPlayers() {
+        // No players on startup
+    }
+
+    @Override
+    public void registerPlaceholders() {
+        new UniversalPlaceholderRegistry().registerPlaceholders(TAB.getInstance().getPlaceholderManager());
+    }
+
+    @Override
+    @Nullable
+    public PipelineInjector createPipelineInjector() {
+        return null;
+    }
+
+    @Override
+    @Nullable
+    public ProxySupport getProxySupport(@NotNull String plugin) {
+        if (network == null) return null;
+        return new ProxyMessengerSupport("Local", () -> new LocalBroker(network));
+    }
+
+    @Override
+    @Nullable
+    public TabFeature getPerWorldPlayerList(@NotNull PerWorldPlayerListConfiguration configuration) {
+        return null;
+    }
+
+    @Override
+    public void logInfo(@NotNull TabComponent message) {
+        System.out.println("[TAB] " + message.toRawText());
+    }
+
+    @Override
+    public void logWarn(@NotNull TabComponent message) {
+        System.out.println("[TAB] [WARN] " + message.toRawText());
+    }
+
+    @Override
+    public String getServerVersionInfo() {
+        return "Test platform";
+    }
+
+    @Override
+    public void registerListener() {
+        // No events
+    }
+
+    @Override
+    public void registerCommand() {
+        // No commands
+    }
+
+    @Override
+    public void startMetrics() {
+        // No metrics
+    }
+
+    @Override
+    public boolean isProxy() {
+        return false;
+    }
+
+    @Override
+    @NotNull
+    public Object convertComponent(@NotNull TabComponent component) {
+        return component.toLegacyText();
+    }
+
+    @Override
+    @NotNull
+    public Scoreboard createScoreboard(@NotNull TabPlayer player) {
+        return new DummyScoreboard(player);
+    }
+
+    @Override
+    @NotNull
+    public BossBar createBossBar(@NotNull TabPlayer player) {
+        return new DummyBossBar();
+    }
+
+    @Override
+    @NotNull
+    public TabList createTabList(@NotNull TabPlayer player) {
+        return new TestTabList();
+    }
+
+    @Override
+    public boolean supportsScoreboards() {
+        return true;
+    }
+
+    @Override
+    @NotNull
+    public String getCommand() {
+        return "tab";
+    }
+}
@@ -0,0 +1,93 @@
+package me.neznamy.tab.shared;
+
+import lombok.Getter;
+import lombok.NonNull;
+import me.neznamy.chat.component.TabComponent;
+import me.neznamy.tab.shared.platform.TabList;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TabList which only remembers its entries and header/footer instead of sending packets.
+ */
+public class TestTabList implements TabList {
+
+    /** Entries currently in the TabList */
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    /** Last sent header */
+    @Getter
+    @Nullable
+    private volatile TabComponent header;
+
+    /** Last sent footer */
+    @Getter
+    @Nullable
+    private volatile TabComponent footer;
+
+    @Override
+    public void removeEntry(@NonNull UUID entry) {
+        entries.remove(entry);
+    }
+
+    @Override
+    public void updateDisplayName(@NonNull UUID entry, @Nullable TabComponent displayName) {
+        Entry e = entries.get(entry);
+        if (e != null) e.setDisplayName(displayName);
+    }
+
+    @Override
+    public void updateLatency(@NonNull UUID entry, int latency) {
+        Entry e = entries.get(entry);
+        if (e != null) e.setLatency(latency);
+    }
+
+    @Override
+    public void updateGameMode(@NonNull UUID entry, int gameMode) {
+        Entry e = entries.get(entry);
+        if (e != null) e.setGameMode(gameMode);
+    }
+
+    @Override
+    public void updateListed(@NonNull UUID entry, boolean listed) {
+        Entry e = entries.get(entry);
+        if (e != null) e.setListed(listed);
+    }
+
+    @Override
+    public void updateListOrder(@NonNull UUID entry, int listOrder) {
+        Entry e = entries.get(entry);
+        if (e != null) e.setListOrder(listOrder);
+    }
+
+    @Override
+    public void updateHat(@NonNull UUID entry, boolean showHat) {
+        Entry e = entries.get(entry);
+        if (e != null) e.setShowHat(showHat);
+    }
+
+    @Override
+    public void addEntry(@NonNull Entry entry) {
+        entries.put(entry.getUniqueId(), entry);
+    }
+
+    @Override
+    public boolean containsEntry(@NonNull UUID entry) {
+        return entries.containsKey(entry);
+    }
+
+    @Override
+    public void setPlayerListHeaderFooter(@NonNull TabComponent header, @NonNull TabComponent footer) {
+        this.header = header;
+        this.footer = footer;
+    }
+
+    @Override
+    @Nullable
+    public Skin getSkin() {
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+package me.neznamy.tab.shared;
+
+import me.neznamy.chat.component.TabComponent;
+import me.neznamy.tab.shared.platform.Platform;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Player of {@link TestPlatform}, which is not connected anywhere.
+ */
+public class TestTabPlayer extends TabPlayer {
+
+    /** Permissions this player has */
+    @NotNull
+    private final Set<String> permissions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs new instance with given parameters.
+     *
+     * @param   platform
+     *          Test platform
+     * @param   uniqueId
+     *          Player UUID
+     * @param   name
+     *          Player name
+     */
+    public TestTabPlayer(@NotNull TestPlatform platform, @NotNull UUID uniqueId, @NotNull String name) {
+        super(platform, new Object(), uniqueId, name, "server", "world", ProtocolVersion.V1_21_5.getNetworkId(), true);
+    }
+
+    /**
+     * Gives or takes permission from this player.
+     *
+     * @param   permission
+     *          Permission node
+     * @param   value
+     *          Whether the player should have the permission or not
+     */
+    public void setPermission(@NotNull String permission, boolean value) {
+        if (value) {
+            permissions.add(permission);
+        } else {
+            permissions.remove(permission);
+        }
+    }
+
+    @Override
+    public boolean isDisguised() {
+        return false;
+    }
+
+    @Override
+    public boolean hasInvisibilityPotion() {
+        return false;
+    }
+
+    @Override
+    public boolean isVanished() {
+        return false;
+    }
+
+    @Override
+    public int getGamemode() {
+        return 0;
+    }
+
+    @Override
+    public int getPing() {
+        return 0;
+    }
+
+    @Override
+    public void sendMessage(@NotNull TabComponent message) {
+        // Nobody to send it to
+    }
+
+    @Override
+    public boolean hasPermission(@NotNull String permission) {
+        return permissions.contains(permission);
+    }
+
+    @Override
+    @NotNull
+    public Platform getPlatform() {
+        return platform;
+    }
+}
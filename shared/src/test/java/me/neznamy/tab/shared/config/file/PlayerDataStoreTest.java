@@ -0,0 +1,160 @@
+package me.neznamy.tab.shared.config.file;
+
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TestPlatform;
+import me.neznamy.tab.shared.cpu.CpuManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerDataStoreTest {
+
+    private static final UUID FIRST = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID THIRD = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    @BeforeAll
+    static void start(@TempDir Path dataFolder) {
+        // Errors are reported through TAB's error manager
+        new TestPlatform(dataFolder.toFile(), null).start();
+    }
+
+    @AfterAll
+    static void stop() {
+        TAB.getInstance().unload();
+    }
+
+    /**
+     * Waits until all tasks submitted to file saving thread so far, such as
+     * writing changes and compaction, are finished.
+     */
+    private static void waitForFileSavingThread() throws Exception {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CpuManager.getFileSavingThread().execute(() -> future.complete(null));
+        future.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void replaysLogAfterRestart(@TempDir File folder) throws IOException {
+        PlayerDataStore store = new PlayerDataStore(folder);
+        assertTrue(store.isEmpty());
+        assertTrue(store.set("scoreboard-off", FIRST, true));
+        assertTrue(store.set("scoreboard-off", SECOND, true));
+        assertTrue(store.set("scoreboard-off", FIRST, false));
+        assertFalse(store.set("scoreboard-off", SECOND, true));
+        store.close();
+
+        PlayerDataStore reopened = new PlayerDataStore(folder);
+        assertFalse(reopened.contains("scoreboard-off", FIRST));
+        assertTrue(reopened.contains("scoreboard-off", SECOND));
+        reopened.close();
+    }
+
+    @Test
+    void mergesImportedSnapshotWithChanges(@TempDir File folder) throws IOException {
+        PlayerDataStore store = new PlayerDataStore(folder);
+        store.importData(Collections.singletonMap("bossbar-off", Arrays.asList(THIRD, FIRST)));
+        assertTrue(store.contains("bossbar-off", FIRST));
+        assertTrue(store.contains("bossbar-off", THIRD));
+        assertFalse(store.contains("bossbar-off", SECOND));
+        store.set("bossbar-off", THIRD, false);
+        assertFalse(store.contains("bossbar-off", THIRD));
+        store.close();
+
+        PlayerDataStore reopened = new PlayerDataStore(folder);
+        assertTrue(reopened.contains("bossbar-off", FIRST));
+        assertFalse(reopened.contains("bossbar-off", THIRD));
+        reopened.close();
+    }
+
+    @Test
+    void truncatesIncompleteLastChange(@TempDir File folder) throws IOException {
+        PlayerDataStore store = new PlayerDataStore(folder);
+        store.set("scoreboard-off", FIRST, true);
+        store.close();
+
+        // Simulate crash in the middle of writing a change
+        File log = new File(folder, "playerdata-0.log");
+        long completeLength = log.length();
+        try (FileOutputStream out = new FileOutputStream(log, true)) {
+            out.write(new byte[]{1, 0, 14, 's', 'c', 'o'});
+        }
+
+        PlayerDataStore reopened = new PlayerDataStore(folder);
+        assertEquals(completeLength, log.length());
+        assertTrue(reopened.contains("scoreboard-off", FIRST));
+        reopened.set("scoreboard-off", SECOND, true);
+        reopened.close();
+
+        PlayerDataStore reopenedAgain = new PlayerDataStore(folder);
+        assertTrue(reopenedAgain.contains("scoreboard-off", FIRST));
+        assertTrue(reopenedAgain.contains("scoreboard-off", SECOND));
+        reopenedAgain.close();
+    }
+
+    @Test
+    void compactsWhileChanging(@TempDir File folder) throws Exception {
+        PlayerDataStore store = new PlayerDataStore(folder, 10);
+        Random random = new Random(3);
+        UUID[] players = new UUID[100];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        Map<UUID, Boolean> expected = new HashMap<>();
+        // Changes are made while compactions triggered by previous changes run in the file saving thread
+        for (int i = 0; i < 5000; i++) {
+            UUID player = players[random.nextInt(players.length)];
+            boolean value = random.nextBoolean();
+            store.set("scoreboard-off", player, value);
+            expected.put(player, value);
+            assertEquals(value, store.contains("scoreboard-off", player));
+        }
+        store.close();
+        waitForFileSavingThread();
+        assertFalse(new File(folder, "playerdata-0.log").exists(), "Log was never compacted");
+
+        PlayerDataStore reopened = new PlayerDataStore(folder);
+        for (Map.Entry<UUID, Boolean> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), reopened.contains("scoreboard-off", entry.getKey()), entry.getKey().toString());
+        }
+        reopened.close();
+    }
+
+    @Test
+    void startsWithoutCorruptedSnapshot(@TempDir File folder) throws Exception {
+        PlayerDataStore store = new PlayerDataStore(folder);
+        store.importData(Collections.singletonMap("bossbar-off", Collections.singletonList(FIRST)));
+        store.set("bossbar-off", SECOND, true);
+        store.close();
+
+        File snapshot = new File(folder, "playerdata-1.dat");
+        try (RandomAccessFile file = new RandomAccessFile(snapshot, "rw")) {
+            file.setLength(20);
+        }
+
+        PlayerDataStore reopened = new PlayerDataStore(folder);
+        assertTrue(new File(folder, "playerdata-1.dat.corrupt").exists());
+        assertFalse(reopened.contains("bossbar-off", FIRST));
+        assertTrue(reopened.contains("bossbar-off", SECOND));
+        reopened.set("bossbar-off", THIRD, true);
+        reopened.close();
+
+        PlayerDataStore reopenedAgain = new PlayerDataStore(folder);
+        assertTrue(reopenedAgain.contains("bossbar-off", SECOND));
+        assertTrue(reopenedAgain.contains("bossbar-off", THIRD));
+        assertTrue(new File(folder, "playerdata-1.dat.corrupt").exists());
+        reopenedAgain.close();
+    }
+}
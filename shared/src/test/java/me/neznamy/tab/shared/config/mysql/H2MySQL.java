@@ -0,0 +1,51 @@
+package me.neznamy.tab.shared.config.mysql;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pool connecting to an in-memory H2 database in MySQL compatibility mode
+ * instead of a MySQL server. Each instance uses its own database.
+ */
+public class H2MySQL extends MySQL {
+
+    private static final AtomicInteger databaseCounter = new AtomicInteger();
+
+    @NotNull
+    private final String url = "jdbc:h2:mem:tab" + databaseCounter.incrementAndGet() +
+            ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    /** Amount of connections opened by this pool */
+    @NotNull
+    private final AtomicInteger createdConnections = new AtomicInteger();
+
+    /**
+     * Constructs new instance with given pool size.
+     *
+     * @param   poolSize
+     *          Maximum amount of open connections
+     */
+    public H2MySQL(int poolSize) {
+        super(new MySQLConfiguration("localhost", 0, "tab", "sa", "", false, poolSize));
+    }
+
+    @Override
+    @NotNull
+    protected Connection createConnection() throws SQLException {
+        createdConnections.incrementAndGet();
+        return DriverManager.getConnection(url, "sa", "");
+    }
+
+    /**
+     * Returns amount of connections opened by this pool.
+     *
+     * @return  Amount of opened connections
+     */
+    public int getCreatedConnections() {
+        return createdConnections.get();
+    }
+}
@@ -0,0 +1,98 @@
+package me.neznamy.tab.shared.config.mysql;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MySQLTest {
+
+    @Test
+    void createsPropertyTableWithPrimaryKey() throws SQLException {
+        H2MySQL mysql = new H2MySQL(1);
+        mysql.createPropertyTable("tab_groups", "group");
+        mysql.execute("insert into `tab_groups` (`group`, `property`, `value`) values (?, ?, ?)", "default", "tabprefix", "a");
+        assertThrows(SQLException.class, () -> mysql.execute(
+                "insert into `tab_groups` (`group`, `property`, `value`) values (?, ?, ?)", "default", "tabprefix", "b"));
+        // Creating again keeps the table
+        mysql.createPropertyTable("tab_groups", "group");
+        assertEquals(Collections.singletonList("a"), values(mysql, "tab_groups"));
+    }
+
+    @Test
+    void reusesConnections() throws SQLException {
+        H2MySQL mysql = new H2MySQL(4);
+        for (int i = 0; i < 10; i++) {
+            mysql.execute("select 1");
+        }
+        assertEquals(1, mysql.getCreatedConnections());
+    }
+
+    @Test
+    void rollsBackFailedBatches() throws SQLException {
+        H2MySQL mysql = new H2MySQL(1);
+        mysql.createPropertyTable("tab_groups", "group");
+        Map<String, List<Object[]>> batches = new LinkedHashMap<>();
+        batches.put("insert into `tab_groups` (`group`, `property`, `value`) values (?, ?, ?)",
+                Collections.singletonList(new Object[]{"default", "tabprefix", "a"}));
+        batches.put("insert into `missing_table` (`group`) values (?)",
+                Collections.singletonList(new Object[]{"default"}));
+        assertThrows(SQLException.class, () -> mysql.executeBatches(batches));
+        assertTrue(values(mysql, "tab_groups").isEmpty());
+        // Connection is still usable afterwards
+        mysql.executeBatch("insert into `tab_groups` (`group`, `property`, `value`) values (?, ?, ?)",
+                Arrays.asList(new Object[]{"default", "tabprefix", "a"}, new Object[]{"default", "tabsuffix", "b"}));
+        assertEquals(2, values(mysql, "tab_groups").size());
+    }
+
+    @Test
+    void waitingThreadFailsWhenPoolIsClosed() throws Exception {
+        H2MySQL mysql = new H2MySQL(1);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            try {
+                mysql.query("select 1", row -> {
+                    holding.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+            try {
+                mysql.execute("select 1");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        mysql.closeConnection();
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SQLException.class, e.getCause().getCause());
+    }
+
+    private static List<String> values(MySQL mysql, String table) throws SQLException {
+        List<String> values = new ArrayList<>();
+        mysql.query("select `value` from `" + table + "`", row -> values.add(row.getString("value")));
+        return values;
+    }
+}
@@ -0,0 +1,74 @@
+package me.neznamy.tab.shared.config.mysql;
+
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TestPlatform;
+import me.neznamy.tab.shared.TestTabPlayer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MySQLUserConfigurationTest {
+
+    private static TestPlatform platform;
+
+    @BeforeAll
+    static void start(@TempDir Path dataFolder) {
+        platform = new TestPlatform(dataFolder.toFile(), null);
+        platform.start();
+    }
+
+    @AfterAll
+    static void stop() {
+        TAB.getInstance().unload();
+    }
+
+    /**
+     * Waits until all tasks queued into MySQL thread so far are processed.
+     */
+    private static void awaitMySQLThread() throws Exception {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        TAB.getInstance().getCPUManager().getMysqlThread().execute(() -> future.complete(null));
+        future.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void uuidRowsTakePriorityOverNameRows() throws Exception {
+        H2MySQL mysql = new H2MySQL(2);
+        MySQLUserConfiguration users = new MySQLUserConfiguration(mysql);
+        // UUID sorts before the name, so the database is likely to return UUID row first
+        UUID id = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        String insert = "insert into `tab_users` (`user`, `property`, `value`) values (?, ?, ?)";
+        mysql.execute(insert, "steve", "tabprefix", "name");
+        mysql.execute(insert, id.toString(), "tabprefix", "uuid");
+
+        TestTabPlayer player = platform.join("Steve", id);
+        users.load(player);
+        awaitMySQLThread();
+        assertArrayEquals(new String[]{"uuid", "user=Steve"}, users.getProperty("Steve", "tabprefix", null, null));
+    }
+
+    @Test
+    void loadsPerWorldAndPerServerValues() throws Exception {
+        H2MySQL mysql = new H2MySQL(2);
+        MySQLUserConfiguration users = new MySQLUserConfiguration(mysql);
+        mysql.execute("insert into `tab_users` (`user`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?)",
+                "alex", "tabsuffix", "world", "nether", "");
+        mysql.execute("insert into `tab_users` (`user`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?)",
+                "alex", "tabsuffix", "server", "", "lobby");
+
+        TestTabPlayer player = platform.join("Alex");
+        users.load(player);
+        awaitMySQLThread();
+        assertEquals("world", users.getProperty("Alex", "tabsuffix", "lobby", "nether")[0]);
+        assertEquals("server", users.getProperty("Alex", "tabsuffix", "lobby", "overworld")[0]);
+        assertEquals(0, users.getProperty("Alex", "tabsuffix", "survival", "overworld").length);
+    }
+}
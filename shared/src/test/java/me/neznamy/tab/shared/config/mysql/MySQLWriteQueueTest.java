@@ -0,0 +1,139 @@
+package me.neznamy.tab.shared.config.mysql;
+
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.TestPlatform;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MySQLWriteQueueTest {
+
+    @BeforeAll
+    static void start(@TempDir Path dataFolder) {
+        new TestPlatform(dataFolder.toFile(), null).start();
+    }
+
+    @AfterAll
+    static void stop() {
+        TAB.getInstance().unload();
+    }
+
+    /**
+     * Waits until all tasks queued into MySQL thread so far are processed.
+     */
+    private static void awaitMySQLThread() throws Exception {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        TAB.getInstance().getCPUManager().getMysqlThread().execute(() -> future.complete(null));
+        future.get(10, TimeUnit.SECONDS);
+    }
+
+    private static List<String> rows(MySQL mysql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        mysql.query("select `group`, `property`, `value` from `tab_test` order by `group`, `property`", row ->
+                rows.add(row.getString("group") + "." + row.getString("property") + "=" + row.getString("value")));
+        return rows;
+    }
+
+    @Test
+    void mergesWritesToTheSameRow() throws Exception {
+        H2MySQL mysql = new H2MySQL(1);
+        mysql.createPropertyTable("tab_test", "group");
+        MySQLWriteQueue queue = new MySQLWriteQueue(mysql, "tab_test", "group");
+        queue.write("admin", "tabprefix", null, null, "a");
+        queue.write("admin", "tabprefix", null, null, "b");
+        queue.write("admin", "tabsuffix", null, null, "c");
+        queue.write("admin", "tabsuffix", null, null, null);
+        queue.flush();
+        awaitMySQLThread();
+        assertEquals(Collections.singletonList("admin.tabprefix=b"), rows(mysql));
+    }
+
+    @Test
+    void removeIgnoresCase() throws Exception {
+        H2MySQL mysql = new H2MySQL(1);
+        mysql.createPropertyTable("tab_test", "group");
+        MySQLWriteQueue queue = new MySQLWriteQueue(mysql, "tab_test", "group");
+        queue.write("admin", "tabprefix", null, null, "a");
+        queue.flush();
+        queue.write("admin", "tabsuffix", null, null, "b");
+        queue.remove("Admin");
+        queue.flush();
+        awaitMySQLThread();
+        assertTrue(rows(mysql).isEmpty());
+    }
+
+    @Test
+    void removeKeepsDefaultGroup() throws Exception {
+        H2MySQL mysql = new H2MySQL(1);
+        mysql.createPropertyTable("tab_test", "group");
+        MySQLWriteQueue queue = new MySQLWriteQueue(mysql, "tab_test", "group");
+        queue.write(TabConstants.DEFAULT_GROUP, "tabprefix", null, null, "a");
+        queue.write("Admin", "tabprefix", null, null, "b");
+        queue.flush();
+        assertEquals(Arrays.asList("_DEFAULT_.tabprefix=a", "admin.tabprefix=b"), rows(mysql));
+        queue.remove(TabConstants.DEFAULT_GROUP);
+        queue.flush();
+        assertEquals(Collections.singletonList("admin.tabprefix=b"), rows(mysql));
+    }
+
+    @Test
+    void discardsRejectedRows() throws Exception {
+        H2MySQL mysql = new H2MySQL(1);
+        mysql.createPropertyTable("tab_test", "group");
+        MySQLWriteQueue queue = new MySQLWriteQueue(mysql, "tab_test", "group");
+        char[] longValue = new char[2000];
+        Arrays.fill(longValue, 'a');
+        queue.write("admin", "tabprefix", null, null, "a");
+        queue.write("admin", "tabsuffix", null, null, new String(longValue)); // Too long for the column
+        queue.write("owner", "thispropertyistoolong", null, null, "b"); // Too long for the column
+        queue.write("owner", "tabprefix", null, null, "c");
+        queue.flush();
+        assertEquals(Arrays.asList("admin.tabprefix=a", "owner.tabprefix=c"), rows(mysql));
+
+        // Rejected rows are not retried and do not block later writes
+        queue.write("admin", "tabprefix", null, null, "d");
+        queue.flush();
+        assertEquals(Arrays.asList("admin.tabprefix=d", "owner.tabprefix=c"), rows(mysql));
+    }
+
+    @Test
+    void detectsDataErrors() {
+        assertTrue(MySQLWriteQueue.isDataError(new SQLException("Data too long", "22001")));
+        assertTrue(MySQLWriteQueue.isDataError(new SQLException("Duplicate entry", "23000")));
+        assertTrue(MySQLWriteQueue.isDataError(new BatchUpdateException("Batch failed", "HY000", 0, new int[0],
+                new SQLException("Data too long", "22001"))));
+        assertFalse(MySQLWriteQueue.isDataError(new SQLException("Table does not exist", "42S02")));
+        assertFalse(MySQLWriteQueue.isDataError(new SQLException("Communications link failure", "08S01")));
+        assertFalse(MySQLWriteQueue.isDataError(new SQLException("MySQL connection pool is closed")));
+    }
+
+    @Test
+    void requeuesFailedWrites() throws Exception {
+        H2MySQL mysql = new H2MySQL(1);
+        mysql.createPropertyTable("tab_test", "group");
+        MySQLWriteQueue queue = new MySQLWriteQueue(mysql, "tab_test", "group");
+        mysql.execute("drop table `tab_test`");
+        queue.write("admin", "tabprefix", null, null, "a");
+        queue.write("owner", "tabprefix", null, null, "b");
+        awaitMySQLThread(); // Flush fails because the table is missing
+
+        queue.write("owner", "tabprefix", null, null, "c"); // Newer write replaces the failed one
+        mysql.createPropertyTable("tab_test", "group");
+        queue.flush();
+        assertEquals(Arrays.asList("admin.tabprefix=a", "owner.tabprefix=c"), rows(mysql));
+    }
+}
@@ -0,0 +1,117 @@
+package me.neznamy.tab.shared.features.header;
+
+import me.neznamy.chat.component.TabComponent;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.TestPlatform;
+import me.neznamy.tab.shared.TestTabList;
+import me.neznamy.tab.shared.TestTabPlayer;
+import me.neznamy.tab.shared.features.PlaceholderManagerImpl;
+import me.neznamy.tab.shared.placeholders.types.ServerPlaceholderImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of sharing evaluated header/footer between players, which must only happen
+ * when the text resolves to the same value for everyone.
+ */
+class HeaderFooterTest {
+
+    private static HeaderFooter headerFooter;
+    private static ServerPlaceholderImpl nested;
+    private static TestTabPlayer first;
+    private static TestTabPlayer second;
+
+    @BeforeAll
+    static void start(@TempDir Path dataFolder) throws Exception {
+        TestPlatform platform = new TestPlatform(dataFolder.toFile(), null);
+        TAB tab = platform.start();
+        headerFooter = tab.getFeatureManager().getFeature(TabConstants.Feature.HEADER_FOOTER);
+        assertNotNull(headerFooter);
+        PlaceholderManagerImpl placeholders = tab.getPlaceholderManager();
+        placeholders.registerServerPlaceholder("%test_server%", -1, () -> "Server");
+        placeholders.registerPlayerPlaceholder("%test_name%", -1, p -> "Name " + p.getName());
+        placeholders.registerServerPlaceholder("%test_greeting%", -1, () -> "Hello %test_name%");
+        nested = placeholders.registerServerPlaceholder("%test_nested%", -1, () -> "Static");
+        first = platform.join("First");
+        second = platform.join("Second");
+    }
+
+    @AfterAll
+    static void stop() {
+        TAB.getInstance().unload();
+    }
+
+    /**
+     * Sets header of both players and waits until it is sent.
+     *
+     * @param   header
+     *          Header to set
+     */
+    private static void setHeader(String header) throws Exception {
+        headerFooter.setHeader(first, header);
+        headerFooter.setHeader(second, header);
+        waitForHeaderFooterThread();
+    }
+
+    private static void waitForHeaderFooterThread() throws Exception {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        headerFooter.getCustomThread().execute(() -> future.complete(null));
+        future.get(10, TimeUnit.SECONDS);
+    }
+
+    private static TabComponent header(TestTabPlayer player) {
+        TabComponent header = ((TestTabList) player.getTabList()).getHeader();
+        assertNotNull(header);
+        return header;
+    }
+
+    @Test
+    void serverOnlyHeaderIsShared() throws Exception {
+        setHeader("Shared %test_server%");
+        assertTrue(first.headerFooterData.header.isServerOnly());
+        assertEquals("Shared Server", header(first).toRawText());
+        assertSame(header(first), header(second));
+    }
+
+    @Test
+    void mixedHeaderIsNotShared() throws Exception {
+        setHeader("Mixed %test_server% %test_name%");
+        assertFalse(first.headerFooterData.header.isServerOnly());
+        assertEquals("Mixed Server Name First", header(first).toRawText());
+        assertEquals("Mixed Server Name Second", header(second).toRawText());
+    }
+
+    @Test
+    void serverPlaceholderWithPlayerPlaceholderInOutputIsNotShared() throws Exception {
+        setHeader("Greeting %test_greeting%");
+        assertFalse(first.headerFooterData.header.isServerOnly());
+        assertEquals("Greeting Hello Name First", header(first).toRawText());
+        assertEquals("Greeting Hello Name Second", header(second).toRawText());
+    }
+
+    @Test
+    void sharedHeaderStopsBeingSharedOncePlayerPlaceholderAppearsInOutput() throws Exception {
+        setHeader("Nested %test_nested%");
+        assertTrue(first.headerFooterData.header.isServerOnly());
+        assertSame(header(first), header(second));
+
+        nested.updateValue("Now %test_name%");
+        waitForHeaderFooterThread();
+        assertEquals("Nested Now Name First", header(first).toRawText());
+        assertEquals("Nested Now Name Second", header(second).toRawText());
+
+        nested.updateValue("Static again");
+        waitForHeaderFooterThread();
+        assertEquals("Nested Static again", header(first).toRawText());
+        assertSame(header(first), header(second));
+    }
+}
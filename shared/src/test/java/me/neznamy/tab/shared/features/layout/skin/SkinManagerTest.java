@@ -0,0 +1,253 @@
+package me.neznamy.tab.shared.features.layout.skin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TestPlatform;
+import me.neznamy.tab.shared.config.file.ConfigurationFile;
+import me.neznamy.tab.shared.config.file.YamlConfigurationFile;
+import me.neznamy.tab.shared.platform.TabList.Skin;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of asynchronous skin downloads against a local HTTP server answering
+ * the same way as the player skin API.
+ */
+class SkinManagerTest {
+
+    /** Local server answering skin requests */
+    private static HttpServer server;
+
+    /** URL of the local player skin API */
+    private static String apiUrl;
+
+    /** Amount of requests received for each player name */
+    private static final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+    /** Requests for player names which wait until their latch is released before being answered */
+    private static final Map<String, CountDownLatch> gates = new ConcurrentHashMap<>();
+
+    @BeforeAll
+    static void start(@TempDir Path dataFolder) throws IOException {
+        new TestPlatform(dataFolder.toFile(), null).start();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/user/", SkinManagerTest::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        apiUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/user/";
+    }
+
+    @AfterAll
+    static void stop() {
+        server.stop(0);
+        TAB.getInstance().unload();
+    }
+
+    /**
+     * Answers request for skin of player name at the end of the path. Unknown players
+     * get 404, broken players get a response without textures and all other players
+     * get a skin with value of their name followed by "-value".
+     *
+     * @param   exchange
+     *          Request to answer
+     */
+    private static void handle(HttpExchange exchange) throws IOException {
+        String name = exchange.getRequestURI().getPath().substring("/user/".length());
+        requests.computeIfAbsent(name, n -> new AtomicInteger()).incrementAndGet();
+        CountDownLatch gate = gates.get(name);
+        try {
+            if (gate != null) gate.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (name.startsWith("unknown")) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        String json = name.startsWith("broken") ? "{}" :
+                "{\"textures\":{\"raw\":{\"value\":\"" + name + "-value\",\"signature\":\"signature\"}}}";
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static int requests(String name) {
+        AtomicInteger count = requests.get(name);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Waits until condition is met, failing if it is not met in time.
+     *
+     * @param   condition
+     *          Condition to wait for
+     * @param   message
+     *          Message to fail with if condition is not met in time
+     */
+    private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail(message);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Creates skin manager downloading player skins from the local server, using
+     * a skin cache with given content.
+     *
+     * @param   folder
+     *          Folder to create skin cache in
+     * @param   content
+     *          Content of skin cache
+     * @return  Skin manager using the local server
+     */
+    private static SkinManager manager(File folder, String content) throws IOException {
+        File file = new File(folder, "skincache.yml");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        ConfigurationFile cache = new YamlConfigurationFile(null, file);
+        return new SkinManager("signed_texture:default;signature", Collections.emptyMap(), ignored -> {
+            Map<String, SkinSource> sources = new HashMap<>();
+            sources.put("player", new PlayerSkin(cache, apiUrl));
+            sources.put("signed_texture", new SignedTexture(cache));
+            return sources;
+        });
+    }
+
+    /**
+     * Repeatedly requests given skin for a while and checks that only one download was made.
+     *
+     * @param   manager
+     *          Skin manager to request skin from
+     * @param   name
+     *          Name of player with skin which fails to download
+     */
+    private static void assertNotRequestedAgain(SkinManager manager, String name) throws InterruptedException {
+        long end = System.currentTimeMillis() + 500;
+        while (System.currentTimeMillis() < end) {
+            assertSame(manager.getDefaultSkin(), manager.getSkin("player:" + name));
+            Thread.sleep(10);
+        }
+        assertEquals(1, requests(name));
+    }
+
+    @Test
+    void skinIsDownloadedAsynchronously(@TempDir File folder) throws Exception {
+        SkinManager manager = manager(folder, "");
+        try {
+            assertEquals("default", manager.getDefaultSkin().getValue());
+            CompletableFuture<Skin> downloaded = new CompletableFuture<>();
+            assertSame(manager.getDefaultSkin(), manager.getSkin("player:async", downloaded::complete));
+            assertEquals("async-value", downloaded.get(10, TimeUnit.SECONDS).getValue());
+
+            Skin cached = manager.getSkin("player:async");
+            assertNotNull(cached);
+            assertEquals("async-value", cached.getValue());
+            assertEquals(1, requests("async"));
+        } finally {
+            manager.unload();
+        }
+    }
+
+    @Test
+    void inFlightDownloadIsShared(@TempDir File folder) throws Exception {
+        SkinManager manager = manager(folder, "");
+        CountDownLatch gate = new CountDownLatch(1);
+        gates.put("shared", gate);
+        try {
+            CountDownLatch callbacks = new CountDownLatch(3);
+            for (int i = 0; i < 3; i++) {
+                assertSame(manager.getDefaultSkin(), manager.getSkin("player:shared", skin -> callbacks.countDown()));
+            }
+            await(() -> requests("shared") == 1, "Skin download was not started");
+            gate.countDown();
+            assertTrue(callbacks.await(10, TimeUnit.SECONDS), "Not all requests were notified about the download");
+            assertEquals(1, requests("shared"));
+        } finally {
+            gate.countDown();
+            manager.unload();
+        }
+    }
+
+    @Test
+    void failedSkinIsNotRequestedAgain(@TempDir File folder) throws Exception {
+        SkinManager manager = manager(folder, "");
+        try {
+            assertSame(manager.getDefaultSkin(), manager.getSkin("player:unknown"));
+            await(() -> requests("unknown") == 1, "Skin download was not started");
+            assertNotRequestedAgain(manager, "unknown");
+        } finally {
+            manager.unload();
+        }
+    }
+
+    @Test
+    void exceptionIsRecordedAsFailure(@TempDir File folder) throws Exception {
+        SkinManager manager = manager(folder, "");
+        try {
+            assertSame(manager.getDefaultSkin(), manager.getSkin("player:broken"));
+            await(() -> requests("broken") == 1, "Skin download was not started");
+            assertNotRequestedAgain(manager, "broken");
+        } finally {
+            manager.unload();
+        }
+    }
+
+    @Test
+    void failedSkinIsRequestedAgainAfterDelay(@TempDir File folder) throws Exception {
+        SkinManager manager = manager(folder, "");
+        manager.setFailedSkinRetryDelay(200);
+        try {
+            manager.getSkin("player:unknownRetry");
+            await(() -> requests("unknownRetry") == 1, "Skin download was not started");
+            await(() -> {
+                manager.getSkin("player:unknownRetry");
+                return requests("unknownRetry") == 2;
+            }, "Failed skin was not requested again after delay");
+        } finally {
+            manager.unload();
+        }
+    }
+
+    @Test
+    void staleSkinIsServedWhileRefreshing(@TempDir File folder) throws Exception {
+        long twoDaysAgo = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+        SkinManager manager = manager(folder, "players:\n  stale:\n  - old\n  - signature\n  - " + twoDaysAgo + "\n");
+        CountDownLatch gate = new CountDownLatch(1);
+        gates.put("stale", gate);
+        try {
+            assertEquals("old", manager.getSkin("player:stale").getValue());
+            await(() -> requests("stale") == 1, "Outdated skin was not refreshed");
+            assertEquals("old", manager.getSkin("player:stale").getValue());
+            gate.countDown();
+            await(() -> "stale-value".equals(manager.getSkin("player:stale").getValue()), "Refreshed skin was not used");
+            assertEquals(1, requests("stale"));
+        } finally {
+            gate.countDown();
+            manager.unload();
+        }
+    }
+}
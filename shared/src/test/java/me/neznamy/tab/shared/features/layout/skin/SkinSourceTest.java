@@ -0,0 +1,68 @@
+package me.neznamy.tab.shared.features.layout.skin;
+
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TestPlatform;
+import me.neznamy.tab.shared.config.file.ConfigurationFile;
+import me.neznamy.tab.shared.config.file.YamlConfigurationFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkinSourceTest {
+
+    @BeforeAll
+    static void start(@TempDir Path dataFolder) {
+        new TestPlatform(dataFolder.toFile(), null).start();
+    }
+
+    @AfterAll
+    static void stop() {
+        TAB.getInstance().unload();
+    }
+
+    private static ConfigurationFile cache(File folder, String content) throws IOException {
+        File file = new File(folder, "skincache.yml");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return new YamlConfigurationFile(null, file);
+    }
+
+    @Test
+    void skinsWithoutTimestampAreNotOutdated(@TempDir File folder) throws IOException {
+        ConfigurationFile file = cache(folder, "players:\n  notch:\n  - value\n  - signature\n");
+        PlayerSkin source = new PlayerSkin(file);
+        SkinSource.CachedSkin skin = source.getCachedSkin("notch");
+        assertNotNull(skin);
+        assertEquals("value", skin.getSkin().getValue());
+        assertFalse(source.isOutdated(skin));
+
+        // Load time is saved, so the skin is refreshed once it gets old instead of never
+        file.save();
+        Map<String, List<Object>> players = new YamlConfigurationFile(null, new File(folder, "skincache.yml")).getMap("players");
+        List<Object> saved = players.get("notch");
+        assertEquals(3, saved.size());
+        assertEquals(skin.getTime(), Long.parseLong(saved.get(2).toString()));
+    }
+
+    @Test
+    void oldSkinsAreOutdated(@TempDir File folder) throws IOException {
+        long twoDaysAgo = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+        ConfigurationFile file = cache(folder, "players:\n  notch:\n  - value\n  - signature\n  - " + twoDaysAgo + "\n");
+        PlayerSkin source = new PlayerSkin(file);
+        SkinSource.CachedSkin skin = source.getCachedSkin("notch");
+        assertNotNull(skin);
+        assertEquals(twoDaysAgo, skin.getTime());
+        assertTrue(source.isOutdated(skin));
+    }
+}
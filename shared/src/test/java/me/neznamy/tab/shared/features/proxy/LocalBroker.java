@@ -0,0 +1,141 @@
+package me.neznamy.tab.shared.features.proxy;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.saicone.delivery4j.Broker;
+import lombok.Getter;
+import me.neznamy.tab.shared.TAB;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Broker delivering messages between instances in the same JVM without any external
+ * service. It is meant for simulating multiple proxies connected together, such as
+ * when benchmarking message processing without Redis or RabbitMQ.
+ */
+public class LocalBroker extends Broker {
+
+    /** Network this broker is connected to */
+    @NotNull
+    private final Network network;
+
+    /** Channels this broker is subscribed to */
+    @NotNull
+    private final Set<String> channels = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs new instance connected to given network.
+     *
+     * @param   network
+     *          Network to connect to
+     */
+    public LocalBroker(@NotNull Network network) {
+        this.network = network;
+    }
+
+    @Override
+    protected void onStart() {
+        network.brokers.add(this);
+    }
+
+    @Override
+    protected void onClose() {
+        network.brokers.remove(this);
+    }
+
+    @Override
+    protected void onSubscribe(@NotNull String... channels) {
+        this.channels.addAll(Arrays.asList(channels));
+    }
+
+    @Override
+    protected void onUnsubscribe(@NotNull String... channels) {
+        this.channels.removeAll(Arrays.asList(channels));
+    }
+
+    @Override
+    public void send(@NotNull String channel, byte[] data) {
+        network.send(this, channel, data);
+    }
+
+    /**
+     * In-memory network connecting local brokers together with configurable
+     * latency and message loss.
+     */
+    @Getter
+    public static class Network {
+
+        /** Brokers connected to this network */
+        @NotNull
+        private final Set<LocalBroker> brokers = ConcurrentHashMap.newKeySet();
+
+        /** Thread delivering messages */
+        @NotNull
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("TAB Local Broker Thread").build());
+
+        /** Delay of every message in milliseconds */
+        private final int latency;
+
+        /** Chance of a message getting lost from 0 to 1 */
+        private final double loss;
+
+        /** Amount of delivered messages */
+        private final AtomicLong delivered = new AtomicLong();
+
+        /** Amount of lost messages */
+        private final AtomicLong lost = new AtomicLong();
+
+        /**
+         * Constructs new instance with given parameters.
+         *
+         * @param   latency
+         *          Delay of every message in milliseconds
+         * @param   loss
+         *          Chance of a message getting lost from 0 to 1
+         */
+        public Network(int latency, double loss) {
+            this.latency = latency;
+            this.loss = loss;
+        }
+
+        /**
+         * Sends message to all brokers subscribed to the channel except the sender.
+         * Delivery order between two brokers is preserved.
+         *
+         * @param   sender
+         *          Broker sending the message
+         * @param   channel
+         *          Channel to send message to
+         * @param   data
+         *          Message content
+         */
+        public void send(@NotNull LocalBroker sender, @NotNull String channel, byte[] data) {
+            for (LocalBroker broker : brokers) {
+                if (broker == sender || !broker.channels.contains(channel)) continue;
+                if (loss > 0 && ThreadLocalRandom.current().nextDouble() < loss) {
+                    lost.incrementAndGet();
+                    continue;
+                }
+                executor.schedule(() -> {
+                    try {
+                        broker.receive(channel, data);
+                        delivered.incrementAndGet();
+                    } catch (IOException | RuntimeException e) {
+                        TAB.getInstance().getErrorManager().printError("Local broker failed to deliver a message", e);
+                    }
+                }, latency, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * Stops delivering messages.
+         */
+        public void shutdown() {
+            executor.shutdownNow();
+        }
+    }
+}
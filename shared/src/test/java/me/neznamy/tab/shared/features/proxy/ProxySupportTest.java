@@ -0,0 +1,278 @@
+package me.neznamy.tab.shared.features.proxy;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.TestPlatform;
+import me.neznamy.tab.shared.features.nametags.NameTag;
+import me.neznamy.tab.shared.features.nametags.NameTagUpdateProxyPlayer;
+import me.neznamy.tab.shared.features.proxy.message.*;
+import me.neznamy.tab.shared.platform.Scoreboard;
+import me.neznamy.tab.shared.platform.TabList;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProxySupportTest {
+
+    private static TestPlatform platform;
+    private static LocalBroker.Network network;
+    private static ProxySupport target;
+    private static NameTag nameTags;
+    private static SimulatedProxy other;
+
+    @BeforeAll
+    static void start(@TempDir Path dataFolder) {
+        network = new LocalBroker.Network(0, 0);
+        platform = new TestPlatform(dataFolder.toFile(), network);
+        TAB tab = platform.start();
+        target = tab.getFeatureManager().getFeature(TabConstants.Feature.PROXY_SUPPORT);
+        nameTags = tab.getFeatureManager().getFeature(TabConstants.Feature.NAME_TAGS);
+        assertNotNull(target);
+        assertNotNull(nameTags);
+        target.setResyncTimeout(200);
+        other = new SimulatedProxy(target);
+    }
+
+    @AfterAll
+    static void stop() {
+        TAB.getInstance().unload();
+        network.shutdown();
+    }
+
+    private static void deliver(ProxyMessage message) throws Exception {
+        target.processMessage(other.encode(message));
+        // Message processing is queued into processing thread, wait until it is done
+        platform.runAndWait(() -> {});
+    }
+
+    /**
+     * Waits until condition is met, failing if it is not met in time.
+     *
+     * @param   condition
+     *          Condition to wait for
+     * @param   message
+     *          Message to fail with if condition is not met in time
+     */
+    private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail(message);
+            Thread.sleep(10);
+        }
+    }
+
+    private static ProxyPlayer remotePlayer(String name) {
+        return new ProxyPlayer(UUID.randomUUID(), name, name, "lobby", false, false);
+    }
+
+    /**
+     * Creates a player with a large skin, so a few of them fill a snapshot chunk.
+     *
+     * @param   name
+     *          Player name
+     * @return  Player with a large skin
+     */
+    private static ProxyPlayer largePlayer(String name) {
+        ProxyPlayer player = remotePlayer(name);
+        char[] value = new char[50000];
+        Arrays.fill(value, 'a');
+        player.setSkin(new TabList.Skin(new String(value), null));
+        return player;
+    }
+
+    /**
+     * Sends join of a player and waits until it is processed, so the following
+     * lost messages are detected as a gap.
+     *
+     * @param   proxy
+     *          Proxy to send join from
+     * @param   name
+     *          Player name
+     */
+    private static void joinAndWait(SimulatedProxy proxy, String name) throws InterruptedException {
+        ProxyPlayer player = remotePlayer(name);
+        proxy.sendMessage(new PlayerJoin(player));
+        await(() -> target.getProxyPlayers().containsKey(player.getUniqueId()), "Join of " + name + " was not processed");
+    }
+
+    /**
+     * Sends joins of players with large skins which are lost, followed by a join which
+     * arrives and reveals the gap, then waits until all players are received.
+     *
+     * @param   proxy
+     *          Proxy to send joins from
+     * @param   losingJoins
+     *          Flag for the loss predicate of the proxy, whether joins are lost or not
+     * @param   name
+     *          Player name prefix
+     * @param   failMessage
+     *          Message to fail with if players are not received in time
+     */
+    private static void sendLostLargePlayers(SimulatedProxy proxy, AtomicBoolean losingJoins, String name,
+                                             String failMessage) throws InterruptedException {
+        joinAndWait(proxy, name + "Anchor");
+        List<ProxyPlayer> players = new ArrayList<>();
+        losingJoins.set(true);
+        for (int i = 0; i < 15; i++) {
+            ProxyPlayer player = largePlayer(name + i);
+            players.add(player);
+            proxy.sendMessage(new PlayerJoin(player));
+        }
+        losingJoins.set(false);
+        joinAndWait(proxy, name + "Last");
+        await(() -> players.stream().allMatch(p -> target.getProxyPlayers().containsKey(p.getUniqueId())), failMessage);
+    }
+
+    @Test
+    void joinSwitchAndQuit() throws Exception {
+        UUID id = UUID.randomUUID();
+        deliver(new PlayerJoin(new ProxyPlayer(id, "Remote", "Remote", "lobby", false, false)));
+        ProxyPlayer player = target.getProxyPlayers().get(id);
+        assertNotNull(player);
+        assertEquals("lobby", player.server);
+
+        deliver(new ServerSwitch(id, "survival"));
+        assertEquals("survival", player.server);
+
+        deliver(new PlayerQuit(id));
+        assertFalse(target.getProxyPlayers().containsKey(id));
+    }
+
+    @Test
+    void nameTagDelta() throws Exception {
+        ProxyPlayer remote = remotePlayer("Delta");
+        deliver(new PlayerJoin(remote));
+        UUID id = remote.getUniqueId();
+        NameTagUpdateProxyPlayer full = new NameTagUpdateProxyPlayer(nameTags, id, "DeltaA", "&a[Full] ", "&7 suffix", Scoreboard.NameVisibility.ALWAYS);
+        NameTagUpdateProxyPlayer changed = new NameTagUpdateProxyPlayer(nameTags, id, "DeltaA", "&c[Delta] ", "&7 suffix", Scoreboard.NameVisibility.ALWAYS);
+        assertNull(full.delta(full));
+        NameTagUpdateProxyPlayer delta = changed.delta(full);
+        assertNotNull(delta);
+        ByteArrayDataOutput deltaOut = ByteStreams.newDataOutput();
+        delta.write(deltaOut);
+        ByteArrayDataOutput fullOut = ByteStreams.newDataOutput();
+        changed.write(fullOut);
+        assertTrue(deltaOut.toByteArray().length < fullOut.toByteArray().length);
+
+        deliver(full);
+        ProxyPlayer player = target.getProxyPlayers().get(id);
+        await(() -> "&a[Full] ".equals(player.getTagPrefix()), "Full nametag update was not applied");
+
+        deliver(delta);
+        await(() -> "&c[Delta] ".equals(player.getTagPrefix()), "Nametag delta was not applied");
+        assertEquals("&7 suffix", player.getTagSuffix());
+        assertEquals("DeltaA", player.getTeamName());
+        assertEquals(Scoreboard.NameVisibility.ALWAYS, player.getNameVisibility());
+    }
+
+    @Test
+    void partialNameTagBeforeFullDataRequestsResync() throws Exception {
+        SimulatedProxy proxy = new SimulatedProxy(target, network);
+        try {
+            ProxyPlayer remote = remotePlayer("Partial");
+            UUID id = remote.getUniqueId();
+            proxy.sendMessage(new PlayerJoin(remote));
+            await(() -> target.getProxyPlayers().containsKey(id), "Join was not processed");
+
+            // Only a delta arrives, such as when it overtakes full data during server switch
+            NameTagUpdateProxyPlayer previous = new NameTagUpdateProxyPlayer(nameTags, id, "PartialA", "&a", "", Scoreboard.NameVisibility.ALWAYS);
+            NameTagUpdateProxyPlayer full = new NameTagUpdateProxyPlayer(nameTags, id, "PartialA", "&b", "", Scoreboard.NameVisibility.ALWAYS);
+            NameTagUpdateProxyPlayer delta = full.delta(previous);
+            assertNotNull(delta);
+            proxy.sendMessage(delta, full);
+            await(() -> "&b".equals(target.getProxyPlayers().get(id).getTagPrefix()), "Full data was not requested");
+        } finally {
+            proxy.unregister();
+        }
+    }
+
+    @Test
+    void sequenceGapRequestsChanges() throws Exception {
+        SimulatedProxy proxy = new SimulatedProxy(target, network);
+        try {
+            ProxyPlayer first = remotePlayer("GapFirst");
+            ProxyPlayer lost = remotePlayer("GapLost");
+            ProxyPlayer last = remotePlayer("GapLast");
+            proxy.sendMessage(new PlayerJoin(first));
+            await(() -> target.getProxyPlayers().containsKey(first.getUniqueId()), "Join was not processed");
+
+            proxy.setLoss(message -> message instanceof PlayerJoin);
+            proxy.sendMessage(new PlayerJoin(lost));
+            proxy.sendMessage(new ServerSwitch(first.getUniqueId(), "survival"), new PlayerJoin(new ProxyPlayer(
+                    first.getUniqueId(), first.getName(), first.getName(), "survival", false, false)));
+            proxy.setLoss(null);
+            proxy.sendMessage(new PlayerJoin(last));
+
+            await(() -> target.getProxyPlayers().containsKey(lost.getUniqueId()), "Lost join was not recovered");
+            assertTrue(target.getProxyPlayers().containsKey(last.getUniqueId()));
+            assertEquals("survival", target.getProxyPlayers().get(first.getUniqueId()).server);
+        } finally {
+            proxy.unregister();
+        }
+    }
+
+    @Test
+    void snapshotInChunks() throws Exception {
+        SimulatedProxy proxy = new SimulatedProxy(target, network);
+        AtomicBoolean losingJoins = new AtomicBoolean();
+        AtomicInteger chunks = new AtomicInteger();
+        proxy.setLoss(message -> {
+            if (message instanceof SyncSnapshot) chunks.incrementAndGet();
+            return losingJoins.get() && message instanceof PlayerJoin;
+        });
+        try {
+            sendLostLargePlayers(proxy, losingJoins, "Chunk", "Snapshot was not processed");
+            assertTrue(chunks.get() > 2, "Snapshot was sent in " + chunks.get() + " chunk(s)");
+        } finally {
+            proxy.unregister();
+        }
+    }
+
+    @Test
+    void lostSnapshotChunkIsRequestedAgain() throws Exception {
+        SimulatedProxy proxy = new SimulatedProxy(target, network);
+        AtomicBoolean losingJoins = new AtomicBoolean();
+        AtomicBoolean chunkLost = new AtomicBoolean();
+        proxy.setLoss(message -> (losingJoins.get() && message instanceof PlayerJoin) || (message instanceof SyncSnapshot &&
+                ((SyncSnapshot) message).getChunk() == 1 && chunkLost.compareAndSet(false, true)));
+        try {
+            sendLostLargePlayers(proxy, losingJoins, "LostChunk", "Snapshot was not requested again after losing a chunk");
+            assertTrue(chunkLost.get());
+        } finally {
+            proxy.unregister();
+        }
+    }
+
+    @Test
+    void lostSnapshotIsRequestedAgain() throws Exception {
+        SimulatedProxy proxy = new SimulatedProxy(target, network);
+        AtomicBoolean losingJoins = new AtomicBoolean();
+        AtomicBoolean snapshotLost = new AtomicBoolean();
+        proxy.setLoss(message -> (losingJoins.get() && message instanceof PlayerJoin) ||
+                (message instanceof SyncSnapshot && snapshotLost.compareAndSet(false, true)));
+        try {
+            joinAndWait(proxy, "LostSnapshotAnchor");
+            ProxyPlayer lost = remotePlayer("LostSnapshot");
+            losingJoins.set(true);
+            proxy.sendMessage(new PlayerJoin(lost));
+            losingJoins.set(false);
+            joinAndWait(proxy, "LostSnapshotLast");
+            // Whole response is lost, request is sent again after timeout
+            await(() -> target.getProxyPlayers().containsKey(lost.getUniqueId()), "Snapshot was not requested again");
+            assertTrue(snapshotLost.get());
+        } finally {
+            proxy.unregister();
+        }
+    }
+}
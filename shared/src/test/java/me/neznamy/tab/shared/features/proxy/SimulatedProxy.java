@@ -0,0 +1,105 @@
+package me.neznamy.tab.shared.features.proxy;
+
+import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteStreams;
+import lombok.Setter;
+import me.neznamy.tab.shared.features.proxy.message.LoadRequest;
+import me.neznamy.tab.shared.features.proxy.message.ProxyMessage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Base64;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Proxy without any players of its own, which sends messages of simulated players to other
+ * proxies. If connected to a network, messages are sent through it and requests for data are
+ * answered with a snapshot, the same way a real proxy does. Otherwise messages are only encoded,
+ * so they can be passed to {@link ProxySupport#processMessage(String)} of the tested instance directly.
+ * All other incoming messages are ignored.
+ */
+public class SimulatedProxy extends ProxyMessengerSupport {
+
+    /** Messages to encode and record in the snapshot, but not send, simulating their loss */
+    @Setter
+    @Nullable
+    private Predicate<ProxyMessage> loss;
+
+    /** Flag tracking whether the message currently being sent is lost */
+    private boolean losing;
+
+    /** Last encoded message */
+    private String encoded;
+
+    /**
+     * Constructs new instance using the same message names as given proxy support,
+     * which is not connected anywhere.
+     *
+     * @param   target
+     *          Proxy support messages will be sent to
+     */
+    public SimulatedProxy(@NotNull ProxySupport target) {
+        this(target, null);
+    }
+
+    /**
+     * Constructs new instance using the same message names as given proxy support
+     * and connects it to given network.
+     *
+     * @param   target
+     *          Proxy support messages will be sent to
+     * @param   network
+     *          Network to connect to, {@code null} to not connect anywhere
+     */
+    public SimulatedProxy(@NotNull ProxySupport target, @Nullable LocalBroker.Network network) {
+        super("Local", () -> new LocalBroker(network));
+        getMessages().putAll(target.getMessages());
+        getClassStringMap().putAll(target.getClassStringMap());
+        if (network != null) register();
+    }
+
+    /**
+     * Encodes message the same way it would be sent to other proxies and sends it
+     * if connected to a network.
+     *
+     * @param   message
+     *          Message to encode
+     * @return  Encoded message
+     */
+    @NotNull
+    public String encode(@NotNull ProxyMessage message) {
+        sendMessage(message);
+        return encoded;
+    }
+
+    @Override
+    public void sendMessage(@NotNull ProxyMessage message, @NotNull ProxyMessage state) {
+        synchronized (getSnapshot()) {
+            losing = loss != null && loss.test(message);
+            try {
+                super.sendMessage(message, state);
+            } finally {
+                losing = false;
+            }
+        }
+    }
+
+    @Override
+    public void sendMessage(@NotNull String message) {
+        encoded = message;
+        if (!losing) super.sendMessage(message);
+    }
+
+    @Override
+    public void processMessage(@NotNull String msg) {
+        ByteArrayDataInput in = ByteStreams.newDataInput(Base64.getDecoder().decode(msg));
+        UUID source = new UUID(in.readLong(), in.readLong());
+        if (source.equals(getProxy())) return;
+        in.readLong(); // Sequence
+        if (!"loadrequest".equals(in.readUTF())) return; // State of other proxies is not simulated
+        LoadRequest request = new LoadRequest();
+        request.read(in);
+        request.process(this);
+    }
+}
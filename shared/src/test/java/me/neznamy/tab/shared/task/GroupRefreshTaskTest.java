@@ -0,0 +1,108 @@
+package me.neznamy.tab.shared.task;
+
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.TestPlatform;
+import me.neznamy.tab.shared.TestTabPlayer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of checking players less often when their group does not change.
+ */
+class GroupRefreshTaskTest {
+
+    private static TestPlatform platform;
+    private static TestTabPlayer player;
+
+    /** Group returned for the player */
+    private static volatile String group = TabConstants.NO_GROUP;
+
+    /** Amount of times group of the player was retrieved */
+    private static final AtomicInteger checks = new AtomicInteger();
+
+    @BeforeAll
+    static void start(@TempDir Path dataFolder) throws Exception {
+        platform = new TestPlatform(dataFolder.toFile(), null);
+        platform.start();
+        player = platform.join("Player");
+    }
+
+    @AfterAll
+    static void stop() {
+        TAB.getInstance().unload();
+    }
+
+    private static GroupRefreshTask task() {
+        return new GroupRefreshTask(p -> {
+            if (p == player) checks.incrementAndGet();
+            return group;
+        });
+    }
+
+    /**
+     * Runs the task given amount of times and returns runs (starting from 1) in which
+     * group of the player was checked.
+     *
+     * @param   task
+     *          Task to run
+     * @param   runs
+     *          Amount of runs
+     * @return  Runs in which the player was checked
+     */
+    private static List<Integer> checkedRuns(GroupRefreshTask task, int runs) {
+        List<Integer> checked = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            int before = checks.get();
+            task.run();
+            if (checks.get() > before) checked.add(run);
+        }
+        return checked;
+    }
+
+    @Test
+    void unchangedGroupIsCheckedLessOften() {
+        group = TabConstants.NO_GROUP;
+        // Checked every 2, 4 and then 8 runs
+        assertEquals(Arrays.asList(1, 3, 7, 15, 23, 31), checkedRuns(task(), 31));
+    }
+
+    @Test
+    void worldSwitchResetsInterval() {
+        group = TabConstants.NO_GROUP;
+        GroupRefreshTask task = task();
+        assertEquals(Arrays.asList(1, 3, 7), checkedRuns(task, 8));
+        player.world = "other";
+        try {
+            assertEquals(Arrays.asList(1, 3, 7), checkedRuns(task, 7));
+        } finally {
+            player.world = "world";
+        }
+    }
+
+    @Test
+    void changedGroupIsCheckedAgainNextRun() throws Exception {
+        group = TabConstants.NO_GROUP;
+        GroupRefreshTask task = task();
+        assertEquals(Arrays.asList(1, 3, 7), checkedRuns(task, 8));
+        group = "changed";
+        try {
+            // Change is noticed in the next scheduled check, then the player is checked again right away
+            assertEquals(Arrays.asList(7, 8), checkedRuns(task, 8));
+        } finally {
+            group = TabConstants.NO_GROUP;
+            // Queued after applying the detected group, so other tests start with the original group
+            platform.runAndWait(() -> player.setGroup(TabConstants.NO_GROUP));
+        }
+    }
+}
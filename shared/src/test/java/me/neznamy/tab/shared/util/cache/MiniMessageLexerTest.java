@@ -0,0 +1,141 @@
+package me.neznamy.tab.shared.util.cache;
+
+import me.neznamy.chat.component.TabComponent;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TestPlatform;
+import me.neznamy.tab.shared.hook.MiniMessageHook;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conformance of {@link MiniMessageLexer} with converting the text into MiniMessage
+ * format and parsing it with MiniMessage, which is what it replaces.
+ */
+class MiniMessageLexerTest {
+
+    /** Pieces of text which random texts are created from */
+    private static final String[] TOKENS = {
+            "Hello", " ", "a:", ":", ">", "#", "#12345", "§c", "§l", "§o", "§r", "§7", "§n", "§k", "§m",
+            "§x§f§f§0§0§a§a", "{#12ab34}", "§#A1B2C3", "#<00FF00>", "#FFAA00", "<red>", "</red>", "<bold>",
+            "</bold>", "<b>", "</b>", "<#abcdef>", "<#ABCDEF>", "<color:#123456>", "</color>", "<c:gold>", "</c>",
+            "<grey>", "<dark_grey>", "<reset>", "<font:uniform>", "<font:minecraft:alt>", "</font>", "<italic>",
+            "</italic>", "<u>", "<st>", "<obf>", "<em>", "<hover:show_text:'x'>", "<gradient:red:blue>", "\\<"
+    };
+
+    @BeforeAll
+    static void start(@TempDir Path dataFolder) {
+        new TestPlatform(dataFolder.toFile(), null).start();
+        assertTrue(MiniMessageHook.isAvailable());
+    }
+
+    @AfterAll
+    static void stop() {
+        TAB.getInstance().unload();
+    }
+
+    /**
+     * Checks that the lexer supports the text and creates the same component as MiniMessage.
+     *
+     * @param   text
+     *          Text to check
+     */
+    private static void assertConforms(String text) {
+        TabComponent lexed = MiniMessageLexer.parse(text);
+        assertNotNull(lexed, () -> "Lexer does not support " + text);
+        assertSameComponent(text, lexed);
+    }
+
+    private static void assertSameComponent(String text, TabComponent lexed) {
+        TabComponent expected = StringToComponentCache.parseMiniMessage(text);
+        assertNotNull(expected, () -> "MiniMessage failed to parse " + text);
+        assertEquals(expected.toJson(true), lexed.toJson(true), text);
+        assertEquals(expected.toJson(false), lexed.toJson(false), text);
+        assertEquals(expected.toLegacyText(), lexed.toLegacyText(), text);
+    }
+
+    @Test
+    void legacyCodes() {
+        assertConforms("§cRed <bold>Bold");
+        assertConforms("<red>§lBold red §rReset §7§oGray italic");
+        assertConforms("§k§m§n<i>All");
+    }
+
+    @Test
+    void rgbFormats() {
+        assertConforms("<b>#FF0000Red {#00ff00}Green §#0000FFBlue #<ABCDEF>Html §x§1§2§3§4§5§6Bukkit");
+        assertConforms("<b>Colon:#FF0000 #FF0000: #FF0000> #12345");
+        assertConforms("<b>#FF0000");
+    }
+
+    @Test
+    void tags() {
+        assertConforms("<red>Red <bold>Bold</bold> red</red> default");
+        assertConforms("<#3A7BD5>Hex <color:#ff00aa>Color <c:gold>C <colour:dark_grey>Colour");
+        assertConforms("<grey>Grey <b>B <i>I <em>Em <u>U <st>St <obf>Obf <reset>Reset");
+        assertConforms("<font:uniform>Uniform</font> <font:minecraft:alt>Alt</font>");
+        assertConforms("<red></red><bold>");
+    }
+
+    @Test
+    void unsupported() {
+        String[] texts = {
+                "<gradient:red:blue>Gradient</gradient>",
+                "<#FF0000>Html gradient</#00FF00>",
+                "{#FF0000>}CMI gradient{#00FF00<}",
+                "<$#FF0000>Gradient<$#00FF00>",
+                "<hover:show_text:'Hover'>Text",
+                "<click:run_command:/help>Text",
+                "<rainbow>Text",
+                "<unknown>Text",
+                "\\<red> escaped",
+                "a < b",
+                "<red>Closing other tag</bold>",
+                "<bold><red>Closing outer tag</bold>",
+                "<!bold>Negated",
+                "<bold:false>Argument",
+                "<RED>Uppercase",
+                "<font:Uniform>Invalid font",
+                "<red>§zInvalid code",
+                "<red>§x§1§2Incomplete",
+                "<red>Trailing §",
+                "{#12345}Invalid"
+        };
+        for (String text : texts) {
+            assertNull(MiniMessageLexer.parse(text), text);
+        }
+    }
+
+    @Test
+    void randomTexts() {
+        Random random = new Random(5);
+        int supported = 0;
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int tokens = 1 + random.nextInt(10);
+            for (int j = 0; j < tokens; j++) {
+                builder.append(TOKENS[random.nextInt(TOKENS.length)]);
+            }
+            String text = builder.toString();
+            TabComponent lexed = MiniMessageLexer.parse(text);
+            if (lexed == null) continue;
+            supported++;
+            assertSameComponent(text, lexed);
+        }
+        assertTrue(supported > 1000, "Only " + supported + " random texts were supported");
+    }
+
+    @Test
+    void cacheUsesLexer() {
+        StringToComponentCache cache = new StringToComponentCache("Test", 100);
+        String text = "§a<bold>Cached";
+        assertEquals(MiniMessageLexer.parse(text).toJson(true), cache.get(text).toJson(true));
+        assertSame(cache.get(text), cache.get(text));
+    }
+}
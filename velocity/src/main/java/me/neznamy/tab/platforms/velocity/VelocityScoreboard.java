@@ -6,7 +6,6 @@ import lombok.NonNull;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.chat.component.TabComponent;
 import me.neznamy.tab.shared.platform.decorators.SafeScoreboard;
-import me.neznamy.tab.shared.util.cache.StringToComponentCache;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.function.Function;
@@ -19,8 +18,6 @@ public class VelocityScoreboard extends SafeScoreboard<VelocityTabPlayer> {
     private static final Function<TabComponent, TextHolder> textHolderFunction =
             component -> TextHolder.of(component.toLegacyText(), component.toAdventure());
 
-    private static final StringToComponentCache displayNames = new StringToComponentCache("Team display name", 5000);
-
     private static final TeamColor[] colors = TeamColor.values();
     private static final com.velocitypowered.api.scoreboard.NameVisibility[] visibilities = com.velocitypowered.api.scoreboard.NameVisibility.values();
     private static final com.velocitypowered.api.scoreboard.CollisionRule[] collisions = com.velocitypowered.api.scoreboard.CollisionRule.values();
@@ -108,7 +105,7 @@ public class VelocityScoreboard extends SafeScoreboard<VelocityTabPlayer> {
     public void registerTeam(@NonNull Team team) {
         try {
             team.setPlatformTeam(scoreboard.registerTeam(scoreboard.teamBuilder(team.getName())
-                    .displayName(displayNames.get(team.getName()).toTextHolder(textHolderFunction))
+                    .displayName(TAB.getInstance().getComponentCache().get(team.getName()).toTextHolder(textHolderFunction))
                     .prefix(team.getPrefix().toTextHolder(textHolderFunction))
                     .suffix(team.getSuffix().toTextHolder(textHolderFunction))
                     .nameVisibility(visibilities[team.getVisibility().ordinal()])